@@ -76,6 +76,26 @@ public class RendezvousAffinityFunction {
         return node.name();
     }
 
+    /**
+     * Maps a key to its partition. The upper half of the hash is folded into the lower half, so that a partition
+     * depends on all bits of the hash even if the number of partitions is a power of two and only the lower bits of
+     * the hash are taken.
+     *
+     * @param keyHash Key hash.
+     * @param partitions Number of partitions.
+     * @return Partition.
+     */
+    public static int partition(int keyHash, int partitions) {
+        assert partitions > 0 && partitions <= MAX_PARTITIONS_COUNT : partitions;
+
+        int h = keyHash ^ (keyHash >>> 16);
+
+        if ((partitions & (partitions - 1)) == 0)
+            return h & (partitions - 1);
+
+        return Math.abs(h % partitions);
+    }
+
     /**
      * Returns collection of nodes for specified partition.
      *
@@ -27,6 +27,7 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.apache.ignite.internal.util.ByteUtils;
+import org.apache.ignite.internal.util.IgniteUtils;
 import org.apache.ignite.lang.IgniteLogger;
 import org.apache.ignite.network.ClusterNode;
 import org.apache.ignite.network.NetworkAddress;
@@ -208,4 +209,32 @@ public class RendezvousAffinityFunctionTest {
 
         return sb.toString();
     }
+
+    /**
+     * Checks that the keys are mapped to the valid partitions and sequential keys are spread evenly.
+     */
+    @Test
+    public void testKeyPartition() {
+        for (int parts : new int[] {1, 7, 16, 1000, 1024}) {
+            for (int hash : new int[] {0, 1, -1, Integer.MIN_VALUE, Integer.MAX_VALUE}) {
+                int part = RendezvousAffinityFunction.partition(hash, parts);
+
+                assertTrue(part >= 0 && part < parts, "hash=" + hash + ", parts=" + parts + ", part=" + part);
+            }
+        }
+
+        int parts = 100;
+        int keys = 100_000;
+
+        int[] cnts = new int[parts];
+
+        for (int key = 0; key < keys; key++) {
+            byte[] bytes = ByteUtils.longToBytes(key);
+
+            cnts[RendezvousAffinityFunction.partition(IgniteUtils.hash(bytes, 0, bytes.length), parts)]++;
+        }
+
+        for (int cnt : cnts)
+            assertTrue(Math.abs(cnt - keys / parts) < keys / parts / 5, "Unbalanced partitions: " + cnt);
+    }
 }
@@ -20,6 +20,7 @@ package org.apache.ignite.configuration.schemas.runner;
 import org.apache.ignite.configuration.annotation.ConfigurationRoot;
 import org.apache.ignite.configuration.annotation.ConfigurationType;
 import org.apache.ignite.configuration.annotation.Value;
+import org.apache.ignite.configuration.validation.Min;
 
 /**
  * Local node configuration schema.
@@ -29,4 +30,17 @@ public class NodeConfigurationSchema {
     /** It is a copy of appropriate property from the cluster configuration. */
     @Value(hasDefault = true)
     public final String[] metastorageNodes = new String[0];
+
+    /**
+     * Durability of the appends to the RAFT logs of the node: {@code SYNC} fsyncs every batch of entries,
+     * {@code GROUP_SYNC} shares a WAL fsync between the batches of all the groups written meanwhile, {@code ASYNC}
+     * does not fsync at all.
+     */
+    @Value(hasDefault = true)
+    public String raftLogSyncMode = "SYNC";
+
+    /** Maximum time in milliseconds a batch waits for the batches of other groups in the {@code GROUP_SYNC} mode. */
+    @Min(0)
+    @Value(hasDefault = true)
+    public int raftGroupSyncMaxDelay = 1;
 }
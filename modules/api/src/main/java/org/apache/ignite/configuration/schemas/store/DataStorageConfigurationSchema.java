@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.configuration.schemas.store;
+
+import org.apache.ignite.configuration.annotation.ConfigurationRoot;
+import org.apache.ignite.configuration.annotation.ConfigurationType;
+import org.apache.ignite.configuration.annotation.Value;
+import org.apache.ignite.configuration.validation.Min;
+
+/**
+ * Local node configuration of the data storage, shared by all tables of the node.
+ */
+@ConfigurationRoot(rootName = "storage", type = ConfigurationType.LOCAL)
+public class DataStorageConfigurationSchema {
+    /** Size of the block cache in bytes. */
+    @Min(0)
+    @Value(hasDefault = true)
+    public long blockCacheSize = 256L * 1024 * 1024;
+
+    /** Type of the block cache: {@code lru} or {@code clock}. */
+    @Value(hasDefault = true)
+    public String blockCacheType = "lru";
+
+    /** Limit of the flushes and compactions write rate in bytes per second, {@code 0} means no limit. */
+    @Min(0)
+    @Value(hasDefault = true)
+    public long rateLimitBytesPerSecond = 0;
+}
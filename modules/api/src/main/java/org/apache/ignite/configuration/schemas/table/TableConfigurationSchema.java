@@ -18,6 +18,7 @@
 package org.apache.ignite.configuration.schemas.table;
 
 import org.apache.ignite.configuration.annotation.Config;
+import org.apache.ignite.configuration.annotation.ConfigValue;
 import org.apache.ignite.configuration.annotation.NamedConfigValue;
 import org.apache.ignite.configuration.annotation.Value;
 import org.apache.ignite.configuration.validation.Immutable;
@@ -45,6 +46,19 @@ public class TableConfigurationSchema {
     @Value(hasDefault = true)
     public int replicas = 1;
 
+    /**
+     * Maximum number of write commands a partition client sends to the leader in one batch, {@code 0} to send every
+     * command separately.
+     */
+    @Min(0)
+    @Value(hasDefault = true)
+    public int writeBatchSize = 0;
+
+    /** Maximum time in milliseconds a write command waits for its batch to be filled up. */
+    @Min(0)
+    @Value(hasDefault = true)
+    public long writeBatchDelay = 1;
+
     /** Columns configuration. */
     @NamedConfigValue
     public ColumnConfigurationSchema columns;
@@ -52,4 +66,8 @@ public class TableConfigurationSchema {
     /** Indices configuration. */
     @NamedConfigValue
     public TableIndexConfigurationSchema indices;
+
+    /** Storage configuration. */
+    @ConfigValue
+    public TableStorageConfigurationSchema storage;
 }
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.configuration.schemas.table;
+
+import org.apache.ignite.configuration.annotation.Config;
+import org.apache.ignite.configuration.annotation.Value;
+import org.apache.ignite.configuration.validation.Min;
+
+/**
+ * Configuration of the storage of table partitions.
+ */
+@Config
+public class TableStorageConfigurationSchema {
+    /**
+     * Storage engine: {@code rocksdb} for persistent storage, {@code pagememory} for off-heap in-memory storage or
+     * {@code memory} for on-heap in-memory storage with sorted keys.
+     */
+    @Value(hasDefault = true)
+    public String engine = "rocksdb";
+
+    /**
+     * Maximum size of the off-heap memory of a single partition in bytes, {@code pagememory} engine only. Updates of
+     * the partition fail once it is reached.
+     */
+    @Min(1)
+    @Value(hasDefault = true)
+    public long maxSize = 256L * 1024 * 1024;
+
+    /** Number of bloom filter bits per key, {@code 0} disables bloom filters, {@code rocksdb} engine only. */
+    @Min(0)
+    @Value(hasDefault = true)
+    public int bloomFilterBitsPerKey = 10;
+
+    /** Compaction style: {@code level}, {@code universal} or {@code fifo}, {@code rocksdb} engine only. */
+    @Value(hasDefault = true)
+    public String compactionStyle = "level";
+
+    /** Size of a memory table of a single partition in bytes, {@code rocksdb} engine only. */
+    @Min(1)
+    @Value(hasDefault = true)
+    public long writeBufferSize = 16L * 1024 * 1024;
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.table;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Data streamer loads an unbounded stream of records into a table. Records are buffered per partition and sent as
+ * batches when a partition buffer is full, when the {@link #autoFlushFrequency(long) flush frequency} elapses, or
+ * when the streamer is flushed or closed.
+ * <p>
+ * The number of batches in flight per partition is limited by {@link #perPartitionParallelOperations(int)}: once
+ * the limit is reached, adding records to a partition whose buffer is full blocks the caller until one of the
+ * batches of the partition completes.
+ * <p>
+ * Batches of the same partition may be applied in any order when more than one batch is allowed in flight, so the
+ * final value of a key that is streamed several times is not defined in that case.
+ * <p>
+ * Settings may be changed before the first record is added.
+ *
+ * @param <R> Record type.
+ */
+public interface DataStreamer<R> extends AutoCloseable {
+    /** Default per partition buffer size. */
+    int DFLT_PER_PARTITION_BUFFER_SIZE = 512;
+
+    /** Default number of batches in flight per partition. */
+    int DFLT_PER_PARTITION_PARALLEL_OPS = 4;
+
+    /**
+     * Gets the flag enabling overwriting of existing records.
+     *
+     * @return {@code True} if existing records are overwritten, {@code false} if they are kept and the streamed
+     *      records with the same keys are skipped. Default is {@code false}.
+     */
+    boolean allowOverwrite();
+
+    /**
+     * Sets the flag enabling overwriting of existing records.
+     *
+     * @param allowOverwrite Whether existing records are overwritten.
+     * @return {@code this} for chaining.
+     */
+    DataStreamer<R> allowOverwrite(boolean allowOverwrite);
+
+    /**
+     * Gets the number of records buffered for a partition before a batch is sent.
+     *
+     * @return Per partition buffer size. Default is {@link #DFLT_PER_PARTITION_BUFFER_SIZE}.
+     */
+    int perPartitionBufferSize();
+
+    /**
+     * Sets the number of records buffered for a partition before a batch is sent.
+     *
+     * @param bufSize Per partition buffer size, must be positive.
+     * @return {@code this} for chaining.
+     */
+    DataStreamer<R> perPartitionBufferSize(int bufSize);
+
+    /**
+     * Gets the maximum number of batches in flight per partition.
+     *
+     * @return Maximum number of batches in flight per partition. Default is {@link #DFLT_PER_PARTITION_PARALLEL_OPS}.
+     */
+    int perPartitionParallelOperations();
+
+    /**
+     * Sets the maximum number of batches in flight per partition.
+     *
+     * @param parallelOps Maximum number of batches in flight per partition, must be positive.
+     * @return {@code this} for chaining.
+     */
+    DataStreamer<R> perPartitionParallelOperations(int parallelOps);
+
+    /**
+     * Gets the frequency of automatic flushes of partially filled buffers.
+     *
+     * @return Flush frequency in milliseconds, {@code 0} if buffers are only sent when full. Default is {@code 0}.
+     */
+    long autoFlushFrequency();
+
+    /**
+     * Sets the frequency of automatic flushes of partially filled buffers.
+     *
+     * @param freq Flush frequency in milliseconds, {@code 0} to send buffers only when full.
+     * @return {@code this} for chaining.
+     */
+    DataStreamer<R> autoFlushFrequency(long freq);
+
+    /**
+     * Adds a record to the stream.
+     *
+     * @param rec Record. The record cannot be {@code null}.
+     * @return Future completed when the batch containing the record has been written.
+     */
+    @NotNull CompletableFuture<Void> addData(@NotNull R rec);
+
+    /**
+     * Adds records to the stream.
+     *
+     * @param recs Records. The records cannot be {@code null}.
+     * @return Future completed when all the batches containing the records have been written.
+     */
+    @NotNull CompletableFuture<Void> addData(@NotNull Collection<R> recs);
+
+    /**
+     * Sends all buffered records and waits until all the batches sent so far have been written.
+     *
+     * @throws org.apache.ignite.lang.IgniteException If any of the batches failed.
+     */
+    void flush();
+
+    /**
+     * Flushes the streamer and closes it. Records cannot be added to a closed streamer.
+     *
+     * @throws org.apache.ignite.lang.IgniteException If any of the batches failed.
+     */
+    @Override void close();
+
+    /**
+     * Closes the streamer.
+     *
+     * @param cancel Whether the buffered records are discarded instead of being flushed. The batches already sent
+     *      are not cancelled.
+     * @throws org.apache.ignite.lang.IgniteException If any of the batches failed.
+     */
+    void close(boolean cancel);
+}
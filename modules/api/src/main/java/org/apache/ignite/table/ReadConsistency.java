@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.table;
+
+/**
+ * Consistency of the reads of a table view.
+ *
+ * @see Table#withReadConsistency(ReadConsistency)
+ */
+public enum ReadConsistency {
+    /**
+     * A read is served by the leader of the partition after the leader has confirmed its leadership with a quorum of
+     * the replicas, so the read sees all the writes completed before it. This is the default.
+     */
+    LINEARIZABLE,
+
+    /**
+     * A read is served by the leader of the partition, which relies on its lease instead of a round trip to a quorum
+     * while the lease is valid. The read sees all the writes completed before it, unless the clocks of the nodes drift
+     * more than the lease allows.
+     */
+    LEASE_READ,
+
+    /**
+     * A read is served by the local replica of the partition, or by a random replica, after the replica has caught
+     * up with the commit index of the leader. The read sees all the writes completed before it, and the reads are
+     * spread across the replicas.
+     */
+    FOLLOWER_READ
+}
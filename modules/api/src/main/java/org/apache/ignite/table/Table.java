@@ -17,6 +17,7 @@
 
 package org.apache.ignite.table;
 
+import java.util.concurrent.Flow;
 import org.apache.ignite.table.mapper.KeyMapper;
 import org.apache.ignite.table.mapper.Mappers;
 import org.apache.ignite.table.mapper.RecordMapper;
@@ -97,6 +98,31 @@ public interface Table extends TableView<Tuple> {
         return kvView(Mappers.ofKeyClass(keyCls), Mappers.ofValueClass(valCls));
     }
 
+    /**
+     * Creates a view of the table which reads the records with the given consistency. The consistency applies to the
+     * reads of the view and of the record and key-value views created from it; the writes are not affected.
+     *
+     * @param consistency Read consistency.
+     * @return Table view.
+     */
+    Table withReadConsistency(ReadConsistency consistency);
+
+    /**
+     * Scans all the records of the table. Partitions of the table are scanned in parallel, so the records are
+     * published in no particular order. The scan is weakly consistent: records changed while the table is being
+     * scanned may or may not be observed.
+     *
+     * @return Publisher of the table records.
+     */
+    Flow.Publisher<Tuple> scan();
+
+    /**
+     * Creates a data streamer of tuples for the table.
+     *
+     * @return Data streamer.
+     */
+    DataStreamer<Tuple> dataStreamer();
+
     /**
      * Factory method shortcut.
      *
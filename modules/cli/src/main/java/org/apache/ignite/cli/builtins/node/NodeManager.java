@@ -45,6 +45,9 @@ public class NodeManager {
     /** Entry point of core Ignite artifact for running new node. */
     private static final String MAIN_CLASS = "org.apache.ignite.app.IgniteCliRunner";
 
+    /** JVM options of a node: the off-heap page memory storage needs access to the address of direct buffers. */
+    private static final List<String> JVM_OPTIONS = List.of("--add-opens", "java.base/java.nio=ALL-UNNAMED");
+
     /** Timeout for successful node start. */
     private static final Duration NODE_START_TIMEOUT = Duration.ofSeconds(30);
 
@@ -91,6 +94,7 @@ public class NodeManager {
             var cmdArgs = new ArrayList<String>();
 
             cmdArgs.add("java");
+            cmdArgs.addAll(JVM_OPTIONS);
             cmdArgs.add("-cp");
             cmdArgs.add(classpath());
             cmdArgs.add(MAIN_CLASS);
@@ -219,6 +219,64 @@ public class IgniteUtils {
         return hash(val);
     }
 
+    /**
+     * Computes the 32-bit MurmurHash3 (x86 variant, zero seed) of a range of bytes. Unlike the polynomial hashes, it
+     * mixes every byte into all bits of the result, so similar inputs like sequential numbers get unrelated hashes.
+     * The result only depends on the bytes, so it is stable between JVMs and versions.
+     *
+     * @param data Data.
+     * @param off Offset of the range.
+     * @param len Length of the range.
+     * @return Hash value.
+     */
+    public static int hash(byte[] data, int off, int len) {
+        int h = 0;
+
+        int end = off + (len & ~3);
+
+        for (int i = off; i < end; i += 4) {
+            int k = (data[i] & 0xFF) | (data[i + 1] & 0xFF) << 8 | (data[i + 2] & 0xFF) << 16 | data[i + 3] << 24;
+
+            h ^= murmurMixK(k);
+            h = Integer.rotateLeft(h, 13) * 5 + 0xe6546b64;
+        }
+
+        int k = 0;
+
+        switch (len & 3) {
+            case 3:
+                k ^= (data[end + 2] & 0xFF) << 16;
+
+            case 2:
+                k ^= (data[end + 1] & 0xFF) << 8;
+
+            case 1:
+                k ^= data[end] & 0xFF;
+
+                h ^= murmurMixK(k);
+        }
+
+        h ^= len;
+
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * @param k Block of the data.
+     * @return Block mixed for {@link #hash(byte[], int, int)}.
+     */
+    private static int murmurMixK(int k) {
+        k *= 0xcc9e2d51;
+        k = Integer.rotateLeft(k, 15);
+
+        return k * 0x1b873593;
+    }
+
     /**
      * Converts byte array to hex string.
      *
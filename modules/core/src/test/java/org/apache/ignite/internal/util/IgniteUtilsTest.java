@@ -18,11 +18,13 @@
 package org.apache.ignite.internal.util;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.arrayWithSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -55,4 +57,28 @@ class IgniteUtilsTest {
 
         closeables.forEach(c -> assertTrue(c.closed));
     }
+
+    /**
+     * Checks the byte range hash against the reference MurmurHash3 values.
+     */
+    @Test
+    void testHashBytes() {
+        assertEquals(0, hash(""));
+        assertEquals(0x248bfa47, hash("hello"));
+        assertEquals(0x2e4ff723, hash("The quick brown fox jumps over the lazy dog"));
+
+        byte[] data = "xxhelloxx".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(0x248bfa47, IgniteUtils.hash(data, 2, 5));
+    }
+
+    /**
+     * @param str String.
+     * @return Hash of the UTF-8 bytes of the string.
+     */
+    private static int hash(String str) {
+        byte[] data = str.getBytes(StandardCharsets.UTF_8);
+
+        return IgniteUtils.hash(data, 0, data.length);
+    }
 }
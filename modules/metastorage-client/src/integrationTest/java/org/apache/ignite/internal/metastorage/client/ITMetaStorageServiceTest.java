@@ -17,6 +17,7 @@
 
 package org.apache.ignite.internal.metastorage.client;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
@@ -1169,5 +1170,15 @@ public class ITMetaStorageServiceTest {
         @Override public void compact() {
             fail();
         }
+
+        /** {@inheritDoc} */
+        @Override public void snapshot(Path snapshotPath) {
+            fail();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void restoreSnapshot(Path snapshotPath) {
+            fail();
+        }
     }
 }
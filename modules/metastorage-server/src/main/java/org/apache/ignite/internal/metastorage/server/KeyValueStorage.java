@@ -17,9 +17,11 @@
 
 package org.apache.ignite.internal.metastorage.server;
 
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
 import org.apache.ignite.internal.util.Cursor;
+import org.apache.ignite.lang.IgniteInternalException;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -203,4 +205,20 @@ public interface KeyValueStorage {
      * Compacts storage (removes tombstones).
      */
     void compact();
+
+    /**
+     * Writes a snapshot of the storage to a directory.
+     *
+     * @param snapshotPath Directory to write the snapshot to.
+     * @throws IgniteInternalException If failed to write the snapshot.
+     */
+    void snapshot(Path snapshotPath);
+
+    /**
+     * Replaces the content of the storage with a snapshot.
+     *
+     * @param snapshotPath Directory to read the snapshot from.
+     * @throws IgniteInternalException If failed to read the snapshot.
+     */
+    void restoreSnapshot(Path snapshotPath);
 }
@@ -17,6 +17,13 @@
 
 package org.apache.ignite.internal.metastorage.server;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -30,6 +37,7 @@ import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.function.Predicate;
 import org.apache.ignite.internal.util.Cursor;
+import org.apache.ignite.lang.IgniteInternalException;
 import org.jetbrains.annotations.NotNull;
 
 import static org.apache.ignite.internal.metastorage.server.Value.TOMBSTONE;
@@ -40,6 +48,9 @@ import static org.apache.ignite.internal.metastorage.server.Value.TOMBSTONE;
  * WARNING: Only for test purposes.
  */
 public class SimpleInMemoryKeyValueStorage implements KeyValueStorage {
+    /** Name of the snapshot file. */
+    private static final String SNAPSHOT_FILE = "snapshot.bin";
+
     /** Lexicographical comparator. */
     private static final Comparator<byte[]> CMP = Arrays::compare;
 
@@ -328,6 +339,104 @@ public class SimpleInMemoryKeyValueStorage implements KeyValueStorage {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public void snapshot(Path snapshotPath) {
+        synchronized (mux) {
+            Path file = snapshotPath.resolve(SNAPSHOT_FILE);
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+                out.writeLong(rev);
+                out.writeLong(updCntr);
+
+                out.writeInt(revsIdx.size());
+
+                for (Map.Entry<Long, NavigableMap<byte[], Value>> revEntries : revsIdx.entrySet()) {
+                    out.writeLong(revEntries.getKey());
+
+                    out.writeInt(revEntries.getValue().size());
+
+                    for (Map.Entry<byte[], Value> e : revEntries.getValue().entrySet()) {
+                        writeBytes(out, e.getKey());
+
+                        Value val = e.getValue();
+
+                        out.writeBoolean(val.tombstone());
+
+                        if (!val.tombstone())
+                            writeBytes(out, val.bytes());
+
+                        out.writeLong(val.updateCounter());
+                    }
+                }
+            }
+            catch (IOException e) {
+                throw new IgniteInternalException("Failed to write a snapshot [path=" + file + ']', e);
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void restoreSnapshot(Path snapshotPath) {
+        synchronized (mux) {
+            Path file = snapshotPath.resolve(SNAPSHOT_FILE);
+
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                long snapshotRev = in.readLong();
+                long snapshotUpdCntr = in.readLong();
+
+                NavigableMap<byte[], List<Long>> snapshotKeysIdx = new TreeMap<>(CMP);
+
+                NavigableMap<Long, NavigableMap<byte[], Value>> snapshotRevsIdx = new TreeMap<>();
+
+                int revs = in.readInt();
+
+                for (int i = 0; i < revs; i++) {
+                    long curRev = in.readLong();
+
+                    NavigableMap<byte[], Value> entries = new TreeMap<>(CMP);
+
+                    int size = in.readInt();
+
+                    for (int j = 0; j < size; j++) {
+                        byte[] key = readBytes(in);
+
+                        byte[] bytes = in.readBoolean() ? TOMBSTONE : readBytes(in);
+
+                        entries.put(key, new Value(bytes, in.readLong()));
+
+                        // Revisions are read in the ascending order, so the revision lists stay sorted.
+                        snapshotKeysIdx.computeIfAbsent(key, k -> new ArrayList<>()).add(curRev);
+                    }
+
+                    snapshotRevsIdx.put(curRev, entries);
+                }
+
+                keysIdx = snapshotKeysIdx;
+                revsIdx = snapshotRevsIdx;
+                rev = snapshotRev;
+                updCntr = snapshotUpdCntr;
+            }
+            catch (IOException e) {
+                throw new IgniteInternalException("Failed to restore a snapshot [path=" + file + ']', e);
+            }
+        }
+    }
+
+    /** */
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /** */
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+
+        in.readFully(bytes);
+
+        return bytes;
+    }
+
     /** */
     private boolean doRemove(byte[] key, long curRev) {
         Entry e = doGet(key, LATEST_REV, false);
@@ -17,6 +17,7 @@
 
 package org.apache.ignite.internal.metastorage.server.raft;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
@@ -59,6 +60,7 @@ import org.apache.ignite.internal.metastorage.server.WatchEvent;
 import org.apache.ignite.internal.util.Cursor;
 import org.apache.ignite.lang.IgniteBiTuple;
 import org.apache.ignite.lang.IgniteInternalException;
+import org.apache.ignite.lang.IgniteLogger;
 import org.apache.ignite.lang.IgniteUuid;
 import org.apache.ignite.raft.client.ReadCommand;
 import org.apache.ignite.raft.client.WriteCommand;
@@ -70,6 +72,9 @@ import org.apache.ignite.raft.client.service.RaftGroupListener;
  * TODO: IGNITE-14693 Implement Meta storage exception handling logic.
  */
 public class MetaStorageListener implements RaftGroupListener {
+    /** Logger. */
+    private static final IgniteLogger LOG = IgniteLogger.forClass(MetaStorageListener.class);
+
     /** Storage. */
     private final KeyValueStorage storage;
 
@@ -314,13 +319,33 @@ public class MetaStorageListener implements RaftGroupListener {
 
     /** {@inheritDoc} */
     @Override public void onSnapshotSave(String path, Consumer<Throwable> doneClo) {
-        // Not implemented yet.
+        try {
+            storage.snapshot(Path.of(path));
+
+            doneClo.accept(null);
+        }
+        catch (IgniteInternalException e) {
+            doneClo.accept(e);
+        }
     }
 
     /** {@inheritDoc} */
     @Override public boolean onSnapshotLoad(String path) {
-        // Not implemented yet.
-        return false;
+        try {
+            storage.restoreSnapshot(Path.of(path));
+
+            return true;
+        }
+        catch (IgniteInternalException e) {
+            LOG.error("Failed to restore a meta storage snapshot [path=" + path + ']', e);
+
+            return false;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onShutdown() {
+        // No-op.
     }
 
     /** */
@@ -17,6 +17,7 @@
 
 package org.apache.ignite.internal.metastorage.server;
 
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -28,6 +29,7 @@ import org.apache.ignite.internal.util.Cursor;
 import org.apache.ignite.lang.ByteArray;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import static java.util.function.Function.identity;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -1927,6 +1929,42 @@ class SimpleInMemoryKeyValueStorageTest {
         assertFalse(it.hasNext());
     }
 
+    @Test
+    public void snapshot(@TempDir Path snapshotDir) {
+        byte[] key1 = k(1);
+        byte[] key2 = k(2);
+
+        storage.put(key1, kv(1, 1));
+        storage.put(key2, kv(2, 1));
+        storage.put(key1, kv(1, 2));
+        storage.remove(key2);
+
+        storage.snapshot(snapshotDir);
+
+        KeyValueStorage restored = new SimpleInMemoryKeyValueStorage();
+
+        restored.put(k(3), kv(3, 1));
+
+        restored.restoreSnapshot(snapshotDir);
+
+        assertEquals(storage.revision(), restored.revision());
+        assertEquals(storage.updateCounter(), restored.updateCounter());
+
+        assertArrayEquals(kv(1, 2), restored.get(key1).value());
+        assertArrayEquals(kv(1, 1), restored.get(key1, 1).value());
+        assertEquals(3, restored.get(key1).revision());
+
+        assertTrue(restored.get(key2).tombstone());
+        assertArrayEquals(kv(2, 1), restored.get(key2, 2).value());
+
+        assertTrue(restored.get(k(3)).empty());
+
+        // The restored storage continues the revisions of the snapshot.
+        restored.put(k(3), kv(3, 1));
+
+        assertEquals(storage.revision() + 1, restored.get(k(3)).revision());
+    }
+
     /** */
     private static void fill(KeyValueStorage storage, int keySuffix, int num) {
         for (int i = 0; i < num; i++)
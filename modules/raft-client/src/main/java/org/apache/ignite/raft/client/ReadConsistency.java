@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.raft.client;
+
+/**
+ * Consistency of a read command.
+ */
+public enum ReadConsistency {
+    /**
+     * The command is executed on the leader after the leader has confirmed its leadership by a heartbeat round with
+     * a quorum of the group, so the command sees all the writes completed before it.
+     */
+    LINEARIZABLE,
+
+    /**
+     * The command is executed on the leader, which relies on its lease instead of a heartbeat round while the lease
+     * is valid. The command sees all the writes completed before it, unless the clocks of the peers drift more than
+     * the lease allows.
+     */
+    LEASE_READ,
+
+    /**
+     * The command is executed on the local peer of the group, or on a random peer if the local node does not host
+     * the group, after the peer has learned the commit index of the leader and applied it. Reads see all the writes
+     * completed before them and are spread across the peers.
+     */
+    FOLLOWER_READ
+}
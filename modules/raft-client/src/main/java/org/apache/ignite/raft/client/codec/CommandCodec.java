@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.raft.client.codec;
+
+import org.apache.ignite.raft.client.Command;
+
+/**
+ * Converts commands to the bytes of RAFT log entries and back.
+ */
+public interface CommandCodec {
+    /**
+     * @param cmd The command.
+     * @return Bytes of the command.
+     */
+    byte[] encode(Command cmd);
+
+    /**
+     * @param bytes Bytes produced by {@link #encode(Command)}.
+     * @param <T> Command type.
+     * @return The command.
+     */
+    <T extends Command> T decode(byte[] bytes);
+}
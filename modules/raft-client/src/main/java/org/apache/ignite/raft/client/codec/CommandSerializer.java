@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.raft.client.codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import org.apache.ignite.raft.client.Command;
+
+/**
+ * Writes the commands of one class in a compact binary form, identified by a type id in the RAFT log.
+ *
+ * @param <T> Command type.
+ */
+public interface CommandSerializer<T extends Command> {
+    /**
+     * @return Type id of the commands, unique among all the serializers. Must never change, because it is stored
+     *      in the RAFT log.
+     */
+    short typeId();
+
+    /**
+     * @return Class of the commands.
+     */
+    Class<T> commandClass();
+
+    /**
+     * @param cmd The command.
+     * @param out Output.
+     * @throws IOException If failed.
+     */
+    void write(T cmd, DataOutput out) throws IOException;
+
+    /**
+     * @param in Input.
+     * @return The command.
+     * @throws IOException If failed.
+     */
+    T read(DataInput in) throws IOException;
+}
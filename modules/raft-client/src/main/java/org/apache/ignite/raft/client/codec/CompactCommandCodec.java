@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.raft.client.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.ignite.lang.IgniteInternalException;
+import org.apache.ignite.raft.client.Command;
+
+/**
+ * Command codec that writes the commands having a registered {@link CommandSerializer} as a type id followed by the
+ * bytes of the serializer, with no class descriptors. Other commands are written with Java serialization, which is
+ * also how the entries written before the codec are read: a Java serialization stream starts with a magic number that
+ * differs from the marker of the compact form.
+ * <p>
+ * Serializers are registered explicitly or provided by the {@link CommandSerializerProvider}s found by
+ * {@link ServiceLoader}.
+ */
+public class CompactCommandCodec implements CommandCodec {
+    /** First byte of a compact entry. The first byte of a Java serialization stream is {@code 0xAC}. */
+    private static final byte COMPACT_MARKER = 1;
+
+    /** Serializers by the command class. */
+    private final Map<Class<?>, CommandSerializer<?>> serializersByCls = new ConcurrentHashMap<>();
+
+    /** Serializers by the type id. */
+    private final Map<Short, CommandSerializer<?>> serializersById = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a codec with the serializers of the providers found by {@link ServiceLoader}.
+     */
+    public CompactCommandCodec() {
+        this(true);
+    }
+
+    /**
+     * @param loadProviders {@code True} to register the serializers of the providers found by {@link ServiceLoader}.
+     */
+    public CompactCommandCodec(boolean loadProviders) {
+        if (loadProviders) {
+            for (CommandSerializerProvider provider : ServiceLoader.load(CommandSerializerProvider.class)) {
+                for (CommandSerializer<?> serializer : provider.serializers())
+                    register(serializer);
+            }
+        }
+    }
+
+    /**
+     * Registers a serializer.
+     *
+     * @param serializer The serializer.
+     * @throws IllegalStateException If the type id or the command class is already registered.
+     */
+    public void register(CommandSerializer<?> serializer) {
+        CommandSerializer<?> old = serializersById.putIfAbsent(serializer.typeId(), serializer);
+
+        if (old != null) {
+            throw new IllegalStateException("Duplicate command type id [typeId=" + serializer.typeId() +
+                ", cls=" + serializer.commandClass().getName() + ", registered=" + old.commandClass().getName() + ']');
+        }
+
+        if (serializersByCls.putIfAbsent(serializer.commandClass(), serializer) != null) {
+            serializersById.remove(serializer.typeId());
+
+            throw new IllegalStateException("Duplicate command serializer [cls=" +
+                serializer.commandClass().getName() + ']');
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public byte[] encode(Command cmd) {
+        CommandSerializer<Command> serializer = (CommandSerializer<Command>)serializersByCls.get(cmd.getClass());
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+        try {
+            if (serializer == null) {
+                try (ObjectOutputStream out = new ObjectOutputStream(baos)) {
+                    out.writeObject(cmd);
+                }
+            }
+            else {
+                DataOutputStream out = new DataOutputStream(baos);
+
+                out.writeByte(COMPACT_MARKER);
+                out.writeShort(serializer.typeId());
+
+                serializer.write(cmd, out);
+
+                out.flush();
+            }
+        }
+        catch (IOException e) {
+            throw new IgniteInternalException("Failed to encode a command [cls=" + cmd.getClass().getName() + ']', e);
+        }
+
+        return baos.toByteArray();
+    }
+
+    /** {@inheritDoc} */
+    @Override public <T extends Command> T decode(byte[] bytes) {
+        try {
+            if (bytes[0] != COMPACT_MARKER) {
+                try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    return (T)in.readObject();
+                }
+            }
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1));
+
+            short typeId = in.readShort();
+
+            CommandSerializer<?> serializer = serializersById.get(typeId);
+
+            if (serializer == null)
+                throw new IgniteInternalException("Unknown command type id: " + typeId);
+
+            return (T)serializer.read(in);
+        }
+        catch (IOException | ClassNotFoundException e) {
+            throw new IgniteInternalException("Failed to decode a command", e);
+        }
+    }
+}
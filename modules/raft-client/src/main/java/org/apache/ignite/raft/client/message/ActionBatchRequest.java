@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.raft.client.message;
+
+import java.io.Serializable;
+import java.util.List;
+import org.apache.ignite.network.NetworkMessage;
+import org.apache.ignite.network.annotations.Transferable;
+import org.apache.ignite.raft.client.WriteCommand;
+
+/**
+ * Submit a batch of write commands to a replication group. The commands are applied in the order of the list.
+ */
+@Transferable(value = RaftClientMessageGroup.ACTION_BATCH_REQUEST, autoSerializable = false)
+public interface ActionBatchRequest extends NetworkMessage, Serializable {
+    /**
+     * @return Group id.
+     */
+    String groupId();
+
+    /**
+     * @return Commands of the batch.
+     */
+    List<WriteCommand> commands();
+}
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.raft.client.message;
+
+import java.io.Serializable;
+import java.util.List;
+import org.apache.ignite.network.NetworkMessage;
+import org.apache.ignite.network.annotations.Transferable;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The result of an {@link ActionBatchRequest}. Every command of the batch has either a result or an error, so the
+ * client completes the applied commands and resends only the failed ones.
+ */
+@Transferable(value = RaftClientMessageGroup.ACTION_BATCH_RESPONSE, autoSerializable = false)
+public interface ActionBatchResponse extends NetworkMessage, Serializable {
+    /**
+     * @return Results of the commands, in the order of the commands in the request.
+     */
+    List<Object> results();
+
+    /**
+     * @return Errors of the commands, in the order of the commands in the request, {@code null} for the commands that
+     * have been applied; or {@code null} if all the commands have been applied.
+     */
+    @Nullable List<RaftErrorResponse> errors();
+}
@@ -41,4 +41,10 @@ public interface ActionRequest extends NetworkMessage, Serializable {
      * @return {@code True} for linearizable reading.
      */
     boolean readOnlySafe();
+
+    /**
+     * @return {@code True} to let the leader confirm its leadership by its lease instead of a heartbeat round,
+     *      matters only for linearizable reading.
+     */
+    boolean leaseRead();
 }
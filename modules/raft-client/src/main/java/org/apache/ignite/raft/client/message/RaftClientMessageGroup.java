@@ -93,4 +93,24 @@ public class RaftClientMessageGroup {
      * Message type for {@link TransferLeadershipRequest}.
      */
     public static final short TRANSFER_LEADERSHIP_REQUEST = 13;
+
+    /**
+     * Message type for {@link ActionBatchRequest}.
+     */
+    public static final short ACTION_BATCH_REQUEST = 14;
+
+    /**
+     * Message type for {@link ActionBatchResponse}.
+     */
+    public static final short ACTION_BATCH_RESPONSE = 15;
+
+    /**
+     * Message type for {@link GetLeadersRequest}.
+     */
+    public static final short GET_LEADERS_REQUEST = 16;
+
+    /**
+     * Message type for {@link GetLeadersResponse}.
+     */
+    public static final short GET_LEADERS_RESPONSE = 17;
 }
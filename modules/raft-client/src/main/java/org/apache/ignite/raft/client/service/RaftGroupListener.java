@@ -65,4 +65,9 @@ public interface RaftGroupListener {
      * @return {@code True} if the snapshot was loaded successfully.
      */
     boolean onSnapshotLoad(String path);
+
+    /**
+     * Invoked once after a raft node has been shut down. Resources held by the listener should be released here.
+     */
+    void onShutdown();
 }
@@ -23,6 +23,7 @@ import java.util.concurrent.TimeoutException;
 import org.apache.ignite.raft.client.Command;
 import org.apache.ignite.raft.client.Peer;
 import org.apache.ignite.raft.client.ReadCommand;
+import org.apache.ignite.raft.client.ReadConsistency;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -184,6 +185,16 @@ public interface RaftGroupService {
      */
     <R> CompletableFuture<R> run(Command cmd);
 
+    /**
+     * Runs a read command with the given consistency.
+     *
+     * @param cmd The command.
+     * @param consistency Read consistency.
+     * @param <R> Execution result type.
+     * @return A future with the execution result.
+     */
+    <R> CompletableFuture<R> run(ReadCommand cmd, ReadConsistency consistency);
+
     /**
      * Runs a read command on a given peer.
      * <p>
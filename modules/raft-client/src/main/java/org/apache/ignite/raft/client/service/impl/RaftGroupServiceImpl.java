@@ -18,20 +18,31 @@
 package org.apache.ignite.raft.client.service.impl;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 import org.apache.ignite.lang.IgniteLogger;
 import org.apache.ignite.network.ClusterService;
+import org.apache.ignite.network.NetworkAddress;
 import org.apache.ignite.network.NetworkMessage;
 import org.apache.ignite.raft.client.Command;
 import org.apache.ignite.raft.client.Peer;
 import org.apache.ignite.raft.client.ReadCommand;
+import org.apache.ignite.raft.client.ReadConsistency;
+import org.apache.ignite.raft.client.WriteCommand;
 import org.apache.ignite.raft.client.exception.RaftException;
+import org.apache.ignite.raft.client.message.ActionBatchRequest;
+import org.apache.ignite.raft.client.message.ActionBatchResponse;
 import org.apache.ignite.raft.client.message.ActionRequest;
 import org.apache.ignite.raft.client.message.ActionResponse;
 import org.apache.ignite.raft.client.message.AddLearnersRequest;
@@ -39,6 +50,8 @@ import org.apache.ignite.raft.client.message.AddPeersRequest;
 import org.apache.ignite.raft.client.message.ChangePeersResponse;
 import org.apache.ignite.raft.client.message.GetLeaderRequest;
 import org.apache.ignite.raft.client.message.GetLeaderResponse;
+import org.apache.ignite.raft.client.message.GetLeadersRequest;
+import org.apache.ignite.raft.client.message.GetLeadersResponse;
 import org.apache.ignite.raft.client.message.GetPeersRequest;
 import org.apache.ignite.raft.client.message.GetPeersResponse;
 import org.apache.ignite.raft.client.message.RaftClientMessagesFactory;
@@ -49,6 +62,7 @@ import org.apache.ignite.raft.client.message.SnapshotRequest;
 import org.apache.ignite.raft.client.message.TransferLeadershipRequest;
 import org.apache.ignite.raft.client.service.RaftGroupService;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import static java.lang.System.currentTimeMillis;
 import static java.util.Objects.requireNonNull;
@@ -87,10 +101,27 @@ public class RaftGroupServiceImpl implements RaftGroupService {
     /** */
     private final long retryDelay;
 
-    /** */
-    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(1);
+    /** Executor for scheduling retries, may be shared between the services of different groups. */
+    private final ScheduledExecutorService executor;
+
+    /** {@code True} if the executor has been created by this service and has to be stopped on shutdown. */
+    private final boolean ownExecutor;
+
+    /** Maximum number of write commands sent in one batch, {@code 0} if batching is disabled. */
+    private volatile int maxBatchSize;
+
+    /** Maximum time in milliseconds a write command waits for its batch to be filled up. */
+    private volatile long maxBatchDelay;
+
+    /** Write commands waiting to be sent. */
+    private List<PendingCommand> batch = new ArrayList<>();
+
+    /** Guards {@link #batch}. */
+    private final Object batchMux = new Object();
 
     /**
+     * Creates a service with its own retry executor, which is stopped on {@link #shutdown()}.
+     *
      * @param groupId Group id.
      * @param cluster A cluster.
      * @param factory A message factory.
@@ -107,6 +138,32 @@ public class RaftGroupServiceImpl implements RaftGroupService {
         List<Peer> peers,
         boolean refreshLeader,
         long retryDelay
+    ) {
+        this(groupId, cluster, factory, timeout, peers, refreshLeader, retryDelay, null);
+    }
+
+    /**
+     * Creates a service that schedules retries on the given executor. The executor is not stopped on
+     * {@link #shutdown()}, so one executor can be shared by the services of all groups of a node.
+     *
+     * @param groupId Group id.
+     * @param cluster A cluster.
+     * @param factory A message factory.
+     * @param timeout Request timeout.
+     * @param peers Initial group configuration.
+     * @param refreshLeader {@code True} to synchronously refresh leader on service creation.
+     * @param retryDelay Retry delay.
+     * @param executor Executor for scheduling retries, {@code null} to create a dedicated one.
+     */
+    public RaftGroupServiceImpl(
+        String groupId,
+        ClusterService cluster,
+        RaftClientMessagesFactory factory,
+        int timeout,
+        List<Peer> peers,
+        boolean refreshLeader,
+        long retryDelay,
+        @Nullable ScheduledExecutorService executor
     ) {
         this.cluster = requireNonNull(cluster);
         this.peers = requireNonNull(peers);
@@ -114,6 +171,8 @@ public class RaftGroupServiceImpl implements RaftGroupService {
         this.timeout = timeout;
         this.groupId = groupId;
         this.retryDelay = retryDelay;
+        this.ownExecutor = executor == null;
+        this.executor = executor == null ? Executors.newSingleThreadScheduledExecutor() : executor;
 
         if (refreshLeader) {
             try {
@@ -125,6 +184,23 @@ public class RaftGroupServiceImpl implements RaftGroupService {
         }
     }
 
+    /**
+     * Enables batching of write commands: the commands issued within the delay are sent to the leader in one
+     * {@link ActionBatchRequest}, which is sent as soon as it contains the maximum number of commands. Each command
+     * of a batch gets its own result or error. If the leader changes in the middle of a batch, only the commands which
+     * have not been applied are resent to the new leader.
+     *
+     * @param maxBatchSize Maximum number of commands in a batch.
+     * @param maxBatchDelay Maximum time in milliseconds a command waits for its batch to be filled up.
+     */
+    public void enableBatching(int maxBatchSize, long maxBatchDelay) {
+        assert maxBatchSize > 0 : maxBatchSize;
+        assert maxBatchDelay >= 0 : maxBatchDelay;
+
+        this.maxBatchDelay = maxBatchDelay;
+        this.maxBatchSize = maxBatchSize;
+    }
+
     /** {@inheritDoc} */
     @Override public @NotNull String groupId() {
         return groupId;
@@ -170,6 +246,67 @@ public class RaftGroupServiceImpl implements RaftGroupService {
         });
     }
 
+    /**
+     * Refreshes the leaders of several groups with one {@link GetLeadersRequest} per node instead of one
+     * {@link GetLeaderRequest} per group. The groups are assigned to as few of their peers as possible, and each peer
+     * reports the leaders it knows of the groups it hosts. The groups whose leaders remain unknown, either because
+     * a request has failed or because the peer does not know the leader, refresh the leader on the first operation.
+     *
+     * @param services Services of the groups, must use the same cluster service.
+     * @return A future which is completed when all the requests have been processed, never completed exceptionally.
+     */
+    public static CompletableFuture<Void> refreshLeaders(Collection<RaftGroupServiceImpl> services) {
+        if (services.isEmpty())
+            return CompletableFuture.completedFuture(null);
+
+        Map<Peer, List<RaftGroupServiceImpl>> byPeer = new HashMap<>();
+
+        for (RaftGroupServiceImpl svc : services) {
+            List<Peer> peers0 = svc.peers;
+
+            if (peers0.isEmpty())
+                continue;
+
+            Peer target = peers0.stream().filter(byPeer::containsKey).findFirst().orElse(peers0.get(0));
+
+            byPeer.computeIfAbsent(target, p -> new ArrayList<>()).add(svc);
+        }
+
+        RaftGroupServiceImpl first = services.iterator().next();
+
+        CompletableFuture<?>[] futs = new CompletableFuture[byPeer.size()];
+
+        int i = 0;
+
+        for (Map.Entry<Peer, List<RaftGroupServiceImpl>> e : byPeer.entrySet()) {
+            List<RaftGroupServiceImpl> svcs = e.getValue();
+
+            GetLeadersRequest req = first.factory.getLeadersRequest()
+                .groupIds(svcs.stream().map(svc -> svc.groupId).collect(Collectors.toList()))
+                .build();
+
+            futs[i++] = first.cluster.messagingService().invoke(e.getKey().address(), req, first.timeout)
+                .handle((resp, err) -> {
+                    if (resp instanceof GetLeadersResponse) {
+                        List<Peer> leaders = ((GetLeadersResponse)resp).leaders();
+
+                        for (int j = 0; j < svcs.size(); j++) {
+                            Peer leader = leaders.get(j);
+
+                            if (leader != null)
+                                svcs.get(j).leader = leader;
+                        }
+                    }
+                    else if (LOG.isDebugEnabled())
+                        LOG.debug("Failed to refresh leaders [peer=" + e.getKey() + ", resp=" + resp + ']', err);
+
+                    return null;
+                });
+        }
+
+        return CompletableFuture.allOf(futs);
+    }
+
     /** {@inheritDoc} */
     @Override public CompletableFuture<Void> refreshMembers(boolean onlyAlive) {
         GetPeersRequest req = factory.getPeersRequest().onlyAlive(onlyAlive).groupId(groupId).build();
@@ -306,12 +443,56 @@ public class RaftGroupServiceImpl implements RaftGroupService {
 
     /** {@inheritDoc} */
     @Override public <R> CompletableFuture<R> run(Command cmd) {
+        if (maxBatchSize > 0 && cmd instanceof WriteCommand)
+            return (CompletableFuture<R>)addToBatch((WriteCommand)cmd);
+
+        return runOnLeader(cmd, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override public <R> CompletableFuture<R> run(ReadCommand cmd, ReadConsistency consistency) {
+        switch (consistency) {
+            case LINEARIZABLE:
+                return runOnLeader(cmd, false);
+
+            case LEASE_READ:
+                return runOnLeader(cmd, true);
+
+            case FOLLOWER_READ: {
+                ActionRequest req = factory.actionRequest().command(cmd).groupId(groupId).readOnlySafe(true).build();
+
+                CompletableFuture<ActionResponse> fut = new CompletableFuture<>();
+
+                sendWithRetry(localOrRandomNode(), req, currentTimeMillis() + timeout, fut, false);
+
+                return fut.thenApply(resp -> (R) resp.result());
+            }
+
+            default:
+                throw new IllegalArgumentException("Unknown read consistency: " + consistency);
+        }
+    }
+
+    /**
+     * Runs a command on the leader.
+     *
+     * @param cmd The command.
+     * @param leaseRead {@code True} to let the leader rely on its lease for a read command.
+     * @param <R> Execution result type.
+     * @return A future with the execution result.
+     */
+    private <R> CompletableFuture<R> runOnLeader(Command cmd, boolean leaseRead) {
         Peer leader = this.leader;
 
         if (leader == null)
-            return refreshLeader().thenCompose(res -> run(cmd));
+            return refreshLeader().thenCompose(res -> runOnLeader(cmd, leaseRead));
 
-        ActionRequest req = factory.actionRequest().command(cmd).groupId(groupId).readOnlySafe(true).build();
+        ActionRequest req = factory.actionRequest()
+            .command(cmd)
+            .groupId(groupId)
+            .readOnlySafe(true)
+            .leaseRead(leaseRead)
+            .build();
 
         CompletableFuture<ActionResponse> fut = new CompletableFuture<>();
 
@@ -333,7 +514,171 @@ public class RaftGroupServiceImpl implements RaftGroupService {
 
     /** {@inheritDoc} */
     @Override public void shutdown() {
-        // No-op.
+        if (ownExecutor)
+            executor.shutdownNow();
+    }
+
+    /**
+     * Adds a write command to the current batch, sends the batch if it is full or schedules sending it otherwise.
+     *
+     * @param cmd The command.
+     * @return A future for the command result.
+     */
+    private CompletableFuture<Object> addToBatch(WriteCommand cmd) {
+        CompletableFuture<Object> fut = new CompletableFuture<>();
+
+        List<PendingCommand> full = null;
+
+        boolean first;
+
+        synchronized (batchMux) {
+            batch.add(new PendingCommand(cmd, fut));
+
+            first = batch.size() == 1;
+
+            if (batch.size() >= maxBatchSize) {
+                full = batch;
+
+                batch = new ArrayList<>();
+            }
+        }
+
+        if (full != null)
+            sendBatch(full);
+        else if (first) {
+            try {
+                executor.schedule(this::flushBatch, maxBatchDelay, TimeUnit.MILLISECONDS);
+            }
+            catch (RejectedExecutionException e) {
+                flushBatch();
+            }
+        }
+
+        return fut;
+    }
+
+    /**
+     * Sends the current batch if it is not empty.
+     */
+    private void flushBatch() {
+        List<PendingCommand> cmds;
+
+        synchronized (batchMux) {
+            if (batch.isEmpty())
+                return;
+
+            cmds = batch;
+
+            batch = new ArrayList<>();
+        }
+
+        sendBatch(cmds);
+    }
+
+    /**
+     * Sends a batch of commands to the leader and completes the futures of the commands with their results.
+     *
+     * @param cmds Commands.
+     */
+    private void sendBatch(List<PendingCommand> cmds) {
+        long stopTime = currentTimeMillis() + timeout;
+
+        Peer leader = this.leader;
+
+        if (leader == null) {
+            refreshLeader().whenComplete((res, err) -> {
+                if (err != null)
+                    failBatch(cmds, err);
+                else
+                    sendBatch(this.leader, cmds, stopTime);
+            });
+        }
+        else
+            sendBatch(leader, cmds, stopTime);
+    }
+
+    /**
+     * Sends a batch of commands to a peer. The futures of the applied commands are completed with their results, and
+     * the commands which have failed because of a leader change are resent until the stop time.
+     *
+     * @param peer Target peer.
+     * @param cmds Commands.
+     * @param stopTime Stop time.
+     */
+    private void sendBatch(Peer peer, List<PendingCommand> cmds, long stopTime) {
+        List<WriteCommand> cmds0 = new ArrayList<>(cmds.size());
+
+        for (PendingCommand cmd : cmds)
+            cmds0.add(cmd.cmd);
+
+        ActionBatchRequest req = factory.actionBatchRequest().groupId(groupId).commands(cmds0).build();
+
+        CompletableFuture<ActionBatchResponse> fut = new CompletableFuture<>();
+
+        sendWithRetry(peer, req, stopTime, fut);
+
+        fut.whenComplete((resp, err) -> {
+            if (err != null) {
+                failBatch(cmds, err);
+
+                return;
+            }
+
+            List<RaftErrorResponse> errors = resp.errors();
+
+            List<PendingCommand> retry = new ArrayList<>();
+
+            Peer newLeader = null;
+
+            for (int i = 0; i < cmds.size(); i++) {
+                PendingCommand cmd = cmds.get(i);
+
+                RaftErrorResponse err0 = errors == null ? null : errors.get(i);
+
+                if (err0 == null)
+                    cmd.fut.complete(resp.results().get(i));
+                else if (err0.errorCode().equals(NO_LEADER))
+                    retry.add(cmd);
+                else if (err0.errorCode().equals(LEADER_CHANGED)) {
+                    retry.add(cmd);
+
+                    newLeader = err0.newLeader();
+                }
+                else
+                    cmd.fut.completeExceptionally(new RaftException(err0.errorCode(), err0.errorMessage()));
+            }
+
+            if (retry.isEmpty())
+                return;
+
+            Peer target;
+
+            if (newLeader != null) {
+                leader = newLeader; // Update a leader.
+
+                target = newLeader;
+            }
+            else
+                target = randomNode();
+
+            try {
+                executor.schedule(() -> sendBatch(target, retry, stopTime), retryDelay, TimeUnit.MILLISECONDS);
+            }
+            catch (RejectedExecutionException e) {
+                failBatch(retry, e);
+            }
+        });
+    }
+
+    /**
+     * Completes the futures of the commands exceptionally.
+     *
+     * @param cmds Commands.
+     * @param err The error.
+     */
+    private static void failBatch(List<PendingCommand> cmds, Throwable err) {
+        for (PendingCommand cmd : cmds)
+            cmd.fut.completeExceptionally(err);
     }
 
     /**
@@ -346,6 +691,21 @@ public class RaftGroupServiceImpl implements RaftGroupService {
      * @param <R> Response type.
      */
     private <R> void sendWithRetry(Peer peer, Object req, long stopTime, CompletableFuture<R> fut) {
+        sendWithRetry(peer, req, stopTime, fut, true);
+    }
+
+    /**
+     * Retries request until success or timeout.
+     *
+     * @param peer Target peer.
+     * @param req The request.
+     * @param stopTime Stop time.
+     * @param fut The future.
+     * @param toLeader {@code True} if the request is served by the leader only, so the peer that has responded
+     *      successfully is the leader.
+     * @param <R> Response type.
+     */
+    private <R> void sendWithRetry(Peer peer, Object req, long stopTime, CompletableFuture<R> fut, boolean toLeader) {
         if (currentTimeMillis() >= stopTime) {
             fut.completeExceptionally(new TimeoutException());
 
@@ -357,13 +717,8 @@ public class RaftGroupServiceImpl implements RaftGroupService {
         fut0.whenComplete(new BiConsumer<Object, Throwable>() {
             @Override public void accept(Object resp, Throwable err) {
                 if (err != null) {
-                    if (recoverable(err)) {
-                        executor.schedule(() -> {
-                            sendWithRetry(randomNode(), req, stopTime, fut);
-
-                            return null;
-                        }, retryDelay, TimeUnit.MILLISECONDS);
-                    }
+                    if (recoverable(err))
+                        scheduleRetry(() -> sendWithRetry(randomNode(), req, stopTime, fut, toLeader), fut);
                     else
                         fut.completeExceptionally(err);
                 }
@@ -371,31 +726,24 @@ public class RaftGroupServiceImpl implements RaftGroupService {
                     RaftErrorResponse resp0 = (RaftErrorResponse) resp;
 
                     if (resp0.errorCode() == null) { // Handle OK response.
-                        leader = peer; // The OK response was received from a leader.
+                        if (toLeader)
+                            leader = peer; // The OK response was received from a leader.
 
                         fut.complete(null); // Void response.
                     }
-                    else if (resp0.errorCode().equals(NO_LEADER)) {
-                        executor.schedule(() -> {
-                            sendWithRetry(randomNode(), req, stopTime, fut);
-
-                            return null;
-                        }, retryDelay, TimeUnit.MILLISECONDS);
-                    }
+                    else if (resp0.errorCode().equals(NO_LEADER))
+                        scheduleRetry(() -> sendWithRetry(randomNode(), req, stopTime, fut, toLeader), fut);
                     else if (resp0.errorCode().equals(LEADER_CHANGED)) {
                         leader = resp0.newLeader(); // Update a leader.
 
-                        executor.schedule(() -> {
-                            sendWithRetry(resp0.newLeader(), req, stopTime, fut);
-
-                            return null;
-                        }, retryDelay, TimeUnit.MILLISECONDS);
+                        scheduleRetry(() -> sendWithRetry(resp0.newLeader(), req, stopTime, fut, toLeader), fut);
                     }
                     else
                         fut.completeExceptionally(new RaftException(resp0.errorCode(), resp0.errorMessage()));
                 }
                 else {
-                    leader = peer; // The OK response was received from a leader.
+                    if (toLeader)
+                        leader = peer; // The OK response was received from a leader.
 
                     fut.complete((R) resp);
                 }
@@ -403,6 +751,21 @@ public class RaftGroupServiceImpl implements RaftGroupService {
         });
     }
 
+    /**
+     * Schedules a retry after the retry delay.
+     *
+     * @param retry Retry.
+     * @param fut The future to complete exceptionally if the retry cannot be scheduled.
+     */
+    private void scheduleRetry(Runnable retry, CompletableFuture<?> fut) {
+        try {
+            executor.schedule(retry, retryDelay, TimeUnit.MILLISECONDS);
+        }
+        catch (RejectedExecutionException e) {
+            fut.completeExceptionally(e);
+        }
+    }
+
     /**
      * Checks if an error is recoverable, for example, {@link java.net.ConnectException}.
      * @param t The throwable.
@@ -423,4 +786,38 @@ public class RaftGroupServiceImpl implements RaftGroupService {
 
         return peers0.get(current().nextInt(peers0.size()));
     }
+
+    /**
+     * @return The peer of the local node if the node hosts the group, random node otherwise.
+     */
+    private Peer localOrRandomNode() {
+        NetworkAddress locAddr = cluster.topologyService().localMember().address();
+
+        for (Peer peer : peers) {
+            if (peer.address().equals(locAddr))
+                return peer;
+        }
+
+        return randomNode();
+    }
+
+    /**
+     * A write command waiting to be sent in a batch.
+     */
+    private static class PendingCommand {
+        /** The command. */
+        private final WriteCommand cmd;
+
+        /** The future for the command result. */
+        private final CompletableFuture<Object> fut;
+
+        /**
+         * @param cmd The command.
+         * @param fut The future for the command result.
+         */
+        PendingCommand(WriteCommand cmd, CompletableFuture<Object> fut) {
+            this.cmd = cmd;
+            this.fut = fut;
+        }
+    }
 }
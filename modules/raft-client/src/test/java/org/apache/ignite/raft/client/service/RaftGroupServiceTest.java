@@ -18,27 +18,37 @@
 package org.apache.ignite.raft.client.service;
 
 import java.net.ConnectException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.ignite.lang.IgniteInternalException;
 import org.apache.ignite.lang.IgniteLogger;
+import org.apache.ignite.network.ClusterNode;
 import org.apache.ignite.network.ClusterService;
 import org.apache.ignite.network.MessagingService;
 import org.apache.ignite.network.NetworkAddress;
+import org.apache.ignite.network.TopologyService;
 import org.apache.ignite.raft.client.Peer;
 import org.apache.ignite.raft.client.RaftErrorCode;
+import org.apache.ignite.raft.client.ReadCommand;
+import org.apache.ignite.raft.client.ReadConsistency;
 import org.apache.ignite.raft.client.WriteCommand;
 import org.apache.ignite.raft.client.exception.RaftException;
+import org.apache.ignite.raft.client.message.ActionBatchRequest;
 import org.apache.ignite.raft.client.message.ActionRequest;
 import org.apache.ignite.raft.client.message.GetLeaderRequest;
+import org.apache.ignite.raft.client.message.GetLeadersRequest;
 import org.apache.ignite.raft.client.message.RaftClientMessagesFactory;
+import org.apache.ignite.raft.client.message.RaftErrorResponse;
 import org.apache.ignite.raft.client.message.SnapshotRequest;
 import org.apache.ignite.raft.client.service.impl.RaftGroupServiceImpl;
 import org.jetbrains.annotations.Nullable;
@@ -53,6 +63,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.concurrent.CompletableFuture.failedFuture;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -61,6 +72,8 @@ import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -97,6 +110,10 @@ public class RaftGroupServiceTest {
     @Mock
     private MessagingService messagingService;
 
+    /** Mock topology service. */
+    @Mock
+    private TopologyService topologyService;
+
     /**
      * @param testInfo Test info.
      */
@@ -126,6 +143,37 @@ public class RaftGroupServiceTest {
         assertEquals(leader, service.leader());
     }
 
+    /**
+     * Checks that the leaders of the groups hosted by the same peers are refreshed with one request.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRefreshLeaders() throws Exception {
+        when(messagingService.invoke(any(NetworkAddress.class), any(GetLeadersRequest.class), anyLong()))
+            .then(invocation -> {
+                GetLeadersRequest req = invocation.getArgument(1);
+
+                List<Peer> leaders = req.groupIds().stream()
+                    .map(groupId -> "noLeader".equals(groupId) ? null : leader)
+                    .collect(Collectors.toList());
+
+                return completedFuture(FACTORY.getLeadersResponse().leaders(leaders).build());
+            });
+
+        List<RaftGroupServiceImpl> services = Stream.of("test0", "noLeader", "test1")
+            .map(groupId -> new RaftGroupServiceImpl(groupId, cluster, FACTORY, TIMEOUT, NODES, false, DELAY))
+            .collect(Collectors.toList());
+
+        RaftGroupServiceImpl.refreshLeaders(services).get();
+
+        verify(messagingService, times(1)).invoke(any(NetworkAddress.class), any(GetLeadersRequest.class), anyLong());
+
+        assertEquals(leader, services.get(0).leader());
+        assertNull(services.get(1).leader());
+        assertEquals(leader, services.get(2).leader());
+    }
+
     /**
      * @throws Exception
      */
@@ -183,6 +231,48 @@ public class RaftGroupServiceTest {
         assertEquals(NODES.get(0), service.leader());
     }
 
+    /**
+     * Tests that the services of different groups retry on a shared executor and do not stop it on shutdown.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testRefreshLeaderElectedAfterDelaySharedExecutor() throws Exception {
+        mockLeaderRequest(false);
+
+        // Simulate running elections.
+        leader = null;
+
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+        try {
+            RaftGroupService service1 =
+                new RaftGroupServiceImpl("test1", cluster, FACTORY, TIMEOUT, NODES, false, DELAY, executor);
+
+            RaftGroupService service2 =
+                new RaftGroupServiceImpl("test2", cluster, FACTORY, TIMEOUT, NODES, false, DELAY, executor);
+
+            executor.schedule(() -> leader = NODES.get(0), 500, TimeUnit.MILLISECONDS);
+
+            CompletableFuture<Void> fut1 = service1.refreshLeader();
+            CompletableFuture<Void> fut2 = service2.refreshLeader();
+
+            fut1.get();
+            fut2.get();
+
+            assertEquals(NODES.get(0), service1.leader());
+            assertEquals(NODES.get(0), service2.leader());
+
+            service1.shutdown();
+            service2.shutdown();
+
+            assertFalse(executor.isShutdown());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * @throws Exception
      */
@@ -225,6 +315,172 @@ public class RaftGroupServiceTest {
         assertNotNull(resp);
     }
 
+    /**
+     * Tests that write commands are sent in batches and every command gets the result of its own slot.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testUserRequestBatching() throws Exception {
+        mockLeaderRequest(false);
+
+        when(messagingService.invoke(any(NetworkAddress.class), any(ActionBatchRequest.class), anyLong()))
+            .then(invocation -> {
+                ActionBatchRequest req = invocation.getArgument(1);
+
+                List<Object> results = new ArrayList<>();
+
+                for (int i = 0; i < req.commands().size(); i++)
+                    results.add(i);
+
+                return completedFuture(FACTORY.actionBatchResponse().results(results).build());
+            });
+
+        RaftGroupServiceImpl service =
+            new RaftGroupServiceImpl("test", cluster, FACTORY, TIMEOUT, NODES, false, DELAY);
+
+        service.enableBatching(3, DELAY);
+
+        List<CompletableFuture<Integer>> futs = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++)
+            futs.add(service.run(new TestCommand()));
+
+        // The first batch is full and sent at once, the second one is sent after the delay.
+        assertEquals(List.of(0, 1, 2), List.of(futs.get(0).get(), futs.get(1).get(), futs.get(2).get()));
+        assertEquals(0, futs.get(3).get());
+
+        verify(messagingService, times(2)).invoke(any(NetworkAddress.class), any(ActionBatchRequest.class), anyLong());
+
+        service.shutdown();
+    }
+
+    /**
+     * Tests that only the commands of a batch which have failed because of a leader change are resent to the new
+     * leader, and the applied commands are not applied again.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testUserRequestBatchingLeaderChanged() throws Exception {
+        mockLeaderRequest(false);
+
+        List<NetworkAddress> targets = new ArrayList<>();
+
+        List<Integer> sizes = new ArrayList<>();
+
+        when(messagingService.invoke(any(NetworkAddress.class), any(ActionBatchRequest.class), anyLong()))
+            .then(invocation -> {
+                ActionBatchRequest req = invocation.getArgument(1);
+
+                targets.add(invocation.getArgument(0));
+                sizes.add(req.commands().size());
+
+                List<Object> results = new ArrayList<>();
+                List<RaftErrorResponse> errors = new ArrayList<>();
+
+                for (int i = 0; i < req.commands().size(); i++) {
+                    // The old leader steps down after the first command of the batch.
+                    if (targets.size() == 1 && i > 0) {
+                        results.add(null);
+                        errors.add(FACTORY.raftErrorResponse()
+                            .errorCode(RaftErrorCode.LEADER_CHANGED)
+                            .newLeader(NODES.get(1))
+                            .build());
+                    }
+                    else {
+                        results.add(targets.size() * 10 + i);
+                        errors.add(null);
+                    }
+                }
+
+                return completedFuture(FACTORY.actionBatchResponse().results(results).errors(errors).build());
+            });
+
+        RaftGroupServiceImpl service =
+            new RaftGroupServiceImpl("test", cluster, FACTORY, TIMEOUT, NODES, false, DELAY);
+
+        service.enableBatching(3, DELAY);
+
+        List<CompletableFuture<Integer>> futs = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++)
+            futs.add(service.run(new TestCommand()));
+
+        assertEquals(List.of(10, 20, 21), List.of(futs.get(0).get(), futs.get(1).get(), futs.get(2).get()));
+
+        assertEquals(List.of(3, 2), sizes);
+        assertEquals(List.of(NODES.get(0).address(), NODES.get(1).address()), targets);
+        assertEquals(NODES.get(1), service.leader());
+
+        service.shutdown();
+    }
+
+    /**
+     * Tests that a lease read is sent to the leader with the lease flag.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testLeaseRead() throws Exception {
+        mockLeaderRequest(false);
+
+        when(messagingService.invoke(
+            any(NetworkAddress.class),
+            argThat(new ArgumentMatcher<ActionRequest>() {
+                @Override public boolean matches(ActionRequest req) {
+                    return req.readOnlySafe() && req.leaseRead();
+                }
+            }),
+            anyLong()
+        )).then(invocation -> {
+            assertEquals(leader.address(), invocation.getArgument(0));
+
+            return completedFuture(FACTORY.actionResponse().result(new TestResponse()).build());
+        });
+
+        RaftGroupService service =
+            new RaftGroupServiceImpl("test", cluster, FACTORY, TIMEOUT, NODES, false, DELAY);
+
+        assertNotNull(service.run(new TestReadCommand(), ReadConsistency.LEASE_READ).get());
+    }
+
+    /**
+     * Tests that a follower read is sent to the local peer, which does not become the leader.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testFollowerRead() throws Exception {
+        Peer locPeer = NODES.get(1);
+
+        ClusterNode locNode = new ClusterNode("local", "local", locPeer.address());
+
+        when(cluster.topologyService()).thenReturn(topologyService);
+        when(topologyService.localMember()).thenReturn(locNode);
+
+        when(messagingService.invoke(
+            any(NetworkAddress.class),
+            argThat(new ArgumentMatcher<ActionRequest>() {
+                @Override public boolean matches(ActionRequest req) {
+                    return req.readOnlySafe() && !req.leaseRead();
+                }
+            }),
+            anyLong()
+        )).then(invocation -> {
+            assertEquals(locPeer.address(), invocation.getArgument(0));
+
+            return completedFuture(FACTORY.actionResponse().result(new TestResponse()).build());
+        });
+
+        RaftGroupService service =
+            new RaftGroupServiceImpl("test", cluster, FACTORY, TIMEOUT, NODES, false, DELAY);
+
+        assertNotNull(service.run(new TestReadCommand(), ReadConsistency.FOLLOWER_READ).get());
+
+        assertNull(service.leader());
+    }
+
     /**
      * @throws Exception
      */
@@ -552,6 +808,10 @@ public class RaftGroupServiceTest {
     private static class TestCommand implements WriteCommand {
     }
 
+    /** */
+    private static class TestReadCommand implements ReadCommand {
+    }
+
     /** */
     private static class TestResponse {
     }
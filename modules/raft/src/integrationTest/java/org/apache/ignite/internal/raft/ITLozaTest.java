@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.raft;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.ignite.lang.IgniteLogger;
+import org.apache.ignite.network.ClusterLocalConfiguration;
+import org.apache.ignite.network.ClusterNode;
+import org.apache.ignite.network.ClusterService;
+import org.apache.ignite.network.MessageSerializationRegistryImpl;
+import org.apache.ignite.network.NetworkAddress;
+import org.apache.ignite.network.scalecube.TestScaleCubeClusterServiceFactory;
+import org.apache.ignite.raft.client.Peer;
+import org.apache.ignite.raft.client.service.RaftGroupService;
+import org.apache.ignite.raft.jraft.test.TestUtils;
+import org.apache.ignite.raft.jraft.util.Utils;
+import org.apache.ignite.raft.server.CounterListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import static org.apache.ignite.raft.jraft.test.TestUtils.getLocalAddress;
+import static org.apache.ignite.raft.jraft.test.TestUtils.waitForCondition;
+import static org.apache.ignite.raft.jraft.test.TestUtils.waitForTopology;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for {@link Loza}.
+ */
+public class ITLozaTest {
+    /** The logger. */
+    private static final IgniteLogger LOG = IgniteLogger.forClass(ITLozaTest.class);
+
+    /** Port of the first node. */
+    private static final int PORT = 5013;
+
+    /** Number of nodes. */
+    private static final int NODES = 3;
+
+    /** Cluster services of the nodes. */
+    private final List<ClusterService> services = new ArrayList<>();
+
+    /** RAFT managers of the nodes. */
+    private final List<Loza> lozas = new ArrayList<>();
+
+    /** Data path. */
+    private String dataPath;
+
+    /** */
+    @BeforeEach
+    void before(TestInfo testInfo) {
+        LOG.info(">>>>>>>>>>>>>>> Start test method: {}", testInfo.getTestMethod().orElseThrow().getName());
+
+        dataPath = TestUtils.mkTempDir();
+
+        var seed = new NetworkAddress(getLocalAddress(), PORT);
+
+        for (int i = 0; i < NODES; i++) {
+            var ctx = new ClusterLocalConfiguration(
+                "node" + i,
+                PORT + i,
+                List.of(seed),
+                new MessageSerializationRegistryImpl()
+            );
+
+            ClusterService service = new TestScaleCubeClusterServiceFactory().createClusterService(ctx);
+
+            service.start();
+
+            services.add(service);
+
+            lozas.add(new Loza(service, Path.of(dataPath, "node" + i)));
+        }
+
+        for (ClusterService service : services)
+            assertTrue(waitForTopology(service, NODES, 15_000));
+    }
+
+    /** */
+    @AfterEach
+    void after(TestInfo testInfo) throws Exception {
+        for (Loza loza : lozas)
+            loza.stop();
+
+        for (ClusterService service : services)
+            service.shutdown();
+
+        assertTrue(Utils.delete(new File(dataPath)), "Failed to delete " + dataPath);
+
+        LOG.info(">>>>>>>>>>>>>>> End test method: {}", testInfo.getTestMethod().orElseThrow().getName());
+    }
+
+    /**
+     * Checks that the election priorities given by the order of the assignment reach the replicas: the first peer of
+     * the assignment of every group becomes its leader.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testFirstPeerOfAssignmentIsLeader() throws Exception {
+        List<ClusterNode> members = services.get(0).topologyService().allMembers().stream()
+            .sorted(Comparator.comparingInt(node -> node.address().port()))
+            .collect(Collectors.toList());
+
+        List<List<ClusterNode>> assignments = new ArrayList<>();
+
+        // Every node is the first peer of one of the groups.
+        for (int g = 0; g < NODES; g++) {
+            List<ClusterNode> assignment = new ArrayList<>(members.subList(g, NODES));
+
+            assignment.addAll(members.subList(0, g));
+
+            assignments.add(assignment);
+        }
+
+        List<RaftGroupService> clients = new ArrayList<>();
+
+        for (int g = 0; g < NODES; g++) {
+            for (Loza loza : lozas) {
+                RaftGroupService client = loza.startRaftGroup("group" + g, assignments.get(g), CounterListener::new);
+
+                if (loza == lozas.get(0))
+                    clients.add(client);
+            }
+        }
+
+        for (int g = 0; g < NODES; g++) {
+            RaftGroupService client = clients.get(g);
+
+            NetworkAddress expected = assignments.get(g).get(0).address();
+
+            assertTrue(waitForCondition(() -> {
+                try {
+                    client.refreshLeader().get();
+                }
+                catch (Exception e) {
+                    return false;
+                }
+
+                Peer leader = client.leader();
+
+                return leader != null && leader.address().equals(expected);
+            }, 30_000), "Unexpected leader of group" + g + ": " + client.leader());
+
+            assertEquals(expected, client.leader().address());
+        }
+    }
+}
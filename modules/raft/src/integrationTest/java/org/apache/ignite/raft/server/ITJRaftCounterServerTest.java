@@ -40,6 +40,7 @@ import org.apache.ignite.raft.client.service.CommandClosure;
 import org.apache.ignite.raft.client.service.RaftGroupService;
 import org.apache.ignite.raft.client.service.impl.RaftGroupServiceImpl;
 import org.apache.ignite.raft.jraft.core.NodeImpl;
+import org.apache.ignite.raft.jraft.storage.impl.RocksDBSharedLogStorageFactory;
 import org.apache.ignite.raft.jraft.test.TestUtils;
 import org.apache.ignite.raft.jraft.util.Utils;
 import org.junit.jupiter.api.AfterEach;
@@ -507,6 +508,7 @@ class ITJRaftCounterServerTest extends RaftServerAbstractTest {
 
         String serverDataPath0 = toStop.getServerDataPath(COUNTER_GROUP_0);
         String serverDataPath1 = toStop.getServerDataPath(COUNTER_GROUP_1);
+        String logPath = toStop.getLogPath();
 
         int stopIdx = servers.indexOf(toStop);
 
@@ -525,6 +527,14 @@ class ITJRaftCounterServerTest extends RaftServerAbstractTest {
         if (cleanDir) {
             Utils.delete(new File(serverDataPath0));
             Utils.delete(new File(serverDataPath1));
+
+            // Logs of all the groups of the node share a database, so only the keys of the groups are removed.
+            try (RocksDBSharedLogStorageFactory logStorageFactory = new RocksDBSharedLogStorageFactory(logPath)) {
+                logStorageFactory.start();
+
+                logStorageFactory.destroyLogStorage(COUNTER_GROUP_0);
+                logStorageFactory.destroyLogStorage(COUNTER_GROUP_1);
+            }
         }
 
         var svc2 = startServer(stopIdx, r -> {
@@ -17,17 +17,31 @@
 
 package org.apache.ignite.internal.raft;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.apache.ignite.network.ClusterNode;
 import org.apache.ignite.network.ClusterService;
+import org.apache.ignite.network.NetworkAddress;
+import org.apache.ignite.raft.client.ElectionPriority;
 import org.apache.ignite.raft.client.Peer;
 import org.apache.ignite.raft.client.message.RaftClientMessagesFactory;
 import org.apache.ignite.raft.client.service.RaftGroupListener;
 import org.apache.ignite.raft.client.service.RaftGroupService;
 import org.apache.ignite.raft.client.service.impl.RaftGroupServiceImpl;
 import org.apache.ignite.internal.raft.server.RaftServer;
-import org.apache.ignite.internal.raft.server.impl.RaftServerImpl;
+import org.apache.ignite.internal.raft.server.impl.JRaftServerImpl;
+import org.apache.ignite.raft.jraft.option.LogSyncMode;
+import org.apache.ignite.raft.jraft.option.NodeOptions;
+import org.apache.ignite.raft.jraft.option.RaftOptions;
 
 /**
  * Best raft manager ever since 1982.
@@ -42,21 +56,59 @@ public class Loza {
     /** Retry delay. */
     private static final int DELAY = 200;
 
+    /** Maximum delay in milliseconds between the rounds of a leaders refresh. */
+    private static final int MAX_LEADERS_REFRESH_DELAY = 5_000;
+
+    /** Time in milliseconds during which the leaders of new groups are refreshed until they are elected. */
+    private static final long LEADERS_REFRESH_TIMEOUT = 60_000;
+
     /** Cluster network service. */
     private final ClusterService clusterNetSvc;
 
     /** Raft server. */
     private final RaftServer raftServer;
 
+    /** Executor that schedules the request retries of all RAFT group clients of the node. */
+    private final ScheduledExecutorService retryExecutor;
+
+    /**
+     * Constructor.
+     *
+     * @param clusterNetSvc Cluster network service.
+     * @param dataPath Path to the logs, meta and snapshots of the RAFT groups hosted by the node.
+     */
+    public Loza(ClusterService clusterNetSvc, Path dataPath) {
+        this(clusterNetSvc, dataPath, LogSyncMode.SYNC, new RaftOptions().getGroupSyncMaxDelayMs());
+    }
+
     /**
      * Constructor.
      *
      * @param clusterNetSvc Cluster network service.
+     * @param dataPath Path to the logs, meta and snapshots of the RAFT groups hosted by the node.
+     * @param logSyncMode Durability of the appends to the logs of the groups.
+     * @param groupSyncMaxDelayMs Maximum time an append waits for the appends of other groups in the
+     *      {@link LogSyncMode#GROUP_SYNC} mode.
      */
-    public Loza(ClusterService clusterNetSvc) {
+    public Loza(ClusterService clusterNetSvc, Path dataPath, LogSyncMode logSyncMode, int groupSyncMaxDelayMs) {
         this.clusterNetSvc = clusterNetSvc;
 
-        this.raftServer = new RaftServerImpl(clusterNetSvc, FACTORY);
+        NodeOptions opts = new NodeOptions();
+
+        opts.getRaftOptions().setLogSyncMode(logSyncMode);
+        opts.getRaftOptions().setGroupSyncMaxDelayMs(groupSyncMaxDelayMs);
+
+        this.raftServer = new JRaftServerImpl(clusterNetSvc, dataPath.toString(), FACTORY, opts);
+
+        String nodeName = clusterNetSvc.topologyService().localMember().name();
+
+        this.retryExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "raft-client-retry#" + nodeName);
+
+            t.setDaemon(true);
+
+            return t;
+        });
     }
 
     /**
@@ -68,12 +120,50 @@ public class Loza {
      * @return A RAFT group client.
      */
     public RaftGroupService startRaftGroup(String groupId, List<ClusterNode> peers, RaftGroupListener lsnr) {
+        return startRaftGroup(groupId, peers, () -> lsnr, true);
+    }
+
+    /**
+     * Creates a RAFT group. A replica of the group is started on every peer, so the listener is created only if the
+     * local node is one of the peers. The peers get decreasing election priorities in the order of the list, so the
+     * first peer of the assignment becomes the leader while it is alive, and the leaders of the groups are spread over
+     * the nodes as evenly as the first peers of the assignments are.
+     * <p>
+     * The client does not wait for the leader of the group: the leaders of many groups can be refreshed at once by
+     * {@link #refreshLeaders(Collection)}, otherwise the leader is refreshed by the first operation.
+     *
+     * @param groupId RAFT group id.
+     * @param peers Group peers.
+     * @param lsnrSupplier Group listener supplier.
+     * @return A RAFT group client.
+     */
+    public RaftGroupService startRaftGroup(
+        String groupId,
+        List<ClusterNode> peers,
+        Supplier<RaftGroupListener> lsnrSupplier
+    ) {
+        return startRaftGroup(groupId, peers, lsnrSupplier, false);
+    }
+
+    /**
+     * Creates a RAFT group.
+     *
+     * @param groupId RAFT group id.
+     * @param peers Group peers.
+     * @param lsnrSupplier Group listener supplier.
+     * @param refreshLeader {@code True} to refresh the leader synchronously.
+     * @return A RAFT group client.
+     */
+    private RaftGroupService startRaftGroup(
+        String groupId,
+        List<ClusterNode> peers,
+        Supplier<RaftGroupListener> lsnrSupplier,
+        boolean refreshLeader
+    ) {
         assert !peers.isEmpty();
 
-        //Now we are using only one node in a raft group.
-        //TODO: IGNITE-13885 Investigate jraft implementation for replication framework based on RAFT protocol.
-        if (peers.get(0).name().equals(clusterNetSvc.topologyService().localMember().name()))
-            raftServer.startRaftGroup(groupId, lsnr, List.of(new Peer(peers.get(0).address())));
+        if (isLocal(peers))
+            raftServer.startRaftGroup(groupId, lsnrSupplier.get(), prioritizedPeers(peers));
 
         return new RaftGroupServiceImpl(
             groupId,
@@ -81,9 +171,84 @@ public class Loza {
             FACTORY,
             TIMEOUT,
             peers.stream().map(i -> new Peer(i.address())).collect(Collectors.toList()),
-            true,
-            DELAY
+            refreshLeader,
+            DELAY,
+            retryExecutor
+        );
+    }
+
+    /**
+     * Refreshes the leaders of the groups with one request per node. The groups whose leaders are not known yet, for
+     * example because they are still being elected, are refreshed again with an exponential backoff until all the
+     * leaders are known or the refresh timeout elapses.
+     *
+     * @param groups Clients of the groups created by this manager.
+     * @return A future which is completed when the leaders of all the groups are known or the timeout has elapsed,
+     * never completed exceptionally.
+     * @see RaftGroupServiceImpl#refreshLeaders(Collection)
+     */
+    public CompletableFuture<Void> refreshLeaders(Collection<RaftGroupService> groups) {
+        CompletableFuture<Void> res = new CompletableFuture<>();
+
+        refreshLeaders(
+            groups.stream().map(RaftGroupServiceImpl.class::cast).collect(Collectors.toList()),
+            DELAY,
+            System.currentTimeMillis() + LEADERS_REFRESH_TIMEOUT,
+            res
         );
+
+        return res;
+    }
+
+    /**
+     * Refreshes the leaders of the groups and schedules the next round for the groups whose leaders are still unknown.
+     *
+     * @param groups Clients of the groups.
+     * @param delay Delay in milliseconds before the next round.
+     * @param stopTime Time after which no more rounds are scheduled.
+     * @param res The future to complete when the refresh is over.
+     */
+    private void refreshLeaders(
+        List<RaftGroupServiceImpl> groups,
+        long delay,
+        long stopTime,
+        CompletableFuture<Void> res
+    ) {
+        RaftGroupServiceImpl.refreshLeaders(groups).whenComplete((unused, e) -> {
+            List<RaftGroupServiceImpl> unknown = groups.stream()
+                .filter(group -> group.leader() == null)
+                .collect(Collectors.toList());
+
+            if (unknown.isEmpty() || System.currentTimeMillis() + delay >= stopTime) {
+                res.complete(null);
+
+                return;
+            }
+
+            try {
+                retryExecutor.schedule(
+                    () -> refreshLeaders(unknown, Math.min(delay * 2, MAX_LEADERS_REFRESH_DELAY), stopTime, res),
+                    delay,
+                    TimeUnit.MILLISECONDS
+                );
+            }
+            catch (RejectedExecutionException ex) {
+                res.complete(null); // The manager is stopped.
+            }
+        });
+    }
+
+    /**
+     * Enables batching of the write commands of the groups.
+     *
+     * @param groups Clients of the groups created by this manager.
+     * @param maxBatchSize Maximum number of commands in a batch.
+     * @param maxBatchDelay Maximum time in milliseconds a command waits for its batch to be filled up.
+     * @see RaftGroupServiceImpl#enableBatching(int, long)
+     */
+    public void enableBatching(Collection<RaftGroupService> groups, int maxBatchSize, long maxBatchDelay) {
+        for (RaftGroupService group : groups)
+            ((RaftGroupServiceImpl)group).enableBatching(maxBatchSize, maxBatchDelay);
     }
 
     /**
@@ -95,9 +260,41 @@ public class Loza {
     public void stopRaftGroup(String groupId, List<ClusterNode> peers) {
         assert !peers.isEmpty();
 
-        //Now we are using only one node in a raft group.
-        //TODO: IGNITE-13885 Investigate jraft implementation for replication framework based on RAFT protocol.
-        if (peers.get(0).name().equals(clusterNetSvc.topologyService().localMember().name()))
+        if (isLocal(peers))
             raftServer.stopRaftGroup(groupId);
     }
+
+    /**
+     * @param peers Group peers.
+     * @return {@code True} if the local node is one of the peers.
+     */
+    private boolean isLocal(List<ClusterNode> peers) {
+        NetworkAddress locAddr = clusterNetSvc.topologyService().localMember().address();
+
+        return peers.stream().anyMatch(peer -> peer.address().equals(locAddr));
+    }
+
+    /**
+     * @param peers Group peers in the order of the assignment.
+     * @return Peers with the election priorities decreasing from the first peer to {@link ElectionPriority#MIN_VALUE}.
+     */
+    static List<Peer> prioritizedPeers(List<ClusterNode> peers) {
+        List<Peer> res = new ArrayList<>(peers.size());
+
+        for (int i = 0; i < peers.size(); i++)
+            res.add(new Peer(peers.get(i).address(), ElectionPriority.MIN_VALUE + peers.size() - 1 - i));
+
+        return res;
+    }
+
+    /**
+     * Stops the RAFT server and the retry executor shared by the RAFT group clients.
+     *
+     * @throws Exception If failed.
+     */
+    public void stop() throws Exception {
+        retryExecutor.shutdownNow();
+
+        raftServer.shutdown();
+    }
 }
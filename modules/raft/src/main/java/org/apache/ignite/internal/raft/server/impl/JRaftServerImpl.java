@@ -16,12 +16,16 @@
  */
 package org.apache.ignite.internal.raft.server.impl;
 
+import com.lmax.disruptor.TimeoutBlockingWaitStrategy;
 import java.io.File;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.apache.ignite.internal.raft.server.RaftServer;
 import org.apache.ignite.network.ClusterNode;
@@ -30,6 +34,8 @@ import org.apache.ignite.network.NetworkAddress;
 import org.apache.ignite.raft.client.ElectionPriority;
 import org.apache.ignite.raft.client.Peer;
 import org.apache.ignite.raft.client.WriteCommand;
+import org.apache.ignite.raft.client.codec.CommandCodec;
+import org.apache.ignite.raft.client.codec.CompactCommandCodec;
 import org.apache.ignite.raft.client.message.RaftClientMessagesFactory;
 import org.apache.ignite.raft.client.service.CommandClosure;
 import org.apache.ignite.raft.client.service.RaftGroupListener;
@@ -40,15 +46,23 @@ import org.apache.ignite.raft.jraft.NodeManager;
 import org.apache.ignite.raft.jraft.RaftGroupService;
 import org.apache.ignite.raft.jraft.Status;
 import org.apache.ignite.raft.jraft.conf.Configuration;
+import org.apache.ignite.raft.jraft.core.FSMCallerImpl;
+import org.apache.ignite.raft.jraft.core.HeartbeatCoalescer;
+import org.apache.ignite.raft.jraft.core.IgniteJRaftServiceFactory;
+import org.apache.ignite.raft.jraft.core.NodeImpl;
+import org.apache.ignite.raft.jraft.core.ReadOnlyServiceImpl;
 import org.apache.ignite.raft.jraft.core.StateMachineAdapter;
+import org.apache.ignite.raft.jraft.disruptor.StripedDisruptor;
 import org.apache.ignite.raft.jraft.entity.PeerId;
 import org.apache.ignite.raft.jraft.error.RaftError;
 import org.apache.ignite.raft.jraft.option.NodeOptions;
 import org.apache.ignite.raft.jraft.rpc.impl.IgniteRpcClient;
 import org.apache.ignite.raft.jraft.rpc.impl.IgniteRpcServer;
+import org.apache.ignite.raft.jraft.storage.impl.LogManagerImpl;
+import org.apache.ignite.raft.jraft.storage.impl.RocksDBSharedLogStorageFactory;
 import org.apache.ignite.raft.jraft.storage.snapshot.SnapshotReader;
 import org.apache.ignite.raft.jraft.storage.snapshot.SnapshotWriter;
-import org.apache.ignite.raft.jraft.util.JDKMarshaller;
+import org.apache.ignite.raft.jraft.util.ExecutorServiceHelper;
 import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.raft.jraft.JRaftUtils.addressFromEndpoint;
@@ -75,6 +89,21 @@ public class JRaftServerImpl implements RaftServer {
     /** Options. */
     private final NodeOptions opts;
 
+    /** Codec of the commands in the RAFT log. */
+    private final CommandCodec codec;
+
+    /** Storage of the logs of all the groups started on the node. */
+    private final RocksDBSharedLogStorageFactory logStorageFactory;
+
+    /** Executors created by the server rather than passed in the options, they are shut down with the server. */
+    private final List<ExecutorService> ownExecutors = new ArrayList<>();
+
+    /** Whether the striped executor is created by the server. */
+    private final boolean ownStripedExecutor;
+
+    /** Whether the scheduler is created by the server. */
+    private final boolean ownScheduler;
+
     /**
      * @param service Cluster service.
      * @param dataPath Data path.
@@ -95,30 +124,100 @@ public class JRaftServerImpl implements RaftServer {
         String dataPath,
         RaftClientMessagesFactory factory,
         NodeOptions opts
+    ) {
+        this(service, dataPath, factory, opts, new CompactCommandCodec());
+    }
+
+    /**
+     * @param service Cluster service.
+     * @param dataPath Data path.
+     * @param factory The factory.
+     * @param opts Default node options.
+     * @param codec Codec of the commands in the RAFT log.
+     */
+    public JRaftServerImpl(
+        ClusterService service,
+        String dataPath,
+        RaftClientMessagesFactory factory,
+        NodeOptions opts,
+        CommandCodec codec
     ) {
         this.service = service;
         this.dataPath = dataPath;
         this.nodeManager = new NodeManager();
         this.opts = opts;
+        this.codec = codec;
 
         assert service.topologyService().localMember() != null;
 
         if (opts.getServerName() == null)
             opts.setServerName(service.localConfiguration().getName());
 
-        if (opts.getCommonExecutor() == null)
+        if (opts.getCommonExecutor() == null) {
             opts.setCommonExecutor(JRaftUtils.createCommonExecutor(opts));
 
-        if (opts.getStripedExecutor() == null)
+            ownExecutors.add(opts.getCommonExecutor());
+        }
+
+        ownStripedExecutor = opts.getStripedExecutor() == null;
+
+        if (ownStripedExecutor)
             opts.setStripedExecutor(JRaftUtils.createAppendEntriesExecutor(opts));
 
-        if (opts.getScheduler() == null)
+        ownScheduler = opts.getScheduler() == null;
+
+        if (ownScheduler)
             opts.setScheduler(JRaftUtils.createScheduler(opts));
 
-        if (opts.getClientExecutor() == null)
+        if (opts.getClientExecutor() == null) {
             opts.setClientExecutor(JRaftUtils.createClientExecutor(opts, opts.getServerName()));
 
-        rpcServer = new IgniteRpcServer(service, nodeManager, factory, JRaftUtils.createRequestExecutor(opts));
+            ownExecutors.add(opts.getClientExecutor());
+        }
+
+        // Queues of all the groups are served by the same set of threads, sized by the number of stripes.
+        int bufSize = opts.getRaftOptions().getDisruptorBufferSize();
+
+        if (opts.getNodeApplyDisruptor() == null) {
+            opts.setNodeApplyDisruptor(new StripedDisruptor<>("JRaft-NodeImpl-Disruptor-" + opts.getServerName(),
+                bufSize, new NodeImpl.LogEntryAndClosureFactory(), opts.getStripes()));
+        }
+
+        if (opts.getFsmCallerDisruptor() == null) {
+            opts.setFsmCallerDisruptor(new StripedDisruptor<>("JRaft-FSMCaller-Disruptor-" + opts.getServerName(),
+                bufSize, new FSMCallerImpl.ApplyTaskFactory(), opts.getStripes()));
+        }
+
+        if (opts.getLogManagerDisruptor() == null) {
+            int publishTimeout = opts.getRaftOptions().getDisruptorPublishEventWaitTimeoutSecs();
+
+            opts.setLogManagerDisruptor(new StripedDisruptor<>("JRaft-LogManager-Disruptor-" + opts.getServerName(),
+                bufSize, new LogManagerImpl.StableClosureEventFactory(), opts.getStripes(),
+                () -> new TimeoutBlockingWaitStrategy(publishTimeout, TimeUnit.SECONDS)));
+        }
+
+        if (opts.getReadOnlyServiceDisruptor() == null) {
+            opts.setReadOnlyServiceDisruptor(new StripedDisruptor<>("JRaft-ReadOnlyService-Disruptor-" +
+                opts.getServerName(), bufSize, new ReadOnlyServiceImpl.ReadIndexEventFactory(), opts.getStripes()));
+        }
+
+        // Leaders of all the groups send their heartbeats to the same node in one message.
+        if (opts.getHeartbeatCoalescer() == null) {
+            opts.setHeartbeatCoalescer(
+                new HeartbeatCoalescer(opts.getScheduler(), opts.getHeartbeatCoalescingWindowMs()));
+        }
+
+        logStorageFactory = new RocksDBSharedLogStorageFactory(getLogPath());
+
+        logStorageFactory.start();
+
+        opts.setServiceFactory(new IgniteJRaftServiceFactory(logStorageFactory));
+
+        ExecutorService requestExecutor = JRaftUtils.createRequestExecutor(opts);
+
+        ownExecutors.add(requestExecutor);
+
+        rpcServer = new IgniteRpcServer(service, nodeManager, factory, requestExecutor, codec);
 
         rpcServer.init(null);
     }
@@ -138,6 +237,15 @@ public class JRaftServerImpl implements RaftServer {
         return this.dataPath + File.separator + groupId + "_" + clusterNode.address().toString().replace(':', '_');
     }
 
+    /**
+     * @return The path to the storage of the logs of all the groups.
+     */
+    public String getLogPath() {
+        ClusterNode clusterNode = service.topologyService().localMember();
+
+        return this.dataPath + File.separator + "logs_" + clusterNode.address().toString().replace(':', '_');
+    }
+
     /** {@inheritDoc} */
     @Override public synchronized boolean startRaftGroup(String groupId, RaftGroupListener lsnr,
         @Nullable List<Peer> initialConf) {
@@ -150,11 +258,12 @@ public class JRaftServerImpl implements RaftServer {
         final String serverDataPath = getServerDataPath(groupId);
         new File(serverDataPath).mkdirs();
 
-        nodeOptions.setLogUri(serverDataPath + File.separator + "logs");
+        // Logs of all the groups are kept in the shared storage, the group id is the key prefix of the group there.
+        nodeOptions.setLogUri(groupId);
         nodeOptions.setRaftMetaUri(serverDataPath + File.separator + "meta");
         nodeOptions.setSnapshotUri(serverDataPath + File.separator + "snapshot");
 
-        nodeOptions.setFsm(new DelegatingStateMachine(lsnr));
+        nodeOptions.setFsm(new DelegatingStateMachine(lsnr, codec));
 
         if (initialConf != null) {
             List<PeerId> mapped = initialConf.stream().map(PeerId::fromPeer).collect(Collectors.toList());
@@ -168,7 +277,16 @@ public class JRaftServerImpl implements RaftServer {
 
         NetworkAddress addr = service.topologyService().localMember().address();
 
-        var peerId = new PeerId(addr.host(), addr.port(), 0, ElectionPriority.DISABLED);
+        int priority = ElectionPriority.DISABLED;
+
+        if (initialConf != null) {
+            for (Peer peer : initialConf) {
+                if (peer.address().equals(addr))
+                    priority = peer.getPriority();
+            }
+        }
+
+        var peerId = new PeerId(addr.host(), addr.port(), 0, priority);
 
         var server = new RaftGroupService(groupId, peerId, nodeOptions, rpcServer, nodeManager, true);
 
@@ -217,6 +335,23 @@ public class JRaftServerImpl implements RaftServer {
             groupService.shutdown();
 
         rpcServer.shutdown();
+
+        opts.getNodeApplyDisruptor().shutdown();
+        opts.getFsmCallerDisruptor().shutdown();
+        opts.getLogManagerDisruptor().shutdown();
+        opts.getReadOnlyServiceDisruptor().shutdown();
+
+        // Groups are stopped, so the executors and the timers shared by them can be stopped as well.
+        if (ownScheduler)
+            opts.getScheduler().shutdown();
+
+        if (ownStripedExecutor)
+            opts.getStripedExecutor().shutdownGracefully();
+
+        for (ExecutorService executor : ownExecutors)
+            ExecutorServiceHelper.shutdownAndAwaitTermination(executor);
+
+        logStorageFactory.close();
     }
 
     /**
@@ -225,11 +360,15 @@ public class JRaftServerImpl implements RaftServer {
     public static class DelegatingStateMachine extends StateMachineAdapter {
         private final RaftGroupListener listener;
 
+        private final CommandCodec codec;
+
         /**
          * @param listener The listener.
+         * @param codec Codec of the commands in the RAFT log.
          */
-        DelegatingStateMachine(RaftGroupListener listener) {
+        DelegatingStateMachine(RaftGroupListener listener, CommandCodec codec) {
             this.listener = listener;
+            this.codec = codec;
         }
 
         public RaftGroupListener getListener() {
@@ -250,7 +389,7 @@ public class JRaftServerImpl implements RaftServer {
 
                         return new CommandClosure<>() {
                             @Override public WriteCommand command() {
-                                return JDKMarshaller.DEFAULT.unmarshall(data.array());
+                                return codec.decode(data.array());
                             }
 
                             @Override public void result(Serializable res) {
@@ -302,5 +441,10 @@ public class JRaftServerImpl implements RaftServer {
         @Override public boolean onSnapshotLoad(SnapshotReader reader) {
             return listener.onSnapshotLoad(reader.getPath());
         }
+
+        /** {@inheritDoc} */
+        @Override public void onShutdown() {
+            listener.onShutdown();
+        }
     }
 }
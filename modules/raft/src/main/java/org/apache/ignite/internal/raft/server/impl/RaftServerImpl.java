@@ -18,6 +18,8 @@
 package org.apache.ignite.internal.raft.server.impl;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
@@ -25,7 +27,9 @@ import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 import org.apache.ignite.internal.raft.server.RaftServer;
 import org.apache.ignite.lang.IgniteLogger;
 import org.apache.ignite.network.ClusterService;
@@ -35,9 +39,12 @@ import org.apache.ignite.raft.client.Peer;
 import org.apache.ignite.raft.client.RaftErrorCode;
 import org.apache.ignite.raft.client.ReadCommand;
 import org.apache.ignite.raft.client.WriteCommand;
+import org.apache.ignite.raft.client.message.ActionBatchRequest;
 import org.apache.ignite.raft.client.message.ActionRequest;
 import org.apache.ignite.raft.client.message.GetLeaderRequest;
 import org.apache.ignite.raft.client.message.GetLeaderResponse;
+import org.apache.ignite.raft.client.message.GetLeadersRequest;
+import org.apache.ignite.raft.client.message.GetLeadersResponse;
 import org.apache.ignite.raft.client.message.RaftErrorResponse;
 import org.apache.ignite.raft.client.message.RaftClientMessagesFactory;
 import org.apache.ignite.raft.client.service.CommandClosure;
@@ -64,11 +71,14 @@ public class RaftServerImpl implements RaftServer {
     /** */
     private final ConcurrentMap<String, RaftGroupListener> listeners = new ConcurrentHashMap<>();
 
+    /** Maximum number of queued requests processed at once. */
+    private static final int DRAIN_SIZE = 64;
+
     /** */
-    private final BlockingQueue<CommandClosureEx<ReadCommand>> readQueue;
+    private final BlockingQueue<List<CommandClosureEx<ReadCommand>>> readQueue;
 
     /** */
-    private final BlockingQueue<CommandClosureEx<WriteCommand>> writeQueue;
+    private final BlockingQueue<List<CommandClosureEx<WriteCommand>>> writeQueue;
 
     /** */
     private final Thread readWorker;
@@ -98,6 +108,17 @@ public class RaftServerImpl implements RaftServer {
 
                 service.messagingService().send(senderAddr, resp, correlationId);
             }
+            else if (message instanceof GetLeadersRequest) {
+                var localPeer = new Peer(service.topologyService().localMember().address());
+
+                List<Peer> leaders = ((GetLeadersRequest)message).groupIds().stream()
+                    .map(groupId -> listeners.containsKey(groupId) ? localPeer : null)
+                    .collect(Collectors.toList());
+
+                GetLeadersResponse resp = clientMsgFactory.getLeadersResponse().leaders(leaders).build();
+
+                service.messagingService().send(senderAddr, resp, correlationId);
+            }
             else if (message instanceof ActionRequest) {
                 ActionRequest req0 = (ActionRequest)message;
 
@@ -114,6 +135,19 @@ public class RaftServerImpl implements RaftServer {
                 else
                     handleActionRequest(senderAddr, req0, correlationId, writeQueue, lsnr);
             }
+            else if (message instanceof ActionBatchRequest) {
+                ActionBatchRequest req0 = (ActionBatchRequest)message;
+
+                RaftGroupListener lsnr = listeners.get(req0.groupId());
+
+                if (lsnr == null) {
+                    sendError(senderAddr, correlationId, RaftErrorCode.ILLEGAL_STATE);
+
+                    return;
+                }
+
+                handleActionBatchRequest(senderAddr, req0, correlationId, lsnr);
+            }
             // TODO https://issues.apache.org/jira/browse/IGNITE-14775
         });
 
@@ -146,7 +180,14 @@ public class RaftServerImpl implements RaftServer {
 
     /** {@inheritDoc} */
     @Override public synchronized boolean stopRaftGroup(String groupId) {
-        return listeners.remove(groupId) != null;
+        RaftGroupListener lsnr = listeners.remove(groupId);
+
+        if (lsnr == null)
+            return false;
+
+        lsnr.onShutdown();
+
+        return true;
     }
 
     /** {@inheritDoc} */
@@ -177,10 +218,10 @@ public class RaftServerImpl implements RaftServer {
         NetworkAddress sender,
         ActionRequest req,
         String corellationId,
-        BlockingQueue<CommandClosureEx<T>> queue,
+        BlockingQueue<List<CommandClosureEx<T>>> queue,
         RaftGroupListener lsnr
     ) {
-        if (!queue.offer(new CommandClosureEx<>() {
+        if (!queue.offer(List.of(new CommandClosureEx<>() {
             @Override public RaftGroupListener listener() {
                 return lsnr;
             }
@@ -193,7 +234,60 @@ public class RaftServerImpl implements RaftServer {
                 var msg = clientMsgFactory.actionResponse().result(res).build();
                 service.messagingService().send(sender, msg, corellationId);
             }
-        })) {
+        }))) {
+            // Queue out of capacity.
+            sendError(sender, corellationId, RaftErrorCode.BUSY);
+        }
+    }
+
+    /**
+     * Queues the commands of a batch as one element, so the batch is either rejected or applied as a whole. The
+     * response is sent when all the commands have their results.
+     *
+     * @param sender The sender.
+     * @param req The request.
+     * @param corellationId Corellation id.
+     * @param lsnr The listener.
+     */
+    private void handleActionBatchRequest(
+        NetworkAddress sender,
+        ActionBatchRequest req,
+        String corellationId,
+        RaftGroupListener lsnr
+    ) {
+        List<WriteCommand> cmds = req.commands();
+
+        Object[] results = new Object[cmds.size()];
+
+        AtomicInteger remaining = new AtomicInteger(cmds.size());
+
+        List<CommandClosureEx<WriteCommand>> clos = new ArrayList<>(cmds.size());
+
+        for (int i = 0; i < cmds.size(); i++) {
+            int idx = i;
+
+            clos.add(new CommandClosureEx<>() {
+                @Override public RaftGroupListener listener() {
+                    return lsnr;
+                }
+
+                @Override public WriteCommand command() {
+                    return cmds.get(idx);
+                }
+
+                @Override public void result(Serializable res) {
+                    results[idx] = res;
+
+                    if (remaining.decrementAndGet() == 0) {
+                        var msg = clientMsgFactory.actionBatchResponse().results(Arrays.asList(results)).build();
+
+                        service.messagingService().send(sender, msg, corellationId);
+                    }
+                }
+            });
+        }
+
+        if (!writeQueue.offer(clos)) {
             // Queue out of capacity.
             sendError(sender, corellationId, RaftErrorCode.BUSY);
         }
@@ -205,26 +299,72 @@ public class RaftServerImpl implements RaftServer {
      * @param <T> Command type.
      */
     private <T extends Command> void processQueue(
-        BlockingQueue<CommandClosureEx<T>> queue,
+        BlockingQueue<List<CommandClosureEx<T>>> queue,
         BiConsumer<RaftGroupListener, Iterator<CommandClosure<T>>> clo
     ) {
+        List<List<CommandClosureEx<T>>> reqs = new ArrayList<>(DRAIN_SIZE);
+
+        List<CommandClosure<T>> cmds = new ArrayList<>();
+
         while (!Thread.interrupted()) {
             try {
-                CommandClosureEx<T> cmdClo = queue.take();
+                reqs.add(queue.take());
+
+                queue.drainTo(reqs, DRAIN_SIZE - 1);
 
-                RaftGroupListener lsnr = cmdClo.listener();
+                // Consecutive commands of the same group are passed to the listener at once.
+                RaftGroupListener lsnr = null;
 
-                clo.accept(lsnr, List.<CommandClosure<T>>of(cmdClo).iterator());
+                for (List<CommandClosureEx<T>> req : reqs) {
+                    for (CommandClosureEx<T> cmdClo : req) {
+                        if (lsnr != cmdClo.listener()) {
+                            apply(lsnr, cmds, clo);
+
+                            lsnr = cmdClo.listener();
+                        }
+
+                        cmds.add(cmdClo);
+                    }
+                }
+
+                apply(lsnr, cmds, clo);
             }
             catch (InterruptedException e0) {
                 return;
             }
-            catch (Exception e) {
-                LOG.error("Failed to process the command", e);
+            finally {
+                reqs.clear();
+                cmds.clear();
             }
         }
     }
 
+    /**
+     * Passes the commands to the listener and clears the list.
+     *
+     * @param lsnr The listener.
+     * @param cmds Commands.
+     * @param clo The closure.
+     * @param <T> Command type.
+     */
+    private <T extends Command> void apply(
+        @Nullable RaftGroupListener lsnr,
+        List<CommandClosure<T>> cmds,
+        BiConsumer<RaftGroupListener, Iterator<CommandClosure<T>>> clo
+    ) {
+        if (cmds.isEmpty())
+            return;
+
+        try {
+            clo.accept(lsnr, cmds.iterator());
+        }
+        catch (Exception e) {
+            LOG.error("Failed to process the command", e);
+        }
+
+        cmds.clear();
+    }
+
     private void sendError(NetworkAddress sender, String corellationId, RaftErrorCode errorCode) {
         RaftErrorResponse resp = clientMsgFactory.raftErrorResponse().errorCode(errorCode).build();
 
@@ -29,6 +29,7 @@ import org.apache.ignite.raft.jraft.error.LogIndexOutOfBoundsException;
 import org.apache.ignite.raft.jraft.error.LogNotFoundException;
 import org.apache.ignite.raft.jraft.option.NodeOptions;
 import org.apache.ignite.raft.jraft.option.RaftOptions;
+import org.apache.ignite.raft.jraft.option.ReadOnlyOption;
 import org.apache.ignite.raft.jraft.util.Describer;
 
 /**
@@ -117,6 +118,19 @@ public interface Node extends Lifecycle<NodeOptions>, Describer {
      */
     void readIndex(final byte[] requestContext, final ReadIndexClosure done);
 
+    /**
+     * [Thread-safe and wait-free]
+     *
+     * Starts a read-only query request as {@link #readIndex(byte[], ReadIndexClosure)} does, but with the given
+     * read-only option instead of the one of the node: {@link ReadOnlyOption#ReadOnlyLeaseBased} lets the leader
+     * skip the heartbeat round while its lease is valid.
+     *
+     * @param readOnlyOptions how the leader confirms its leadership for the request
+     * @param requestContext the context of request
+     * @param done callback
+     */
+    void readIndex(final ReadOnlyOption readOnlyOptions, final byte[] requestContext, final ReadIndexClosure done);
+
     /**
      * List peers of this raft group, only leader returns.
      *
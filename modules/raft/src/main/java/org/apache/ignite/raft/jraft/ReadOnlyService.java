@@ -18,6 +18,7 @@ package org.apache.ignite.raft.jraft;
 
 import org.apache.ignite.raft.jraft.closure.ReadIndexClosure;
 import org.apache.ignite.raft.jraft.error.RaftException;
+import org.apache.ignite.raft.jraft.option.ReadOnlyOption;
 import org.apache.ignite.raft.jraft.option.ReadOnlyServiceOptions;
 
 /**
@@ -33,6 +34,15 @@ public interface ReadOnlyService extends Lifecycle<ReadOnlyServiceOptions> {
      */
     void addRequest(final byte[] reqCtx, final ReadIndexClosure closure);
 
+    /**
+     * Adds a ReadIndex request with the given read-only option.
+     *
+     * @param readOnlyOptions how the leader confirms its leadership for the request
+     * @param reqCtx request context of readIndex
+     * @param closure callback
+     */
+    void addRequest(final ReadOnlyOption readOnlyOptions, final byte[] reqCtx, final ReadIndexClosure closure);
+
     /**
      * Waits for service shutdown.
      *
@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.raft.jraft.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.raft.jraft.Status;
+import org.apache.ignite.raft.jraft.error.RaftError;
+import org.apache.ignite.raft.jraft.error.RemotingException;
+import org.apache.ignite.raft.jraft.rpc.Message;
+import org.apache.ignite.raft.jraft.rpc.RaftClientService;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.AppendEntriesRequest;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.AppendEntriesResponse;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.CoalescedHeartbeatRequest;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.CoalescedHeartbeatResponse;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.ErrorResponse;
+import org.apache.ignite.raft.jraft.rpc.RpcResponseClosure;
+import org.apache.ignite.raft.jraft.rpc.RpcResponseClosureAdapter;
+import org.apache.ignite.raft.jraft.util.Endpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces the heartbeats sent by the leaders of a server to the same peer node. A heartbeat is kept pending for a
+ * short window, then all the heartbeats pending for the node are sent as one {@link CoalescedHeartbeatRequest}, and
+ * the responses are handed back to the replicators one by one, as if each heartbeat was sent on its own.
+ */
+public class HeartbeatCoalescer {
+    private static final Logger LOG = LoggerFactory.getLogger(HeartbeatCoalescer.class);
+
+    private final Scheduler scheduler;
+
+    private final int windowMs;
+
+    /** Pending heartbeats by the destination node. */
+    private final ConcurrentMap<Endpoint, Batch> batches = new ConcurrentHashMap<>();
+
+    /**
+     * @param scheduler The scheduler to flush the pending heartbeats.
+     * @param windowMs How long a heartbeat waits for the heartbeats of other groups to the same node.
+     */
+    public HeartbeatCoalescer(final Scheduler scheduler, final int windowMs) {
+        this.scheduler = scheduler;
+        this.windowMs = windowMs;
+    }
+
+    /**
+     * Adds a heartbeat to the ones pending for the endpoint.
+     *
+     * @param rpcService The client service of the sending node.
+     * @param endpoint The destination.
+     * @param request The heartbeat.
+     * @param timeoutMs The timeout of the heartbeat.
+     * @param done The closure to run with the response to the heartbeat.
+     * @return The future completed with the response to the heartbeat.
+     */
+    public Future<Message> heartbeat(final RaftClientService rpcService, final Endpoint endpoint,
+        final AppendEntriesRequest request, final int timeoutMs,
+        final RpcResponseClosure<AppendEntriesResponse> done) {
+        final Heartbeat heartbeat = new Heartbeat(request, timeoutMs, done);
+        final Batch newBatch = new Batch();
+
+        final Batch batch = this.batches.compute(endpoint, (ep, b) -> {
+            if (b == null) {
+                b = newBatch;
+            }
+            // The latest sender is the most likely to still be alive when the batch is flushed.
+            b.rpcService = rpcService;
+            b.heartbeats.add(heartbeat);
+            return b;
+        });
+
+        if (batch == newBatch) {
+            try {
+                this.scheduler.schedule(() -> flush(endpoint, batch), this.windowMs, TimeUnit.MILLISECONDS);
+            }
+            catch (final Exception e) {
+                LOG.error("Fail to schedule the flush of the heartbeats to {}", endpoint, e);
+                flush(endpoint, batch);
+            }
+        }
+
+        return heartbeat.future;
+    }
+
+    /**
+     * Sends the heartbeats pending for the endpoint.
+     *
+     * @param endpoint The destination.
+     * @param batch The pending heartbeats.
+     */
+    private void flush(final Endpoint endpoint, final Batch batch) {
+        // No heartbeats are added to the batch once it is removed.
+        if (!this.batches.remove(endpoint, batch)) {
+            return;
+        }
+
+        final CoalescedHeartbeatRequest.Builder rb = CoalescedHeartbeatRequest.newBuilder();
+        int timeoutMs = Integer.MAX_VALUE;
+
+        for (final Heartbeat heartbeat : batch.heartbeats) {
+            rb.addHeartbeats(heartbeat.request);
+            timeoutMs = Math.min(timeoutMs, heartbeat.timeoutMs);
+        }
+
+        batch.rpcService.coalescedHeartbeat(endpoint, rb.build(), timeoutMs,
+            new RpcResponseClosureAdapter<CoalescedHeartbeatResponse>() {
+                @Override
+                public void run(final Status status) {
+                    onResponse(batch, status, getResponse());
+                }
+            });
+    }
+
+    /**
+     * Hands the responses of a coalesced heartbeat to the closures of the heartbeats.
+     *
+     * @param batch The sent heartbeats.
+     * @param status The status of the request.
+     * @param response The response or {@code null} if the request failed.
+     */
+    private static void onResponse(final Batch batch, final Status status, final CoalescedHeartbeatResponse response) {
+        final List<Heartbeat> heartbeats = batch.heartbeats;
+
+        if (!status.isOk()) {
+            onFailure(heartbeats, status);
+            return;
+        }
+
+        if (response == null || response.getResponsesList().size() != heartbeats.size()) {
+            onFailure(heartbeats, new Status(RaftError.EINTERNAL, "Unexpected coalesced heartbeat response: %s",
+                response));
+            return;
+        }
+
+        final List<Message> responses = response.getResponsesList();
+
+        for (int i = 0; i < heartbeats.size(); i++) {
+            final Heartbeat heartbeat = heartbeats.get(i);
+            final Message msg = responses.get(i);
+
+            if (msg instanceof ErrorResponse) {
+                final ErrorResponse err = (ErrorResponse) msg;
+                final Status errStatus = new Status();
+                errStatus.setCode(err.getErrorCode());
+                errStatus.setErrorMsg(err.getErrorMsg());
+
+                heartbeat.complete(errStatus, msg);
+            }
+            else {
+                heartbeat.done.setResponse((AppendEntriesResponse) msg);
+                heartbeat.complete(Status.OK(), msg);
+            }
+        }
+    }
+
+    private static void onFailure(final List<Heartbeat> heartbeats, final Status status) {
+        for (final Heartbeat heartbeat : heartbeats) {
+            heartbeat.complete(status, null);
+        }
+    }
+
+    /**
+     * Heartbeats pending for a node.
+     */
+    private static class Batch {
+        private final List<Heartbeat> heartbeats = new ArrayList<>();
+
+        private RaftClientService rpcService;
+    }
+
+    /**
+     * Heartbeat of a group.
+     */
+    private static class Heartbeat {
+        private final AppendEntriesRequest request;
+        private final int timeoutMs;
+        private final RpcResponseClosure<AppendEntriesResponse> done;
+        private final CompletableFuture<Message> future = new CompletableFuture<>();
+
+        Heartbeat(final AppendEntriesRequest request, final int timeoutMs,
+            final RpcResponseClosure<AppendEntriesResponse> done) {
+            this.request = request;
+            this.timeoutMs = timeoutMs;
+            this.done = done;
+        }
+
+        void complete(final Status status, final Message msg) {
+            try {
+                this.done.run(status);
+            }
+            catch (final Throwable t) {
+                LOG.error("Fail to run RpcResponseClosure, the request is {}.", this.request, t);
+            }
+
+            if (msg != null) {
+                this.future.complete(msg);
+            }
+            else {
+                this.future.completeExceptionally(new RemotingException(status.getErrorMsg()));
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.raft.jraft.core;
+
+import org.apache.ignite.raft.jraft.option.RaftOptions;
+import org.apache.ignite.raft.jraft.storage.LogStorage;
+import org.apache.ignite.raft.jraft.storage.impl.RocksDBSharedLogStorageFactory;
+import org.apache.ignite.raft.jraft.util.Requires;
+import org.apache.ignite.raft.jraft.util.StringUtils;
+
+/**
+ * Factory of JRaft services which keeps the logs of all the groups in the shared storage of the node. The log uri
+ * of a group is used as the id of the group in the shared storage.
+ */
+public class IgniteJRaftServiceFactory extends DefaultJRaftServiceFactory {
+    /** Shared log storage factory. */
+    private final RocksDBSharedLogStorageFactory logStorageFactory;
+
+    /**
+     * @param logStorageFactory Shared log storage factory.
+     */
+    public IgniteJRaftServiceFactory(RocksDBSharedLogStorageFactory logStorageFactory) {
+        this.logStorageFactory = logStorageFactory;
+    }
+
+    /** {@inheritDoc} */
+    @Override public LogStorage createLogStorage(String uri, RaftOptions raftOptions) {
+        Requires.requireTrue(StringUtils.isNotBlank(uri), "Blank log storage uri.");
+
+        return logStorageFactory.createLogStorage(uri, raftOptions);
+    }
+}
@@ -16,13 +16,10 @@
  */
 package org.apache.ignite.raft.jraft.core;
 
-import com.lmax.disruptor.BlockingWaitStrategy;
 import com.lmax.disruptor.EventFactory;
 import com.lmax.disruptor.EventHandler;
 import com.lmax.disruptor.EventTranslator;
 import com.lmax.disruptor.RingBuffer;
-import com.lmax.disruptor.dsl.Disruptor;
-import com.lmax.disruptor.dsl.ProducerType;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -53,6 +50,8 @@ import org.apache.ignite.raft.jraft.closure.SynchronizedClosure;
 import org.apache.ignite.raft.jraft.conf.Configuration;
 import org.apache.ignite.raft.jraft.conf.ConfigurationEntry;
 import org.apache.ignite.raft.jraft.conf.ConfigurationManager;
+import org.apache.ignite.raft.jraft.disruptor.NodeIdAware;
+import org.apache.ignite.raft.jraft.disruptor.StripedDisruptor;
 import org.apache.ignite.raft.jraft.entity.Ballot;
 import org.apache.ignite.raft.jraft.entity.EnumOutter;
 import org.apache.ignite.raft.jraft.entity.LeaderChangeContext;
@@ -104,10 +103,8 @@ import org.apache.ignite.raft.jraft.storage.impl.LogManagerImpl;
 import org.apache.ignite.raft.jraft.storage.snapshot.SnapshotExecutorImpl;
 import org.apache.ignite.raft.jraft.util.ByteString;
 import org.apache.ignite.raft.jraft.util.Describer;
-import org.apache.ignite.raft.jraft.util.DisruptorBuilder;
 import org.apache.ignite.raft.jraft.util.DisruptorMetricSet;
 import org.apache.ignite.raft.jraft.util.LogExceptionHandler;
-import org.apache.ignite.raft.jraft.util.NamedThreadFactory;
 import org.apache.ignite.raft.jraft.util.OnlyForTest;
 import org.apache.ignite.raft.jraft.util.RepeatedTimer;
 import org.apache.ignite.raft.jraft.util.Requires;
@@ -192,7 +189,12 @@ public class NodeImpl implements Node, RaftServerService {
     /**
      * Disruptor to run node service
      */
-    private Disruptor<LogEntryAndClosure> applyDisruptor;
+    private StripedDisruptor<LogEntryAndClosure> applyDisruptor;
+
+    /**
+     * Whether the apply disruptor is created by the node rather than shared with other nodes.
+     */
+    private boolean ownApplyDisruptor;
     private RingBuffer<LogEntryAndClosure> applyQueue;
 
     /**
@@ -251,13 +253,20 @@ public class NodeImpl implements Node, RaftServerService {
     /**
      * Node service event.
      */
-    private static class LogEntryAndClosure {
+    public static class LogEntryAndClosure implements NodeIdAware {
+        NodeId nodeId;
         LogEntry entry;
         Closure done;
         long expectedTerm;
         CountDownLatch shutdownLatch;
 
+        @Override
+        public NodeId nodeId() {
+            return this.nodeId;
+        }
+
         public void reset() {
+            this.nodeId = null;
             this.entry = null;
             this.done = null;
             this.expectedTerm = 0;
@@ -265,7 +274,7 @@ public class NodeImpl implements Node, RaftServerService {
         }
     }
 
-    private static class LogEntryAndClosureFactory implements EventFactory<LogEntryAndClosure> {
+    public static class LogEntryAndClosureFactory implements EventFactory<LogEntryAndClosure> {
 
         @Override
         public LogEntryAndClosure newInstance() {
@@ -887,11 +896,11 @@ public class NodeImpl implements Node, RaftServerService {
         // Init timers
         final String suffix = getOptions().getServerName() + "-";
 
-        timerManager = getOptions().getScheduler() == null ? timerFactory.createScheduler(this.options.getTimerPoolSize(),
-            "JRaft-Node-ScheduleThreadPool-" + suffix) : getOptions().getScheduler();
+        timerManager = getOptions().getScheduler() == null ? timerFactory.getRaftScheduler(this.options.isSharedTimerPool(),
+            this.options.getTimerPoolSize(), "JRaft-Node-ScheduleThreadPool-" + suffix) : getOptions().getScheduler();
 
         String name = "JRaft-VoteTimer-" + suffix;
-        this.voteTimer = new RepeatedTimer(name, options.getElectionTimeoutMs(), timerFactory.getVoteTimer(name)) {
+        this.voteTimer = new RepeatedTimer(name, options.getElectionTimeoutMs(), timerFactory.getVoteTimer(this.options.isSharedVoteTimer(), name)) {
             @Override
             protected void onTrigger() {
                 handleVoteTimeout();
@@ -904,7 +913,7 @@ public class NodeImpl implements Node, RaftServerService {
         };
 
         name = "JRaft-ElectionTimer-" + suffix;
-        electionTimer = new RepeatedTimer(name, options.getElectionTimeoutMs(), timerFactory.getElectionTimer(name)) {
+        electionTimer = new RepeatedTimer(name, options.getElectionTimeoutMs(), timerFactory.getElectionTimer(this.options.isSharedElectionTimer(), name)) {
             @Override
             protected void onTrigger() {
                 handleElectionTimeout();
@@ -917,7 +926,7 @@ public class NodeImpl implements Node, RaftServerService {
         };
 
         name = "JRaft-StepDownTimer-" + suffix;
-        stepDownTimer = new RepeatedTimer(name, options.getElectionTimeoutMs() >> 1, timerFactory.getStepDownTimer(name)) {
+        stepDownTimer = new RepeatedTimer(name, options.getElectionTimeoutMs() >> 1, timerFactory.getStepDownTimer(this.options.isSharedStepDownTimer(), name)) {
             @Override
             protected void onTrigger() {
                 handleStepDownTimeout();
@@ -925,7 +934,7 @@ public class NodeImpl implements Node, RaftServerService {
         };
 
         name = "JRaft-SnapshotTimer-" + suffix;
-        snapshotTimer = new RepeatedTimer(name, options.getSnapshotIntervalSecs() * 1000, timerFactory.getSnapshotTimer(name)) {
+        snapshotTimer = new RepeatedTimer(name, options.getSnapshotIntervalSecs() * 1000, timerFactory.getSnapshotTimer(this.options.isSharedSnapshotTimer(), name)) {
             private volatile boolean firstSchedule = true;
 
             @Override
@@ -953,16 +962,14 @@ public class NodeImpl implements Node, RaftServerService {
 
         this.configManager = new ConfigurationManager();
 
-        this.applyDisruptor = DisruptorBuilder.<LogEntryAndClosure>newInstance() //
-            .setRingBufferSize(this.raftOptions.getDisruptorBufferSize()) //
-            .setEventFactory(new LogEntryAndClosureFactory()) //
-            .setThreadFactory(new NamedThreadFactory("JRaft-NodeImpl-Disruptor-" + suffix, true)) //
-            .setProducerType(ProducerType.MULTI) //
-            .setWaitStrategy(new BlockingWaitStrategy()) //
-            .build();
-        this.applyDisruptor.handleEventsWith(new LogEntryAndClosureHandler());
-        this.applyDisruptor.setDefaultExceptionHandler(new LogExceptionHandler<Object>(getClass().getSimpleName()));
-        this.applyQueue = this.applyDisruptor.start();
+        this.applyDisruptor = opts.getNodeApplyDisruptor();
+        this.ownApplyDisruptor = this.applyDisruptor == null;
+        if (this.ownApplyDisruptor) {
+            this.applyDisruptor = new StripedDisruptor<>("JRaft-NodeImpl-Disruptor-" + suffix,
+                this.raftOptions.getDisruptorBufferSize(), new LogEntryAndClosureFactory(), 1);
+        }
+        this.applyQueue = this.applyDisruptor.subscribe(getNodeId(), new LogEntryAndClosureHandler(),
+            new LogExceptionHandler<>(getClass().getSimpleName()));
         if (this.metrics.getMetricRegistry() != null) {
             this.metrics.getMetricRegistry().register("jraft-node-impl-disruptor",
                 new DisruptorMetricSet(this.applyQueue));
@@ -1405,12 +1412,18 @@ public class NodeImpl implements Node, RaftServerService {
 
     @Override
     public void readIndex(final byte[] requestContext, final ReadIndexClosure done) {
+        readIndex(this.raftOptions.getReadOnlyOptions(), requestContext, done);
+    }
+
+    @Override
+    public void readIndex(final ReadOnlyOption readOnlyOptions, final byte[] requestContext,
+        final ReadIndexClosure done) {
         if (this.shutdownLatch != null) {
             Utils.runClosureInThread(this.getOptions().getCommonExecutor(), done, new Status(RaftError.ENODESHUTDOWN, "Node is shutting down."));
             throw new IllegalStateException("Node is shutting down");
         }
         Requires.requireNonNull(done, "Null closure");
-        this.readOnlyService.addRequest(requestContext, done);
+        this.readOnlyService.addRequest(readOnlyOptions, requestContext, done);
     }
 
     /**
@@ -1552,7 +1565,8 @@ public class NodeImpl implements Node, RaftServerService {
             }
         }
 
-        ReadOnlyOption readOnlyOpt = this.raftOptions.getReadOnlyOptions();
+        ReadOnlyOption readOnlyOpt = request.getReadOnlyOptions() != null ?
+            request.getReadOnlyOptions() : this.raftOptions.getReadOnlyOptions();
         if (readOnlyOpt == ReadOnlyOption.ReadOnlyLeaseBased && !isLeaderLeaseValid()) {
             // If leader lease timeout, we must change option to ReadOnlySafe
             readOnlyOpt = ReadOnlyOption.ReadOnlySafe;
@@ -1595,6 +1609,7 @@ public class NodeImpl implements Node, RaftServerService {
         try {
             final EventTranslator<LogEntryAndClosure> translator = (event, sequence) -> {
                 event.reset();
+                event.nodeId = getNodeId();
                 event.done = task.getDone();
                 event.entry = entry;
                 event.expectedTerm = task.getExpectedTerm();
@@ -2778,9 +2793,14 @@ public class NodeImpl implements Node, RaftServerService {
                     this.shutdownLatch = latch;
 
                     Utils.runInThread(this.getOptions().getCommonExecutor(),
-                        () -> this.applyQueue.publishEvent((event, sequence) -> event.shutdownLatch = latch));
+                        () -> this.applyQueue.publishEvent((event, sequence) -> {
+                            event.reset();
+                            event.nodeId = getNodeId();
+                            event.shutdownLatch = latch;
+                        }));
                 }
-                if (this.timerManager != null) {
+                // The scheduler from the options is shared with other nodes and is stopped by its owner.
+                if (this.timerManager != null && this.timerManager != getOptions().getScheduler()) {
                     this.timerManager.shutdown();
                 }
             }
@@ -2853,7 +2873,10 @@ public class NodeImpl implements Node, RaftServerService {
                 Replicator.join(this.wakingCandidate);
             }
             this.shutdownLatch.await();
-            this.applyDisruptor.shutdown();
+            this.applyDisruptor.unsubscribe(getNodeId());
+            if (this.ownApplyDisruptor) {
+                this.applyDisruptor.shutdown();
+            }
             this.shutdownLatch = null;
         }
         if (this.fsmCaller != null) {
@@ -16,13 +16,10 @@
  */
 package org.apache.ignite.raft.jraft.core;
 
-import com.lmax.disruptor.BlockingWaitStrategy;
 import com.lmax.disruptor.EventFactory;
 import com.lmax.disruptor.EventHandler;
 import com.lmax.disruptor.EventTranslator;
 import com.lmax.disruptor.RingBuffer;
-import com.lmax.disruptor.dsl.Disruptor;
-import com.lmax.disruptor.dsl.ProducerType;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -37,21 +34,23 @@ import org.apache.ignite.raft.jraft.FSMCaller.LastAppliedLogIndexListener;
 import org.apache.ignite.raft.jraft.ReadOnlyService;
 import org.apache.ignite.raft.jraft.Status;
 import org.apache.ignite.raft.jraft.closure.ReadIndexClosure;
+import org.apache.ignite.raft.jraft.disruptor.NodeIdAware;
+import org.apache.ignite.raft.jraft.disruptor.StripedDisruptor;
+import org.apache.ignite.raft.jraft.entity.NodeId;
 import org.apache.ignite.raft.jraft.entity.ReadIndexState;
 import org.apache.ignite.raft.jraft.entity.ReadIndexStatus;
 import org.apache.ignite.raft.jraft.error.RaftError;
 import org.apache.ignite.raft.jraft.error.RaftException;
 import org.apache.ignite.raft.jraft.option.RaftOptions;
+import org.apache.ignite.raft.jraft.option.ReadOnlyOption;
 import org.apache.ignite.raft.jraft.option.ReadOnlyServiceOptions;
 import org.apache.ignite.raft.jraft.rpc.RpcRequests.ReadIndexRequest;
 import org.apache.ignite.raft.jraft.rpc.RpcRequests.ReadIndexResponse;
 import org.apache.ignite.raft.jraft.rpc.RpcResponseClosureAdapter;
 import org.apache.ignite.raft.jraft.util.ByteString;
 import org.apache.ignite.raft.jraft.util.Bytes;
-import org.apache.ignite.raft.jraft.util.DisruptorBuilder;
 import org.apache.ignite.raft.jraft.util.DisruptorMetricSet;
 import org.apache.ignite.raft.jraft.util.LogExceptionHandler;
-import org.apache.ignite.raft.jraft.util.NamedThreadFactory;
 import org.apache.ignite.raft.jraft.util.OnlyForTest;
 import org.apache.ignite.raft.jraft.util.ThreadHelper;
 import org.apache.ignite.raft.jraft.util.Utils;
@@ -67,7 +66,14 @@ public class ReadOnlyServiceImpl implements ReadOnlyService, LastAppliedLogIndex
     /**
      * Disruptor to run readonly service.
      */
-    private Disruptor<ReadIndexEvent> readIndexDisruptor;
+    private StripedDisruptor<ReadIndexEvent> readIndexDisruptor;
+
+    /**
+     * Whether the disruptor is created by the service rather than shared with other nodes.
+     */
+    private boolean ownDisruptor;
+
+    private NodeId nodeId;
 
     private RingBuffer<ReadIndexEvent> readIndexQueue;
 
@@ -90,14 +96,30 @@ public class ReadOnlyServiceImpl implements ReadOnlyService, LastAppliedLogIndex
 
     private static final Logger LOG = LoggerFactory.getLogger(ReadOnlyServiceImpl.class);
 
-    private static class ReadIndexEvent {
+    public static class ReadIndexEvent implements NodeIdAware {
+        NodeId nodeId;
+        ReadOnlyOption readOnlyOptions;
         Bytes requestContext;
         ReadIndexClosure done;
         CountDownLatch shutdownLatch;
         long startTime;
+
+        @Override
+        public NodeId nodeId() {
+            return this.nodeId;
+        }
+
+        void reset(final NodeId nodeId) {
+            this.nodeId = nodeId;
+            this.readOnlyOptions = null;
+            this.requestContext = null;
+            this.done = null;
+            this.shutdownLatch = null;
+            this.startTime = 0;
+        }
     }
 
-    private static class ReadIndexEventFactory implements EventFactory<ReadIndexEvent> {
+    public static class ReadIndexEventFactory implements EventFactory<ReadIndexEvent> {
         @Override
         public ReadIndexEvent newInstance() {
             return new ReadIndexEvent();
@@ -200,12 +222,32 @@ public class ReadOnlyServiceImpl implements ReadOnlyService, LastAppliedLogIndex
     }
 
     private void executeReadIndexEvents(final List<ReadIndexEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        // Requests with different read-only options are sent to the leader as separate batches.
+        final List<ReadIndexEvent> safeEvents = new ArrayList<>(events.size());
+        final List<ReadIndexEvent> leaseEvents = new ArrayList<>(events.size());
+        for (final ReadIndexEvent event : events) {
+            if (event.readOnlyOptions == ReadOnlyOption.ReadOnlyLeaseBased) {
+                leaseEvents.add(event);
+            }
+            else {
+                safeEvents.add(event);
+            }
+        }
+        handleReadIndex(ReadOnlyOption.ReadOnlySafe, safeEvents);
+        handleReadIndex(ReadOnlyOption.ReadOnlyLeaseBased, leaseEvents);
+    }
+
+    private void handleReadIndex(final ReadOnlyOption readOnlyOptions, final List<ReadIndexEvent> events) {
         if (events.isEmpty()) {
             return;
         }
         final ReadIndexRequest.Builder rb = ReadIndexRequest.newBuilder() //
             .setGroupId(this.node.getGroupId()) //
-            .setServerId(this.node.getServerId().toString());
+            .setServerId(this.node.getServerId().toString()) //
+            .setReadOnlyOptions(readOnlyOptions);
 
         final List<ReadIndexState> states = new ArrayList<>(events.size());
 
@@ -241,18 +283,16 @@ public class ReadOnlyServiceImpl implements ReadOnlyService, LastAppliedLogIndex
         this.fsmCaller = opts.getFsmCaller();
         this.raftOptions = opts.getRaftOptions();
 
-        this.readIndexDisruptor = DisruptorBuilder.<ReadIndexEvent>newInstance() //
-            .setEventFactory(new ReadIndexEventFactory()) //
-            .setRingBufferSize(this.raftOptions.getDisruptorBufferSize()) //
-            .setThreadFactory(new NamedThreadFactory("JRaft-ReadOnlyService-Disruptor-" +
-                node.getOptions().getServerName() + "-" + node.getNodeId().toString(), true)) //
-            .setWaitStrategy(new BlockingWaitStrategy()) //
-            .setProducerType(ProducerType.MULTI) //
-            .build();
-        this.readIndexDisruptor.handleEventsWith(new ReadIndexEventHandler());
-        this.readIndexDisruptor
-            .setDefaultExceptionHandler(new LogExceptionHandler<Object>(getClass().getSimpleName()));
-        this.readIndexQueue = this.readIndexDisruptor.start();
+        this.nodeId = this.node.getNodeId();
+        this.readIndexDisruptor = this.node.getOptions().getReadOnlyServiceDisruptor();
+        this.ownDisruptor = this.readIndexDisruptor == null;
+        if (this.ownDisruptor) {
+            this.readIndexDisruptor = new StripedDisruptor<>("JRaft-ReadOnlyService-Disruptor-" +
+                node.getOptions().getServerName() + "-" + this.nodeId, this.raftOptions.getDisruptorBufferSize(),
+                new ReadIndexEventFactory(), 1);
+        }
+        this.readIndexQueue = this.readIndexDisruptor.subscribe(this.nodeId, new ReadIndexEventHandler(),
+            new LogExceptionHandler<>(getClass().getSimpleName()));
         if (this.nodeMetrics.getMetricRegistry() != null) {
             this.nodeMetrics.getMetricRegistry() //
                 .register("jraft-read-only-service-disruptor", new DisruptorMetricSet(this.readIndexQueue));
@@ -280,7 +320,10 @@ public class ReadOnlyServiceImpl implements ReadOnlyService, LastAppliedLogIndex
         }
         this.shutdownLatch = new CountDownLatch(1);
         Utils.runInThread(this.node.getOptions().getCommonExecutor(),
-            () -> this.readIndexQueue.publishEvent((event, sequence) -> event.shutdownLatch = this.shutdownLatch));
+            () -> this.readIndexQueue.publishEvent((event, sequence) -> {
+                event.reset(this.nodeId);
+                event.shutdownLatch = this.shutdownLatch;
+            }));
     }
 
     @Override
@@ -288,12 +331,21 @@ public class ReadOnlyServiceImpl implements ReadOnlyService, LastAppliedLogIndex
         if (this.shutdownLatch != null) {
             this.shutdownLatch.await();
         }
-        this.readIndexDisruptor.shutdown();
+        this.readIndexDisruptor.unsubscribe(this.nodeId);
+        if (this.ownDisruptor) {
+            this.readIndexDisruptor.shutdown();
+        }
         resetPendingStatusError(new Status(RaftError.ESTOP, "Node is quit."));
     }
 
     @Override
     public void addRequest(final byte[] reqCtx, final ReadIndexClosure closure) {
+        addRequest(this.raftOptions.getReadOnlyOptions(), reqCtx, closure);
+    }
+
+    @Override
+    public void addRequest(final ReadOnlyOption readOnlyOptions, final byte[] reqCtx,
+        final ReadIndexClosure closure) {
         if (this.shutdownLatch != null) {
             Utils.runClosureInThread(this.node.getOptions().getCommonExecutor(), closure, new Status(RaftError.EHOSTDOWN, "Was stopped"));
             throw new IllegalStateException("Service already shutdown.");
@@ -301,6 +353,8 @@ public class ReadOnlyServiceImpl implements ReadOnlyService, LastAppliedLogIndex
 
         try {
             EventTranslator<ReadIndexEvent> translator = (event, sequence) -> {
+                event.reset(this.nodeId);
+                event.readOnlyOptions = readOnlyOptions;
                 event.done = closure;
                 event.requestContext = new Bytes(reqCtx);
                 event.startTime = Utils.monotonicMs();
@@ -383,7 +437,10 @@ public class ReadOnlyServiceImpl implements ReadOnlyService, LastAppliedLogIndex
     @OnlyForTest
     void flush() throws InterruptedException {
         final CountDownLatch latch = new CountDownLatch(1);
-        this.readIndexQueue.publishEvent((task, sequence) -> task.shutdownLatch = latch);
+        this.readIndexQueue.publishEvent((task, sequence) -> {
+            task.reset(this.nodeId);
+            task.shutdownLatch = latch;
+        });
         latch.await();
     }
 
@@ -53,16 +53,13 @@ import org.apache.ignite.raft.jraft.rpc.RpcRequests.TimeoutNowResponse;
 import org.apache.ignite.raft.jraft.rpc.RpcResponseClosure;
 import org.apache.ignite.raft.jraft.rpc.RpcResponseClosureAdapter;
 import org.apache.ignite.raft.jraft.storage.snapshot.SnapshotReader;
-import org.apache.ignite.raft.jraft.util.ByteBufferCollector;
 import org.apache.ignite.raft.jraft.util.ByteString;
 import org.apache.ignite.raft.jraft.util.OnlyForTest;
-import org.apache.ignite.raft.jraft.util.Recyclable;
 import org.apache.ignite.raft.jraft.util.RecyclableByteBufferList;
 import org.apache.ignite.raft.jraft.util.RecycleUtil;
 import org.apache.ignite.raft.jraft.util.Requires;
 import org.apache.ignite.raft.jraft.util.ThreadId;
 import org.apache.ignite.raft.jraft.util.Utils;
-import org.apache.ignite.raft.jraft.util.internal.ThrowUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -694,8 +691,16 @@ public class Replicator implements ThreadId.OnError {
                         }
                     };
                 }
-                this.heartbeatInFly = this.rpcService.appendEntries(this.options.getPeerId().getEndpoint(), request,
-                    this.options.getElectionTimeoutMs() / 2, heartbeatDone);
+                final HeartbeatCoalescer coalescer = this.options.getHeartbeatCoalescer();
+                // Heartbeats with a closure are sent by read index requests and are not delayed.
+                if (coalescer != null && heartBeatClosure == null) {
+                    this.heartbeatInFly = coalescer.heartbeat(this.rpcService, this.options.getPeerId().getEndpoint(),
+                        request, this.options.getElectionTimeoutMs() / 2, heartbeatDone);
+                }
+                else {
+                    this.heartbeatInFly = this.rpcService.appendEntries(this.options.getPeerId().getEndpoint(),
+                        request, this.options.getElectionTimeoutMs() / 2, heartbeatDone);
+                }
             }
             else {
                 // No entries and has empty data means a probe request.
@@ -1317,8 +1322,7 @@ public class Replicator implements ThreadId.OnError {
         if (request.getEntriesCount() > 0) {
             r.nodeMetrics.recordLatency("replicate-entries", Utils.monotonicMs() - rpcSendTime);
             r.nodeMetrics.recordSize("replicate-entries-count", request.getEntriesCount());
-            r.nodeMetrics.recordSize("replicate-entries-bytes", request.getData() != null ? request.getData().size()
-                : 0);
+            r.nodeMetrics.recordSize("replicate-entries-bytes", request.getDataSize());
         }
 
         final boolean isLogDebugEnabled = LOG.isDebugEnabled();
@@ -1535,7 +1539,6 @@ public class Replicator implements ThreadId.OnError {
             return false;
         }
 
-        ByteBufferCollector dataBuf = null;
         final int maxEntriesSize = this.raftOptions.getMaxEntriesSize();
         final RecyclableByteBufferList byteBufList = RecyclableByteBufferList.newInstance();
         try {
@@ -1556,13 +1559,10 @@ public class Replicator implements ThreadId.OnError {
                 return false;
             }
             if (byteBufList.getCapacity() > 0) {
-                dataBuf = ByteBufferCollector.allocateByRecyclers(byteBufList.getCapacity());
+                // Payloads are not copied, they are written to the wire straight from the log entries.
                 for (final ByteBuffer b : byteBufList) {
-                    dataBuf.put(b);
+                    rb.addData(b);
                 }
-                final ByteBuffer buf = dataBuf.getBuffer();
-                buf.flip();
-                rb.setData(new ByteString(buf));
             }
         }
         finally {
@@ -1581,29 +1581,20 @@ public class Replicator implements ThreadId.OnError {
         this.statInfo.firstLogIndex = request.getPrevLogIndex() + 1;
         this.statInfo.lastLogIndex = request.getPrevLogIndex() + request.getEntriesCount();
 
-        final Recyclable recyclable = dataBuf;
         final int v = this.version;
         final long monotonicSendTimeMs = Utils.monotonicMs();
         final int seq = getAndIncrementReqSeq();
 
-        Future<Message> rpcFuture = null;
-        try {
-            rpcFuture = this.rpcService.appendEntries(this.options.getPeerId().getEndpoint(), request, -1,
-                new RpcResponseClosureAdapter<AppendEntriesResponse>() {
-                    @Override
-                    public void run(final Status status) {
-                        RecycleUtil.recycle(recyclable); // TODO: recycle on send success, not response received IGNITE-14832.
-                        onRpcReturned(Replicator.this.id, RequestType.AppendEntries, status, request, getResponse(),
-                            seq, v, monotonicSendTimeMs);
-                    }
-                });
-        }
-        catch (final Throwable t) {
-            RecycleUtil.recycle(recyclable);
-            ThrowUtil.throwException(t);
-        }
-        addInflight(RequestType.AppendEntries, nextSendingIndex, request.getEntriesCount(),
-            !request.hasData() ? 0 : request.getData().size(), seq, rpcFuture);
+        final Future<Message> rpcFuture = this.rpcService.appendEntries(this.options.getPeerId().getEndpoint(),
+            request, -1, new RpcResponseClosureAdapter<AppendEntriesResponse>() {
+                @Override
+                public void run(final Status status) {
+                    onRpcReturned(Replicator.this.id, RequestType.AppendEntries, status, request, getResponse(),
+                        seq, v, monotonicSendTimeMs);
+                }
+            });
+        addInflight(RequestType.AppendEntries, nextSendingIndex, request.getEntriesCount(), request.getDataSize(),
+            seq, rpcFuture);
 
         return true;
     }
@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.raft.jraft.disruptor;
+
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.EventFactory;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.ExceptionHandler;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import org.apache.ignite.raft.jraft.entity.NodeId;
+import org.apache.ignite.raft.jraft.util.DisruptorBuilder;
+import org.apache.ignite.raft.jraft.util.LogExceptionHandler;
+import org.apache.ignite.raft.jraft.util.NamedThreadFactory;
+import org.apache.ignite.raft.jraft.util.Requires;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Set of disruptors shared by the RAFT nodes of a server. Each node is bound to one stripe, and all its events are
+ * handled by the thread of that stripe in the order they are published, so the number of threads does not depend
+ * on the number of nodes.
+ * <p>
+ * Handlers of the nodes receive the {@code endOfBatch} flag for the last event of the node in a batch of the stripe,
+ * rather than for the last event of the batch itself, so every node flushes its events before the stripe moves on.
+ *
+ * @param <T> Event type.
+ */
+public class StripedDisruptor<T extends NodeIdAware> {
+    /** Logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(StripedDisruptor.class);
+
+    /** Name of the disruptor. */
+    private final String name;
+
+    /** Disruptors of the stripes. */
+    private final List<Disruptor<T>> disruptors;
+
+    /** Ring buffers of the stripes. */
+    private final List<RingBuffer<T>> queues;
+
+    /** Subscribed nodes. */
+    private final ConcurrentMap<NodeId, Subscriber> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * @param name Name of the disruptor, used as the prefix of the names of the stripe threads.
+     * @param bufferSize Size of the ring buffer of each stripe.
+     * @param eventFactory Event factory.
+     * @param stripes Number of stripes.
+     */
+    public StripedDisruptor(String name, int bufferSize, EventFactory<T> eventFactory, int stripes) {
+        this(name, bufferSize, eventFactory, stripes, BlockingWaitStrategy::new);
+    }
+
+    /**
+     * @param name Name of the disruptor, used as the prefix of the names of the stripe threads.
+     * @param bufferSize Size of the ring buffer of each stripe.
+     * @param eventFactory Event factory.
+     * @param stripes Number of stripes.
+     * @param waitStrategy Factory of the wait strategies of the stripes, each stripe gets its own instance.
+     */
+    public StripedDisruptor(
+        String name,
+        int bufferSize,
+        EventFactory<T> eventFactory,
+        int stripes,
+        Supplier<WaitStrategy> waitStrategy
+    ) {
+        Requires.requireTrue(stripes > 0, "Invalid number of stripes: %d", stripes);
+
+        this.name = name;
+
+        disruptors = new ArrayList<>(stripes);
+        queues = new ArrayList<>(stripes);
+
+        for (int i = 0; i < stripes; i++) {
+            Disruptor<T> disruptor = DisruptorBuilder.<T>newInstance()
+                .setRingBufferSize(bufferSize)
+                .setEventFactory(eventFactory)
+                .setThreadFactory(new NamedThreadFactory(name + "-stripe-" + i + "-", true))
+                .setProducerType(ProducerType.MULTI)
+                .setWaitStrategy(waitStrategy.get())
+                .build();
+
+            disruptor.handleEventsWith(new StripeEventHandler());
+            disruptor.setDefaultExceptionHandler(new LogExceptionHandler<>(name));
+
+            disruptors.add(disruptor);
+            queues.add(disruptor.start());
+        }
+    }
+
+    /**
+     * Subscribes a node to the stripe it is bound to.
+     *
+     * @param nodeId Node id.
+     * @param handler Handler of the events of the node.
+     * @param exceptionHandler Handler of the exceptions thrown by {@code handler}.
+     * @return Ring buffer to publish the events of the node to, every event must carry the node id.
+     */
+    public RingBuffer<T> subscribe(NodeId nodeId, EventHandler<T> handler, ExceptionHandler<T> exceptionHandler) {
+        Subscriber prev = subscribers.putIfAbsent(nodeId, new Subscriber(handler, exceptionHandler));
+
+        Requires.requireTrue(prev == null, "Node is already subscribed to %s: %s", name, nodeId);
+
+        return queues.get(stripe(nodeId));
+    }
+
+    /**
+     * Unsubscribes a node. Events of the node which are still in the ring buffer are dropped, so the node should
+     * wait for its last event to be handled before.
+     *
+     * @param nodeId Node id.
+     */
+    public void unsubscribe(NodeId nodeId) {
+        subscribers.remove(nodeId);
+    }
+
+    /**
+     * Stops the threads of all the stripes after they handle the published events.
+     */
+    public void shutdown() {
+        for (Disruptor<T> disruptor : disruptors)
+            disruptor.shutdown();
+    }
+
+    /**
+     * @param nodeId Node id.
+     * @return Index of the stripe of the node.
+     */
+    private int stripe(NodeId nodeId) {
+        return Math.abs(nodeId.hashCode() % queues.size());
+    }
+
+    /**
+     * Node subscription.
+     */
+    private class Subscriber {
+        /** */
+        final EventHandler<T> handler;
+
+        /** */
+        final ExceptionHandler<T> exceptionHandler;
+
+        /**
+         * @param handler Event handler.
+         * @param exceptionHandler Exception handler.
+         */
+        Subscriber(EventHandler<T> handler, ExceptionHandler<T> exceptionHandler) {
+            this.handler = handler;
+            this.exceptionHandler = exceptionHandler;
+        }
+    }
+
+    /**
+     * Handler of a stripe, which dispatches the events to the handlers of their nodes. Delivery of every event is
+     * delayed until the next one arrives, to find out whether it is the last event of its node in the batch. Events
+     * stay valid until the end of the batch, so the delayed event is never overwritten by a publisher.
+     */
+    private class StripeEventHandler implements EventHandler<T> {
+        /** Event which is not delivered yet. */
+        private T pending;
+
+        /** Sequence of the event which is not delivered yet. */
+        private long pendingSeq;
+
+        /** {@inheritDoc} */
+        @Override public void onEvent(T event, long sequence, boolean endOfBatch) {
+            if (pending != null) {
+                deliver(pending, pendingSeq, !pending.nodeId().equals(event.nodeId()));
+
+                pending = null;
+            }
+
+            if (endOfBatch)
+                deliver(event, sequence, true);
+            else {
+                pending = event;
+                pendingSeq = sequence;
+            }
+        }
+
+        /**
+         * @param event Event.
+         * @param sequence Sequence of the event.
+         * @param endOfBatch Whether the event is the last event of its node in the batch.
+         */
+        private void deliver(T event, long sequence, boolean endOfBatch) {
+            Subscriber subscriber = subscribers.get(event.nodeId());
+
+            if (subscriber == null) {
+                LOG.warn("Event of an unsubscribed node is dropped [disruptor={}, nodeId={}].", name, event.nodeId());
+
+                return;
+            }
+
+            try {
+                subscriber.handler.onEvent(event, sequence, endOfBatch);
+            }
+            catch (Throwable e) {
+                subscriber.exceptionHandler.handleEventException(e, sequence, event);
+            }
+        }
+    }
+}
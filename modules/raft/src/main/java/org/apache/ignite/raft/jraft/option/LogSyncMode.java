@@ -0,0 +1,32 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.raft.jraft.option;
+
+/**
+ * Durability of the appends to the RAFT log. An entry is acknowledged only after it reached the durability of the
+ * mode.
+ */
+public enum LogSyncMode {
+    // Every batch of entries is fsynced on its own before it is acknowledged.
+    SYNC,
+    // Batches are written without fsync and are acknowledged by a dedicated thread after a WAL fsync shared with all
+    // the batches written to the same storage meanwhile. The fsync is issued once every group of the storage has a
+    // batch waiting for it, and at most groupSyncMaxDelayMs after the first waiting batch.
+    GROUP_SYNC,
+    // Batches are acknowledged once they are in the OS buffers, the latest entries can be lost if the machine fails.
+    ASYNC
+}
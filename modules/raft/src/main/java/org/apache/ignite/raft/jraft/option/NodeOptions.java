@@ -23,9 +23,15 @@ import org.apache.ignite.raft.jraft.StateMachine;
 import org.apache.ignite.raft.jraft.conf.Configuration;
 import org.apache.ignite.raft.jraft.core.DefaultJRaftServiceFactory;
 import org.apache.ignite.raft.jraft.core.ElectionPriority;
+import org.apache.ignite.raft.jraft.core.FSMCallerImpl;
+import org.apache.ignite.raft.jraft.core.HeartbeatCoalescer;
+import org.apache.ignite.raft.jraft.core.NodeImpl;
+import org.apache.ignite.raft.jraft.core.ReadOnlyServiceImpl;
 import org.apache.ignite.raft.jraft.core.Replicator;
 import org.apache.ignite.raft.jraft.core.Scheduler;
+import org.apache.ignite.raft.jraft.disruptor.StripedDisruptor;
 import org.apache.ignite.raft.jraft.storage.SnapshotThrottle;
+import org.apache.ignite.raft.jraft.storage.impl.LogManagerImpl;
 import org.apache.ignite.raft.jraft.util.Copiable;
 import org.apache.ignite.raft.jraft.util.StringUtils;
 import org.apache.ignite.raft.jraft.util.Utils;
@@ -140,6 +146,11 @@ public class NodeOptions extends RpcOptions implements Copiable<NodeOptions> {
      */
     private int commonThreadPollSize = Utils.cpus();
 
+    /**
+     * Number of stripes of the disruptors shared by the nodes of a server.
+     */
+    private int stripes = Utils.cpus();
+
     /**
      * Whether to enable metrics for node.
      */
@@ -153,22 +164,22 @@ public class NodeOptions extends RpcOptions implements Copiable<NodeOptions> {
     /**
      * Whether use global election timer TODO asch remove this https://issues.apache.org/jira/browse/IGNITE-14832
      */
-    private boolean sharedElectionTimer = false;
+    private boolean sharedElectionTimer = true;
 
     /**
      * Whether use global vote timer TODO asch remove this https://issues.apache.org/jira/browse/IGNITE-14832
      */
-    private boolean sharedVoteTimer = false;
+    private boolean sharedVoteTimer = true;
 
     /**
      * Whether use global step down timer
      */
-    private boolean sharedStepDownTimer = false;
+    private boolean sharedStepDownTimer = true;
 
     /**
      * Whether use global snapshot timer
      */
-    private boolean sharedSnapshotTimer = false;
+    private boolean sharedSnapshotTimer = true;
 
     /**
      * Custom service factory.
@@ -198,6 +209,37 @@ public class NodeOptions extends RpcOptions implements Copiable<NodeOptions> {
     /** Server name. */
     private String serverName;
 
+    /**
+     * Striped disruptor of the apply queues of the nodes, a node creates its own one if not set.
+     */
+    private StripedDisruptor<NodeImpl.LogEntryAndClosure> nodeApplyDisruptor;
+
+    /**
+     * Striped disruptor of the task queues of the FSM callers, a node creates its own one if not set.
+     */
+    private StripedDisruptor<FSMCallerImpl.ApplyTask> fsmCallerDisruptor;
+
+    /**
+     * Striped disruptor of the disk queues of the log managers, a node creates its own one if not set.
+     */
+    private StripedDisruptor<LogManagerImpl.StableClosureEvent> logManagerDisruptor;
+
+    /**
+     * Striped disruptor of the read index queues of the read only services, a node creates its own one if not set.
+     */
+    private StripedDisruptor<ReadOnlyServiceImpl.ReadIndexEvent> readOnlyServiceDisruptor;
+
+    /**
+     * Coalescer of the heartbeats sent to the same node by the leaders of a server, every heartbeat is sent on its own
+     * if not set.
+     */
+    private HeartbeatCoalescer heartbeatCoalescer;
+
+    /**
+     * How long a heartbeat waits for the heartbeats of the other groups sent to the same node.
+     */
+    private int heartbeatCoalescingWindowMs = 10;
+
     /**
      * The rpc client.
      */
@@ -254,6 +296,14 @@ public class NodeOptions extends RpcOptions implements Copiable<NodeOptions> {
         this.commonThreadPollSize = commonThreadPollSize;
     }
 
+    public int getStripes() {
+        return stripes;
+    }
+
+    public void setStripes(int stripes) {
+        this.stripes = stripes;
+    }
+
     public boolean isSharedTimerPool() {
         return sharedTimerPool;
     }
@@ -474,6 +524,55 @@ public class NodeOptions extends RpcOptions implements Copiable<NodeOptions> {
         this.serverName = serverName;
     }
 
+    public StripedDisruptor<NodeImpl.LogEntryAndClosure> getNodeApplyDisruptor() {
+        return nodeApplyDisruptor;
+    }
+
+    public void setNodeApplyDisruptor(StripedDisruptor<NodeImpl.LogEntryAndClosure> nodeApplyDisruptor) {
+        this.nodeApplyDisruptor = nodeApplyDisruptor;
+    }
+
+    public StripedDisruptor<FSMCallerImpl.ApplyTask> getFsmCallerDisruptor() {
+        return fsmCallerDisruptor;
+    }
+
+    public void setFsmCallerDisruptor(StripedDisruptor<FSMCallerImpl.ApplyTask> fsmCallerDisruptor) {
+        this.fsmCallerDisruptor = fsmCallerDisruptor;
+    }
+
+    public StripedDisruptor<LogManagerImpl.StableClosureEvent> getLogManagerDisruptor() {
+        return logManagerDisruptor;
+    }
+
+    public void setLogManagerDisruptor(StripedDisruptor<LogManagerImpl.StableClosureEvent> logManagerDisruptor) {
+        this.logManagerDisruptor = logManagerDisruptor;
+    }
+
+    public StripedDisruptor<ReadOnlyServiceImpl.ReadIndexEvent> getReadOnlyServiceDisruptor() {
+        return readOnlyServiceDisruptor;
+    }
+
+    public void setReadOnlyServiceDisruptor(
+        StripedDisruptor<ReadOnlyServiceImpl.ReadIndexEvent> readOnlyServiceDisruptor) {
+        this.readOnlyServiceDisruptor = readOnlyServiceDisruptor;
+    }
+
+    public HeartbeatCoalescer getHeartbeatCoalescer() {
+        return heartbeatCoalescer;
+    }
+
+    public void setHeartbeatCoalescer(HeartbeatCoalescer heartbeatCoalescer) {
+        this.heartbeatCoalescer = heartbeatCoalescer;
+    }
+
+    public int getHeartbeatCoalescingWindowMs() {
+        return heartbeatCoalescingWindowMs;
+    }
+
+    public void setHeartbeatCoalescingWindowMs(int heartbeatCoalescingWindowMs) {
+        this.heartbeatCoalescingWindowMs = heartbeatCoalescingWindowMs;
+    }
+
     @Override
     public NodeOptions copy() {
         final NodeOptions nodeOptions = new NodeOptions();
@@ -490,6 +589,7 @@ public class NodeOptions extends RpcOptions implements Copiable<NodeOptions> {
         nodeOptions.setCliRpcThreadPoolSize(this.cliRpcThreadPoolSize);
         nodeOptions.setRaftRpcThreadPoolSize(this.raftRpcThreadPoolSize);
         nodeOptions.setCommonThreadPollSize(this.commonThreadPollSize);
+        nodeOptions.setStripes(this.stripes);
         nodeOptions.setEnableMetrics(this.enableMetrics);
         nodeOptions.setRaftOptions(this.raftOptions == null ? new RaftOptions() : this.raftOptions.copy());
         nodeOptions.setSharedElectionTimer(this.sharedElectionTimer);
@@ -502,6 +602,13 @@ public class NodeOptions extends RpcOptions implements Copiable<NodeOptions> {
         nodeOptions.setServerName(this.getServerName());
         nodeOptions.setScheduler(this.getScheduler());
         nodeOptions.setClientExecutor(this.getClientExecutor());
+        nodeOptions.setServiceFactory(this.getServiceFactory());
+        nodeOptions.setNodeApplyDisruptor(this.getNodeApplyDisruptor());
+        nodeOptions.setFsmCallerDisruptor(this.getFsmCallerDisruptor());
+        nodeOptions.setLogManagerDisruptor(this.getLogManagerDisruptor());
+        nodeOptions.setReadOnlyServiceDisruptor(this.getReadOnlyServiceDisruptor());
+        nodeOptions.setHeartbeatCoalescer(this.getHeartbeatCoalescer());
+        nodeOptions.setHeartbeatCoalescingWindowMs(this.heartbeatCoalescingWindowMs);
 
         return nodeOptions;
     }
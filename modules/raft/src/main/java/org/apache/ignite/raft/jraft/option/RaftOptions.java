@@ -67,6 +67,16 @@ public class RaftOptions implements Copiable<RaftOptions> {
      */
     private boolean sync = true;
 
+    /**
+     * Durability of the appends to the log, ignored if sync is disabled: the log is never fsynced then.
+     */
+    private LogSyncMode logSyncMode = LogSyncMode.SYNC;
+
+    /**
+     * Maximum time a batch of entries waits for the shared fsync in {@link LogSyncMode#GROUP_SYNC} mode.
+     */
+    private int groupSyncMaxDelayMs = 1;
+
     /**
      * Sync log meta, snapshot meta and raft meta
      */
@@ -247,6 +257,29 @@ public class RaftOptions implements Copiable<RaftOptions> {
         this.sync = sync;
     }
 
+    public LogSyncMode getLogSyncMode() {
+        return this.logSyncMode;
+    }
+
+    public void setLogSyncMode(final LogSyncMode logSyncMode) {
+        this.logSyncMode = logSyncMode;
+    }
+
+    public int getGroupSyncMaxDelayMs() {
+        return this.groupSyncMaxDelayMs;
+    }
+
+    public void setGroupSyncMaxDelayMs(final int groupSyncMaxDelayMs) {
+        this.groupSyncMaxDelayMs = groupSyncMaxDelayMs;
+    }
+
+    /**
+     * @return Durability of the appends to the log with respect to the sync flag.
+     */
+    public LogSyncMode getEffectiveLogSyncMode() {
+        return this.sync ? this.logSyncMode : LogSyncMode.ASYNC;
+    }
+
     public boolean isSyncMeta() {
         return this.sync || this.syncMeta;
     }
@@ -276,6 +309,8 @@ public class RaftOptions implements Copiable<RaftOptions> {
         raftOptions.setApplyBatch(this.applyBatch);
         raftOptions.setSync(this.sync);
         raftOptions.setSyncMeta(this.syncMeta);
+        raftOptions.setLogSyncMode(this.logSyncMode);
+        raftOptions.setGroupSyncMaxDelayMs(this.groupSyncMaxDelayMs);
         raftOptions.setOpenStatistics(this.openStatistics);
         raftOptions.setReplicatorPipeline(this.replicatorPipeline);
         raftOptions.setMaxReplicatorInflightMsgs(this.maxReplicatorInflightMsgs);
@@ -293,6 +328,7 @@ public class RaftOptions implements Copiable<RaftOptions> {
             + ", maxAppendBufferSize=" + this.maxAppendBufferSize + ", maxElectionDelayMs="
             + this.maxElectionDelayMs + ", electionHeartbeatFactor=" + this.electionHeartbeatFactor
             + ", applyBatch=" + this.applyBatch + ", sync=" + this.sync + ", syncMeta=" + this.syncMeta
+            + ", logSyncMode=" + this.logSyncMode + ", groupSyncMaxDelayMs=" + this.groupSyncMaxDelayMs
             + ", openStatistics=" + this.openStatistics + ", replicatorPipeline=" + this.replicatorPipeline
             + ", maxReplicatorInflightMsgs=" + this.maxReplicatorInflightMsgs + ", disruptorBufferSize="
             + this.disruptorBufferSize + ", disruptorPublishEventWaitTimeoutSecs="
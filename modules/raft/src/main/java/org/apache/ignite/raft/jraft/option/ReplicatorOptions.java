@@ -18,6 +18,7 @@ package org.apache.ignite.raft.jraft.option;
 
 import java.util.concurrent.ExecutorService;
 import org.apache.ignite.raft.jraft.core.BallotBox;
+import org.apache.ignite.raft.jraft.core.HeartbeatCoalescer;
 import org.apache.ignite.raft.jraft.core.NodeImpl;
 import org.apache.ignite.raft.jraft.core.ReplicatorType;
 import org.apache.ignite.raft.jraft.core.Scheduler;
@@ -221,4 +222,11 @@ public class ReplicatorOptions implements Copiable<ReplicatorOptions> {
     public ExecutorService getCommonExecutor() {
         return getNode().getOptions().getCommonExecutor();
     }
+
+    /**
+     * @return Coalescer of the heartbeats or {@code null} if heartbeats are sent on their own.
+     */
+    public HeartbeatCoalescer getHeartbeatCoalescer() {
+        return getNode().getOptions().getHeartbeatCoalescer();
+    }
 }
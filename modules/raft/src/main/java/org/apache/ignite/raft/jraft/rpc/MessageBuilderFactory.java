@@ -41,6 +41,10 @@ public interface MessageBuilderFactory {
 
     RpcRequests.AppendEntriesResponse.Builder createAppendEntriesResponse();
 
+    RpcRequests.CoalescedHeartbeatRequest.Builder createCoalescedHeartbeatRequest();
+
+    RpcRequests.CoalescedHeartbeatResponse.Builder createCoalescedHeartbeatResponse();
+
     RaftOutter.EntryMeta.Builder createEntryMeta();
 
     RpcRequests.TimeoutNowRequest.Builder createTimeoutNowRequest();
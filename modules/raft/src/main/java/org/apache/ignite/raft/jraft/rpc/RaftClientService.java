@@ -57,6 +57,18 @@ public interface RaftClientService extends ClientService {
     Future<Message> appendEntries(final Endpoint endpoint, final RpcRequests.AppendEntriesRequest request,
         final int timeoutMs, final RpcResponseClosure<RpcRequests.AppendEntriesResponse> done);
 
+    /**
+     * Sends the heartbeats of several groups to the same node in one request and handle the response with done.
+     *
+     * @param endpoint destination address (ip, port)
+     * @param request request data
+     * @param timeoutMs timeout millis
+     * @param done callback
+     * @return a future with result
+     */
+    Future<Message> coalescedHeartbeat(final Endpoint endpoint, final RpcRequests.CoalescedHeartbeatRequest request,
+        final int timeoutMs, final RpcResponseClosure<RpcRequests.CoalescedHeartbeatResponse> done);
+
     /**
      * Sends a install-snapshot request and handle the response with done.
      *
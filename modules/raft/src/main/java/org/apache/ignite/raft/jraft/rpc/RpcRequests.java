@@ -20,6 +20,7 @@
 package org.apache.ignite.raft.jraft.rpc;
 
 import org.apache.ignite.raft.jraft.entity.RaftOutter;
+import org.apache.ignite.raft.jraft.option.ReadOnlyOption;
 import org.apache.ignite.raft.jraft.util.ByteString;
 
 public final class RpcRequests {
@@ -298,6 +299,11 @@ public final class RpcRequests {
 
         boolean hasData();
 
+        /**
+         * @return Size of the data in bytes.
+         */
+        int getDataSize();
+
         byte[] toByteArray();
 
         interface Builder {
@@ -305,6 +311,15 @@ public final class RpcRequests {
 
             Builder setData(ByteString data);
 
+            /**
+             * Appends the payload of an entry to the data without copying it, the content of the buffer is written
+             * straight to the wire when the request is sent, so it must not be modified until then.
+             *
+             * @param data Payload of an entry.
+             * @return This builder.
+             */
+            Builder addData(java.nio.ByteBuffer data);
+
             Builder setTerm(long term);
 
             Builder setGroupId(String groupId);
@@ -351,6 +366,47 @@ public final class RpcRequests {
         }
     }
 
+    /**
+     * Heartbeats of all the groups led on a node and replicated to the same peer node, sent as one message.
+     */
+    public interface CoalescedHeartbeatRequest extends Message {
+        static Builder newBuilder() {
+            return MessageBuilderFactory.DEFAULT.createCoalescedHeartbeatRequest();
+        }
+
+        java.util.List<AppendEntriesRequest> getHeartbeatsList();
+
+        int getHeartbeatsCount();
+
+        interface Builder {
+            CoalescedHeartbeatRequest build();
+
+            Builder addHeartbeats(AppendEntriesRequest heartbeat);
+        }
+    }
+
+    /**
+     * Responses to the heartbeats of a {@link CoalescedHeartbeatRequest}, in the order of the request. Each response
+     * is either an {@link AppendEntriesResponse} or an {@link ErrorResponse}.
+     */
+    public interface CoalescedHeartbeatResponse extends Message {
+        static Message getDefaultInstance() {
+            return null;
+        }
+
+        static Builder newBuilder() {
+            return MessageBuilderFactory.DEFAULT.createCoalescedHeartbeatResponse();
+        }
+
+        java.util.List<Message> getResponsesList();
+
+        interface Builder {
+            CoalescedHeartbeatResponse build();
+
+            Builder addResponses(Message response);
+        }
+    }
+
     public interface GetFileRequest extends Message {
         static Builder newBuilder() {
             return MessageBuilderFactory.DEFAULT.createGetFileRequest();
@@ -432,6 +488,11 @@ public final class RpcRequests {
 
         String getPeerId();
 
+        /**
+         * @return Read-only option of the request, {@code null} to use the option of the leader.
+         */
+        ReadOnlyOption getReadOnlyOptions();
+
         interface Builder {
             ReadIndexRequest build();
 
@@ -439,6 +500,8 @@ public final class RpcRequests {
 
             Builder setPeerId(String peerId);
 
+            Builder setReadOnlyOptions(ReadOnlyOption readOnlyOptions);
+
             Builder setGroupId(String groupId);
 
             Builder setServerId(String serverId);
@@ -26,6 +26,8 @@ import org.apache.ignite.network.ClusterService;
 import org.apache.ignite.network.NetworkAddress;
 import org.apache.ignite.network.NetworkMessage;
 import org.apache.ignite.network.TopologyEventHandler;
+import org.apache.ignite.raft.client.codec.CommandCodec;
+import org.apache.ignite.raft.client.codec.CompactCommandCodec;
 import org.apache.ignite.raft.client.message.RaftClientMessagesFactory;
 import org.apache.ignite.raft.jraft.NodeManager;
 import org.apache.ignite.raft.jraft.rpc.RpcContext;
@@ -42,8 +44,11 @@ import org.apache.ignite.raft.jraft.rpc.impl.cli.ResetLearnersRequestProcessor;
 import org.apache.ignite.raft.jraft.rpc.impl.cli.ResetPeerRequestProcessor;
 import org.apache.ignite.raft.jraft.rpc.impl.cli.SnapshotRequestProcessor;
 import org.apache.ignite.raft.jraft.rpc.impl.cli.TransferLeaderRequestProcessor;
+import org.apache.ignite.raft.jraft.rpc.impl.client.ActionBatchRequestProcessor;
 import org.apache.ignite.raft.jraft.rpc.impl.client.ActionRequestProcessor;
+import org.apache.ignite.raft.jraft.rpc.impl.client.GetLeadersRequestProcessor;
 import org.apache.ignite.raft.jraft.rpc.impl.core.AppendEntriesRequestProcessor;
+import org.apache.ignite.raft.jraft.rpc.impl.core.CoalescedHeartbeatRequestProcessor;
 import org.apache.ignite.raft.jraft.rpc.impl.core.GetFileRequestProcessor;
 import org.apache.ignite.raft.jraft.rpc.impl.core.InstallSnapshotRequestProcessor;
 import org.apache.ignite.raft.jraft.rpc.impl.core.ReadIndexRequestProcessor;
@@ -75,6 +80,23 @@ public class IgniteRpcServer implements RpcServer<Void> {
         NodeManager nodeManager,
         RaftClientMessagesFactory factory,
         @Nullable Executor rpcExecutor
+    ) {
+        this(service, nodeManager, factory, rpcExecutor, new CompactCommandCodec());
+    }
+
+    /**
+     * @param service The cluster service.
+     * @param nodeManager The node manager.
+     * @param factory Message factory.
+     * @param rpcExecutor The executor for RPC requests.
+     * @param codec Codec of the commands in the RAFT log.
+     */
+    public IgniteRpcServer(
+        ClusterService service,
+        NodeManager nodeManager,
+        RaftClientMessagesFactory factory,
+        @Nullable Executor rpcExecutor,
+        CommandCodec codec
     ) {
         this.service = service;
 
@@ -82,6 +104,7 @@ public class IgniteRpcServer implements RpcServer<Void> {
         AppendEntriesRequestProcessor appendEntriesRequestProcessor = new AppendEntriesRequestProcessor(rpcExecutor);
         registerConnectionClosedEventListener(appendEntriesRequestProcessor);
         registerProcessor(appendEntriesRequestProcessor);
+        registerProcessor(new CoalescedHeartbeatRequestProcessor(rpcExecutor));
         registerProcessor(new GetFileRequestProcessor(rpcExecutor));
         registerProcessor(new InstallSnapshotRequestProcessor(rpcExecutor));
         registerProcessor(new RequestVoteRequestProcessor(rpcExecutor));
@@ -102,7 +125,9 @@ public class IgniteRpcServer implements RpcServer<Void> {
         registerProcessor(new ResetLearnersRequestProcessor(rpcExecutor));
         // common client integration
         registerProcessor(new org.apache.ignite.raft.jraft.rpc.impl.client.GetLeaderRequestProcessor(rpcExecutor, FACTORY));
-        registerProcessor(new ActionRequestProcessor(rpcExecutor, FACTORY));
+        registerProcessor(new GetLeadersRequestProcessor(rpcExecutor, FACTORY));
+        registerProcessor(new ActionRequestProcessor(rpcExecutor, FACTORY, codec));
+        registerProcessor(new ActionBatchRequestProcessor(rpcExecutor, FACTORY, codec));
         registerProcessor(new org.apache.ignite.raft.jraft.rpc.impl.client.SnapshotRequestProcessor(rpcExecutor, FACTORY));
 
         service.messagingService().addMessageHandler((msg, senderAddr, corellationId) -> {
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.raft.jraft.rpc.impl.client;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.raft.client.RaftErrorCode;
+import org.apache.ignite.raft.client.WriteCommand;
+import org.apache.ignite.raft.client.codec.CommandCodec;
+import org.apache.ignite.raft.client.message.ActionBatchRequest;
+import org.apache.ignite.raft.client.message.RaftClientMessagesFactory;
+import org.apache.ignite.raft.client.message.RaftErrorResponse;
+import org.apache.ignite.raft.jraft.Node;
+import org.apache.ignite.raft.jraft.Status;
+import org.apache.ignite.raft.jraft.entity.PeerId;
+import org.apache.ignite.raft.jraft.entity.Task;
+import org.apache.ignite.raft.jraft.rpc.RpcContext;
+import org.apache.ignite.raft.jraft.rpc.RpcProcessor;
+
+/**
+ * Process a batch of write commands. Every command is applied as a separate task, so the log and the state machine
+ * do not differ from the ones of separately sent commands, and the tasks of a batch are committed together by the
+ * node. The response is sent when every command has either its result or its error, so a failure of one command does
+ * not hide the results of the commands which have been applied, and the client resends only the failed commands.
+ */
+public class ActionBatchRequestProcessor implements RpcProcessor<ActionBatchRequest> {
+    private final Executor executor;
+
+    private final RaftClientMessagesFactory factory;
+
+    private final CommandCodec codec;
+
+    public ActionBatchRequestProcessor(Executor executor, RaftClientMessagesFactory factory, CommandCodec codec) {
+        this.executor = executor;
+        this.factory = factory;
+        this.codec = codec;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void handleRequest(RpcContext rpcCtx, ActionBatchRequest request) {
+        Node node = rpcCtx.getNodeManager().get(request.groupId(), new PeerId(rpcCtx.getLocalAddress()));
+
+        if (node == null) {
+            rpcCtx.sendResponse(factory.raftErrorResponse().errorCode(RaftErrorCode.ILLEGAL_STATE).build());
+
+            return;
+        }
+
+        List<WriteCommand> cmds = request.commands();
+
+        Object[] results = new Object[cmds.size()];
+
+        RaftErrorResponse[] errors = new RaftErrorResponse[cmds.size()];
+
+        AtomicInteger remaining = new AtomicInteger(cmds.size());
+
+        for (int i = 0; i < cmds.size(); i++) {
+            int idx = i;
+
+            node.apply(new Task(ByteBuffer.wrap(codec.encode(cmds.get(i))),
+                new ActionRequestProcessor.CommandClosureImpl<>(cmds.get(i)) {
+                    @Override public void result(Serializable res) {
+                        results[idx] = res;
+
+                        onDone();
+                    }
+
+                    @Override public void run(Status status) {
+                        assert !status.isOk() : status;
+
+                        errors[idx] = ActionRequestProcessor.errorResponse(factory, status, node);
+
+                        onDone();
+                    }
+
+                    /**
+                     * Sends the response once all the commands are done.
+                     */
+                    private void onDone() {
+                        // The decrement publishes the result or the error written by this thread.
+                        if (remaining.decrementAndGet() == 0) {
+                            rpcCtx.sendResponse(factory.actionBatchResponse()
+                                .results(Arrays.asList(results))
+                                .errors(Arrays.asList(errors))
+                                .build());
+                        }
+                    }
+                }));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public String interest() {
+        return ActionBatchRequest.class.getName();
+    }
+
+    /** {@inheritDoc} */
+    @Override public Executor executor() {
+        return executor;
+    }
+}
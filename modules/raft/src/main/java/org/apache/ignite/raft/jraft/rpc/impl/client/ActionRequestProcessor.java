@@ -18,14 +18,21 @@ package org.apache.ignite.raft.jraft.rpc.impl.client;
 
 import java.io.Serializable;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.ignite.internal.raft.server.impl.JRaftServerImpl;
 import org.apache.ignite.raft.client.Command;
 import org.apache.ignite.raft.client.Peer;
 import org.apache.ignite.raft.client.RaftErrorCode;
 import org.apache.ignite.raft.client.ReadCommand;
 import org.apache.ignite.raft.client.WriteCommand;
+import org.apache.ignite.raft.client.codec.CommandCodec;
 import org.apache.ignite.raft.client.message.ActionRequest;
 import org.apache.ignite.raft.client.message.RaftClientMessagesFactory;
 import org.apache.ignite.raft.client.message.RaftErrorResponse;
@@ -38,24 +45,37 @@ import org.apache.ignite.raft.jraft.closure.ReadIndexClosure;
 import org.apache.ignite.raft.jraft.entity.PeerId;
 import org.apache.ignite.raft.jraft.entity.Task;
 import org.apache.ignite.raft.jraft.error.RaftError;
+import org.apache.ignite.raft.jraft.option.ReadOnlyOption;
 import org.apache.ignite.raft.jraft.rpc.RpcContext;
 import org.apache.ignite.raft.jraft.rpc.RpcProcessor;
 import org.apache.ignite.raft.jraft.util.BytesUtil;
-import org.apache.ignite.raft.jraft.util.JDKMarshaller;
 
 import static org.apache.ignite.raft.jraft.JRaftUtils.addressFromEndpoint;
 
 /**
- * Process action request.
+ * Process action request. Write commands are applied to the log, while the reads waiting for the read index are
+ * queued by the group and confirmed together.
  */
 public class ActionRequestProcessor implements RpcProcessor<ActionRequest> {
+    /** Maximum number of reads confirmed by one read index. */
+    private static final int MAX_READ_BATCH_SIZE = 1024;
+
     private final Executor executor;
 
     private final RaftClientMessagesFactory factory;
 
-    public ActionRequestProcessor(Executor executor, RaftClientMessagesFactory factory) {
+    private final CommandCodec codec;
+
+    /** Queues of the reads waiting for the read index, by the group id. */
+    private final Map<String, ReadQueue> safeReads = new ConcurrentHashMap<>();
+
+    /** Queues of the lease based reads waiting for the read index, by the group id. */
+    private final Map<String, ReadQueue> leaseReads = new ConcurrentHashMap<>();
+
+    public ActionRequestProcessor(Executor executor, RaftClientMessagesFactory factory, CommandCodec codec) {
         this.executor = executor;
         this.factory = factory;
+        this.codec = codec;
     }
 
     /** {@inheritDoc} */
@@ -69,7 +89,7 @@ public class ActionRequestProcessor implements RpcProcessor<ActionRequest> {
         }
 
         if (request.command() instanceof WriteCommand) {
-            node.apply(new Task(ByteBuffer.wrap(JDKMarshaller.DEFAULT.marshall(request.command())),
+            node.apply(new Task(ByteBuffer.wrap(codec.encode(request.command())),
                 new CommandClosureImpl<>(request.command()) {
                     @Override public void result(Serializable res) {
                         rpcCtx.sendResponse(factory.actionResponse().result(res).build());
@@ -83,52 +103,55 @@ public class ActionRequestProcessor implements RpcProcessor<ActionRequest> {
                 }));
         }
         else {
+            PendingRead read = new PendingRead(rpcCtx, (ReadCommand)request.command());
+
             if (request.readOnlySafe()) {
-                node.readIndex(BytesUtil.EMPTY_BYTES, new ReadIndexClosure() {
-                    @Override public void run(Status status, long index, byte[] reqCtx) {
-                        if (status.isOk()) {
-                            JRaftServerImpl.DelegatingStateMachine fsm =
-                                (JRaftServerImpl.DelegatingStateMachine) node.getOptions().getFsm();
-
-                            try {
-                                fsm.getListener().onRead(List.<CommandClosure<ReadCommand>>of(new CommandClosure<>() {
-                                    @Override public ReadCommand command() {
-                                        return (ReadCommand)request.command();
-                                    }
-
-                                    @Override public void result(Serializable res) {
-                                        rpcCtx.sendResponse(factory.actionResponse().result(res).build());
-                                    }
-                                }).iterator());
-                            }
-                            catch (Exception e) {
-                                sendError(rpcCtx, RaftErrorCode.STATE_MACHINE, e.getMessage());
-                            }
-                        }
-                        else
-                            sendError(rpcCtx, status, node);
-                    }
-                });
+                ReadOnlyOption readOnlyOpt = request.leaseRead() ?
+                    ReadOnlyOption.ReadOnlyLeaseBased : node.getRaftOptions().getReadOnlyOptions();
+
+                readQueue(node, request.groupId(), readOnlyOpt).add(read);
             }
-            else {
-                // TODO asch remove copy paste, batching https://issues.apache.org/jira/browse/IGNITE-14832
-                JRaftServerImpl.DelegatingStateMachine fsm =
-                    (JRaftServerImpl.DelegatingStateMachine) node.getOptions().getFsm();
-
-                try {
-                    fsm.getListener().onRead(List.<CommandClosure<ReadCommand>>of(new CommandClosure<>() {
-                        @Override public ReadCommand command() {
-                            return (ReadCommand)request.command();
-                        }
+            else
+                onRead(node, List.of(read));
+        }
+    }
 
-                        @Override public void result(Serializable res) {
-                            rpcCtx.sendResponse(factory.actionResponse().result(res).build());
-                        }
-                    }).iterator());
-                }
-                catch (Exception e) {
-                    sendError(rpcCtx, RaftErrorCode.STATE_MACHINE, e.getMessage());
-                }
+    /**
+     * Returns the read queue of the node, replacing the queue of a node that has been restarted in the same group.
+     *
+     * @param node Raft node.
+     * @param groupId Group id.
+     * @param readOnlyOpt Read only option of the read index.
+     * @return Read queue.
+     */
+    private ReadQueue readQueue(Node node, String groupId, ReadOnlyOption readOnlyOpt) {
+        Map<String, ReadQueue> queues = readOnlyOpt == ReadOnlyOption.ReadOnlyLeaseBased ? leaseReads : safeReads;
+
+        ReadQueue queue = queues.get(groupId);
+
+        if (queue != null && queue.node == node)
+            return queue;
+
+        return queues.compute(groupId, (id, q) -> q != null && q.node == node ? q : new ReadQueue(node, readOnlyOpt));
+    }
+
+    /**
+     * Serves the reads with one iterator over the listener of the node.
+     *
+     * @param node Raft node.
+     * @param reads Reads.
+     */
+    private void onRead(Node node, List<PendingRead> reads) {
+        JRaftServerImpl.DelegatingStateMachine fsm =
+            (JRaftServerImpl.DelegatingStateMachine) node.getOptions().getFsm();
+
+        try {
+            fsm.getListener().onRead(List.<CommandClosure<ReadCommand>>copyOf(reads).iterator());
+        }
+        catch (Exception e) {
+            for (PendingRead read : reads) {
+                if (!read.done)
+                    sendError(read.rpcCtx, RaftErrorCode.STATE_MACHINE, e.getMessage());
             }
         }
     }
@@ -163,6 +186,16 @@ public class ActionRequestProcessor implements RpcProcessor<ActionRequest> {
      * @param node Raft node.
      */
     private void sendError(RpcContext ctx, Status status, Node node) {
+        ctx.sendResponse(errorResponse(factory, status, node));
+    }
+
+    /**
+     * @param factory Message factory.
+     * @param status The status.
+     * @param node Raft node.
+     * @return Error response for the status.
+     */
+    static RaftErrorResponse errorResponse(RaftClientMessagesFactory factory, Status status, Node node) {
         RaftError raftError = status.getRaftError();
 
         RaftErrorCode raftErrorCode = RaftErrorCode.ILLEGAL_STATE;
@@ -185,13 +218,13 @@ public class ActionRequestProcessor implements RpcProcessor<ActionRequest> {
         if (newLeader != null)
             resp.newLeader(new Peer(addressFromEndpoint(newLeader.getEndpoint())));
 
-        ctx.sendResponse(resp.build());
+        return resp.build();
     }
 
     /**
      *
      */
-    private abstract static class CommandClosureImpl<T extends Command> implements Closure, CommandClosure<T> {
+    abstract static class CommandClosureImpl<T extends Command> implements Closure, CommandClosure<T> {
         /**
          *
          */
@@ -209,4 +242,115 @@ public class ActionRequestProcessor implements RpcProcessor<ActionRequest> {
             return command;
         }
     }
+
+    /**
+     * Read waiting for the read index.
+     */
+    private class PendingRead implements CommandClosure<ReadCommand> {
+        /** Context of the request. */
+        private final RpcContext rpcCtx;
+
+        /** The command. */
+        private final ReadCommand command;
+
+        /** Whether the response has been sent. */
+        private boolean done;
+
+        /**
+         * @param rpcCtx Context of the request.
+         * @param command The command.
+         */
+        PendingRead(RpcContext rpcCtx, ReadCommand command) {
+            this.rpcCtx = rpcCtx;
+            this.command = command;
+        }
+
+        /** {@inheritDoc} */
+        @Override public ReadCommand command() {
+            return command;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void result(Serializable res) {
+            done = true;
+
+            rpcCtx.sendResponse(factory.actionResponse().result(res).build());
+        }
+    }
+
+    /**
+     * Reads of a group waiting for the read index. While a read index is in progress, the new reads are queued, and
+     * then all of them are confirmed by the next read index and served by one {@code onRead} call.
+     */
+    private class ReadQueue {
+        /** Raft node. */
+        private final Node node;
+
+        /** Read only option of the read index. */
+        private final ReadOnlyOption readOnlyOpt;
+
+        /** Queued reads. */
+        private final Queue<PendingRead> reads = new ConcurrentLinkedQueue<>();
+
+        /** Whether a read index is in progress. */
+        private final AtomicBoolean inProgress = new AtomicBoolean();
+
+        /**
+         * @param node Raft node.
+         * @param readOnlyOpt Read only option of the read index.
+         */
+        ReadQueue(Node node, ReadOnlyOption readOnlyOpt) {
+            this.node = node;
+            this.readOnlyOpt = readOnlyOpt;
+        }
+
+        /**
+         * @param read Read.
+         */
+        void add(PendingRead read) {
+            reads.add(read);
+
+            flush();
+        }
+
+        /**
+         * Requests the read index for the queued reads, unless a read index is already in progress.
+         */
+        private void flush() {
+            while (!reads.isEmpty() && inProgress.compareAndSet(false, true)) {
+                List<PendingRead> batch = new ArrayList<>();
+
+                for (PendingRead read; batch.size() < MAX_READ_BATCH_SIZE && (read = reads.poll()) != null; )
+                    batch.add(read);
+
+                if (batch.isEmpty()) {
+                    inProgress.set(false);
+
+                    continue;
+                }
+
+                node.readIndex(readOnlyOpt, BytesUtil.EMPTY_BYTES, new ReadIndexClosure() {
+                    @Override public void run(Status status, long index, byte[] reqCtx) {
+                        try {
+                            if (status.isOk())
+                                onRead(node, batch);
+                            else {
+                                RaftErrorResponse resp = errorResponse(factory, status, node);
+
+                                for (PendingRead read : batch)
+                                    read.rpcCtx.sendResponse(resp);
+                            }
+                        }
+                        finally {
+                            inProgress.set(false);
+
+                            flush();
+                        }
+                    }
+                });
+
+                return;
+            }
+        }
+    }
 }
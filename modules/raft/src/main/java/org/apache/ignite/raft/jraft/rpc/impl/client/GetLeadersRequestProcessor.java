@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.raft.jraft.rpc.impl.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.apache.ignite.network.NetworkAddress;
+import org.apache.ignite.raft.client.Peer;
+import org.apache.ignite.raft.client.message.GetLeadersRequest;
+import org.apache.ignite.raft.client.message.RaftClientMessagesFactory;
+import org.apache.ignite.raft.jraft.Node;
+import org.apache.ignite.raft.jraft.entity.PeerId;
+import org.apache.ignite.raft.jraft.rpc.RpcContext;
+import org.apache.ignite.raft.jraft.rpc.RpcProcessor;
+
+import static org.apache.ignite.raft.jraft.JRaftUtils.addressFromEndpoint;
+
+/**
+ * Process get leaders request. Unlike {@link GetLeaderRequestProcessor}, the groups which are not hosted by the node
+ * or have no known leader are not errors, their leaders are just {@code null}.
+ */
+public class GetLeadersRequestProcessor implements RpcProcessor<GetLeadersRequest> {
+    private final Executor executor;
+
+    private final RaftClientMessagesFactory factory;
+
+    public GetLeadersRequestProcessor(Executor executor, RaftClientMessagesFactory factory) {
+        this.executor = executor;
+        this.factory = factory;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void handleRequest(RpcContext rpcCtx, GetLeadersRequest request) {
+        NetworkAddress localAddr = rpcCtx.getLocalAddress();
+
+        PeerId localPeer = new PeerId(localAddr.host(), localAddr.port());
+
+        List<Peer> leaders = new ArrayList<>(request.groupIds().size());
+
+        for (String groupId : request.groupIds()) {
+            Node node = rpcCtx.getNodeManager().get(groupId, localPeer);
+
+            PeerId leaderId = node == null ? null : node.getLeaderId();
+
+            leaders.add(leaderId == null ? null : new Peer(addressFromEndpoint(leaderId.getEndpoint())));
+        }
+
+        rpcCtx.sendResponse(factory.getLeadersResponse().leaders(leaders).build());
+    }
+
+    /** {@inheritDoc} */
+    @Override public String interest() {
+        return GetLeadersRequest.class.getName();
+    }
+
+    /** {@inheritDoc} */
+    @Override public Executor executor() {
+        return executor;
+    }
+}
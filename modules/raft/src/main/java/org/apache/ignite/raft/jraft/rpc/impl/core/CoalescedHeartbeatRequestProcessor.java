@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.raft.jraft.rpc.impl.core;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.network.NetworkAddress;
+import org.apache.ignite.raft.jraft.Node;
+import org.apache.ignite.raft.jraft.NodeManager;
+import org.apache.ignite.raft.jraft.entity.PeerId;
+import org.apache.ignite.raft.jraft.error.RaftError;
+import org.apache.ignite.raft.jraft.rpc.Message;
+import org.apache.ignite.raft.jraft.rpc.RaftRpcFactory;
+import org.apache.ignite.raft.jraft.rpc.RaftServerService;
+import org.apache.ignite.raft.jraft.rpc.RpcContext;
+import org.apache.ignite.raft.jraft.rpc.RpcRequestClosure;
+import org.apache.ignite.raft.jraft.rpc.RpcRequestProcessor;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.AppendEntriesRequest;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.AppendEntriesResponse;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.CoalescedHeartbeatRequest;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.CoalescedHeartbeatResponse;
+
+/**
+ * Handles coalesced heartbeat requests: every heartbeat of the request is handed to the local node of its group as
+ * an ordinary heartbeat, the responses are sent back together once all the nodes have answered.
+ */
+public class CoalescedHeartbeatRequestProcessor extends RpcRequestProcessor<CoalescedHeartbeatRequest> {
+    public CoalescedHeartbeatRequestProcessor(final Executor executor) {
+        super(executor, CoalescedHeartbeatResponse.getDefaultInstance());
+    }
+
+    @Override
+    public Message processRequest(final CoalescedHeartbeatRequest request, final RpcRequestClosure done) {
+        final List<AppendEntriesRequest> heartbeats = request.getHeartbeatsList();
+
+        if (heartbeats.isEmpty()) {
+            return CoalescedHeartbeatResponse.newBuilder().build();
+        }
+
+        final Message[] responses = new Message[heartbeats.size()];
+        final AtomicInteger remaining = new AtomicInteger(responses.length);
+
+        for (int i = 0; i < responses.length; i++) {
+            final RpcContext heartbeatCtx = new HeartbeatContext(done, responses, i, remaining);
+
+            final Message response = processHeartbeat(heartbeats.get(i),
+                new RpcRequestClosure(heartbeatCtx, AppendEntriesResponse.getDefaultInstance()));
+
+            if (response != null) {
+                heartbeatCtx.sendResponse(response);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @param request The heartbeat of a group.
+     * @param done The closure to answer the heartbeat asynchronously.
+     * @return The response or {@code null} if it is sent later by the closure.
+     */
+    private Message processHeartbeat(final AppendEntriesRequest request, final RpcRequestClosure done) {
+        if (request.getEntriesCount() != 0 || request.hasData()) {
+            return RaftRpcFactory.DEFAULT //
+                .newResponse(AppendEntriesResponse.getDefaultInstance(), RaftError.EINVAL,
+                    "Not a heartbeat request, group: %s", request.getGroupId());
+        }
+
+        final PeerId peer = new PeerId();
+
+        if (!peer.parse(request.getPeerId())) {
+            return RaftRpcFactory.DEFAULT //
+                .newResponse(AppendEntriesResponse.getDefaultInstance(), RaftError.EINVAL, "Fail to parse peerId: %s",
+                    request.getPeerId());
+        }
+
+        final Node node = done.getRpcCtx().getNodeManager().get(request.getGroupId(), peer);
+
+        if (node == null) {
+            return RaftRpcFactory.DEFAULT //
+                .newResponse(AppendEntriesResponse.getDefaultInstance(), RaftError.ENOENT,
+                    "Peer id not found: %s, group: %s", request.getPeerId(), request.getGroupId());
+        }
+
+        return ((RaftServerService) node).handleAppendEntriesRequest(request, done);
+    }
+
+    @Override
+    public String interest() {
+        return CoalescedHeartbeatRequest.class.getName();
+    }
+
+    /**
+     * Context of a single heartbeat of a coalesced request, collects its response.
+     */
+    private static class HeartbeatContext implements RpcContext {
+        private final RpcRequestClosure done;
+        private final Message[] responses;
+        private final int idx;
+        private final AtomicInteger remaining;
+
+        HeartbeatContext(final RpcRequestClosure done, final Message[] responses, final int idx,
+            final AtomicInteger remaining) {
+            this.done = done;
+            this.responses = responses;
+            this.idx = idx;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public NodeManager getNodeManager() {
+            return this.done.getRpcCtx().getNodeManager();
+        }
+
+        @Override
+        public void sendResponse(final Object responseObj) {
+            this.responses[this.idx] = (Message) responseObj;
+
+            if (this.remaining.decrementAndGet() == 0) {
+                final CoalescedHeartbeatResponse.Builder builder = CoalescedHeartbeatResponse.newBuilder();
+
+                for (final Message response : this.responses) {
+                    builder.addResponses(response);
+                }
+
+                this.done.sendResponse(builder.build());
+            }
+        }
+
+        @Override
+        public NetworkAddress getRemoteAddress() {
+            return this.done.getRpcCtx().getRemoteAddress();
+        }
+
+        @Override
+        public NetworkAddress getLocalAddress() {
+            return this.done.getRpcCtx().getLocalAddress();
+        }
+    }
+}
@@ -31,6 +31,8 @@ import org.apache.ignite.raft.jraft.rpc.Message;
 import org.apache.ignite.raft.jraft.rpc.RaftClientService;
 import org.apache.ignite.raft.jraft.rpc.RpcRequests.AppendEntriesRequest;
 import org.apache.ignite.raft.jraft.rpc.RpcRequests.AppendEntriesResponse;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.CoalescedHeartbeatRequest;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.CoalescedHeartbeatResponse;
 import org.apache.ignite.raft.jraft.rpc.RpcRequests.GetFileRequest;
 import org.apache.ignite.raft.jraft.rpc.RpcRequests.GetFileResponse;
 import org.apache.ignite.raft.jraft.rpc.RpcRequests.InstallSnapshotRequest;
@@ -91,6 +93,20 @@ public class DefaultRaftClientService extends AbstractClientService implements R
         return failedFuture(executor, request, done, endpoint);
     }
 
+    @Override
+    public Future<Message> coalescedHeartbeat(final Endpoint endpoint, final CoalescedHeartbeatRequest request,
+        final int timeoutMs, final RpcResponseClosure<CoalescedHeartbeatResponse> done) {
+        // Responses are handled by the same executor as the ordinary append entries responses from the endpoint.
+        final Executor executor = this.appendEntriesExecutorMap.computeIfAbsent(endpoint,
+            k -> nodeOptions.getStripedExecutor().next());
+
+        if (connect(endpoint)) {
+            return invokeWithDone(endpoint, request, done, timeoutMs, executor);
+        }
+
+        return failedFuture(executor, request, done, endpoint);
+    }
+
     @Override
     public Future<Message> getFile(final Endpoint endpoint, final GetFileRequest request, final int timeoutMs,
         final RpcResponseClosure<GetFileResponse> done) {
@@ -16,6 +16,11 @@
  */
 package org.apache.ignite.raft.jraft.rpc.message;
 
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import org.apache.ignite.raft.jraft.entity.RaftOutter;
@@ -23,7 +28,12 @@ import org.apache.ignite.raft.jraft.rpc.RpcRequests;
 import org.apache.ignite.raft.jraft.util.ByteString;
 import org.apache.ignite.raft.jraft.util.Marshaller;
 
-class AppendEntriesRequestImpl implements RpcRequests.AppendEntriesRequest, RpcRequests.AppendEntriesRequest.Builder {
+/**
+ * The request is {@link Externalizable}: the payloads of the entries added by {@link #addData(ByteBuffer)} are written
+ * to the wire straight from the buffers of the log, without being collected into an intermediate buffer first.
+ */
+class AppendEntriesRequestImpl implements RpcRequests.AppendEntriesRequest, RpcRequests.AppendEntriesRequest.Builder,
+    Externalizable {
     private String groupId;
     private String serverId;
     private String peerId;
@@ -34,6 +44,16 @@ class AppendEntriesRequestImpl implements RpcRequests.AppendEntriesRequest, RpcR
     private long committedIndex;
     private ByteString data;
 
+    /** Payloads of the entries, not copied into {@link #data}. */
+    private List<ByteBuffer> dataBuffers;
+
+    /**
+     * Public constructor for {@link Externalizable}.
+     */
+    public AppendEntriesRequestImpl() {
+        // No-op.
+    }
+
     @Override public String getGroupId() {
         return groupId;
     }
@@ -75,11 +95,34 @@ class AppendEntriesRequestImpl implements RpcRequests.AppendEntriesRequest, RpcR
     }
 
     @Override public ByteString getData() {
-        return data;
+        if (dataBuffers == null)
+            return data;
+
+        // Only a request that is handled without being sent over the network gets here.
+        ByteBuffer buf = ByteBuffer.allocate(getDataSize());
+
+        for (ByteBuffer b : dataBuffers)
+            buf.put(b.duplicate());
+
+        buf.flip();
+
+        return new ByteString(buf);
     }
 
     @Override public boolean hasData() {
-        return data != null;
+        return data != null || dataBuffers != null;
+    }
+
+    @Override public int getDataSize() {
+        if (dataBuffers == null)
+            return data == null ? 0 : data.size();
+
+        int size = 0;
+
+        for (ByteBuffer b : dataBuffers)
+            size += b.remaining();
+
+        return size;
     }
 
     @Override public byte[] toByteArray() {
@@ -92,6 +135,18 @@ class AppendEntriesRequestImpl implements RpcRequests.AppendEntriesRequest, RpcR
 
     @Override public Builder setData(ByteString data) {
         this.data = data;
+        this.dataBuffers = null;
+
+        return this;
+    }
+
+    @Override public Builder addData(ByteBuffer data) {
+        if (dataBuffers == null)
+            dataBuffers = new ArrayList<>();
+
+        dataBuffers.add(data);
+
+        this.data = null;
 
         return this;
     }
@@ -168,7 +223,8 @@ class AppendEntriesRequestImpl implements RpcRequests.AppendEntriesRequest, RpcR
             return false;
         if (!entiesList.equals(that.entiesList))
             return false;
-        return data != null ? data.equals(that.data) : that.data == null;
+        ByteString data = getData();
+        return data != null ? data.equals(that.getData()) : that.getData() == null;
     }
 
     @Override public int hashCode() {
@@ -180,7 +236,67 @@ class AppendEntriesRequestImpl implements RpcRequests.AppendEntriesRequest, RpcR
         result = 31 * result + (int) (prevLogIndex ^ (prevLogIndex >>> 32));
         result = 31 * result + entiesList.hashCode();
         result = 31 * result + (int) (committedIndex ^ (committedIndex >>> 32));
+        ByteString data = getData();
         result = 31 * result + (data != null ? data.hashCode() : 0);
         return result;
     }
+
+    /** {@inheritDoc} */
+    @Override public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeObject(groupId);
+        out.writeObject(serverId);
+        out.writeObject(peerId);
+        out.writeLong(term);
+        out.writeLong(prevLogTerm);
+        out.writeLong(prevLogIndex);
+        out.writeLong(committedIndex);
+
+        out.writeInt(entiesList.size());
+
+        for (RaftOutter.EntryMeta entry : entiesList)
+            out.writeObject(entry);
+
+        if (!hasData()) {
+            out.writeInt(-1);
+
+            return;
+        }
+
+        out.writeInt(getDataSize());
+
+        if (dataBuffers == null)
+            ByteString.write(out, data.asReadOnlyByteBuffer());
+        else {
+            for (ByteBuffer b : dataBuffers)
+                ByteString.write(out, b);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        groupId = (String) in.readObject();
+        serverId = (String) in.readObject();
+        peerId = (String) in.readObject();
+        term = in.readLong();
+        prevLogTerm = in.readLong();
+        prevLogIndex = in.readLong();
+        committedIndex = in.readLong();
+
+        int entriesCnt = in.readInt();
+
+        entiesList = new ArrayList<>(entriesCnt);
+
+        for (int i = 0; i < entriesCnt; i++)
+            entiesList.add((RaftOutter.EntryMeta) in.readObject());
+
+        int dataSize = in.readInt();
+
+        if (dataSize >= 0) {
+            byte[] bytes = new byte[dataSize];
+
+            in.readFully(bytes);
+
+            data = new ByteString(bytes);
+        }
+    }
 }
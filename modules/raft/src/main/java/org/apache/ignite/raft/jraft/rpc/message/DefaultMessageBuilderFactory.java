@@ -56,6 +56,14 @@ public class DefaultMessageBuilderFactory implements MessageBuilderFactory {
         return new AppendEntriesResponseImpl();
     }
 
+    @Override public RpcRequests.CoalescedHeartbeatRequest.Builder createCoalescedHeartbeatRequest() {
+        return new CoalescedHeartbeatRequestImpl();
+    }
+
+    @Override public RpcRequests.CoalescedHeartbeatResponse.Builder createCoalescedHeartbeatResponse() {
+        return new CoalescedHeartbeatResponseImpl();
+    }
+
     @Override public RaftOutter.EntryMeta.Builder createEntryMeta() {
         return new EntryMetaImpl();
     }
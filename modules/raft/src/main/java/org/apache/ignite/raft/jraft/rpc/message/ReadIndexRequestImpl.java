@@ -18,6 +18,7 @@ package org.apache.ignite.raft.jraft.rpc.message;
 
 import java.util.ArrayList;
 import java.util.List;
+import org.apache.ignite.raft.jraft.option.ReadOnlyOption;
 import org.apache.ignite.raft.jraft.rpc.RpcRequests;
 import org.apache.ignite.raft.jraft.util.ByteString;
 
@@ -26,6 +27,7 @@ class ReadIndexRequestImpl implements RpcRequests.ReadIndexRequest, RpcRequests.
     private String serverId;
     private List<ByteString> entriesList = new ArrayList<>();
     private String peerId;
+    private ReadOnlyOption readOnlyOptions;
 
     @Override public String getGroupId() {
         return groupId;
@@ -51,6 +53,10 @@ class ReadIndexRequestImpl implements RpcRequests.ReadIndexRequest, RpcRequests.
         return peerId;
     }
 
+    @Override public ReadOnlyOption getReadOnlyOptions() {
+        return readOnlyOptions;
+    }
+
     @Override public RpcRequests.ReadIndexRequest build() {
         return this;
     }
@@ -59,6 +65,7 @@ class ReadIndexRequestImpl implements RpcRequests.ReadIndexRequest, RpcRequests.
         setGroupId(request.getGroupId());
         setServerId(request.getServerId());
         setPeerId(request.getPeerId());
+        setReadOnlyOptions(request.getReadOnlyOptions());
         for (ByteString data : request.getEntriesList()) {
             addEntries(data);
         }
@@ -72,6 +79,12 @@ class ReadIndexRequestImpl implements RpcRequests.ReadIndexRequest, RpcRequests.
         return this;
     }
 
+    @Override public Builder setReadOnlyOptions(ReadOnlyOption readOnlyOptions) {
+        this.readOnlyOptions = readOnlyOptions;
+
+        return this;
+    }
+
     @Override public Builder setGroupId(String groupId) {
         this.groupId = groupId;
 
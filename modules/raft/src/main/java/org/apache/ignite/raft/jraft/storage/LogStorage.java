@@ -17,7 +17,9 @@
 package org.apache.ignite.raft.jraft.storage;
 
 import java.util.List;
+import org.apache.ignite.raft.jraft.Closure;
 import org.apache.ignite.raft.jraft.Lifecycle;
+import org.apache.ignite.raft.jraft.Status;
 import org.apache.ignite.raft.jraft.entity.LogEntry;
 import org.apache.ignite.raft.jraft.option.LogStorageOptions;
 
@@ -59,6 +61,24 @@ public interface LogStorage extends Lifecycle<LogStorageOptions>, Storage {
      */
     int appendEntries(final List<LogEntry> entries);
 
+    /**
+     * Append entries to log without waiting for a background sync, return append success number. The entries are
+     * durable once the closure passed to {@link #sync(Closure)} after this call is run. Storages that make every
+     * append durable before it returns append as {@link #appendEntries(List)}.
+     */
+    default int appendEntriesNoWait(final List<LogEntry> entries) {
+        return appendEntries(entries);
+    }
+
+    /**
+     * Run the closure once all the entries appended before the call are durable. The closure may be run in the
+     * calling thread before the method returns, or later in another thread, with an error status if the entries
+     * failed to become durable. Closures are run in the order of the calls.
+     */
+    default void sync(final Closure done) {
+        done.run(Status.OK());
+    }
+
     /**
      * Delete logs from storage's head, [first_log_index, first_index_kept) will be discarded.
      */
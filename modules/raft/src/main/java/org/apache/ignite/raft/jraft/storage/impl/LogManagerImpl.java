@@ -21,8 +21,6 @@ import com.lmax.disruptor.EventHandler;
 import com.lmax.disruptor.EventTranslator;
 import com.lmax.disruptor.RingBuffer;
 import com.lmax.disruptor.TimeoutBlockingWaitStrategy;
-import com.lmax.disruptor.dsl.Disruptor;
-import com.lmax.disruptor.dsl.ProducerType;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -39,10 +37,13 @@ import org.apache.ignite.raft.jraft.conf.Configuration;
 import org.apache.ignite.raft.jraft.conf.ConfigurationEntry;
 import org.apache.ignite.raft.jraft.conf.ConfigurationManager;
 import org.apache.ignite.raft.jraft.core.NodeMetrics;
+import org.apache.ignite.raft.jraft.disruptor.NodeIdAware;
+import org.apache.ignite.raft.jraft.disruptor.StripedDisruptor;
 import org.apache.ignite.raft.jraft.entity.EnumOutter.EntryType;
 import org.apache.ignite.raft.jraft.entity.EnumOutter.ErrorType;
 import org.apache.ignite.raft.jraft.entity.LogEntry;
 import org.apache.ignite.raft.jraft.entity.LogId;
+import org.apache.ignite.raft.jraft.entity.NodeId;
 import org.apache.ignite.raft.jraft.entity.PeerId;
 import org.apache.ignite.raft.jraft.entity.RaftOutter.SnapshotMeta;
 import org.apache.ignite.raft.jraft.error.LogEntryCorruptedException;
@@ -55,10 +56,8 @@ import org.apache.ignite.raft.jraft.option.RaftOptions;
 import org.apache.ignite.raft.jraft.storage.LogManager;
 import org.apache.ignite.raft.jraft.storage.LogStorage;
 import org.apache.ignite.raft.jraft.util.ArrayDeque;
-import org.apache.ignite.raft.jraft.util.DisruptorBuilder;
 import org.apache.ignite.raft.jraft.util.DisruptorMetricSet;
 import org.apache.ignite.raft.jraft.util.LogExceptionHandler;
-import org.apache.ignite.raft.jraft.util.NamedThreadFactory;
 import org.apache.ignite.raft.jraft.util.Requires;
 import org.apache.ignite.raft.jraft.util.SegmentList;
 import org.apache.ignite.raft.jraft.util.ThreadHelper;
@@ -90,7 +89,9 @@ public class LogManagerImpl implements LogManager {
     private volatile long lastLogIndex;
     private volatile LogId lastSnapshotId = new LogId(0, 0);
     private final Map<Long, WaitMeta> waitMap = new HashMap<>();
-    private Disruptor<StableClosureEvent> disruptor;
+    private NodeId nodeId;
+    private StripedDisruptor<StableClosureEvent> disruptor;
+    private boolean ownDisruptor;
     private RingBuffer<StableClosureEvent> diskQueue;
     private RaftOptions raftOptions;
     private volatile CountDownLatch shutDownLatch;
@@ -107,17 +108,23 @@ public class LogManagerImpl implements LogManager {
         LAST_LOG_ID // get last log id
     }
 
-    private static class StableClosureEvent {
+    public static class StableClosureEvent implements NodeIdAware {
+        NodeId nodeId;
         StableClosure done;
         EventType type;
 
+        @Override
+        public NodeId nodeId() {
+            return this.nodeId;
+        }
+
         void reset() {
             this.done = null;
             this.type = null;
         }
     }
 
-    private static class StableClosureEventFactory implements EventFactory<StableClosureEvent> {
+    public static class StableClosureEventFactory implements EventFactory<StableClosureEvent> {
         @Override
         public StableClosureEvent newInstance() {
             return new StableClosureEvent();
@@ -189,22 +196,21 @@ public class LogManagerImpl implements LogManager {
             this.lastLogIndex = this.logStorage.getLastLogIndex();
             this.diskId = new LogId(this.lastLogIndex, getTermFromLogStorage(this.lastLogIndex));
             this.fsmCaller = opts.getFsmCaller();
-            this.disruptor = DisruptorBuilder.<StableClosureEvent>newInstance() //
-                .setEventFactory(new StableClosureEventFactory()) //
-                .setRingBufferSize(opts.getDisruptorBufferSize()) //
-                .setThreadFactory(new NamedThreadFactory("JRaft-LogManager-Disruptor-" +
-                    opts.getNode().getOptions().getServerName() + "-" + opts.getNode().getNodeId(), true)) //
-                .setProducerType(ProducerType.MULTI) //
+            this.nodeId = opts.getNode().getNodeId();
+            this.disruptor = this.nodeOptions.getLogManagerDisruptor();
+            this.ownDisruptor = this.disruptor == null;
+            if (this.ownDisruptor) {
                 /*
                  *  Use timeout strategy in log manager. If timeout happens, it will called reportError to halt the node.
                  */
-                .setWaitStrategy(new TimeoutBlockingWaitStrategy(
-                    this.raftOptions.getDisruptorPublishEventWaitTimeoutSecs(), TimeUnit.SECONDS)) //
-                .build();
-            this.disruptor.handleEventsWith(new StableClosureEventHandler());
-            this.disruptor.setDefaultExceptionHandler(new LogExceptionHandler<Object>(this.getClass().getSimpleName(),
-                (event, ex) -> reportError(-1, "LogManager handle event error")));
-            this.diskQueue = this.disruptor.start();
+                this.disruptor = new StripedDisruptor<>("JRaft-LogManager-Disruptor-" +
+                    this.nodeOptions.getServerName() + "-" + this.nodeId, opts.getDisruptorBufferSize(),
+                    new StableClosureEventFactory(), 1, () -> new TimeoutBlockingWaitStrategy(
+                        this.raftOptions.getDisruptorPublishEventWaitTimeoutSecs(), TimeUnit.SECONDS));
+            }
+            this.diskQueue = this.disruptor.subscribe(this.nodeId, new StableClosureEventHandler(),
+                new LogExceptionHandler<>(this.getClass().getSimpleName(),
+                    (event, ex) -> reportError(-1, "LogManager handle event error")));
             if (this.nodeMetrics.getMetricRegistry() != null) {
                 this.nodeMetrics.getMetricRegistry().register("jraft-log-manager-disruptor",
                     new DisruptorMetricSet(this.diskQueue));
@@ -220,6 +226,7 @@ public class LogManagerImpl implements LogManager {
         this.shutDownLatch = new CountDownLatch(1);
         Utils.runInThread(nodeOptions.getCommonExecutor(), () -> this.diskQueue.publishEvent((event, sequence) -> {
             event.reset();
+            event.nodeId = this.nodeId;
             event.type = EventType.SHUTDOWN;
         }));
     }
@@ -230,7 +237,10 @@ public class LogManagerImpl implements LogManager {
             return;
         }
         this.shutDownLatch.await();
-        this.disruptor.shutdown();
+        this.disruptor.unsubscribe(this.nodeId);
+        if (this.ownDisruptor) {
+            this.disruptor.shutdown();
+        }
     }
 
     @Override
@@ -329,6 +339,7 @@ public class LogManagerImpl implements LogManager {
             int retryTimes = 0;
             final EventTranslator<StableClosureEvent> translator = (event, sequence) -> {
                 event.reset();
+                event.nodeId = this.nodeId;
                 event.type = EventType.OTHER;
                 event.done = done;
             };
@@ -364,6 +375,7 @@ public class LogManagerImpl implements LogManager {
         }
         if (!this.diskQueue.tryPublishEvent((event, sequence) -> {
             event.reset();
+            event.nodeId = this.nodeId;
             event.type = type;
             event.done = done;
         })) {
@@ -425,7 +437,7 @@ public class LogManagerImpl implements LogManager {
                     writtenSize += entry.getData() != null ? entry.getData().remaining() : 0;
                 }
                 this.nodeMetrics.recordSize("append-logs-bytes", writtenSize);
-                final int nAppent = this.logStorage.appendEntries(toAppend);
+                final int nAppent = this.logStorage.appendEntriesNoWait(toAppend);
                 if (nAppent != entriesCount) {
                     LOG.error("**Critical error**, fail to appendEntries, nAppent={}, toAppend={}", nAppent,
                         toAppend.size());
@@ -463,22 +475,11 @@ public class LogManagerImpl implements LogManager {
         LogId flush() {
             if (this.size > 0) {
                 this.lastId = appendToStorage(this.toAppend);
-                for (int i = 0; i < this.size; i++) {
-                    this.storage.get(i).getEntries().clear();
-                    Status st = null;
-                    try {
-                        if (LogManagerImpl.this.hasError) {
-                            st = new Status(RaftError.EIO, "Corrupted LogStorage");
-                        }
-                        else {
-                            st = Status.OK();
-                        }
-                        this.storage.get(i).run(st);
-                    }
-                    catch (Throwable t) {
-                        LOG.error("Fail to run closure with status: {}.", st, t);
-                    }
-                }
+                final List<StableClosure> dones = new ArrayList<>(this.storage);
+                final LogId appendedId = this.lastId;
+                // The closures and the disk id wait for the entries to become durable, which can be done by
+                // another thread, so that the stripe thread is not blocked by the fsync.
+                LogManagerImpl.this.logStorage.sync(status -> onDurable(dones, appendedId, status));
                 this.toAppend.clear();
                 this.storage.clear();
 
@@ -488,6 +489,32 @@ public class LogManagerImpl implements LogManager {
             return this.lastId;
         }
 
+        private void onDurable(final List<StableClosure> dones, final LogId appendedId, final Status status) {
+            if (!status.isOk() && !LogManagerImpl.this.hasError) {
+                LOG.error("Fail to sync log entries, status: {}.", status);
+                reportError(RaftError.EIO.getNumber(), "Fail to sync log entries");
+            }
+            for (final StableClosure done : dones) {
+                done.getEntries().clear();
+                Status st = null;
+                try {
+                    if (LogManagerImpl.this.hasError) {
+                        st = new Status(RaftError.EIO, "Corrupted LogStorage");
+                    }
+                    else {
+                        st = Status.OK();
+                    }
+                    done.run(st);
+                }
+                catch (Throwable t) {
+                    LOG.error("Fail to run closure with status: {}.", st, t);
+                }
+            }
+            if (status.isOk()) {
+                setDiskId(appendedId);
+            }
+        }
+
         void append(final StableClosure done) {
             if (this.size == this.cap || this.bufferSize >= LogManagerImpl.this.raftOptions.getMaxAppendBufferSize()) {
                 flush();
@@ -511,8 +538,8 @@ public class LogManagerImpl implements LogManager {
             throws Exception {
             if (event.type == EventType.SHUTDOWN) {
                 this.lastId = this.ab.flush();
-                setDiskId(this.lastId);
-                LogManagerImpl.this.shutDownLatch.countDown();
+                // Runs after the closures of the flushed entries.
+                LogManagerImpl.this.logStorage.sync(status -> LogManagerImpl.this.shutDownLatch.countDown());
                 return;
             }
             final StableClosure done = event.done;
@@ -526,6 +553,8 @@ public class LogManagerImpl implements LogManager {
                 switch (event.type) {
                     case LAST_LOG_ID:
                         ((LastLogIdClosure) done).setLastLogId(this.lastId.copy());
+                        // The last log id is returned once the entries up to it are durable.
+                        LogManagerImpl.this.logStorage.sync(done);
                         break;
                     case TRUNCATE_PREFIX:
                         long startMs = Utils.monotonicMs();
@@ -568,13 +597,12 @@ public class LogManagerImpl implements LogManager {
                 if (!ret) {
                     reportError(RaftError.EIO.getNumber(), "Failed operation in LogStorage");
                 }
-                else {
+                else if (event.type != EventType.LAST_LOG_ID) {
                     done.run(Status.OK());
                 }
             }
             if (endOfBatch) {
                 this.lastId = this.ab.flush();
-                setDiskId(this.lastId);
             }
         }
 
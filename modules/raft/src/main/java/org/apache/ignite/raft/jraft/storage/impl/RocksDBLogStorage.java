@@ -26,6 +26,8 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.apache.ignite.raft.jraft.Closure;
+import org.apache.ignite.raft.jraft.Status;
 import org.apache.ignite.raft.jraft.conf.Configuration;
 import org.apache.ignite.raft.jraft.conf.ConfigurationEntry;
 import org.apache.ignite.raft.jraft.conf.ConfigurationManager;
@@ -34,7 +36,9 @@ import org.apache.ignite.raft.jraft.entity.LogEntry;
 import org.apache.ignite.raft.jraft.entity.LogId;
 import org.apache.ignite.raft.jraft.entity.codec.LogEntryDecoder;
 import org.apache.ignite.raft.jraft.entity.codec.LogEntryEncoder;
+import org.apache.ignite.raft.jraft.error.RaftError;
 import org.apache.ignite.raft.jraft.option.LogStorageOptions;
+import org.apache.ignite.raft.jraft.option.LogSyncMode;
 import org.apache.ignite.raft.jraft.option.RaftOptions;
 import org.apache.ignite.raft.jraft.storage.LogStorage;
 import org.apache.ignite.raft.jraft.util.Bits;
@@ -125,7 +129,8 @@ public class RocksDBLogStorage implements LogStorage, Describer {
     }
 
     private final String path;
-    private final boolean sync;
+    private final LogSyncMode syncMode;
+    private final int groupSyncMaxDelayMs;
     private final boolean openStatistics;
     private RocksDB db;
     private DBOptions dbOptions;
@@ -135,6 +140,8 @@ public class RocksDBLogStorage implements LogStorage, Describer {
     private ColumnFamilyHandle confHandle;
     private ReadOptions totalOrderReadOptions;
     private DebugStatistics statistics;
+    /** Syncer of the WAL in the group-sync mode, {@code null} in the other modes. */
+    private RocksDBWalSyncer syncer;
     private final ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
     private final Lock readLock = this.readWriteLock.readLock();
     private final Lock writeLock = this.readWriteLock.writeLock();
@@ -151,7 +158,8 @@ public class RocksDBLogStorage implements LogStorage, Describer {
     public RocksDBLogStorage(final String path, final RaftOptions raftOptions) {
         super();
         this.path = path;
-        this.sync = raftOptions.isSync();
+        this.syncMode = raftOptions.getEffectiveLogSyncMode();
+        this.groupSyncMaxDelayMs = raftOptions.getGroupSyncMaxDelayMs();
         this.openStatistics = raftOptions.isOpenStatistics();
     }
 
@@ -189,7 +197,7 @@ public class RocksDBLogStorage implements LogStorage, Describer {
             }
 
             this.writeOptions = new WriteOptions();
-            this.writeOptions.setSync(this.sync);
+            this.writeOptions.setSync(this.syncMode == LogSyncMode.SYNC);
             this.totalOrderReadOptions = new ReadOptions();
             this.totalOrderReadOptions.setTotalOrderSeek(true);
 
@@ -276,7 +284,8 @@ public class RocksDBLogStorage implements LogStorage, Describer {
     }
 
     /**
-     * Save the first log index into conf column family.
+     * Save the first log index into conf column family. In the group-sync mode the write is not waited to be durable,
+     * the caller waits for the fsync with {@link #awaitSync(RocksDBWalSyncer)} if needed.
      */
     private boolean saveFirstLogIndex(final long firstLogIndex) {
         this.readLock.lock();
@@ -308,6 +317,38 @@ public class RocksDBLogStorage implements LogStorage, Describer {
         assert (columnFamilyHandles.size() == 2);
         this.confHandle = columnFamilyHandles.get(0);
         this.defaultHandle = columnFamilyHandles.get(1);
+
+        if (this.syncMode == LogSyncMode.GROUP_SYNC) {
+            // The storage is the only writer, so an fsync does not wait for other requests.
+            this.syncer = new RocksDBWalSyncer(this.db, "log-syncer-");
+        }
+    }
+
+    /**
+     * Waits for the WAL fsync covering the writes done so far, if the storage is in the group-sync mode. The fsync is
+     * shared by all the writers waiting for it meanwhile. Must be called without the storage lock, so that the
+     * shutdown and the reset do not wait for the fsyncs of the writes in flight.
+     *
+     * @param syncer the syncer taken under the lock with the writes, {@code null} if not in the group-sync mode
+     * @return {@code true} if the writes are durable
+     */
+    private boolean awaitSync(final RocksDBWalSyncer syncer) {
+        if (syncer == null) {
+            return true;
+        }
+        try {
+            syncer.awaitSync(this, this.groupSyncMaxDelayMs);
+            return true;
+        }
+        catch (final RocksDBException e) {
+            LOG.error("Fail to sync the WAL.", e);
+            return false;
+        }
+        catch (final InterruptedException e) {
+            LOG.error("Interrupted while waiting for the WAL sync.", e);
+            Thread.currentThread().interrupt();
+            return false;
+        }
     }
 
     private void checkState() {
@@ -320,6 +361,17 @@ public class RocksDBLogStorage implements LogStorage, Describer {
      * @param template write batch template
      */
     private boolean executeBatch(final WriteBatchTemplate template) {
+        return executeBatch(template, true);
+    }
+
+    /**
+     * Execute write batch template.
+     *
+     * @param template write batch template
+     * @param wait whether to wait for the WAL fsync in the group-sync mode
+     */
+    private boolean executeBatch(final WriteBatchTemplate template, final boolean wait) {
+        final RocksDBWalSyncer syncer;
         this.readLock.lock();
         if (this.db == null) {
             LOG.warn("DB not initialized or destroyed.");
@@ -329,6 +381,7 @@ public class RocksDBLogStorage implements LogStorage, Describer {
         try (final WriteBatch batch = new WriteBatch()) {
             template.execute(batch);
             this.db.write(this.writeOptions, batch);
+            syncer = this.syncer;
         }
         catch (final RocksDBException e) {
             LOG.error("Execute batch failed with rocksdb exception.", e);
@@ -346,7 +399,7 @@ public class RocksDBLogStorage implements LogStorage, Describer {
         finally {
             this.readLock.unlock();
         }
-        return true;
+        return !wait || awaitSync(syncer);
     }
 
     @Override
@@ -385,6 +438,10 @@ public class RocksDBLogStorage implements LogStorage, Describer {
     }
 
     private void closeDB() {
+        if (this.syncer != null) {
+            this.syncer.close();
+            this.syncer = null;
+        }
         this.confHandle.close();
         this.defaultHandle.close();
         this.db.close();
@@ -499,10 +556,21 @@ public class RocksDBLogStorage implements LogStorage, Describer {
 
     @Override
     public boolean appendEntry(final LogEntry entry) {
+        return appendEntry(entry, true);
+    }
+
+    /**
+     * Append an entry.
+     *
+     * @param entry the entry
+     * @param wait whether to wait for the WAL fsync in the group-sync mode
+     */
+    private boolean appendEntry(final LogEntry entry, final boolean wait) {
         if (entry.getType() == EnumOutter.EntryType.ENTRY_TYPE_CONFIGURATION) {
-            return executeBatch(batch -> addConfBatch(entry, batch));
+            return executeBatch(batch -> addConfBatch(entry, batch), wait);
         }
         else {
+            final RocksDBWalSyncer syncer;
             this.readLock.lock();
             try {
                 if (this.db == null) {
@@ -519,7 +587,7 @@ public class RocksDBLogStorage implements LogStorage, Describer {
                 if (newValueBytes != valueBytes) {
                     doSync();
                 }
-                return true;
+                syncer = this.syncer;
             }
             catch (final RocksDBException | IOException e) {
                 LOG.error("Fail to append entry.", e);
@@ -532,6 +600,7 @@ public class RocksDBLogStorage implements LogStorage, Describer {
             finally {
                 this.readLock.unlock();
             }
+            return !wait || awaitSync(syncer);
         }
     }
 
@@ -541,6 +610,26 @@ public class RocksDBLogStorage implements LogStorage, Describer {
 
     @Override
     public int appendEntries(final List<LogEntry> entries) {
+        return appendEntries(entries, true);
+    }
+
+    @Override
+    public int appendEntriesNoWait(final List<LogEntry> entries) {
+        return appendEntries(entries, false);
+    }
+
+    @Override
+    public void sync(final Closure done) {
+        final RocksDBWalSyncer syncer = this.syncer;
+        if (syncer == null) {
+            done.run(Status.OK());
+            return;
+        }
+        syncer.requestSync(this, this.groupSyncMaxDelayMs, e -> done.run(e == null ? Status.OK() :
+            new Status(RaftError.EIO, "Failed to sync the log: %s", e.getMessage())));
+    }
+
+    private int appendEntries(final List<LogEntry> entries, final boolean wait) {
         if (entries == null || entries.isEmpty()) {
             return 0;
         }
@@ -559,7 +648,7 @@ public class RocksDBLogStorage implements LogStorage, Describer {
             }
             writeCtx.joinAll();
             doSync();
-        });
+        }, wait);
 
         if (ret) {
             return entriesCount;
@@ -571,20 +660,22 @@ public class RocksDBLogStorage implements LogStorage, Describer {
 
     @Override
     public boolean truncatePrefix(final long firstIndexKept) {
+        final boolean ret;
+        final RocksDBWalSyncer syncer;
         this.readLock.lock();
         try {
             final long startIndex = getFirstLogIndex();
-            final boolean ret = saveFirstLogIndex(firstIndexKept);
+            ret = saveFirstLogIndex(firstIndexKept);
             if (ret) {
                 setFirstLogIndex(firstIndexKept);
             }
+            syncer = this.syncer;
             truncatePrefixInBackground(startIndex, firstIndexKept);
-            return ret;
         }
         finally {
             this.readLock.unlock();
         }
-
+        return ret && awaitSync(syncer);
     }
 
     private void truncatePrefixInBackground(final long startIndex, final long firstIndexKept) {
@@ -610,6 +701,7 @@ public class RocksDBLogStorage implements LogStorage, Describer {
 
     @Override
     public boolean truncateSuffix(final long lastIndexKept) {
+        final RocksDBWalSyncer syncer;
         this.readLock.lock();
         try {
             try {
@@ -621,15 +713,16 @@ public class RocksDBLogStorage implements LogStorage, Describer {
                 this.db.deleteRange(this.confHandle, this.writeOptions, getKeyBytes(lastIndexKept + 1),
                     getKeyBytes(getLastLogIndex() + 1));
             }
-            return true;
+            syncer = this.syncer;
         }
         catch (final RocksDBException | IOException e) {
             LOG.error("Fail to truncateSuffix {}.", lastIndexKept, e);
+            return false;
         }
         finally {
             this.readLock.unlock();
         }
-        return false;
+        return awaitSync(syncer);
     }
 
     @Override
@@ -637,6 +730,7 @@ public class RocksDBLogStorage implements LogStorage, Describer {
         if (nextLogIndex <= 0) {
             throw new IllegalArgumentException("Invalid next log index.");
         }
+        final RocksDBWalSyncer syncer;
         this.writeLock.lock();
         try (final Options opt = new Options()) {
             LogEntry entry = getEntry(nextLogIndex);
@@ -651,7 +745,10 @@ public class RocksDBLogStorage implements LogStorage, Describer {
                         entry.setId(new LogId(nextLogIndex, 0));
                         LOG.warn("Entry not found for nextLogIndex {} when reset.", nextLogIndex);
                     }
-                    return appendEntry(entry);
+                    if (!appendEntry(entry, false)) {
+                        return false;
+                    }
+                    syncer = this.syncer;
                 }
                 else {
                     return false;
@@ -665,6 +762,7 @@ public class RocksDBLogStorage implements LogStorage, Describer {
         finally {
             this.writeLock.unlock();
         }
+        return awaitSync(syncer);
     }
 
     // Hooks for {@link RocksDBSegmentLogStorage}
@@ -707,7 +805,7 @@ public class RocksDBLogStorage implements LogStorage, Describer {
     }
 
     protected boolean isSync() {
-        return this.sync;
+        return this.syncMode != LogSyncMode.ASYNC;
     }
 
     /**
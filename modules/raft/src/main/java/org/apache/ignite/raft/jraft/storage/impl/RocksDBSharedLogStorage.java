@@ -0,0 +1,648 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.raft.jraft.storage.impl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.apache.ignite.raft.jraft.Closure;
+import org.apache.ignite.raft.jraft.Status;
+import org.apache.ignite.raft.jraft.conf.Configuration;
+import org.apache.ignite.raft.jraft.conf.ConfigurationEntry;
+import org.apache.ignite.raft.jraft.conf.ConfigurationManager;
+import org.apache.ignite.raft.jraft.entity.EnumOutter;
+import org.apache.ignite.raft.jraft.entity.LogEntry;
+import org.apache.ignite.raft.jraft.entity.LogId;
+import org.apache.ignite.raft.jraft.entity.codec.LogEntryDecoder;
+import org.apache.ignite.raft.jraft.entity.codec.LogEntryEncoder;
+import org.apache.ignite.raft.jraft.error.RaftError;
+import org.apache.ignite.raft.jraft.option.LogStorageOptions;
+import org.apache.ignite.raft.jraft.option.LogSyncMode;
+import org.apache.ignite.raft.jraft.option.RaftOptions;
+import org.apache.ignite.raft.jraft.storage.LogStorage;
+import org.apache.ignite.raft.jraft.util.Bits;
+import org.apache.ignite.raft.jraft.util.BytesUtil;
+import org.apache.ignite.raft.jraft.util.Describer;
+import org.apache.ignite.raft.jraft.util.Requires;
+import org.apache.ignite.raft.jraft.util.Utils;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Log storage of a RAFT group in the database shared by all the groups of a node. The layout is the same as the
+ * one of {@link RocksDBLogStorage}, except that every key starts with the prefix of the group: the group id followed
+ * by a zero byte, which no group id contains. Prefixes of different groups are therefore never prefixes of one
+ * another, and the keys of a group form a contiguous range.
+ *
+ * @see RocksDBSharedLogStorageFactory
+ */
+public class RocksDBSharedLogStorage implements LogStorage, Describer {
+    /** Logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(RocksDBSharedLogStorage.class);
+
+    /** Shared storage factory. */
+    private final RocksDBSharedLogStorageFactory factory;
+
+    /** Group id. */
+    private final String groupId;
+
+    /** Prefix of all the keys of the group. */
+    private final byte[] prefix;
+
+    /** Exclusive upper bound of all the keys of the group. */
+    private final byte[] prefixEnd;
+
+    /** Durability mode of the writes. */
+    private final LogSyncMode syncMode;
+
+    /** Maximum delay of the shared WAL fsync in the group-sync mode. */
+    private final int groupSyncMaxDelayMs;
+
+    /** Shared database. */
+    private final RocksDB db;
+
+    /** Column family of the configuration entries and the log metadata. */
+    private final ColumnFamilyHandle confHandle;
+
+    /** Column family of all the log entries. */
+    private final ColumnFamilyHandle dataHandle;
+
+    /** Lock held for write by the operations that change the whole log of the group. */
+    private final ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
+
+    /** */
+    private final Lock readLock = readWriteLock.readLock();
+
+    /** */
+    private final Lock writeLock = readWriteLock.writeLock();
+
+    /** Write options, {@code null} if the storage is not initialized or is shut down. */
+    private WriteOptions writeOptions;
+
+    /** Read options. */
+    private ReadOptions readOptions;
+
+    /** */
+    private volatile long firstLogIndex = 1;
+
+    /** */
+    private volatile boolean hasLoadFirstLogIndex;
+
+    /** */
+    private LogEntryEncoder logEntryEncoder;
+
+    /** */
+    private LogEntryDecoder logEntryDecoder;
+
+    /**
+     * @param factory Shared storage factory.
+     * @param groupId Group id.
+     * @param raftOptions RAFT options.
+     */
+    RocksDBSharedLogStorage(RocksDBSharedLogStorageFactory factory, String groupId, RaftOptions raftOptions) {
+        this.factory = factory;
+        this.groupId = groupId;
+
+        prefix = RocksDBSharedLogStorageFactory.groupPrefix(groupId);
+        prefixEnd = RocksDBSharedLogStorageFactory.groupPrefixEnd(groupId);
+
+        syncMode = raftOptions.getEffectiveLogSyncMode();
+        groupSyncMaxDelayMs = raftOptions.getGroupSyncMaxDelayMs();
+
+        db = factory.db();
+        confHandle = factory.confHandle();
+        dataHandle = factory.dataHandle();
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean init(LogStorageOptions opts) {
+        Requires.requireNonNull(opts.getConfigurationManager(), "Null conf manager");
+        Requires.requireNonNull(opts.getLogEntryCodecFactory(), "Null log entry codec factory");
+
+        writeLock.lock();
+
+        try {
+            if (writeOptions != null) {
+                LOG.warn("RocksDBSharedLogStorage init() already [groupId={}].", groupId);
+
+                return true;
+            }
+
+            logEntryDecoder = opts.getLogEntryCodecFactory().decoder();
+            logEntryEncoder = opts.getLogEntryCodecFactory().encoder();
+
+            Requires.requireNonNull(logEntryDecoder, "Null log entry decoder");
+            Requires.requireNonNull(logEntryEncoder, "Null log entry encoder");
+
+            writeOptions = new WriteOptions();
+            writeOptions.setSync(syncMode == LogSyncMode.SYNC);
+
+            readOptions = new ReadOptions();
+            readOptions.setTotalOrderSeek(true);
+
+            hasLoadFirstLogIndex = false;
+            firstLogIndex = 1;
+
+            load(opts.getConfigurationManager());
+
+            return true;
+        }
+        finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Loads the configuration entries and the first log index of the group.
+     *
+     * @param confManager Configuration manager.
+     */
+    private void load(ConfigurationManager confManager) {
+        try (RocksIterator it = db.newIterator(confHandle, readOptions)) {
+            for (it.seek(prefix); it.isValid() && startsWithPrefix(it.key()); it.next()) {
+                byte[] ks = it.key();
+                byte[] bs = it.value();
+
+                if (ks.length == prefix.length + Long.BYTES) {
+                    LogEntry entry = logEntryDecoder.decode(bs);
+
+                    if (entry == null) {
+                        LOG.warn("Fail to decode conf entry at index {}, the log data is: {}.",
+                            Bits.getLong(ks, prefix.length), BytesUtil.toHex(bs));
+                    }
+                    else if (entry.getType() == EnumOutter.EntryType.ENTRY_TYPE_CONFIGURATION) {
+                        ConfigurationEntry confEntry = new ConfigurationEntry();
+
+                        confEntry.setId(new LogId(entry.getId().getIndex(), entry.getId().getTerm()));
+                        confEntry.setConf(new Configuration(entry.getPeers(), entry.getLearners()));
+
+                        if (entry.getOldPeers() != null)
+                            confEntry.setOldConf(new Configuration(entry.getOldPeers(), entry.getOldLearners()));
+
+                        confManager.add(confEntry);
+                    }
+                }
+                else if (Arrays.equals(ks, firstLogIndexKey())) {
+                    setFirstLogIndex(Bits.getLong(bs, 0));
+
+                    truncatePrefixInBackground(0L, firstLogIndex);
+                }
+                else {
+                    LOG.warn("Unknown entry in configuration storage key={}, value={}.", BytesUtil.toHex(ks),
+                        BytesUtil.toHex(bs));
+                }
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void shutdown() {
+        writeLock.lock();
+
+        try {
+            if (writeOptions == null)
+                return;
+
+            if (syncMode == LogSyncMode.GROUP_SYNC)
+                factory.syncer().unregister(this);
+
+            writeOptions.close();
+            readOptions.close();
+
+            writeOptions = null;
+            readOptions = null;
+        }
+        finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getFirstLogIndex() {
+        readLock.lock();
+
+        try {
+            if (hasLoadFirstLogIndex)
+                return firstLogIndex;
+
+            checkState();
+
+            try (RocksIterator it = db.newIterator(dataHandle, readOptions)) {
+                it.seek(prefix);
+
+                if (it.isValid() && startsWithPrefix(it.key())) {
+                    long ret = Bits.getLong(it.key(), prefix.length);
+
+                    saveFirstLogIndex(ret);
+                    setFirstLogIndex(ret);
+
+                    return ret;
+                }
+
+                return 1L;
+            }
+        }
+        finally {
+            readLock.unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getLastLogIndex() {
+        readLock.lock();
+
+        try {
+            checkState();
+
+            try (RocksIterator it = db.newIterator(dataHandle, readOptions)) {
+                it.seekForPrev(key(Long.MAX_VALUE));
+
+                if (it.isValid() && startsWithPrefix(it.key()))
+                    return Bits.getLong(it.key(), prefix.length);
+
+                return 0L;
+            }
+        }
+        finally {
+            readLock.unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public LogEntry getEntry(long index) {
+        readLock.lock();
+
+        try {
+            if (hasLoadFirstLogIndex && index < firstLogIndex)
+                return null;
+
+            checkState();
+
+            byte[] bs = db.get(dataHandle, readOptions, key(index));
+
+            if (bs == null)
+                return null;
+
+            LogEntry entry = logEntryDecoder.decode(bs);
+
+            if (entry == null)
+                LOG.error("Bad log entry format for index={}, the log data is: {}.", index, BytesUtil.toHex(bs));
+
+            return entry;
+        }
+        catch (RocksDBException e) {
+            LOG.error("Fail to get log entry at index {} [groupId={}].", index, groupId, e);
+
+            return null;
+        }
+        finally {
+            readLock.unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Deprecated
+    @Override public long getTerm(long index) {
+        LogEntry entry = getEntry(index);
+
+        return entry == null ? 0 : entry.getId().getTerm();
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean appendEntry(LogEntry entry) {
+        return appendEntries(List.of(entry)) == 1;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int appendEntries(List<LogEntry> entries) {
+        return appendEntries(entries, true);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int appendEntriesNoWait(List<LogEntry> entries) {
+        return appendEntries(entries, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void sync(Closure done) {
+        if (syncMode != LogSyncMode.GROUP_SYNC) {
+            done.run(Status.OK());
+
+            return;
+        }
+
+        factory.syncer().requestSync(this, groupSyncMaxDelayMs, e -> done.run(e == null ? Status.OK() :
+            new Status(RaftError.EIO, "Failed to sync the log: %s", e.getMessage())));
+    }
+
+    /**
+     * Appends entries to the log.
+     *
+     * @param entries Entries.
+     * @param wait Whether to wait for the shared WAL fsync in the group-sync mode.
+     * @return Number of the appended entries.
+     */
+    private int appendEntries(List<LogEntry> entries, boolean wait) {
+        if (entries == null || entries.isEmpty())
+            return 0;
+
+        readLock.lock();
+
+        try (WriteBatch batch = new WriteBatch()) {
+            if (writeOptions == null) {
+                LOG.warn("Log storage is not initialized or is shut down [groupId={}].", groupId);
+
+                return 0;
+            }
+
+            for (LogEntry entry : entries) {
+                byte[] ks = key(entry.getId().getIndex());
+                byte[] content = logEntryEncoder.encode(entry);
+
+                batch.put(dataHandle, ks, content);
+
+                if (entry.getType() == EnumOutter.EntryType.ENTRY_TYPE_CONFIGURATION)
+                    batch.put(confHandle, ks, content);
+            }
+
+            db.write(writeOptions, batch);
+        }
+        catch (RocksDBException e) {
+            LOG.error("Fail to append entries [groupId={}].", groupId, e);
+
+            return 0;
+        }
+        finally {
+            readLock.unlock();
+        }
+
+        return !wait || awaitSync() ? entries.size() : 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean truncatePrefix(long firstIndexKept) {
+        boolean ret;
+
+        readLock.lock();
+
+        try {
+            long startIndex = getFirstLogIndex();
+
+            ret = saveFirstLogIndex(firstIndexKept);
+
+            if (ret)
+                setFirstLogIndex(firstIndexKept);
+
+            truncatePrefixInBackground(startIndex, firstIndexKept);
+        }
+        finally {
+            readLock.unlock();
+        }
+
+        return ret && awaitSync();
+    }
+
+    /**
+     * Deletes the entries before the first kept one in the background.
+     *
+     * @param startIndex First index to delete.
+     * @param firstIndexKept First index to keep.
+     */
+    private void truncatePrefixInBackground(long startIndex, long firstIndexKept) {
+        Utils.runInThread(factory.executor(), () -> {
+            readLock.lock();
+
+            try {
+                if (writeOptions == null)
+                    return;
+
+                db.deleteRange(dataHandle, key(startIndex), key(firstIndexKept));
+                db.deleteRange(confHandle, key(startIndex), key(firstIndexKept));
+            }
+            catch (RocksDBException e) {
+                LOG.error("Fail to truncatePrefix {} [groupId={}].", firstIndexKept, groupId, e);
+            }
+            finally {
+                readLock.unlock();
+            }
+        });
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean truncateSuffix(long lastIndexKept) {
+        readLock.lock();
+
+        try {
+            checkState();
+
+            byte[] from = key(lastIndexKept + 1);
+            byte[] to = key(getLastLogIndex() + 1);
+
+            db.deleteRange(dataHandle, writeOptions, from, to);
+            db.deleteRange(confHandle, writeOptions, from, to);
+        }
+        catch (RocksDBException e) {
+            LOG.error("Fail to truncateSuffix {} [groupId={}].", lastIndexKept, groupId, e);
+
+            return false;
+        }
+        finally {
+            readLock.unlock();
+        }
+
+        return awaitSync();
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean reset(long nextLogIndex) {
+        if (nextLogIndex <= 0)
+            throw new IllegalArgumentException("Invalid next log index.");
+
+        writeLock.lock();
+
+        try {
+            checkState();
+
+            LogEntry entry = getEntry(nextLogIndex);
+
+            // Only the keys of the group are dropped, the database is shared with other groups.
+            db.deleteRange(dataHandle, writeOptions, prefix, prefixEnd);
+            db.deleteRange(confHandle, writeOptions, prefix, prefixEnd);
+
+            hasLoadFirstLogIndex = false;
+            firstLogIndex = 1;
+
+            if (entry == null) {
+                entry = new LogEntry();
+
+                entry.setType(EnumOutter.EntryType.ENTRY_TYPE_NO_OP);
+                entry.setId(new LogId(nextLogIndex, 0));
+
+                LOG.warn("Entry not found for nextLogIndex {} when reset [groupId={}].", nextLogIndex, groupId);
+            }
+
+            if (appendEntries(List.of(entry), false) != 1)
+                return false;
+        }
+        catch (RocksDBException e) {
+            LOG.error("Fail to reset next log index [groupId={}].", groupId, e);
+
+            return false;
+        }
+        finally {
+            writeLock.unlock();
+        }
+
+        return awaitSync();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void describe(Printer out) {
+        readLock.lock();
+
+        try {
+            out.println("groupId: " + groupId);
+
+            if (writeOptions != null)
+                out.println(db.getProperty("rocksdb.stats"));
+        }
+        catch (RocksDBException e) {
+            out.println(e);
+        }
+        finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Saves the first log index into the configuration column family. The write is not waited to be durable in the
+     * group-sync mode, the caller waits for the fsync with {@link #awaitSync()} if needed.
+     *
+     * @param firstLogIndex First log index.
+     * @return {@code True} if saved.
+     */
+    private boolean saveFirstLogIndex(long firstLogIndex) {
+        readLock.lock();
+
+        try {
+            checkState();
+
+            byte[] vs = new byte[Long.BYTES];
+
+            Bits.putLong(vs, 0, firstLogIndex);
+
+            db.put(confHandle, writeOptions, firstLogIndexKey(), vs);
+
+            return true;
+        }
+        catch (RocksDBException e) {
+            LOG.error("Fail to save first log index {} [groupId={}].", firstLogIndex, groupId, e);
+
+            return false;
+        }
+        finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Waits for the shared WAL fsync covering the writes done so far, if the storage is in the group-sync mode. Must be
+     * called without the storage lock, so that the shutdown and the reset do not wait for the fsyncs of the writes in
+     * flight.
+     *
+     * @return {@code True} if the writes are durable.
+     */
+    private boolean awaitSync() {
+        if (syncMode != LogSyncMode.GROUP_SYNC)
+            return true;
+
+        try {
+            factory.syncer().awaitSync(this, groupSyncMaxDelayMs);
+
+            return true;
+        }
+        catch (RocksDBException e) {
+            LOG.error("Fail to sync the WAL [groupId={}].", groupId, e);
+
+            return false;
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            LOG.error("Interrupted while waiting for the WAL sync [groupId={}].", groupId, e);
+
+            return false;
+        }
+    }
+
+    /**
+     * @param index First log index.
+     */
+    private void setFirstLogIndex(long index) {
+        firstLogIndex = index;
+        hasLoadFirstLogIndex = true;
+    }
+
+    /**
+     * @throws NullPointerException If the storage is not initialized or is shut down.
+     */
+    private void checkState() {
+        Requires.requireNonNull(writeOptions, "Log storage not initialized or shut down");
+    }
+
+    /**
+     * @param index Log index.
+     * @return Key of the entry of the group.
+     */
+    private byte[] key(long index) {
+        byte[] ks = Arrays.copyOf(prefix, prefix.length + Long.BYTES);
+
+        Bits.putLong(ks, prefix.length, index);
+
+        return ks;
+    }
+
+    /**
+     * @return Key of the first log index of the group.
+     */
+    private byte[] firstLogIndexKey() {
+        byte[] ks = Arrays.copyOf(prefix, prefix.length + RocksDBLogStorage.FIRST_LOG_IDX_KEY.length);
+
+        System.arraycopy(RocksDBLogStorage.FIRST_LOG_IDX_KEY, 0, ks, prefix.length,
+            RocksDBLogStorage.FIRST_LOG_IDX_KEY.length);
+
+        return ks;
+    }
+
+    /**
+     * @param key Key.
+     * @return {@code True} if the key belongs to the group.
+     */
+    private boolean startsWithPrefix(byte[] key) {
+        return key.length >= prefix.length && Arrays.equals(key, 0, prefix.length, prefix, 0, prefix.length);
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.raft.jraft.storage.impl;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.ignite.raft.jraft.option.RaftOptions;
+import org.apache.ignite.raft.jraft.storage.LogStorage;
+import org.apache.ignite.raft.jraft.util.ExecutorServiceHelper;
+import org.apache.ignite.raft.jraft.util.NamedThreadFactory;
+import org.apache.ignite.raft.jraft.util.Requires;
+import org.apache.ignite.raft.jraft.util.StorageOptionsFactory;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.DBOptions;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.WriteOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Factory of the log storages of all the RAFT groups of a node. The logs are kept in a single RocksDB instance, so
+ * the node has one WAL, one set of memtables and one set of background threads regardless of the number of groups,
+ * and the fsyncs of concurrent appends of different groups are merged by the RocksDB group commit, or by the
+ * {@link RocksDBWalSyncer} of the factory for the groups in the {@code GROUP_SYNC} mode.
+ *
+ * @see RocksDBSharedLogStorage
+ */
+public class RocksDBSharedLogStorageFactory implements AutoCloseable {
+    /** Logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(RocksDBSharedLogStorageFactory.class);
+
+    static {
+        RocksDB.loadLibrary();
+    }
+
+    /** Name of the column family of the configuration entries and the log metadata. */
+    private static final byte[] CONF_CF_NAME = "Configuration".getBytes();
+
+    /** Path to the database. */
+    private final String path;
+
+    /** Executor of the background truncations of the logs. */
+    private final ExecutorService executor;
+
+    /** Database options. */
+    private DBOptions dbOptions;
+
+    /** Column family options. */
+    private ColumnFamilyOptions cfOptions;
+
+    /** Database. */
+    private RocksDB db;
+
+    /** Column family of the configuration entries and the log metadata. */
+    private ColumnFamilyHandle confHandle;
+
+    /** Column family of all the log entries. */
+    private ColumnFamilyHandle dataHandle;
+
+    /** Syncer of the WAL for the groups in the group-sync mode. */
+    private RocksDBWalSyncer syncer;
+
+    /**
+     * @param path Path to the database.
+     */
+    public RocksDBSharedLogStorageFactory(String path) {
+        this.path = path;
+
+        executor = Executors.newSingleThreadExecutor(new NamedThreadFactory("shared-log-truncator-", true));
+    }
+
+    /**
+     * Opens the database.
+     *
+     * @throws IllegalStateException If failed.
+     */
+    public synchronized void start() {
+        if (db != null)
+            return;
+
+        File dir = new File(path);
+
+        if (dir.exists() && !dir.isDirectory())
+            throw new IllegalStateException("Invalid log path, it's a regular file: " + path);
+
+        dir.mkdirs();
+
+        dbOptions = StorageOptionsFactory.getRocksDBOptions(RocksDBSharedLogStorageFactory.class);
+
+        // Keys start with variable length group prefixes, so the fixed length prefix extractor of the per group
+        // storage is not used.
+        cfOptions = StorageOptionsFactory.getRocksDBColumnFamilyOptions(RocksDBSharedLogStorageFactory.class)
+            .setTableFormatConfig(StorageOptionsFactory.getRocksDBTableFormatConfig(RocksDBSharedLogStorageFactory.class));
+
+        List<ColumnFamilyDescriptor> descriptors = List.of(
+            new ColumnFamilyDescriptor(CONF_CF_NAME, cfOptions),
+            new ColumnFamilyDescriptor(RocksDB.DEFAULT_COLUMN_FAMILY, cfOptions)
+        );
+
+        List<ColumnFamilyHandle> handles = new ArrayList<>();
+
+        try {
+            db = RocksDB.open(dbOptions, path, descriptors, handles);
+        }
+        catch (RocksDBException e) {
+            cfOptions.close();
+            dbOptions.close();
+
+            throw new IllegalStateException("Failed to open the shared log storage [path=" + path + ']', e);
+        }
+
+        confHandle = handles.get(0);
+        dataHandle = handles.get(1);
+
+        syncer = new RocksDBWalSyncer(db, "shared-log-syncer-");
+    }
+
+    /**
+     * Creates the log storage of a group.
+     *
+     * @param groupId Group id, must be unique within the node.
+     * @param raftOptions RAFT options.
+     * @return Log storage.
+     */
+    public LogStorage createLogStorage(String groupId, RaftOptions raftOptions) {
+        Requires.requireTrue(db != null, "Shared log storage is not started: %s", path);
+
+        return new RocksDBSharedLogStorage(this, groupId, raftOptions);
+    }
+
+    /**
+     * Removes the log of a group, e.g. when the group is removed from the node or its state has to be rebuilt from
+     * the other peers. Only the keys of the group are deleted, the logs of other groups are left intact. The log
+     * storage of the group must be shut down before.
+     *
+     * @param groupId Group id.
+     * @throws IllegalStateException If failed.
+     */
+    public void destroyLogStorage(String groupId) {
+        Requires.requireTrue(db != null, "Shared log storage is not started: %s", path);
+
+        byte[] prefix = groupPrefix(groupId);
+        byte[] prefixEnd = groupPrefixEnd(groupId);
+
+        try (WriteOptions writeOptions = new WriteOptions().setSync(true)) {
+            db.deleteRange(dataHandle, writeOptions, prefix, prefixEnd);
+            db.deleteRange(confHandle, writeOptions, prefix, prefixEnd);
+        }
+        catch (RocksDBException e) {
+            throw new IllegalStateException("Failed to destroy the log storage [groupId=" + groupId + ']', e);
+        }
+
+        LOG.info("Log storage of the group destroyed [groupId={}].", groupId);
+    }
+
+    /**
+     * Closes the database. Log storages of all the groups must be shut down before.
+     */
+    @Override public synchronized void close() {
+        ExecutorServiceHelper.shutdownAndAwaitTermination(executor);
+
+        if (db == null)
+            return;
+
+        syncer.close();
+
+        confHandle.close();
+        dataHandle.close();
+        db.close();
+
+        cfOptions.close();
+        dbOptions.close();
+
+        db = null;
+
+        LOG.info("Shared log storage closed, the db path is: {}.", path);
+    }
+
+    /**
+     * @return Database.
+     */
+    RocksDB db() {
+        return db;
+    }
+
+    /**
+     * @return Column family of the configuration entries and the log metadata.
+     */
+    ColumnFamilyHandle confHandle() {
+        return confHandle;
+    }
+
+    /**
+     * @return Column family of all the log entries.
+     */
+    ColumnFamilyHandle dataHandle() {
+        return dataHandle;
+    }
+
+    /**
+     * @return Syncer of the WAL for the groups in the group-sync mode.
+     */
+    RocksDBWalSyncer syncer() {
+        return syncer;
+    }
+
+    /**
+     * @return Executor of the background truncations of the logs.
+     */
+    ExecutorService executor() {
+        return executor;
+    }
+
+    /**
+     * @param groupId Group id.
+     * @return Prefix of the keys of the group: the group id followed by a zero byte.
+     */
+    static byte[] groupPrefix(String groupId) {
+        Requires.requireTrue(groupId.indexOf('\0') < 0, "Group id contains a zero character: %s", groupId);
+
+        byte[] groupIdBytes = groupId.getBytes(StandardCharsets.UTF_8);
+
+        return Arrays.copyOf(groupIdBytes, groupIdBytes.length + 1);
+    }
+
+    /**
+     * @param groupId Group id.
+     * @return Exclusive upper bound of the keys of the group.
+     */
+    static byte[] groupPrefixEnd(String groupId) {
+        byte[] prefixEnd = groupPrefix(groupId);
+
+        prefixEnd[prefixEnd.length - 1] = 1;
+
+        return prefixEnd;
+    }
+}
@@ -0,0 +1,315 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.raft.jraft.storage.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.apache.ignite.raft.jraft.util.NamedThreadFactory;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Group commit of the writes to a RocksDB instance: writers write their batches without fsync and then request a WAL
+ * fsync with {@link #requestSync(Object, long, Consumer)}, which is issued by a dedicated thread on behalf of all the writers
+ * requesting it meanwhile. The callbacks of the requests are run by the same thread after the fsync, so the writers
+ * are not blocked while it is in progress.
+ * <p>
+ * The fsync starts as soon as every writer that took part in the previous fsync has requested it, or at the deadline of
+ * the earliest request otherwise. Writers are told apart by their identity, so a busy writer requesting many fsyncs
+ * does not start one early, and the idle writers are not waited for. A writer that has nobody to wait for does not
+ * wait at all. A failed fsync leaves the
+ * durability of the WAL unknown, so the failure is sticky: all the current and the future requests fail.
+ */
+public class RocksDBWalSyncer implements AutoCloseable {
+    /** Logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(RocksDBWalSyncer.class);
+
+    /** Database. */
+    private final RocksDB db;
+
+    /** Syncing thread. */
+    private final Thread thread;
+
+    /** Guards the state below. */
+    private final Object mux = new Object();
+
+    /** Writers that took part in the previous fsync. */
+    private Set<Object> prevWriters = new HashSet<>();
+
+    /** Writers that have requested the next fsync. */
+    private Set<Object> writers = new HashSet<>();
+
+    /** Number of the sync requests so far. */
+    private long requested;
+
+    /** Number of the sync requests covered by the completed fsyncs. */
+    private long synced;
+
+    /** Requests that wait for an fsync, in the order of their tickets. */
+    private final Queue<SyncRequest> waiters = new ArrayDeque<>();
+
+    /** Time in nanoseconds by which the next fsync must start. */
+    private long deadline = Long.MAX_VALUE;
+
+    /** Failure of an fsync. */
+    private RocksDBException err;
+
+    /** Number of the fsyncs, for testing. */
+    private long syncCnt;
+
+    /** Closed flag. */
+    private boolean closed;
+
+    /**
+     * @param db Database.
+     * @param name Name of the syncing thread.
+     */
+    public RocksDBWalSyncer(RocksDB db, String name) {
+        this.db = db;
+
+        thread = new NamedThreadFactory(name, true).newThread(this::run);
+
+        thread.start();
+    }
+
+    /**
+     * Unregisters a writer that stops writing, so that the next fsync does not wait for its request.
+     *
+     * @param writer Writer.
+     */
+    public void unregister(Object writer) {
+        synchronized (mux) {
+            prevWriters.remove(writer);
+
+            mux.notifyAll();
+        }
+    }
+
+    /**
+     * Requests an fsync that makes durable all the writes to the database that have completed before the call. The
+     * callback is run by the syncing thread after the fsync with {@code null}, or with the failure if the fsync failed
+     * or the syncer is closed; in the latter case it can also be run in the calling thread. Callbacks are run in the
+     * order of the requests.
+     *
+     * @param writer Writer.
+     * @param maxDelayMs Maximum time to wait for the requests of the other writers before the fsync is issued.
+     * @param callback Callback.
+     */
+    public void requestSync(Object writer, long maxDelayMs, Consumer<RocksDBException> callback) {
+        RocksDBException failure;
+
+        synchronized (mux) {
+            if (err == null && !closed) {
+                waiters.add(new SyncRequest(++requested, callback));
+
+                writers.add(writer);
+
+                deadline = Math.min(deadline, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMs));
+
+                mux.notifyAll();
+
+                return;
+            }
+
+            failure = err != null ? err : new RocksDBException("WAL syncer is closed");
+        }
+
+        callback.accept(failure);
+    }
+
+    /**
+     * Waits until all the writes to the database that have completed before the call are durable.
+     *
+     * @param writer Writer.
+     * @param maxDelayMs Maximum time to wait for the requests of the other writers before the fsync is issued.
+     * @throws RocksDBException If an fsync failed or the syncer is closed.
+     * @throws InterruptedException If interrupted.
+     */
+    public void awaitSync(Object writer, long maxDelayMs) throws RocksDBException, InterruptedException {
+        CompletableFuture<Void> fut = new CompletableFuture<>();
+
+        requestSync(writer, maxDelayMs, e -> {
+            if (e == null)
+                fut.complete(null);
+            else
+                fut.completeExceptionally(e);
+        });
+
+        try {
+            fut.get();
+        }
+        catch (ExecutionException e) {
+            throw (RocksDBException)e.getCause();
+        }
+    }
+
+    /**
+     * @return Number of the fsyncs issued so far.
+     */
+    long syncCount() {
+        synchronized (mux) {
+            return syncCnt;
+        }
+    }
+
+    /**
+     * Body of the syncing thread.
+     */
+    private void run() {
+        while (true) {
+            long target;
+
+            synchronized (mux) {
+                try {
+                    while (!closed && requested == synced)
+                        mux.wait();
+
+                    // Let the other writers join the fsync, a new writer can bring the deadline closer.
+                    while (!closed && !writers.containsAll(prevWriters)) {
+                        long now = System.nanoTime();
+
+                        if (now >= deadline)
+                            break;
+
+                        TimeUnit.NANOSECONDS.timedWait(mux, deadline - now);
+                    }
+                }
+                catch (InterruptedException e) {
+                    closed = true;
+                }
+
+                if (closed)
+                    break;
+
+                target = requested;
+                deadline = Long.MAX_VALUE;
+
+                prevWriters = writers;
+                writers = new HashSet<>();
+            }
+
+            RocksDBException syncErr = null;
+
+            try {
+                db.syncWal();
+            }
+            catch (RocksDBException e) {
+                LOG.error("Failed to sync the WAL, the writes waiting for it fail.", e);
+
+                syncErr = e;
+            }
+
+            List<SyncRequest> completed = new ArrayList<>();
+
+            synchronized (mux) {
+                syncCnt++;
+
+                if (syncErr != null)
+                    err = syncErr;
+                else
+                    synced = target;
+
+                while (!waiters.isEmpty() && (err != null || waiters.peek().ticket <= target))
+                    completed.add(waiters.poll());
+            }
+
+            complete(completed, syncErr);
+
+            if (syncErr != null)
+                return;
+        }
+
+        List<SyncRequest> failed;
+
+        synchronized (mux) {
+            failed = new ArrayList<>(waiters);
+
+            waiters.clear();
+        }
+
+        complete(failed, new RocksDBException("WAL syncer is closed"));
+    }
+
+    /**
+     * Runs the callbacks of the requests.
+     *
+     * @param reqs Requests.
+     * @param e Failure or {@code null} if the fsync succeeded.
+     */
+    private static void complete(List<SyncRequest> reqs, RocksDBException e) {
+        for (SyncRequest req : reqs) {
+            try {
+                req.callback.accept(e);
+            }
+            catch (Throwable t) {
+                LOG.error("Failed to run a WAL sync callback.", t);
+            }
+        }
+    }
+
+    /**
+     * Stops the syncing thread, the requests waiting for an fsync fail.
+     */
+    @Override public void close() {
+        synchronized (mux) {
+            closed = true;
+
+            mux.notifyAll();
+        }
+
+        // A callback can close the syncer, its thread exits after the callbacks are run.
+        if (Thread.currentThread() == thread)
+            return;
+
+        try {
+            thread.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Request of an fsync.
+     */
+    private static class SyncRequest {
+        /** Number of the request. */
+        private final long ticket;
+
+        /** Callback. */
+        private final Consumer<RocksDBException> callback;
+
+        /**
+         * @param ticket Number of the request.
+         * @param callback Callback.
+         */
+        SyncRequest(long ticket, Consumer<RocksDBException> callback) {
+            this.ticket = ticket;
+            this.callback = callback;
+        }
+    }
+}
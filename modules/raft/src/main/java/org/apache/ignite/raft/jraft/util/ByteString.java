@@ -16,6 +16,7 @@
  */
 package org.apache.ignite.raft.jraft.util;
 
+import java.io.DataOutput;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
@@ -29,6 +30,9 @@ import java.nio.channels.WritableByteChannel;
 public class ByteString implements Externalizable {
     public static final ByteString EMPTY = new ByteString(ByteBuffer.wrap(new byte[0]));
 
+    /** Size of the chunks the content of the buffers without a backing array is written by. */
+    private static final int WRITE_CHUNK_SIZE = 8 * 1024;
+
     private ByteBuffer buf;
 
     public ByteString() {
@@ -44,7 +48,7 @@ public class ByteString implements Externalizable {
     }
 
     public int size() {
-        return buf.capacity();
+        return buf.remaining();
     }
 
     public ByteBuffer asReadOnlyByteBuffer() {
@@ -58,13 +62,12 @@ public class ByteString implements Externalizable {
     public void writeTo(OutputStream outputStream) throws IOException {
         WritableByteChannel channel = Channels.newChannel(outputStream);
 
-        channel.write(buf);
+        channel.write(buf.duplicate());
     }
 
     public byte[] toByteArray() {
         byte[] arr = new byte[buf.remaining()];
-        buf.get(arr);
-        buf.flip();
+        buf.duplicate().get(arr);
         return arr;
     }
 
@@ -88,9 +91,8 @@ public class ByteString implements Externalizable {
     }
 
     @Override public void writeExternal(ObjectOutput out) throws IOException {
-        byte[] bytes = toByteArray();
-        out.writeInt(bytes.length);
-        out.write(bytes);
+        out.writeInt(buf.remaining());
+        write(out, buf);
     }
 
     @Override public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
@@ -100,4 +102,30 @@ public class ByteString implements Externalizable {
 
         buf = ByteBuffer.wrap(data);
     }
+
+    /**
+     * Writes the remaining bytes of the buffer to the output. The bytes of a heap buffer are written straight from its
+     * backing array, other buffers are copied in chunks. The position of the buffer is not changed.
+     *
+     * @param out Output.
+     * @param buf Buffer.
+     * @throws IOException If failed.
+     */
+    public static void write(DataOutput out, ByteBuffer buf) throws IOException {
+        if (buf.hasArray()) {
+            out.write(buf.array(), buf.arrayOffset() + buf.position(), buf.remaining());
+
+            return;
+        }
+
+        ByteBuffer src = buf.duplicate();
+        byte[] chunk = new byte[Math.min(WRITE_CHUNK_SIZE, src.remaining())];
+
+        while (src.hasRemaining()) {
+            int len = Math.min(chunk.length, src.remaining());
+
+            src.get(chunk, 0, len);
+            out.write(chunk, 0, len);
+        }
+    }
 }
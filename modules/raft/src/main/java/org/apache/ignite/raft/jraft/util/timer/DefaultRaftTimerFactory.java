@@ -14,35 +14,71 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
+
 package org.apache.ignite.raft.jraft.util.timer;
 
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.ignite.raft.jraft.core.Scheduler;
 import org.apache.ignite.raft.jraft.core.TimerManager;
 import org.apache.ignite.raft.jraft.util.NamedThreadFactory;
+import org.apache.ignite.raft.jraft.util.SystemPropertyUtil;
+import org.apache.ignite.raft.jraft.util.Utils;
 
 /**
- * RAFT timers and schedulers factory.
+ * RAFT timers and schedulers factory. Shared timers and schedulers are created on the first request, are used by
+ * all the nodes of the JVM and are stopped when the last node using them stops them.
  */
 public class DefaultRaftTimerFactory implements RaftTimerFactory {
+    private static final String GLOBAL_ELECTION_TIMER_WORKERS = "jraft.timer.global_election_timer_workers";
+    private static final String GLOBAL_VOTE_TIMER_WORKERS = "jraft.timer.global_vote_timer_workers";
+    private static final String GLOBAL_STEP_DOWN_TIMER_WORKERS = "jraft.timer.global_step_down_timer_workers";
+    private static final String GLOBAL_SNAPSHOT_TIMER_WORKERS = "jraft.timer.global_snapshot_timer_workers";
+    private static final String GLOBAL_SCHEDULER_WORKERS = "jraft.timer.global_scheduler_workers";
+
+    private static final TimerSharedRef ELECTION_TIMER_REF = new TimerSharedRef(
+        SystemPropertyUtil.getInt(GLOBAL_ELECTION_TIMER_WORKERS, Utils.cpus()), "JRaft-Global-ElectionTimer");
+
+    private static final TimerSharedRef VOTE_TIMER_REF = new TimerSharedRef(
+        SystemPropertyUtil.getInt(GLOBAL_VOTE_TIMER_WORKERS, Utils.cpus()), "JRaft-Global-VoteTimer");
+
+    private static final TimerSharedRef STEP_DOWN_TIMER_REF = new TimerSharedRef(
+        SystemPropertyUtil.getInt(GLOBAL_STEP_DOWN_TIMER_WORKERS, Utils.cpus()), "JRaft-Global-StepDownTimer");
+
+    private static final TimerSharedRef SNAPSHOT_TIMER_REF = new TimerSharedRef(
+        SystemPropertyUtil.getInt(GLOBAL_SNAPSHOT_TIMER_WORKERS, Utils.cpus()), "JRaft-Global-SnapshotTimer");
+
+    private static final SchedulerSharedRef SCHEDULER_REF = new SchedulerSharedRef(
+        SystemPropertyUtil.getInt(GLOBAL_SCHEDULER_WORKERS, Utils.cpus() * 3 > 20 ? 20 : Utils.cpus() * 3),
+        "JRaft-Node-ScheduleThreadPool");
+
+    @Override
+    public Timer getElectionTimer(final boolean shared, final String name) {
+        return shared ? ELECTION_TIMER_REF.getRef() : createTimer(name);
+    }
+
     @Override
-    public Timer getElectionTimer(final String name) {
-        return createTimer(name);
+    public Timer getVoteTimer(final boolean shared, final String name) {
+        return shared ? VOTE_TIMER_REF.getRef() : createTimer(name);
     }
 
     @Override
-    public Timer getVoteTimer(final String name) {
-        return createTimer(name);
+    public Timer getStepDownTimer(final boolean shared, final String name) {
+        return shared ? STEP_DOWN_TIMER_REF.getRef() : createTimer(name);
     }
 
     @Override
-    public Timer getStepDownTimer(final String name) {
-        return createTimer(name);
+    public Timer getSnapshotTimer(final boolean shared, final String name) {
+        return shared ? SNAPSHOT_TIMER_REF.getRef() : createTimer(name);
     }
 
     @Override
-    public Timer getSnapshotTimer(final String name) {
-        return createTimer(name);
+    public Scheduler getRaftScheduler(final boolean shared, final int workerNum, final String name) {
+        return shared ? SCHEDULER_REF.getRef() : createScheduler(workerNum, name);
     }
 
     @Override
@@ -54,4 +90,144 @@ public class DefaultRaftTimerFactory implements RaftTimerFactory {
     public Scheduler createScheduler(final int workerNum, final String name) {
         return new TimerManager(workerNum, name);
     }
+
+    /**
+     * Reference counted shared instance.
+     */
+    private abstract static class Shared<T> {
+        private final AtomicInteger refCount = new AtomicInteger(0);
+        private final AtomicBoolean started = new AtomicBoolean(true);
+        protected final T shared;
+
+        protected Shared(T shared) {
+            this.shared = shared;
+        }
+
+        public T getRef() {
+            if (this.started.get()) {
+                this.refCount.incrementAndGet();
+                return current();
+            }
+            throw new IllegalStateException("Shared shutdown");
+        }
+
+        public boolean isShutdown() {
+            return !this.started.get();
+        }
+
+        public abstract T current();
+
+        /**
+         * Releases a reference.
+         *
+         * @return {@code true} if the last reference is released and the shared instance has to be stopped.
+         */
+        public boolean mayShutdown() {
+            return this.refCount.decrementAndGet() <= 0 && this.started.compareAndSet(true, false);
+        }
+    }
+
+    /**
+     * Holder of a shared instance, which creates a new one once the previous one is stopped.
+     */
+    private abstract static class SharedRef<T> {
+        private final int workerNum;
+        private final String name;
+        private Shared<T> shared;
+
+        SharedRef(int workerNum, String name) {
+            this.workerNum = workerNum;
+            this.name = name;
+        }
+
+        public synchronized T getRef() {
+            if (this.shared == null || this.shared.isShutdown()) {
+                this.shared = create(this.workerNum, this.name);
+            }
+            return this.shared.getRef();
+        }
+
+        public abstract Shared<T> create(final int workerNum, final String name);
+    }
+
+    private static class TimerSharedRef extends SharedRef<Timer> {
+        TimerSharedRef(int workerNum, String name) {
+            super(workerNum, name);
+        }
+
+        @Override
+        public SharedTimer create(final int workerNum, final String name) {
+            return new SharedTimer(new DefaultTimer(workerNum, name));
+        }
+    }
+
+    private static class SharedTimer extends Shared<Timer> implements Timer {
+        SharedTimer(Timer shared) {
+            super(shared);
+        }
+
+        @Override
+        public SharedTimer current() {
+            return this;
+        }
+
+        @Override
+        public Timeout newTimeout(final TimerTask task, final long delay, final TimeUnit unit) {
+            return this.shared.newTimeout(task, delay, unit);
+        }
+
+        @Override
+        public Set<Timeout> stop() {
+            if (mayShutdown()) {
+                return this.shared.stop();
+            }
+            return Collections.emptySet();
+        }
+    }
+
+    private static class SchedulerSharedRef extends SharedRef<Scheduler> {
+        SchedulerSharedRef(int workerNum, String name) {
+            super(workerNum, name);
+        }
+
+        @Override
+        public SharedScheduler create(final int workerNum, final String name) {
+            return new SharedScheduler(new TimerManager(workerNum, name));
+        }
+    }
+
+    private static class SharedScheduler extends Shared<Scheduler> implements Scheduler {
+        SharedScheduler(Scheduler shared) {
+            super(shared);
+        }
+
+        @Override
+        public Scheduler current() {
+            return this;
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(final Runnable command, final long delay, final TimeUnit unit) {
+            return this.shared.schedule(command, delay, unit);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(final Runnable command, final long initialDelay,
+            final long period, final TimeUnit unit) {
+            return this.shared.scheduleAtFixedRate(command, initialDelay, period, unit);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(final Runnable command, final long initialDelay,
+            final long delay, final TimeUnit unit) {
+            return this.shared.scheduleWithFixedDelay(command, initialDelay, delay, unit);
+        }
+
+        @Override
+        public void shutdown() {
+            if (mayShutdown()) {
+                this.shared.shutdown();
+            }
+        }
+    }
 }
@@ -14,6 +14,7 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
+
 package org.apache.ignite.raft.jraft.util.timer;
 
 import org.apache.ignite.raft.jraft.core.Scheduler;
@@ -22,13 +23,15 @@ import org.apache.ignite.raft.jraft.core.Scheduler;
  *
  */
 public interface RaftTimerFactory {
-    Timer getElectionTimer(final String name);
+    Timer getElectionTimer(final boolean shared, final String name);
+
+    Timer getVoteTimer(final boolean shared, final String name);
 
-    Timer getVoteTimer(final String name);
+    Timer getStepDownTimer(final boolean shared, final String name);
 
-    Timer getStepDownTimer(final String name);
+    Timer getSnapshotTimer(final boolean shared, final String name);
 
-    Timer getSnapshotTimer(final String name);
+    Scheduler getRaftScheduler(final boolean shared, final int workerNum, final String name);
 
     Timer createTimer(final String name);
 
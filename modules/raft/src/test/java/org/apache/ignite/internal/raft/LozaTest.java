@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.raft;
+
+import java.util.List;
+import org.apache.ignite.network.ClusterNode;
+import org.apache.ignite.network.NetworkAddress;
+import org.apache.ignite.raft.client.ElectionPriority;
+import org.apache.ignite.raft.client.Peer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link Loza}.
+ */
+public class LozaTest {
+    /**
+     * Checks that the first peer of the assignment gets the highest election priority.
+     */
+    @Test
+    public void testPrioritizedPeers() {
+        List<ClusterNode> nodes = List.of(
+            new ClusterNode("id2", "node2", new NetworkAddress("localhost", 10002)),
+            new ClusterNode("id0", "node0", new NetworkAddress("localhost", 10000)),
+            new ClusterNode("id1", "node1", new NetworkAddress("localhost", 10001))
+        );
+
+        assertEquals(
+            List.of(
+                new Peer(new NetworkAddress("localhost", 10002), ElectionPriority.MIN_VALUE + 2),
+                new Peer(new NetworkAddress("localhost", 10000), ElectionPriority.MIN_VALUE + 1),
+                new Peer(new NetworkAddress("localhost", 10001), ElectionPriority.MIN_VALUE)
+            ),
+            Loza.prioritizedPeers(nodes)
+        );
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.raft.jraft.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.raft.jraft.Status;
+import org.apache.ignite.raft.jraft.error.RaftError;
+import org.apache.ignite.raft.jraft.rpc.Message;
+import org.apache.ignite.raft.jraft.rpc.RaftClientService;
+import org.apache.ignite.raft.jraft.rpc.RaftRpcFactory;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.AppendEntriesRequest;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.AppendEntriesResponse;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.CoalescedHeartbeatRequest;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.CoalescedHeartbeatResponse;
+import org.apache.ignite.raft.jraft.rpc.RpcResponseClosure;
+import org.apache.ignite.raft.jraft.rpc.RpcResponseClosureAdapter;
+import org.apache.ignite.raft.jraft.util.Endpoint;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.eq;
+
+@RunWith(value = MockitoJUnitRunner.class)
+public class HeartbeatCoalescerTest {
+    @Mock
+    private Scheduler scheduler;
+
+    @Mock
+    private RaftClientService rpcService;
+
+    private final Endpoint endpoint = new Endpoint("localhost", 8081);
+
+    private HeartbeatCoalescer coalescer;
+
+    @Before
+    public void setup() {
+        this.coalescer = new HeartbeatCoalescer(this.scheduler, 10);
+    }
+
+    @Test
+    public void testHeartbeatsToSameNodeAreCoalesced() {
+        final List<Status> statuses = new ArrayList<>();
+        final List<AppendEntriesResponse> responses = new ArrayList<>();
+
+        final Future<Message> fut1 = this.coalescer.heartbeat(this.rpcService, this.endpoint, heartbeat("group1"),
+            500, closure(statuses, responses));
+        final Future<Message> fut2 = this.coalescer.heartbeat(this.rpcService, this.endpoint, heartbeat("group2"),
+            300, closure(statuses, responses));
+
+        // The flush is scheduled by the first heartbeat only.
+        final ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(this.scheduler).schedule(flush.capture(), eq(10L), eq(TimeUnit.MILLISECONDS));
+
+        flush.getValue().run();
+
+        final ArgumentCaptor<CoalescedHeartbeatRequest> req = ArgumentCaptor.forClass(CoalescedHeartbeatRequest.class);
+        final ArgumentCaptor<RpcResponseClosure<CoalescedHeartbeatResponse>> done =
+            ArgumentCaptor.forClass(RpcResponseClosure.class);
+
+        Mockito.verify(this.rpcService).coalescedHeartbeat(eq(this.endpoint), req.capture(), eq(300), done.capture());
+
+        assertEquals(2, req.getValue().getHeartbeatsCount());
+        assertEquals("group1", req.getValue().getHeartbeatsList().get(0).getGroupId());
+        assertEquals("group2", req.getValue().getHeartbeatsList().get(1).getGroupId());
+
+        final AppendEntriesResponse resp1 = AppendEntriesResponse.newBuilder().setSuccess(true).setTerm(1).build();
+        final Message resp2 = RaftRpcFactory.DEFAULT.newResponse(AppendEntriesResponse.getDefaultInstance(),
+            RaftError.ENOENT, "Not found");
+
+        done.getValue().setResponse(CoalescedHeartbeatResponse.newBuilder()
+            .addResponses(resp1)
+            .addResponses(resp2)
+            .build());
+        done.getValue().run(Status.OK());
+
+        assertEquals(2, statuses.size());
+        assertTrue(statuses.get(0).isOk());
+        assertEquals(RaftError.ENOENT, statuses.get(1).getRaftError());
+        assertSame(resp1, responses.get(0));
+
+        assertTrue(fut1.isDone());
+        assertTrue(fut2.isDone());
+
+        // A new batch is started after the flush.
+        this.coalescer.heartbeat(this.rpcService, this.endpoint, heartbeat("group1"), 500,
+            closure(statuses, responses));
+
+        Mockito.verify(this.scheduler, Mockito.times(2)).schedule(Mockito.any(Runnable.class), eq(10L),
+            eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testFailedRequestFailsAllHeartbeats() {
+        final List<Status> statuses = new ArrayList<>();
+        final List<AppendEntriesResponse> responses = new ArrayList<>();
+
+        this.coalescer.heartbeat(this.rpcService, this.endpoint, heartbeat("group1"), 500,
+            closure(statuses, responses));
+        this.coalescer.heartbeat(this.rpcService, this.endpoint, heartbeat("group2"), 500,
+            closure(statuses, responses));
+
+        final ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(this.scheduler).schedule(flush.capture(), eq(10L), eq(TimeUnit.MILLISECONDS));
+
+        flush.getValue().run();
+
+        final ArgumentCaptor<RpcResponseClosure<CoalescedHeartbeatResponse>> done =
+            ArgumentCaptor.forClass(RpcResponseClosure.class);
+
+        Mockito.verify(this.rpcService).coalescedHeartbeat(eq(this.endpoint), Mockito.any(), eq(500),
+            done.capture());
+
+        done.getValue().run(new Status(RaftError.ETIMEDOUT, "Timeout"));
+
+        assertEquals(2, statuses.size());
+
+        for (Status status : statuses)
+            assertEquals(RaftError.ETIMEDOUT, status.getRaftError());
+
+        assertTrue(responses.isEmpty());
+    }
+
+    @Test
+    public void testHeartbeatsToDifferentNodesAreNotCoalesced() {
+        final List<Status> statuses = new ArrayList<>();
+        final List<AppendEntriesResponse> responses = new ArrayList<>();
+
+        final Endpoint other = new Endpoint("localhost", 8082);
+
+        this.coalescer.heartbeat(this.rpcService, this.endpoint, heartbeat("group1"), 500,
+            closure(statuses, responses));
+        this.coalescer.heartbeat(this.rpcService, other, heartbeat("group1"), 500, closure(statuses, responses));
+
+        final ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(this.scheduler, Mockito.times(2)).schedule(flush.capture(), eq(10L),
+            eq(TimeUnit.MILLISECONDS));
+
+        for (Runnable r : flush.getAllValues())
+            r.run();
+
+        final ArgumentCaptor<CoalescedHeartbeatRequest> req = ArgumentCaptor.forClass(CoalescedHeartbeatRequest.class);
+
+        Mockito.verify(this.rpcService).coalescedHeartbeat(eq(this.endpoint), req.capture(), eq(500), Mockito.any());
+        Mockito.verify(this.rpcService).coalescedHeartbeat(eq(other), req.capture(), eq(500), Mockito.any());
+
+        for (CoalescedHeartbeatRequest r : req.getAllValues())
+            assertEquals(1, r.getHeartbeatsCount());
+
+        assertTrue(statuses.isEmpty());
+    }
+
+    private static AppendEntriesRequest heartbeat(String groupId) {
+        return AppendEntriesRequest.newBuilder()
+            .setGroupId(groupId)
+            .setServerId("localhost:8080")
+            .setPeerId("localhost:8081")
+            .setTerm(1)
+            .build();
+    }
+
+    private static RpcResponseClosure<AppendEntriesResponse> closure(List<Status> statuses,
+        List<AppendEntriesResponse> responses) {
+        return new RpcResponseClosureAdapter<AppendEntriesResponse>() {
+            @Override public void run(Status status) {
+                statuses.add(status);
+
+                if (getResponse() != null)
+                    responses.add(getResponse());
+            }
+        };
+    }
+}
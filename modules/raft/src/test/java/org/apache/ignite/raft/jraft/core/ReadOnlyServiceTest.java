@@ -29,6 +29,7 @@ import org.apache.ignite.raft.jraft.entity.ReadIndexState;
 import org.apache.ignite.raft.jraft.entity.ReadIndexStatus;
 import org.apache.ignite.raft.jraft.option.NodeOptions;
 import org.apache.ignite.raft.jraft.option.RaftOptions;
+import org.apache.ignite.raft.jraft.option.ReadOnlyOption;
 import org.apache.ignite.raft.jraft.option.ReadOnlyServiceOptions;
 import org.apache.ignite.raft.jraft.rpc.RpcRequests.ReadIndexRequest;
 import org.apache.ignite.raft.jraft.rpc.RpcRequests.ReadIndexResponse;
@@ -113,6 +114,33 @@ public class ReadOnlyServiceTest {
         }), Mockito.any());
     }
 
+    @Test
+    public void testAddRequestWithReadOnlyOptions() throws Exception {
+        final byte[] safeCtx = TestUtils.getRandomBytes();
+        final byte[] leaseCtx = TestUtils.getRandomBytes();
+        final ReadIndexClosure done = new ReadIndexClosure() {
+
+            @Override
+            public void run(final Status status, final long index, final byte[] reqCtx) {
+
+            }
+        };
+        this.readOnlyServiceImpl.addRequest(ReadOnlyOption.ReadOnlySafe, safeCtx, done);
+        this.readOnlyServiceImpl.addRequest(ReadOnlyOption.ReadOnlyLeaseBased, leaseCtx, done);
+        this.readOnlyServiceImpl.flush();
+        // Requests with different options are sent in separate batches.
+        for (final ReadOnlyOption opt : ReadOnlyOption.values()) {
+            final byte[] ctx = opt == ReadOnlyOption.ReadOnlySafe ? safeCtx : leaseCtx;
+            Mockito.verify(this.node).handleReadIndexRequest(Mockito.argThat(new ArgumentMatcher<ReadIndexRequest>() {
+                @Override public boolean matches(ReadIndexRequest argument) {
+                    return argument != null && argument.getReadOnlyOptions() == opt
+                        && argument.getEntriesCount() == 1
+                        && Arrays.equals(ctx, argument.getEntries(0).toByteArray());
+                }
+            }), Mockito.any());
+        }
+    }
+
     @Test
     public void testAddRequestOnResponsePending() throws Exception {
         final byte[] requestContext = TestUtils.getRandomBytes();
@@ -234,6 +234,8 @@ public class TestCluster {
                 @Override public synchronized void shutdown() {
                     super.shutdown();
 
+                    nodeOptions.getScheduler().shutdown();
+
                     clusterService.shutdown();
                 }
             };
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.raft.jraft.disruptor;
+
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.RingBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.raft.jraft.entity.NodeId;
+import org.apache.ignite.raft.jraft.entity.PeerId;
+import org.apache.ignite.raft.jraft.util.LogExceptionHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class StripedDisruptorTest {
+    private StripedDisruptor<TestEvent> disruptor;
+
+    @Before
+    public void setup() {
+        this.disruptor = new StripedDisruptor<>("test-disruptor", 1024, TestEvent::new, 1);
+    }
+
+    @After
+    public void teardown() {
+        this.disruptor.shutdown();
+    }
+
+    @Test
+    public void testEventsOfSeveralNodes() throws Exception {
+        NodeId node1 = new NodeId("group1", new PeerId("localhost", 8081));
+        NodeId node2 = new NodeId("group2", new PeerId("localhost", 8081));
+
+        BatchingHandler handler1 = new BatchingHandler();
+        BatchingHandler handler2 = new BatchingHandler();
+
+        RingBuffer<TestEvent> queue1 = this.disruptor.subscribe(node1, handler1, new LogExceptionHandler<>("test"));
+        RingBuffer<TestEvent> queue2 = this.disruptor.subscribe(node2, handler2, new LogExceptionHandler<>("test"));
+
+        // A single stripe serves both nodes.
+        assertSame(queue1, queue2);
+
+        int cnt = 1000;
+
+        for (int i = 0; i < cnt; i++) {
+            final int val = i;
+
+            queue1.publishEvent((event, sequence) -> {
+                event.nodeId = val % 3 == 0 ? node2 : node1;
+                event.val = val;
+            });
+        }
+
+        int cnt2 = (cnt + 2) / 3;
+
+        handler1.await(cnt - cnt2);
+        handler2.await(cnt2);
+
+        for (int i = 0; i < handler1.flushed.size(); i++)
+            assertTrue(handler1.flushed.get(i) % 3 != 0);
+
+        for (int i = 0; i < handler2.flushed.size(); i++)
+            assertEquals(i * 3, (int)handler2.flushed.get(i));
+    }
+
+    @Test
+    public void testUnsubscribe() throws Exception {
+        NodeId node1 = new NodeId("group1", new PeerId("localhost", 8081));
+        NodeId node2 = new NodeId("group2", new PeerId("localhost", 8081));
+
+        BatchingHandler handler1 = new BatchingHandler();
+        BatchingHandler handler2 = new BatchingHandler();
+
+        RingBuffer<TestEvent> queue = this.disruptor.subscribe(node1, handler1, new LogExceptionHandler<>("test"));
+
+        this.disruptor.subscribe(node2, handler2, new LogExceptionHandler<>("test"));
+
+        queue.publishEvent((event, sequence) -> event.nodeId = node1);
+
+        handler1.await(1);
+
+        this.disruptor.unsubscribe(node1);
+
+        queue.publishEvent((event, sequence) -> event.nodeId = node1);
+        queue.publishEvent((event, sequence) -> event.nodeId = node2);
+
+        // Events of a stripe are handled in order, so the event of the unsubscribed node is dropped by now.
+        handler2.await(1);
+
+        assertEquals(1, handler1.flushed.size());
+    }
+
+    private static class TestEvent implements NodeIdAware {
+        NodeId nodeId;
+
+        int val;
+
+        @Override
+        public NodeId nodeId() {
+            return this.nodeId;
+        }
+    }
+
+    /**
+     * Handler which buffers the events until the end of the batch, like the handlers of the RAFT node do.
+     */
+    private static class BatchingHandler implements EventHandler<TestEvent> {
+        private final List<TestEvent> batch = new ArrayList<>();
+
+        private final List<Integer> flushed = new ArrayList<>();
+
+        private final CountDownLatch flushedLatch = new CountDownLatch(1);
+
+        private volatile int flushedCnt;
+
+        private volatile int expectedCnt = Integer.MAX_VALUE;
+
+        @Override
+        public void onEvent(TestEvent event, long sequence, boolean endOfBatch) {
+            this.batch.add(event);
+
+            if (endOfBatch) {
+                for (TestEvent e : this.batch)
+                    this.flushed.add(e.val);
+
+                this.batch.clear();
+
+                this.flushedCnt = this.flushed.size();
+
+                if (this.flushedCnt >= this.expectedCnt)
+                    this.flushedLatch.countDown();
+            }
+        }
+
+        void await(int cnt) throws InterruptedException {
+            this.expectedCnt = cnt;
+
+            if (this.flushedCnt < cnt)
+                assertTrue(this.flushedLatch.await(10, TimeUnit.SECONDS) || this.flushedCnt >= cnt);
+
+            assertEquals(cnt, this.flushedCnt);
+        }
+    }
+}
@@ -22,7 +22,6 @@ import java.util.concurrent.TimeUnit;
 import org.apache.ignite.raft.jraft.util.AdaptiveBufAllocator;
 import org.apache.ignite.raft.jraft.util.ByteBufferCollector;
 import org.apache.ignite.raft.jraft.util.ByteString;
-import org.apache.ignite.raft.jraft.util.RecyclableByteBufferList;
 import org.apache.ignite.raft.jraft.util.RecycleUtil;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -215,21 +214,13 @@ public class AppendEntriesBenchmark {
     private static byte[] sendEntries4(final int entryCount, final int sizeOfEntry) {
         final AppendEntriesRequest.Builder rb = AppendEntriesRequest.newBuilder();
         fillCommonFields(rb);
-        final RecyclableByteBufferList dataBuffer = RecyclableByteBufferList.newInstance();
-
-        try {
-            for (int i = 0; i < entryCount; i++) {
-                final byte[] bytes = new byte[sizeOfEntry];
-                ThreadLocalRandom.current().nextBytes(bytes);
-                final ByteBuffer buf = ByteBuffer.wrap(bytes);
-                dataBuffer.add(buf.slice());
-            }
-            rb.setData(RecyclableByteBufferList.concatenate(dataBuffer));
-            return rb.build().toByteArray();
-        }
-        finally {
-            RecycleUtil.recycle(dataBuffer);
+        for (int i = 0; i < entryCount; i++) {
+            final byte[] bytes = new byte[sizeOfEntry];
+            ThreadLocalRandom.current().nextBytes(bytes);
+            final ByteBuffer buf = ByteBuffer.wrap(bytes);
+            rb.addData(buf.slice());
         }
+        return rb.build().toByteArray();
     }
 
     private static void fillCommonFields(final AppendEntriesRequest.Builder rb) {
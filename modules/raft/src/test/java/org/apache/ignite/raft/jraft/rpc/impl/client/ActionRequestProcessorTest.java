@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.raft.jraft.rpc.impl.client;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.apache.ignite.internal.raft.server.impl.JRaftServerImpl;
+import org.apache.ignite.raft.client.ReadCommand;
+import org.apache.ignite.raft.client.codec.CompactCommandCodec;
+import org.apache.ignite.raft.client.message.ActionResponse;
+import org.apache.ignite.raft.client.message.RaftClientMessagesFactory;
+import org.apache.ignite.raft.client.message.RaftErrorResponse;
+import org.apache.ignite.raft.client.service.CommandClosure;
+import org.apache.ignite.raft.client.service.RaftGroupListener;
+import org.apache.ignite.raft.jraft.Node;
+import org.apache.ignite.raft.jraft.Status;
+import org.apache.ignite.raft.jraft.closure.ReadIndexClosure;
+import org.apache.ignite.raft.jraft.entity.NodeId;
+import org.apache.ignite.raft.jraft.entity.PeerId;
+import org.apache.ignite.raft.jraft.error.RaftError;
+import org.apache.ignite.raft.jraft.option.NodeOptions;
+import org.apache.ignite.raft.jraft.option.RaftOptions;
+import org.apache.ignite.raft.jraft.option.ReadOnlyOption;
+import org.apache.ignite.raft.jraft.test.MockAsyncContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link ActionRequestProcessor}.
+ */
+public class ActionRequestProcessorTest {
+    /** Group id. */
+    private static final String GROUP_ID = "test";
+
+    /** Message factory. */
+    private static final RaftClientMessagesFactory FACTORY = new RaftClientMessagesFactory();
+
+    /** Raft node. */
+    private Node node;
+
+    /** Listener of the node. */
+    private RaftGroupListener lsnr;
+
+    /** Closures of the read index requests of the node. */
+    private final List<ReadIndexClosure> readIndexClosures = new ArrayList<>();
+
+    /** Numbers of the reads served by the {@code onRead} calls. */
+    private final List<Integer> onReadSizes = new ArrayList<>();
+
+    /** Processor. */
+    private ActionRequestProcessor processor;
+
+    /** */
+    @BeforeEach
+    public void setUp() {
+        node = mock(Node.class);
+        lsnr = mock(RaftGroupListener.class);
+
+        JRaftServerImpl.DelegatingStateMachine fsm = mock(JRaftServerImpl.DelegatingStateMachine.class);
+
+        when(fsm.getListener()).thenReturn(lsnr);
+
+        NodeOptions opts = new NodeOptions();
+
+        opts.setFsm(fsm);
+
+        when(node.getGroupId()).thenReturn(GROUP_ID);
+        when(node.getNodeId()).thenReturn(new NodeId(GROUP_ID, new PeerId("localhost", 8081)));
+        when(node.getOptions()).thenReturn(opts);
+        when(node.getRaftOptions()).thenReturn(new RaftOptions());
+
+        doAnswer(invocation -> {
+            readIndexClosures.add(invocation.getArgument(2));
+
+            return null;
+        }).when(node).readIndex(any(ReadOnlyOption.class), any(), any());
+
+        doAnswer(invocation -> {
+            Iterator<CommandClosure<ReadCommand>> it = invocation.getArgument(0);
+
+            int cnt = 0;
+
+            while (it.hasNext()) {
+                CommandClosure<ReadCommand> clo = it.next();
+
+                clo.result(((TestReadCommand)clo.command()).val);
+
+                cnt++;
+            }
+
+            onReadSizes.add(cnt);
+
+            return null;
+        }).when(lsnr).onRead(any());
+
+        processor = new ActionRequestProcessor(null, FACTORY, new CompactCommandCodec(false));
+    }
+
+    /**
+     * Checks that the reads received while a read index is in progress are confirmed by one read index and served by
+     * one {@code onRead} call.
+     */
+    @Test
+    public void testReadsBatchedWhileReadIndexInProgress() {
+        MockAsyncContext ctx0 = send(0, true);
+
+        assertEquals(1, readIndexClosures.size());
+
+        MockAsyncContext ctx1 = send(1, true);
+        MockAsyncContext ctx2 = send(2, true);
+        MockAsyncContext ctx3 = send(3, true);
+
+        assertEquals(1, readIndexClosures.size());
+        assertNull(ctx1.getResponseObject());
+
+        readIndexClosures.get(0).run(Status.OK(), 1, null);
+
+        assertEquals(List.of(1), onReadSizes);
+        assertEquals(0, ((ActionResponse)ctx0.getResponseObject()).result());
+
+        assertEquals(2, readIndexClosures.size());
+
+        readIndexClosures.get(1).run(Status.OK(), 1, null);
+
+        assertEquals(List.of(1, 3), onReadSizes);
+        assertEquals(1, ((ActionResponse)ctx1.getResponseObject()).result());
+        assertEquals(2, ((ActionResponse)ctx2.getResponseObject()).result());
+        assertEquals(3, ((ActionResponse)ctx3.getResponseObject()).result());
+
+        verify(node, times(2)).readIndex(eq(ReadOnlyOption.ReadOnlySafe), any(), any());
+    }
+
+    /**
+     * Checks that a failed read index fails all the reads of the batch and the next reads are still served.
+     */
+    @Test
+    public void testReadIndexFailure() {
+        send(0, true);
+
+        MockAsyncContext ctx1 = send(1, true);
+        MockAsyncContext ctx2 = send(2, true);
+
+        readIndexClosures.get(0).run(Status.OK(), 1, null);
+        readIndexClosures.get(1).run(new Status(RaftError.EINTERNAL, "Failed"), -1, null);
+
+        assertTrue(ctx1.getResponseObject() instanceof RaftErrorResponse);
+        assertTrue(ctx2.getResponseObject() instanceof RaftErrorResponse);
+
+        MockAsyncContext ctx3 = send(3, true);
+
+        readIndexClosures.get(2).run(Status.OK(), 1, null);
+
+        assertEquals(3, ((ActionResponse)ctx3.getResponseObject()).result());
+    }
+
+    /**
+     * Checks that the reads that do not need the read index are served at once.
+     */
+    @Test
+    public void testUnsafeReadsNotQueued() {
+        send(0, true);
+
+        MockAsyncContext ctx = send(1, false);
+
+        assertEquals(1, ((ActionResponse)ctx.getResponseObject()).result());
+        assertEquals(1, readIndexClosures.size());
+    }
+
+    /**
+     * @param val Value to return.
+     * @param readOnlySafe Read only safe flag of the request.
+     * @return Context of the request.
+     */
+    private MockAsyncContext send(int val, boolean readOnlySafe) {
+        MockAsyncContext ctx = new MockAsyncContext();
+
+        ctx.getNodeManager().add(node);
+
+        processor.handleRequest(ctx, FACTORY.actionRequest()
+            .groupId(GROUP_ID)
+            .command(new TestReadCommand(val))
+            .readOnlySafe(readOnlySafe)
+            .build());
+
+        return ctx;
+    }
+
+    /** */
+    private static class TestReadCommand implements ReadCommand {
+        /** Value to return. */
+        private final int val;
+
+        /**
+         * @param val Value to return.
+         */
+        TestReadCommand(int val) {
+            this.val = val;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.raft.jraft.rpc.impl.core;
+
+import java.util.List;
+import org.apache.ignite.raft.jraft.Node;
+import org.apache.ignite.raft.jraft.entity.NodeId;
+import org.apache.ignite.raft.jraft.entity.PeerId;
+import org.apache.ignite.raft.jraft.error.RaftError;
+import org.apache.ignite.raft.jraft.rpc.Message;
+import org.apache.ignite.raft.jraft.rpc.RaftServerService;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.AppendEntriesRequest;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.AppendEntriesResponse;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.CoalescedHeartbeatRequest;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.CoalescedHeartbeatResponse;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.ErrorResponse;
+import org.apache.ignite.raft.jraft.test.MockAsyncContext;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.eq;
+
+@RunWith(value = MockitoJUnitRunner.class)
+public class CoalescedHeartbeatRequestProcessorTest {
+    @Mock(extraInterfaces = {RaftServerService.class})
+    private Node node;
+
+    private final String groupId = "test";
+
+    private final String peerIdStr = "localhost:8081";
+
+    private MockAsyncContext asyncContext;
+
+    @Before
+    public void setup() {
+        this.asyncContext = new MockAsyncContext();
+
+        final PeerId peerId = new PeerId();
+        peerId.parse(this.peerIdStr);
+
+        Mockito.when(node.getGroupId()).thenReturn(this.groupId);
+        Mockito.when(node.getNodeId()).thenReturn(new NodeId(this.groupId, peerId));
+
+        this.asyncContext.getNodeManager().add(node);
+    }
+
+    @Test
+    public void testFanOut() {
+        final AppendEntriesRequest known = createHeartbeat(this.groupId);
+        final AppendEntriesRequest unknown = createHeartbeat("unknown");
+
+        final AppendEntriesResponse nodeResponse = AppendEntriesResponse.newBuilder()
+            .setSuccess(true)
+            .setTerm(1)
+            .setLastLogIndex(10)
+            .build();
+
+        Mockito.when(((RaftServerService) node).handleAppendEntriesRequest(eq(known), Mockito.any()))
+            .thenReturn(nodeResponse);
+
+        final CoalescedHeartbeatRequestProcessor processor = new CoalescedHeartbeatRequestProcessor(null);
+
+        assertEquals(CoalescedHeartbeatRequest.class.getName(), processor.interest());
+
+        processor.handleRequest(this.asyncContext, CoalescedHeartbeatRequest.newBuilder()
+            .addHeartbeats(known)
+            .addHeartbeats(unknown)
+            .build());
+
+        final CoalescedHeartbeatResponse response = this.asyncContext.as(CoalescedHeartbeatResponse.class);
+
+        assertNotNull(response);
+
+        final List<Message> responses = response.getResponsesList();
+
+        assertEquals(2, responses.size());
+        assertSame(nodeResponse, responses.get(0));
+        assertTrue(responses.get(1) instanceof ErrorResponse);
+        assertEquals(RaftError.ENOENT.getNumber(), ((ErrorResponse) responses.get(1)).getErrorCode());
+    }
+
+    @Test
+    public void testEmptyRequest() {
+        new CoalescedHeartbeatRequestProcessor(null).handleRequest(this.asyncContext,
+            CoalescedHeartbeatRequest.newBuilder().build());
+
+        final CoalescedHeartbeatResponse response = this.asyncContext.as(CoalescedHeartbeatResponse.class);
+
+        assertNotNull(response);
+        assertTrue(response.getResponsesList().isEmpty());
+    }
+
+    private AppendEntriesRequest createHeartbeat(String groupId) {
+        return AppendEntriesRequest.newBuilder()
+            .setGroupId(groupId)
+            .setServerId("localhost:8082")
+            .setPeerId(this.peerIdStr)
+            .setTerm(1)
+            .setCommittedIndex(5)
+            .build();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.raft.jraft.rpc.message;
+
+import java.nio.ByteBuffer;
+import org.apache.ignite.raft.jraft.entity.EnumOutter;
+import org.apache.ignite.raft.jraft.entity.RaftOutter;
+import org.apache.ignite.raft.jraft.rpc.RpcRequests.AppendEntriesRequest;
+import org.apache.ignite.raft.jraft.util.ByteString;
+import org.apache.ignite.raft.jraft.util.Marshaller;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AppendEntriesRequestImplTest {
+    @Test
+    public void testMarshalDataBuffers() {
+        final AppendEntriesRequest.Builder rb = newRequest();
+
+        final byte[] expected = new byte[3 * 100];
+
+        for (int i = 0; i < 3; i++) {
+            final byte[] payload = new byte[100];
+
+            for (int j = 0; j < payload.length; j++)
+                payload[j] = (byte) (i * payload.length + j);
+
+            System.arraycopy(payload, 0, expected, i * payload.length, payload.length);
+
+            rb.addEntries(RaftOutter.EntryMeta.newBuilder().setTerm(1).setType(EnumOutter.EntryType.ENTRY_TYPE_DATA)
+                .setDataLen(payload.length).build());
+
+            // Heap, read-only and direct buffers are written from the log without being copied to the request.
+            final ByteBuffer buf;
+
+            if (i == 0)
+                buf = ByteBuffer.wrap(payload);
+            else if (i == 1)
+                buf = ByteBuffer.wrap(payload).asReadOnlyBuffer();
+            else {
+                buf = ByteBuffer.allocateDirect(payload.length);
+                buf.put(payload);
+                buf.flip();
+            }
+
+            rb.addData(buf);
+        }
+
+        final AppendEntriesRequest request = rb.build();
+
+        assertTrue(request.hasData());
+        assertEquals(expected.length, request.getDataSize());
+
+        final AppendEntriesRequest restored = Marshaller.DEFAULT.unmarshall(request.toByteArray());
+
+        assertEquals(request, restored);
+        assertEquals(3, restored.getEntriesCount());
+        assertEquals(expected.length, restored.getDataSize());
+        assertArrayEquals(expected, restored.getData().toByteArray());
+        assertArrayEquals(expected, request.getData().toByteArray());
+    }
+
+    @Test
+    public void testMarshalWithoutData() {
+        final AppendEntriesRequest heartbeat = newRequest().build();
+
+        final AppendEntriesRequest restored = Marshaller.DEFAULT.unmarshall(heartbeat.toByteArray());
+
+        assertEquals(heartbeat, restored);
+        assertFalse(restored.hasData());
+        assertEquals(0, restored.getDataSize());
+
+        // Probe requests carry empty data.
+        final AppendEntriesRequest probe = newRequest().setData(ByteString.EMPTY).build();
+
+        final AppendEntriesRequest restoredProbe = Marshaller.DEFAULT.unmarshall(probe.toByteArray());
+
+        assertTrue(restoredProbe.hasData());
+        assertEquals(0, restoredProbe.getDataSize());
+    }
+
+    private static AppendEntriesRequest.Builder newRequest() {
+        return AppendEntriesRequest.newBuilder()
+            .setGroupId("group")
+            .setServerId("localhost:8080")
+            .setPeerId("localhost:8081")
+            .setTerm(2)
+            .setPrevLogIndex(10)
+            .setPrevLogTerm(1)
+            .setCommittedIndex(9);
+    }
+}
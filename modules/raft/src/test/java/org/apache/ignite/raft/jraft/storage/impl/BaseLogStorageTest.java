@@ -122,7 +122,7 @@ public abstract class BaseLogStorageTest extends BaseStorageTest {
         assertEquals(1, this.logStorage.appendEntries(Arrays.asList(confEntry2)));
 
         // reload log storage.
-        if (this.logStorage instanceof RocksDBLogStorage) {
+        if (this.logStorage instanceof RocksDBLogStorage || this.logStorage instanceof RocksDBSharedLogStorage) {
             this.logStorage.shutdown();
             this.logStorage = newLogStorage();
             this.logStorage.init(newLogStorageOptions());
@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.raft.jraft.storage.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.raft.jraft.Status;
+import org.apache.ignite.raft.jraft.conf.ConfigurationManager;
+import org.apache.ignite.raft.jraft.entity.LogEntry;
+import org.apache.ignite.raft.jraft.entity.codec.v1.LogEntryV1CodecFactory;
+import org.apache.ignite.raft.jraft.option.LogStorageOptions;
+import org.apache.ignite.raft.jraft.option.LogSyncMode;
+import org.apache.ignite.raft.jraft.option.RaftOptions;
+import org.apache.ignite.raft.jraft.storage.LogStorage;
+import org.apache.ignite.raft.jraft.test.TestUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RocksDBSharedLogStorageTest extends BaseLogStorageTest {
+    private RocksDBSharedLogStorageFactory factory;
+
+    @Override
+    protected LogStorage newLogStorage() {
+        if (this.factory == null) {
+            this.factory = new RocksDBSharedLogStorageFactory(this.path);
+            this.factory.start();
+        }
+
+        return this.factory.createLogStorage("group", new RaftOptions());
+    }
+
+    @Override
+    public void teardown() throws Exception {
+        this.logStorage.shutdown();
+        this.factory.close();
+        super.teardown();
+    }
+
+    @Test
+    public void testGroupsAreIsolated() {
+        LogStorage other = this.factory.createLogStorage("group2", new RaftOptions());
+
+        LogStorageOptions opts = new LogStorageOptions();
+        opts.setConfigurationManager(new ConfigurationManager());
+        opts.setLogEntryCodecFactory(LogEntryV1CodecFactory.getInstance());
+
+        other.init(opts);
+
+        try {
+            List<LogEntry> entries = TestUtils.mockEntries();
+
+            assertEquals(10, this.logStorage.appendEntries(entries));
+            assertEquals(20, other.appendEntries(TestUtils.mockEntries(20)));
+
+            assertEquals(0, this.logStorage.getFirstLogIndex());
+            assertEquals(9, this.logStorage.getLastLogIndex());
+            assertEquals(0, other.getFirstLogIndex());
+            assertEquals(19, other.getLastLogIndex());
+
+            other.truncateSuffix(14);
+            other.truncatePrefix(12);
+
+            assertEquals(0, this.logStorage.getFirstLogIndex());
+            assertEquals(9, this.logStorage.getLastLogIndex());
+            assertEquals(12, other.getFirstLogIndex());
+            assertEquals(14, other.getLastLogIndex());
+
+            this.logStorage.reset(5);
+
+            assertEquals(5, this.logStorage.getFirstLogIndex());
+            assertEquals(5, this.logStorage.getLastLogIndex());
+            assertNull(this.logStorage.getEntry(4));
+            assertEquals(12, other.getFirstLogIndex());
+            assertEquals(14, other.getLastLogIndex());
+            assertEquals(13, other.getTerm(13));
+        }
+        finally {
+            other.shutdown();
+        }
+    }
+
+    @Test
+    public void testDestroyLogStorage() {
+        LogStorageOptions opts = new LogStorageOptions();
+        opts.setConfigurationManager(new ConfigurationManager());
+        opts.setLogEntryCodecFactory(LogEntryV1CodecFactory.getInstance());
+
+        LogStorage other = this.factory.createLogStorage("group2", new RaftOptions());
+
+        other.init(opts);
+
+        assertEquals(10, this.logStorage.appendEntries(TestUtils.mockEntries()));
+        assertEquals(20, other.appendEntries(TestUtils.mockEntries(20)));
+
+        other.shutdown();
+
+        this.factory.destroyLogStorage("group2");
+
+        other = this.factory.createLogStorage("group2", new RaftOptions());
+
+        other.init(opts);
+
+        try {
+            assertEquals(1, other.getFirstLogIndex());
+            assertEquals(0, other.getLastLogIndex());
+            assertNull(other.getEntry(5));
+
+            assertEquals(0, this.logStorage.getFirstLogIndex());
+            assertEquals(9, this.logStorage.getLastLogIndex());
+        }
+        finally {
+            other.shutdown();
+        }
+    }
+
+    @Test
+    public void testGroupSyncSharesFsync() throws Exception {
+        RaftOptions raftOptions = new RaftOptions();
+        raftOptions.setLogSyncMode(LogSyncMode.GROUP_SYNC);
+        raftOptions.setGroupSyncMaxDelayMs(20);
+
+        LogStorageOptions opts = new LogStorageOptions();
+        opts.setConfigurationManager(new ConfigurationManager());
+        opts.setLogEntryCodecFactory(LogEntryV1CodecFactory.getInstance());
+
+        int groups = 8;
+        int batches = 10;
+
+        List<LogStorage> storages = new ArrayList<>();
+
+        for (int i = 0; i < groups; i++) {
+            LogStorage storage = this.factory.createLogStorage("sync-group" + i, raftOptions);
+            storage.init(opts);
+            storages.add(storage);
+        }
+
+        try {
+            long syncsBefore = this.factory.syncer().syncCount();
+
+            List<CompletableFuture<Void>> futs = new ArrayList<>();
+
+            for (LogStorage storage : storages) {
+                futs.add(CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < batches; i++)
+                        assertEquals(1, storage.appendEntries(List.of(TestUtils.mockEntry(i, i))));
+                }));
+            }
+
+            CompletableFuture.allOf(futs.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+            for (LogStorage storage : storages)
+                assertEquals(batches - 1, storage.getLastLogIndex());
+
+            long syncs = this.factory.syncer().syncCount() - syncsBefore;
+
+            assertTrue("Unexpected number of syncs: " + syncs, syncs > 0 && syncs < groups * batches);
+        }
+        finally {
+            for (LogStorage storage : storages)
+                storage.shutdown();
+        }
+    }
+
+    @Test
+    public void testIdleGroupDoesNotDelaySync() throws Exception {
+        RaftOptions raftOptions = new RaftOptions();
+        raftOptions.setLogSyncMode(LogSyncMode.GROUP_SYNC);
+        // An fsync waiting for the idle group would not complete in time.
+        raftOptions.setGroupSyncMaxDelayMs(60_000);
+
+        LogStorageOptions opts = new LogStorageOptions();
+        opts.setConfigurationManager(new ConfigurationManager());
+        opts.setLogEntryCodecFactory(LogEntryV1CodecFactory.getInstance());
+
+        LogStorage idle = this.factory.createLogStorage("idle-group", raftOptions);
+        idle.init(opts);
+
+        LogStorage busy = this.factory.createLogStorage("busy-group", raftOptions);
+        busy.init(opts);
+
+        try {
+            CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 10; i++)
+                    assertEquals(1, busy.appendEntries(List.of(TestUtils.mockEntry(i, i))));
+            }).get(30, TimeUnit.SECONDS);
+
+            assertEquals(9, busy.getLastLogIndex());
+        }
+        finally {
+            busy.shutdown();
+            idle.shutdown();
+        }
+    }
+
+    @Test
+    public void testSyncRunsClosureAfterFsync() throws Exception {
+        RaftOptions raftOptions = new RaftOptions();
+        raftOptions.setLogSyncMode(LogSyncMode.GROUP_SYNC);
+        // The only writer of the syncer does not wait for the others.
+        raftOptions.setGroupSyncMaxDelayMs(60_000);
+
+        LogStorageOptions opts = new LogStorageOptions();
+        opts.setConfigurationManager(new ConfigurationManager());
+        opts.setLogEntryCodecFactory(LogEntryV1CodecFactory.getInstance());
+
+        LogStorage storage = this.factory.createLogStorage("async-group", raftOptions);
+        storage.init(opts);
+
+        try {
+            long syncsBefore = this.factory.syncer().syncCount();
+
+            assertEquals(10, storage.appendEntriesNoWait(TestUtils.mockEntries()));
+
+            CountDownLatch latch = new CountDownLatch(1);
+            Status[] status = new Status[1];
+            String[] threadName = new String[1];
+
+            storage.sync(st -> {
+                status[0] = st;
+                threadName[0] = Thread.currentThread().getName();
+                latch.countDown();
+            });
+
+            assertTrue(latch.await(30, TimeUnit.SECONDS));
+            assertTrue(status[0].isOk());
+            assertTrue(threadName[0], threadName[0].startsWith("shared-log-syncer-"));
+            assertEquals(syncsBefore + 1, this.factory.syncer().syncCount());
+            assertEquals(9, storage.getLastLogIndex());
+        }
+        finally {
+            storage.shutdown();
+        }
+    }
+}
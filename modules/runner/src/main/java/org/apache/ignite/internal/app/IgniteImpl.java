@@ -18,6 +18,8 @@
 package org.apache.ignite.internal.app;
 
 import org.apache.ignite.app.Ignite;
+import org.apache.ignite.internal.raft.Loza;
+import org.apache.ignite.internal.table.distributed.TableManager;
 import org.apache.ignite.internal.vault.VaultManager;
 import org.apache.ignite.table.manager.IgniteTables;
 
@@ -26,17 +28,22 @@ import org.apache.ignite.table.manager.IgniteTables;
  */
 public class IgniteImpl implements Ignite {
     /** Distributed table manager. */
-    private final IgniteTables distributedTableManager;
+    private final TableManager distributedTableManager;
+
+    /** Raft manager. */
+    private final Loza raftManager;
 
     /** Vault manager */
     private final VaultManager vaultManager;
 
     /**
      * @param tableManager Table manager.
+     * @param raftManager Raft manager.
      * @param vaultManager Vault manager.
      */
-    IgniteImpl(IgniteTables tableManager, VaultManager vaultManager) {
+    IgniteImpl(TableManager tableManager, Loza raftManager, VaultManager vaultManager) {
         this.distributedTableManager = tableManager;
+        this.raftManager = raftManager;
         this.vaultManager = vaultManager;
     }
 
@@ -47,6 +54,11 @@ public class IgniteImpl implements Ignite {
 
     /** {@inheritDoc} */
     @Override public void close() throws Exception {
+        // RAFT groups close the partition storages, so they are stopped before the storage engine.
+        raftManager.stop();
+
+        distributedTableManager.stop();
+
         vaultManager.close();
     }
 }
@@ -36,6 +36,8 @@ import org.apache.ignite.configuration.schemas.network.NetworkConfiguration;
 import org.apache.ignite.configuration.schemas.network.NetworkView;
 import org.apache.ignite.configuration.schemas.runner.ClusterConfiguration;
 import org.apache.ignite.configuration.schemas.runner.NodeConfiguration;
+import org.apache.ignite.configuration.schemas.runner.NodeView;
+import org.apache.ignite.configuration.schemas.store.DataStorageConfiguration;
 import org.apache.ignite.configuration.schemas.table.TablesConfiguration;
 import org.apache.ignite.internal.affinity.AffinityManager;
 import org.apache.ignite.internal.baseline.BaselineManager;
@@ -58,7 +60,7 @@ import org.apache.ignite.network.ClusterService;
 import org.apache.ignite.network.MessageSerializationRegistryImpl;
 import org.apache.ignite.network.NetworkAddress;
 import org.apache.ignite.network.scalecube.ScaleCubeClusterServiceFactory;
-import org.apache.ignite.table.manager.IgniteTables;
+import org.apache.ignite.raft.jraft.option.LogSyncMode;
 import org.apache.ignite.utils.IgniteProperties;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -75,6 +77,16 @@ public class IgnitionImpl implements Ignition {
      */
     static final Path VAULT_DB_PATH = Paths.get("vault");
 
+    /**
+     * Path to the persistent storage used by the table partitions.
+     */
+    static final Path PARTITIONS_STORE_PATH = Paths.get("db");
+
+    /**
+     * Path to the logs, meta and snapshots of the RAFT groups.
+     */
+    static final Path RAFT_STORE_PATH = Paths.get("raft");
+
     /** */
     private static final String[] BANNER = {
         "",
@@ -143,7 +155,8 @@ public class IgnitionImpl implements Ignition {
             NetworkConfiguration.KEY,
             NodeConfiguration.KEY,
             ClusterConfiguration.KEY,
-            TablesConfiguration.KEY
+            TablesConfiguration.KEY,
+            DataStorageConfiguration.KEY
         );
 
         List<ConfigurationStorage> cfgStorages =
@@ -186,7 +199,15 @@ public class IgnitionImpl implements Ignition {
         clusterNetSvc.start();
 
         // Raft Component startup.
-        Loza raftMgr = new Loza(clusterNetSvc);
+        NodeView nodeConfigurationView =
+            locConfigurationMgr.configurationRegistry().getConfiguration(NodeConfiguration.KEY).value();
+
+        Loza raftMgr = new Loza(
+            clusterNetSvc,
+            getRaftStorePath(nodeName),
+            LogSyncMode.valueOf(nodeConfigurationView.raftLogSyncMode()),
+            nodeConfigurationView.raftGroupSyncMaxDelay()
+        );
 
         // Meta storage Component startup.
         MetaStorageManager metaStorageMgr = new MetaStorageManager(
@@ -211,13 +232,14 @@ public class IgnitionImpl implements Ignition {
         SchemaManager schemaMgr = new SchemaManager(configurationMgr, metaStorageMgr, vaultMgr);
 
         // Distributed table manager startup.
-        IgniteTables distributedTblMgr = new TableManager(
+        TableManager distributedTblMgr = new TableManager(
             configurationMgr,
             metaStorageMgr,
             schemaMgr,
             affinityMgr,
             raftMgr,
-            vaultMgr
+            vaultMgr,
+            getPartitionsStorePath(nodeName)
         );
 
         // TODO IGNITE-14579 Start rest manager.
@@ -227,7 +249,7 @@ public class IgnitionImpl implements Ignition {
 
         ackSuccessStart();
 
-        return new IgniteImpl(distributedTblMgr, vaultMgr);
+        return new IgniteImpl(distributedTblMgr, raftMgr, vaultMgr);
     }
 
     /**
@@ -250,6 +272,51 @@ public class IgnitionImpl implements Ignition {
         return vaultMgr;
     }
 
+    /**
+     * Returns a path to the partitions store directory.
+     * Creates a directory if it doesn't exist.
+     *
+     * @param nodeName Node name.
+     * @return Partitions store path.
+     */
+    @NotNull private static Path getPartitionsStorePath(String nodeName) {
+        return getStorePath(PARTITIONS_STORE_PATH, nodeName, "partitions");
+    }
+
+    /**
+     * Returns a path to the RAFT store directory.
+     * Creates a directory if it doesn't exist.
+     *
+     * @param nodeName Node name.
+     * @return RAFT store path.
+     */
+    @NotNull private static Path getRaftStorePath(String nodeName) {
+        return getStorePath(RAFT_STORE_PATH, nodeName, "RAFT");
+    }
+
+    /**
+     * Returns a path to the store directory of a node.
+     * Creates a directory if it doesn't exist.
+     *
+     * @param root Root directory of the stores of the nodes.
+     * @param nodeName Node name.
+     * @param storeName Store name for the error message.
+     * @return Store path.
+     */
+    @NotNull private static Path getStorePath(Path root, String nodeName, String storeName) {
+        Path store = root.resolve(nodeName);
+
+        try {
+            Files.createDirectories(store);
+        }
+        catch (IOException e) {
+            throw new IgniteInternalException(
+                "Failed to create directory for " + storeName + " storage: " + e.getMessage(), e);
+        }
+
+        return store;
+    }
+
     /** */
     private static void ackSuccessStart() {
         LOG.info("Apache Ignite started successfully!");
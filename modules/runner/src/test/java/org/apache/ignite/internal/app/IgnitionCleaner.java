@@ -28,5 +28,7 @@ public class IgnitionCleaner {
      */
     public static void removeAllData() {
         IgniteUtils.delete(IgnitionImpl.VAULT_DB_PATH);
+        IgniteUtils.delete(IgnitionImpl.PARTITIONS_STORE_PATH);
+        IgniteUtils.delete(IgnitionImpl.RAFT_STORE_PATH);
     }
 }
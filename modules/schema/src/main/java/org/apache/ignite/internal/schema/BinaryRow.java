@@ -71,6 +71,11 @@ public interface BinaryRow {
      */
     ByteBuffer valueSlice();
 
+    /**
+     * @return Copy of the whole row as a byte array.
+     */
+    byte[] bytes();
+
     /**
      * Writes binary row to given stream.
      *
@@ -67,6 +67,11 @@ public class ByteBufferRow implements BinaryRow {
         return readInteger(KEY_HASH_FIELD_OFFSET);
     }
 
+    /** {@inheritDoc} */
+    @Override public byte[] bytes() {
+        return readBytes(0, buf.limit());
+    }
+
     /** {@inheritDoc} */
     @Override public void writeTo(OutputStream stream) throws IOException {
         WritableByteChannel channel = Channels.newChannel(stream);
@@ -24,6 +24,7 @@ import java.nio.charset.CharacterCodingException;
 import java.nio.charset.CharsetEncoder;
 import java.nio.charset.CoderResult;
 import java.util.Arrays;
+import org.apache.ignite.internal.util.IgniteUtils;
 
 /**
  * A simple byte array wrapper to allow dynamic byte array expansion during the row construction. Grows exponentially
@@ -234,6 +235,28 @@ public class ExpandableByteBuf {
         return buf.get(off);
     }
 
+    /**
+     * Reads {@code int} value from buffer.
+     *
+     * @param off Buffer offset.
+     * @return Value.
+     */
+    public int getInt(int off) {
+        return buf.getInt(off);
+    }
+
+    /**
+     * Computes the hash of a range of the buffer.
+     *
+     * @param off Buffer offset.
+     * @param len Length of the range.
+     * @return Hash value.
+     * @see IgniteUtils#hash(byte[], int, int)
+     */
+    public int hash(int off, int len) {
+        return IgniteUtils.hash(arr, off, len);
+    }
+
     /**
      * @return The byte array of all bytes written to this array, including gaps.
      */
@@ -0,0 +1,352 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.schema;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.UUID;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Encodes key columns of a row into bytes whose unsigned lexicographic order matches the order of the keys, so that
+ * a storage can compare keys with a plain byte comparator instead of decoding them.
+ * <p>
+ * Columns are encoded one after another in the order of {@link SchemaDescriptor#keyColumns()}, i.e. fixed size
+ * columns go first, so composite keys are ordered by their columns in that order:
+ * <ul>
+ *     <li>Every column starts with a marker byte: {@code 0x00} for {@code null}, {@code 0x01} otherwise, so that
+ *     nulls go first.</li>
+ *     <li>Integer types are written in big-endian with the sign bit flipped.</li>
+ *     <li>Floating point types are written as their bits in big-endian with the sign bit flipped for positive values
+ *     and all bits flipped for negative ones.</li>
+ *     <li>UUIDs are written as two longs, most significant bits first, in the same way as {@link UUID#compareTo}.</li>
+ *     <li>Strings (in UTF-8) and byte arrays are written with {@code 0x00} escaped as {@code 0x00 0xFF} and terminated
+ *     with {@code 0x00 0x00}, so that a value goes before any longer value that it is a prefix of.</li>
+ *     <li>Bitmasks are written as bit strings of the fixed column length, bit {@code 0} being the most significant
+ *     bit of the first byte, so they are ordered lexicographically by their bits starting from bit {@code 0}.</li>
+ * </ul>
+ * Decimals are not supported yet.
+ */
+public final class OrderPreservingKeyEncoder {
+    /** Initial capacity of the buffer. */
+    private static final int INITIAL_CAPACITY = 32;
+
+    /** Marker of a {@code null} column. */
+    private static final byte NULL = 0x00;
+
+    /** Marker of a non-null column. */
+    private static final byte NOT_NULL = 0x01;
+
+    /** Escape byte of variable length columns. */
+    private static final byte ESCAPE = 0x00;
+
+    /** Byte that follows {@link #ESCAPE} to encode a zero byte. */
+    private static final byte ESCAPED_ZERO = (byte)0xFF;
+
+    /** Byte that follows {@link #ESCAPE} to terminate the column. */
+    private static final byte TERMINATOR = 0x00;
+
+    /** Encoded bytes. */
+    private byte[] buf;
+
+    /** Number of encoded bytes. */
+    private int len;
+
+    /**
+     * @param capacity Initial capacity.
+     */
+    private OrderPreservingKeyEncoder(int capacity) {
+        buf = new byte[capacity];
+    }
+
+    /**
+     * Checks whether all key columns can be encoded.
+     *
+     * @param keyCols Key columns.
+     * @return {@code True} if {@link #encodeKey(Row)} supports all the columns.
+     */
+    public static boolean supports(Columns keyCols) {
+        for (int i = 0; i < keyCols.length(); i++) {
+            if (!supports(keyCols.column(i)))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks whether a column can be encoded.
+     *
+     * @param col Column.
+     * @return {@code True} if the column is supported.
+     */
+    public static boolean supports(Column col) {
+        return col.type().spec() != NativeTypeSpec.DECIMAL;
+    }
+
+    /**
+     * Encodes the key columns of the row.
+     *
+     * @param row Row.
+     * @return Encoded key.
+     */
+    public static byte[] encodeKey(Row row) {
+        Columns keyCols = row.rowSchema().keyColumns();
+
+        OrderPreservingKeyEncoder enc = new OrderPreservingKeyEncoder(INITIAL_CAPACITY);
+
+        // Key columns go first in the schema, so their indexes in the row are the same as in the key columns.
+        for (int i = 0; i < keyCols.length(); i++)
+            enc.writeColumn(row, i, keyCols.column(i).type().spec());
+
+        return Arrays.copyOf(enc.buf, enc.len);
+    }
+
+    /**
+     * Encodes arbitrary columns of the row, e.g. the columns of a secondary index. Encoding of every column is not a
+     * prefix of the encoding of any other value, so the encoding of the first columns is a prefix of the encoding of
+     * all the columns, and a descending column is encoded by inverting the bits of its ascending encoding.
+     *
+     * @param row Row.
+     * @param cols Indexes of the columns in the schema of the row, negative index stands for a column that is absent
+     *      in the schema, e.g. added in a later schema version.
+     * @param descending Whether the column at the same position is ordered descending, {@code null} if all columns
+     *      are ordered ascending.
+     * @return Encoded columns.
+     */
+    public static byte[] encodeColumns(Row row, int[] cols, boolean @Nullable [] descending) {
+        assert descending == null || descending.length == cols.length;
+
+        SchemaDescriptor schema = row.rowSchema();
+
+        OrderPreservingKeyEncoder enc = new OrderPreservingKeyEncoder(INITIAL_CAPACITY);
+
+        for (int i = 0; i < cols.length; i++) {
+            int start = enc.len;
+
+            // Column that is absent in the schema of the row is encoded as null.
+            if (cols[i] < 0)
+                enc.writeByte(NULL);
+            else
+                enc.writeColumn(row, cols[i], schema.column(cols[i]).type().spec());
+
+            if (descending != null && descending[i]) {
+                for (int j = start; j < enc.len; j++)
+                    enc.buf[j] = (byte)~enc.buf[j];
+            }
+        }
+
+        return Arrays.copyOf(enc.buf, enc.len);
+    }
+
+    /**
+     * Encodes a column.
+     *
+     * @param row Row.
+     * @param col Column index.
+     * @param spec Column type.
+     */
+    private void writeColumn(Row row, int col, NativeTypeSpec spec) {
+        switch (spec) {
+            case BYTE: {
+                Byte val = row.byteValueBoxed(col);
+
+                if (writeMarker(val))
+                    writeByte(val ^ 0x80);
+
+                break;
+            }
+
+            case SHORT: {
+                Short val = row.shortValueBoxed(col);
+
+                if (writeMarker(val))
+                    writeLong(val ^ Short.MIN_VALUE, Short.BYTES);
+
+                break;
+            }
+
+            case INTEGER: {
+                Integer val = row.intValueBoxed(col);
+
+                if (writeMarker(val))
+                    writeLong(val ^ Integer.MIN_VALUE, Integer.BYTES);
+
+                break;
+            }
+
+            case LONG: {
+                Long val = row.longValueBoxed(col);
+
+                if (writeMarker(val))
+                    writeLong(val ^ Long.MIN_VALUE, Long.BYTES);
+
+                break;
+            }
+
+            case FLOAT: {
+                Float val = row.floatValueBoxed(col);
+
+                if (writeMarker(val)) {
+                    int bits = Float.floatToRawIntBits(val);
+
+                    writeLong(bits < 0 ? ~bits : bits ^ Integer.MIN_VALUE, Integer.BYTES);
+                }
+
+                break;
+            }
+
+            case DOUBLE: {
+                Double val = row.doubleValueBoxed(col);
+
+                if (writeMarker(val)) {
+                    long bits = Double.doubleToRawLongBits(val);
+
+                    writeLong(bits < 0 ? ~bits : bits ^ Long.MIN_VALUE, Long.BYTES);
+                }
+
+                break;
+            }
+
+            case UUID: {
+                UUID val = row.uuidValue(col);
+
+                if (writeMarker(val)) {
+                    writeLong(val.getMostSignificantBits() ^ Long.MIN_VALUE, Long.BYTES);
+                    writeLong(val.getLeastSignificantBits() ^ Long.MIN_VALUE, Long.BYTES);
+                }
+
+                break;
+            }
+
+            case STRING: {
+                String val = row.stringValue(col);
+
+                if (writeMarker(val))
+                    writeEscaped(val.getBytes(StandardCharsets.UTF_8));
+
+                break;
+            }
+
+            case BYTES: {
+                byte[] val = row.bytesValue(col);
+
+                if (writeMarker(val))
+                    writeEscaped(val);
+
+                break;
+            }
+
+            case BITMASK: {
+                BitSet val = row.bitmaskValue(col);
+
+                if (writeMarker(val))
+                    writeBitmask(val, row.rowSchema().column(col).type().sizeInBytes());
+
+                break;
+            }
+
+            default:
+                throw new IllegalStateException("Unsupported key column type: " + spec);
+        }
+    }
+
+    /**
+     * Writes the null marker of a column.
+     *
+     * @param val Column value.
+     * @return {@code True} if the value is not {@code null} and has to be written.
+     */
+    private boolean writeMarker(Object val) {
+        writeByte(val == null ? NULL : NOT_NULL);
+
+        return val != null;
+    }
+
+    /**
+     * Writes a variable length value with escaping.
+     *
+     * @param val Value.
+     */
+    private void writeEscaped(byte[] val) {
+        ensureCapacity(val.length + 2);
+
+        for (byte b : val) {
+            if (b == ESCAPE) {
+                writeByte(ESCAPE);
+                writeByte(ESCAPED_ZERO);
+            }
+            else
+                writeByte(b);
+        }
+
+        writeByte(ESCAPE);
+        writeByte(TERMINATOR);
+    }
+
+    /**
+     * Writes a bitmask padded with zeros to the given length, most significant bit first. {@link BitSet#toByteArray()}
+     * is not used since it is little-endian and trims trailing zero bytes.
+     *
+     * @param val Bitmask.
+     * @param size Number of bytes to write.
+     */
+    private void writeBitmask(BitSet val, int size) {
+        ensureCapacity(size);
+
+        for (int i = 0; i < size; i++) {
+            int b = 0;
+
+            for (int bit = 0; bit < Byte.SIZE; bit++) {
+                if (val.get(i * Byte.SIZE + bit))
+                    b |= 0x80 >>> bit;
+            }
+
+            writeByte(b);
+        }
+    }
+
+    /**
+     * Writes the lowest bytes of the value in big-endian.
+     *
+     * @param val Value.
+     * @param size Number of bytes to write.
+     */
+    private void writeLong(long val, int size) {
+        for (int i = size - 1; i >= 0; i--)
+            writeByte((int)(val >>> (i * Byte.SIZE)));
+    }
+
+    /**
+     * @param b Byte to write.
+     */
+    private void writeByte(int b) {
+        ensureCapacity(1);
+
+        buf[len++] = (byte)b;
+    }
+
+    /**
+     * @param size Number of bytes to be written.
+     */
+    private void ensureCapacity(int size) {
+        if (len + size > buf.length)
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + size));
+    }
+}
@@ -613,6 +613,11 @@ public class Row implements BinaryRow {
         return row.valueSlice();
     }
 
+    /** {@inheritDoc} */
+    @Override public byte[] bytes() {
+        return row.bytes();
+    }
+
     /** {@inheritDoc} */
     @Override public void writeTo(OutputStream stream) throws IOException {
         row.writeTo(stream);
@@ -20,7 +20,6 @@ package org.apache.ignite.internal.schema;
 import java.nio.charset.CharacterCodingException;
 import java.nio.charset.CharsetEncoder;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
 import java.util.BitSet;
 import java.util.UUID;
 import org.apache.ignite.internal.schema.BinaryRow.RowFlags;
@@ -72,9 +71,6 @@ public class RowAssembler {
     /** Offset of the varlen table for current chunk. */
     private int varlenTblChunkOff;
 
-    /** Row hashcode. */
-    private int keyHash;
-
     /** Flags. */
     private short flags;
 
@@ -176,7 +172,6 @@ public class RowAssembler {
 
         curCols = schema.keyColumns();
         flags = 0;
-        keyHash = 0;
         strEncoder = null;
 
         initOffsets(BinaryRow.KEY_CHUNK_OFFSET, nonNullVarlenKeyCols);
@@ -211,9 +206,6 @@ public class RowAssembler {
 
         setNull(curCol);
 
-        if (isKeyColumn())
-            keyHash *= 31;
-
         shiftColumn(0, false);
 
         return this;
@@ -230,9 +222,6 @@ public class RowAssembler {
 
         buf.put(curOff, val);
 
-        if (isKeyColumn())
-            keyHash = 31 * keyHash + Byte.hashCode(val);
-
         shiftColumn(NativeTypes.BYTE);
 
         return this;
@@ -249,9 +238,6 @@ public class RowAssembler {
 
         buf.putShort(curOff, val);
 
-        if (isKeyColumn())
-            keyHash = 31 * keyHash + Short.hashCode(val);
-
         shiftColumn(NativeTypes.SHORT);
 
         return this;
@@ -268,9 +254,6 @@ public class RowAssembler {
 
         buf.putInt(curOff, val);
 
-        if (isKeyColumn())
-            keyHash = 31 * keyHash + Integer.hashCode(val);
-
         shiftColumn(NativeTypes.INTEGER);
 
         return this;
@@ -287,9 +270,6 @@ public class RowAssembler {
 
         buf.putLong(curOff, val);
 
-        if (isKeyColumn())
-            keyHash += 31 * keyHash + Long.hashCode(val);
-
         shiftColumn(NativeTypes.LONG);
 
         return this;
@@ -306,9 +286,6 @@ public class RowAssembler {
 
         buf.putFloat(curOff, val);
 
-        if (isKeyColumn())
-            keyHash += 31 * keyHash + Float.hashCode(val);
-
         shiftColumn(NativeTypes.FLOAT);
 
         return this;
@@ -325,9 +302,6 @@ public class RowAssembler {
 
         buf.putDouble(curOff, val);
 
-        if (isKeyColumn())
-            keyHash += 31 * keyHash + Double.hashCode(val);
-
         shiftColumn(NativeTypes.DOUBLE);
 
         return this;
@@ -345,9 +319,6 @@ public class RowAssembler {
         buf.putLong(curOff, uuid.getLeastSignificantBits());
         buf.putLong(curOff + 8, uuid.getMostSignificantBits());
 
-        if (isKeyColumn())
-            keyHash += 31 * keyHash + uuid.hashCode();
-
         shiftColumn(NativeTypes.UUID);
 
         return this;
@@ -368,9 +339,6 @@ public class RowAssembler {
             if (curVarlenTblEntry != 0)
                 writeOffset(curVarlenTblEntry - 1, curOff - baseOff);
 
-            if (isKeyColumn())
-                keyHash += 31 * keyHash + val.hashCode();
-
             shiftColumn(written, true);
 
             return this;
@@ -391,9 +359,6 @@ public class RowAssembler {
 
         buf.putBytes(curOff, val);
 
-        if (isKeyColumn())
-            keyHash += 31 * keyHash + Arrays.hashCode(val);
-
         if (curVarlenTblEntry != 0)
             writeOffset(curVarlenTblEntry - 1, curOff - baseOff);
 
@@ -426,9 +391,6 @@ public class RowAssembler {
         for (int i = 0; i < maskType.sizeInBytes() - arr.length; i++)
             buf.put(curOff + arr.length + i, (byte)0);
 
-        if (isKeyColumn())
-            keyHash += 31 * keyHash + Arrays.hashCode(arr);
-
         shiftColumn(maskType);
 
         return this;
@@ -448,11 +410,21 @@ public class RowAssembler {
         }
 
         buf.putShort(BinaryRow.FLAGS_FIELD_OFFSET, flags);
-        buf.putInt(BinaryRow.KEY_HASH_FIELD_OFFSET, keyHash);
+        buf.putInt(BinaryRow.KEY_HASH_FIELD_OFFSET, keyHash());
 
         return buf.toArray();
     }
 
+    /**
+     * Computes the hash of the key chunk, which contains the same bytes in the full rows and in the key rows, so
+     * both get the same hash.
+     *
+     * @return Key hash.
+     */
+    private int keyHash() {
+        return buf.hash(BinaryRow.KEY_CHUNK_OFFSET, buf.getInt(BinaryRow.KEY_CHUNK_OFFSET));
+    }
+
     /**
      * @return UTF-8 string encoder.
      */
@@ -574,11 +546,4 @@ public class RowAssembler {
 
         curOff = varlenTblChunkOff + varlenTableChunkSize(nonNullVarlenCols);
     }
-
-    /**
-     * @return {@code true} if current column is a key column, {@code false} otherwise.
-     */
-    private boolean isKeyColumn() {
-        return schema.keyColumns() == curCols;
-    }
 }
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.benchmarks;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.internal.schema.ByteBufferRow;
+import org.apache.ignite.internal.schema.Column;
+import org.apache.ignite.internal.schema.NativeTypes;
+import org.apache.ignite.internal.schema.RowAssembler;
+import org.apache.ignite.internal.schema.SchemaDescriptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static org.apache.ignite.internal.schema.NativeTypes.INTEGER;
+import static org.apache.ignite.internal.schema.NativeTypes.LONG;
+import static org.apache.ignite.internal.schema.NativeTypes.STRING;
+
+/**
+ * Key hash benchmark. Measures the cost of assembling a key row, which includes hashing of the key chunk, for the
+ * common key shapes. The distribution of the keys over the partitions is checked by {@code KeyDistributionTest} of the
+ * table module, which has the affinity function.
+ */
+@State(Scope.Benchmark)
+@Warmup(time = 10, timeUnit = TimeUnit.SECONDS)
+@Measurement(time = 20, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+public class KeyHashBenchmarkTest {
+    /** Key shape. */
+    @Param({"INT", "LONG", "STRING", "INT_LONG", "UUID"})
+    public String keyShape;
+
+    /** Schema. */
+    private SchemaDescriptor schema;
+
+    /** Key counter. */
+    private long key;
+
+    /**
+     * Runner.
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(KeyHashBenchmarkTest.class.getSimpleName())
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    /** */
+    @Setup
+    public void init() {
+        schema = schema(keyShape);
+    }
+
+    /**
+     * Measure the cost of assembling a key row.
+     *
+     * @return Key hash.
+     */
+    @Benchmark
+    public int measureKeyRowAssembly() {
+        return new ByteBufferRow(keyRow(schema, keyShape, key++)).hash();
+    }
+
+    /**
+     * @param shape Key shape.
+     * @return Schema with the key columns of the shape.
+     */
+    private static SchemaDescriptor schema(String shape) {
+        Column[] keyCols;
+
+        switch (shape) {
+            case "INT":
+                keyCols = new Column[] {new Column("key", INTEGER, false)};
+
+                break;
+
+            case "LONG":
+                keyCols = new Column[] {new Column("key", LONG, false)};
+
+                break;
+
+            case "STRING":
+                keyCols = new Column[] {new Column("key", STRING, false)};
+
+                break;
+
+            case "INT_LONG":
+                keyCols = new Column[] {new Column("key0", INTEGER, false), new Column("key1", LONG, false)};
+
+                break;
+
+            case "UUID":
+                keyCols = new Column[] {new Column("key", NativeTypes.UUID, false)};
+
+                break;
+
+            default:
+                throw new IllegalArgumentException(shape);
+        }
+
+        return new SchemaDescriptor(UUID.randomUUID(), 1, keyCols, new Column[] {new Column("val", LONG, true)});
+    }
+
+    /**
+     * @param schema Schema.
+     * @param shape Key shape.
+     * @param k Sequence number of the key.
+     * @return Key row bytes.
+     */
+    private static byte[] keyRow(SchemaDescriptor schema, String shape, long k) {
+        switch (shape) {
+            case "INT":
+                return new RowAssembler(schema, 32, 0, 0).appendInt((int)k).build();
+
+            case "LONG":
+                return new RowAssembler(schema, 32, 0, 0).appendLong(k).build();
+
+            case "STRING":
+                return new RowAssembler(schema, 64, 1, 0).appendString("key" + k).build();
+
+            case "INT_LONG":
+                return new RowAssembler(schema, 32, 0, 0).appendInt((int)(k % 16)).appendLong(k / 16).build();
+
+            case "UUID":
+                return new RowAssembler(schema, 32, 0, 0).appendUuid(new UUID(0, k)).build();
+
+            default:
+                throw new IllegalArgumentException(shape);
+        }
+    }
+}
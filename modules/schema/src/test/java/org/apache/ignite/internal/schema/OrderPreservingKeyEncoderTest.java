@@ -0,0 +1,317 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.schema;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+import static org.apache.ignite.internal.schema.NativeTypes.BYTES;
+import static org.apache.ignite.internal.schema.NativeTypes.DOUBLE;
+import static org.apache.ignite.internal.schema.NativeTypes.INTEGER;
+import static org.apache.ignite.internal.schema.NativeTypes.LONG;
+import static org.apache.ignite.internal.schema.NativeTypes.STRING;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that encoded keys are ordered in the same way as the keys themselves.
+ */
+public class OrderPreservingKeyEncoderTest {
+    /**
+     * Checks integer keys.
+     */
+    @Test
+    public void integerKeys() {
+        checkOrder(INTEGER, Arrays.asList(null, Integer.MIN_VALUE, -256, -1, 0, 1, 255, 256, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Checks long keys.
+     */
+    @Test
+    public void longKeys() {
+        checkOrder(LONG, Arrays.asList(null, Long.MIN_VALUE, -1L << 32, -1L, 0L, 1L, 1L << 32, Long.MAX_VALUE));
+    }
+
+    /**
+     * Checks double keys.
+     */
+    @Test
+    public void doubleKeys() {
+        checkOrder(DOUBLE, Arrays.asList(
+            null,
+            Double.NEGATIVE_INFINITY,
+            -Double.MAX_VALUE,
+            -1.5,
+            -Double.MIN_VALUE,
+            -0.0,
+            0.0,
+            Double.MIN_VALUE,
+            1.5,
+            Double.MAX_VALUE,
+            Double.POSITIVE_INFINITY
+        ));
+    }
+
+    /**
+     * Checks UUID keys.
+     */
+    @Test
+    public void uuidKeys() {
+        checkOrder(NativeTypes.UUID, Arrays.asList(
+            null,
+            new UUID(Long.MIN_VALUE, 0),
+            new UUID(-1, Long.MAX_VALUE),
+            new UUID(0, Long.MIN_VALUE),
+            new UUID(0, 0),
+            new UUID(0, Long.MAX_VALUE),
+            new UUID(Long.MAX_VALUE, Long.MIN_VALUE)
+        ));
+    }
+
+    /**
+     * Checks string keys, including ones that contain zero characters and are prefixes of each other.
+     */
+    @Test
+    public void stringKeys() {
+        checkOrder(STRING, Arrays.asList(
+            null, "", "\0", "\0\0", "\0a", "a", "a\0", "a\0b", "ab", "b", "\u00e9", "\u4e2d"
+        ));
+    }
+
+    /**
+     * Checks byte array keys.
+     */
+    @Test
+    public void bytesKeys() {
+        checkOrder(BYTES, Arrays.asList(
+            null,
+            new byte[0],
+            new byte[] {0},
+            new byte[] {0, 0},
+            new byte[] {0, 1},
+            new byte[] {1},
+            new byte[] {1, 0},
+            new byte[] {(byte)0xFF},
+            new byte[] {(byte)0xFF, (byte)0xFF}
+        ));
+    }
+
+    /**
+     * Checks bitmask keys, they are ordered by their bits starting from bit 0 regardless of trailing zeros.
+     */
+    @Test
+    public void bitmaskKeys() {
+        checkOrder(NativeTypes.bitmaskOf(20), Arrays.asList(
+            null,
+            bitmask(),
+            bitmask(19),
+            bitmask(9),
+            bitmask(8),
+            bitmask(7),
+            bitmask(7, 8),
+            bitmask(1, 19),
+            bitmask(0),
+            bitmask(0, 19),
+            bitmask(0, 1)
+        ));
+    }
+
+    /**
+     * Checks that decimal keys are not supported.
+     */
+    @Test
+    public void supports() {
+        assertTrue(OrderPreservingKeyEncoder.supports(schema(STRING).keyColumns()));
+        assertFalse(OrderPreservingKeyEncoder.supports(schema(NativeTypes.decimalOf(10, 2)).keyColumns()));
+    }
+
+    /**
+     * Checks encoding of several value columns with a descending column.
+     */
+    @Test
+    public void valueColumns() {
+        SchemaDescriptor schema = new SchemaDescriptor(
+            UUID.randomUUID(),
+            1,
+            new Column[] {new Column("key", INTEGER, false)},
+            new Column[] {new Column("intVal", INTEGER, true), new Column("strVal", STRING, true)}
+        );
+
+        int[] cols = {schema.column("intVal").schemaIndex(), schema.column("strVal").schemaIndex()};
+        boolean[] desc = {true, false};
+
+        List<Row> rows = List.of(
+            valueRow(schema, 2, "a"),
+            valueRow(schema, 1, "x"),
+            valueRow(schema, 1, "y"),
+            valueRow(schema, null, "a")
+        );
+
+        byte[] prev = null;
+
+        for (Row row : rows) {
+            byte[] encoded = OrderPreservingKeyEncoder.encodeColumns(row, cols, desc);
+
+            if (prev != null)
+                assertTrue(Arrays.compareUnsigned(prev, encoded) < 0, "Wrong order of the row: " + row);
+
+            // Encoding of the first column is a prefix of the encoding of both columns.
+            byte[] first = OrderPreservingKeyEncoder.encodeColumns(row, new int[] {cols[0]}, new boolean[] {true});
+
+            assertArrayEquals(first, Arrays.copyOf(encoded, first.length));
+
+            prev = encoded;
+        }
+    }
+
+    /**
+     * Checks that the keys encoded in the given order are strictly increasing in the unsigned byte order.
+     *
+     * @param type Key type.
+     * @param vals Keys in the ascending order.
+     */
+    private static void checkOrder(NativeType type, List<Object> vals) {
+        SchemaDescriptor schema = schema(type);
+
+        byte[] prev = null;
+
+        for (Object val : vals) {
+            byte[] encoded = OrderPreservingKeyEncoder.encodeKey(keyRow(schema, val));
+
+            if (prev != null)
+                assertTrue(Arrays.compareUnsigned(prev, encoded) < 0, "Wrong order of the key: " + val);
+
+            prev = encoded;
+        }
+    }
+
+    /**
+     * @param type Key type.
+     * @return Schema with a single nullable key column of the given type.
+     */
+    private static SchemaDescriptor schema(NativeType type) {
+        return new SchemaDescriptor(
+            UUID.randomUUID(),
+            1,
+            new Column[] {new Column("key", type, true)},
+            new Column[] {new Column("val", INTEGER, true)}
+        );
+    }
+
+    /**
+     * Creates a row with the key only.
+     *
+     * @param schema Schema.
+     * @param val Key value.
+     * @return Row.
+     */
+    private static Row keyRow(SchemaDescriptor schema, Object val) {
+        NativeTypeSpec spec = schema.keyColumns().column(0).type().spec();
+
+        int varlenCols = val != null && (spec == NativeTypeSpec.STRING || spec == NativeTypeSpec.BYTES) ? 1 : 0;
+
+        RowAssembler asm = new RowAssembler(schema, 128, varlenCols, 0);
+
+        if (val == null)
+            asm.appendNull();
+        else {
+            switch (spec) {
+                case INTEGER:
+                    asm.appendInt((Integer)val);
+
+                    break;
+
+                case LONG:
+                    asm.appendLong((Long)val);
+
+                    break;
+
+                case DOUBLE:
+                    asm.appendDouble((Double)val);
+
+                    break;
+
+                case UUID:
+                    asm.appendUuid((UUID)val);
+
+                    break;
+
+                case STRING:
+                    asm.appendString((String)val);
+
+                    break;
+
+                case BYTES:
+                    asm.appendBytes((byte[])val);
+
+                    break;
+
+                case BITMASK:
+                    asm.appendBitmask((BitSet)val);
+
+                    break;
+
+                default:
+                    throw new IllegalArgumentException("Unexpected type: " + spec);
+            }
+        }
+
+        return new Row(schema, new ByteBufferRow(asm.build()));
+    }
+
+    /**
+     * @param bits Set bits.
+     * @return Bitmask.
+     */
+    private static BitSet bitmask(int... bits) {
+        BitSet set = new BitSet();
+
+        for (int bit : bits)
+            set.set(bit);
+
+        return set;
+    }
+
+    /**
+     * Creates a row with an integer and a string value columns.
+     *
+     * @param schema Schema.
+     * @param intVal Integer value.
+     * @param strVal String value.
+     * @return Row.
+     */
+    private static Row valueRow(SchemaDescriptor schema, Integer intVal, String strVal) {
+        RowAssembler asm = new RowAssembler(schema, 128, 0, 1);
+
+        asm.appendInt(0);
+
+        if (intVal == null)
+            asm.appendNull();
+        else
+            asm.appendInt(intVal);
+
+        asm.appendString(strVal);
+
+        return new Row(schema, new ByteBufferRow(asm.build()));
+    }
+}
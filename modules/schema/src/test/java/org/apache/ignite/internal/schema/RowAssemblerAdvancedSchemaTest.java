@@ -54,7 +54,7 @@ public class RowAssemblerAdvancedSchemaTest {
 
         // Last col null
         assertRowBytesEquals(
-            new byte[] {42, 0, 24, 0, -11, 43, 0, 0, 8, 0, 0, 0, 4, 11, 22, 0, 8, 0, 0, 0, 4, -44, -66, -1},
+            new byte[] {42, 0, 24, 0, -103, -63, -91, 71, 8, 0, 0, 0, 4, 11, 22, 0, 8, 0, 0, 0, 4, -44, -66, -1},
             new RowAssembler(schema, 0, 0, 0)
                 .appendByte((byte)11)
                 .appendShort((short)22)
@@ -66,7 +66,7 @@ public class RowAssemblerAdvancedSchemaTest {
 
         // First col null.
         assertRowBytesEquals(
-            new byte[] {42, 0, 24, 0, -53, 2, 0, 0, 11, 0, 0, 0, 1, 22, 0, 33, 0, 0, 0, 11, 0, 0, 0, 1, -55, -1, -66, -1, -1, -1},
+            new byte[] {42, 0, 24, 0, 68, -122, -63, -54, 11, 0, 0, 0, 1, 22, 0, 33, 0, 0, 0, 11, 0, 0, 0, 1, -55, -1, -66, -1, -1, -1},
             new RowAssembler(schema, 0, 0, 0)
                 .appendNull()
                 .appendShort((byte)22)
@@ -77,7 +77,7 @@ public class RowAssemblerAdvancedSchemaTest {
                 .build());
 
         // Middle col null.
-        assertRowBytesEquals(new byte[] {42, 0, 24, 0, 108, 41, 0, 0, 10, 0, 0, 0, 2, 11, 33, 0, 0, 0, 10, 0, 0, 0, 2, -44, -66, -1, -1, -1},
+        assertRowBytesEquals(new byte[] {42, 0, 24, 0, 70, -8, -103, -60, 10, 0, 0, 0, 2, 11, 33, 0, 0, 0, 10, 0, 0, 0, 2, -44, -66, -1, -1, -1},
             new RowAssembler(schema, 0, 0, 0)
                 .appendByte((byte)11)
                 .appendNull()
@@ -88,7 +88,7 @@ public class RowAssemblerAdvancedSchemaTest {
                 .build());
 
         // Null both.
-        assertRowBytesEquals(new byte[] {42, 0, 24, 0, 0, 0, 0, 0, 5, 0, 0, 0, 7, 5, 0, 0, 0, 7},
+        assertRowBytesEquals(new byte[] {42, 0, 24, 0, -113, -100, 97, -51, 5, 0, 0, 0, 7, 5, 0, 0, 0, 7},
             new RowAssembler(schema, 0, 0, 0)
                 .appendNull()
                 .appendNull()
@@ -99,7 +99,7 @@ public class RowAssemblerAdvancedSchemaTest {
                 .build());
 
         // No value.
-        assertRowBytesEquals(new byte[] {42, 0, 25, 0, 22, 44, 0, 0, 12, 0, 0, 0, 0, 11, 22, 0, 33, 0, 0, 0},
+        assertRowBytesEquals(new byte[] {42, 0, 25, 0, 86, -91, -97, -85, 12, 0, 0, 0, 0, 11, 22, 0, 33, 0, 0, 0},
             new RowAssembler(schema, 0, 0, 0)
                 .appendByte((byte)11)
                 .appendShort((short)22)
@@ -127,7 +127,7 @@ public class RowAssemblerAdvancedSchemaTest {
         // Last col null
         assertRowBytesEquals(
             new byte[] {
-                42, 0, 0, 0, 47, -30, -119, -81,
+                42, 0, 0, 0, -24, 19, -29, -80,
                 17, 0, 0, 0, 4, 1, 0, 12, 0, 33, -77, 120, 97, 115, 99, 105, 105,
                 21, 0, 0, 0, 4, 1, 0, 11, 0, 33, -77, -26, -120, -111, -26, -124, -101, 74, 97, 118, 97},
             new RowAssembler(schema, 25, 2, 2)
@@ -142,7 +142,7 @@ public class RowAssemblerAdvancedSchemaTest {
         // Fist col null.
         assertRowBytesEquals(
             new byte[] {
-                42, 0, 0, 0, -116, -92, 12, 98,
+                42, 0, 0, 0, 58, 61, -96, -104,
                 24, 0, 0, 0, 1, 1, 0, 14, 0, 97, 115, 99, 105, 105, -26, -120, -111, -26, -124, -101, 74, 97, 118, 97,
                 24, 0, 0, 0, 1, 1, 0, 19, 0, -26, -120, -111, -26, -124, -101, 74, 97, 118, 97, 97, 115, 99, 105, 105},
             new RowAssembler(schema, 0, 2, 2)
@@ -157,7 +157,7 @@ public class RowAssemblerAdvancedSchemaTest {
         // Middle col null.
         assertRowBytesEquals(
             new byte[] {
-                42, 0, 0, 0, -52, 97, -9, -77,
+                42, 0, 0, 0, 88, 111, -89, 28,
                 22, 0, 0, 0, 2, 1, 0, 12, 0, 33, -77, 120, -26, -120, -111, -26, -124, -101, 74, 97, 118, 97,
                 16, 0, 0, 0, 2, 1, 0, 11, 0, 33, -77, 97, 115, 99, 105, 105},
             new RowAssembler(schema, 0, 2, 2)
@@ -171,7 +171,7 @@ public class RowAssemblerAdvancedSchemaTest {
 
         // Null both.
         assertRowBytesEquals(
-            new byte[] {42, 0, 24, 0, 0, 0, 0, 0, 5, 0, 0, 0, 7, 5, 0, 0, 0, 7},
+            new byte[] {42, 0, 24, 0, -113, -100, 97, -51, 5, 0, 0, 0, 7, 5, 0, 0, 0, 7},
             new RowAssembler(schema, 0, 0, 0)
                 .appendNull()
                 .appendNull()
@@ -184,7 +184,7 @@ public class RowAssemblerAdvancedSchemaTest {
         // No value.
         assertRowBytesEquals(
             new byte[] {
-                42, 0, 17, 0, -47, -112, 1, 24,
+                42, 0, 17, 0, 66, 122, -1, 33,
                 29, 0, 0, 0, 0, 2, 0, 14, 0, 24, 0, 33, -77, 120, -26, -120, -111, -26, -124, -101, 74, 97, 118, 97, 97, 115, 99, 105, 105},
             new RowAssembler(schema, 0, 3, 0)
                 .appendBytes(new byte[] {33, -77, 120})
@@ -215,7 +215,7 @@ public class RowAssemblerAdvancedSchemaTest {
         // Check null/non-null all fixlen/varlen.
         assertRowBytesEquals(
             new byte[] {
-                42, 0, 0, 0, -85, 82, 5, 0,
+                42, 0, 0, 0, -50, 119, -4, 0,
                 12, 0, 0, 0, 12, 1, 0, 0, 0, 11, 22, 0,
                 16, 0, 0, 0, 3, 1, 0, 11, 0, 77, -88, 97, 115, 99, 105, 105},
             new RowAssembler(schema, 0, 2, 2)
@@ -232,7 +232,7 @@ public class RowAssemblerAdvancedSchemaTest {
         // Check null/non-null fixlen.
         assertRowBytesEquals(
             new byte[] {
-                42, 0, 0, 0, -20, 4, 120, -80,
+                42, 0, 0, 0, -36, 27, -76, 72,
                 23, 0, 0, 0, 1, 1, 0, 13, 0, 22, 0, 33, -44, -26, -120, -111, -26, -124, -101, 74, 97, 118, 97,
                 17, 0, 0, 0, 2, 1, 0, 12, 0, 55, 77, -88, 97, 115, 99, 105, 105},
             new RowAssembler(schema, 0, 2, 2)
@@ -249,7 +249,7 @@ public class RowAssemblerAdvancedSchemaTest {
         // Check null/non-null varlen.
         assertRowBytesEquals(
             new byte[] {
-                42, 0, 24, 0, 12, 57, 124, -80,
+                42, 0, 24, 0, 56, 11, 77, 111,
                 18, 0, 0, 0, 4, 11, 22, 0, -26, -120, -111, -26, -124, -101, 74, 97, 118, 97,
                 10, 0, 0, 0, 8, 55, 22, 0, 77, -88},
             new RowAssembler(schema, 0, 1, 1)
@@ -266,7 +266,7 @@ public class RowAssemblerAdvancedSchemaTest {
         // Check null/non-null mixed.
         assertRowBytesEquals(
             new byte[] {
-                42, 0, 24, 0, -52, -29, 123, -80,
+                42, 0, 24, 0, 30, -115, -87, 88,
                 16, 0, 0, 0, 6, 11, -26, -120, -111, -26, -124, -101, 74, 97, 118, 97,
                 9, 0, 0, 0, 9, 22, 0, 77, -88},
             new RowAssembler(schema, 0, 1, 1)
@@ -282,7 +282,7 @@ public class RowAssemblerAdvancedSchemaTest {
 
         // Check all null/non-null.
         assertRowBytesEquals(
-            new byte[] {42, 0, 16, 0, -20, 88, 125, -80,
+            new byte[] {42, 0, 16, 0, -120, -43, 122, -118,
                 24, 0, 0, 0, 0, 1, 0, 14, 0, 11, 22, 0, 33, -44, -26, -120, -111, -26, -124, -101, 74, 97, 118, 97,
                 5, 0, 0, 0, 15},
             new RowAssembler(schema, 0, 2, 0)
@@ -49,7 +49,7 @@ public class RowAssemblerSimpleSchemaTest {
             new Column[] {new Column("valIntCol", INTEGER, true)});
 
         assertRowBytesEquals(
-            new byte[] {42, 0, 26, 0, 33, 0, 0, 0, 8, 0, 0, 0, 33, 0, 0, 0, 9, 0, 0, 0, 0, -71, -1, -1, -1},
+            new byte[] {42, 0, 26, 0, 103, 95, 117, 3, 8, 0, 0, 0, 33, 0, 0, 0, 9, 0, 0, 0, 0, -71, -1, -1, -1},
             new RowAssembler(schema, 24, 0, 0)
                 .appendInt(33)
                 .appendInt(-71)
@@ -57,7 +57,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // Null value.
         assertRowBytesEquals(
-            new byte[] {42, 0, 26, 0, 33, 0, 0, 0, 8, 0, 0, 0, 33, 0, 0, 0, 5, 0, 0, 0, 1},
+            new byte[] {42, 0, 26, 0, 103, 95, 117, 3, 8, 0, 0, 0, 33, 0, 0, 0, 5, 0, 0, 0, 1},
             new RowAssembler(schema, 21, 0, 0)
                 .appendInt(33)
                 .appendNull()
@@ -65,7 +65,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // No value.
         assertRowBytesEquals(
-            new byte[] {42, 0, 27, 0, 33, 0, 0, 0, 8, 0, 0, 0, 33, 0, 0, 0},
+            new byte[] {42, 0, 27, 0, 103, 95, 117, 3, 8, 0, 0, 0, 33, 0, 0, 0},
             new RowAssembler(schema, 16, 0, 0)
                 .appendInt(33)
                 .build());
@@ -82,7 +82,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // With value.
         assertRowBytesEquals(
-            new byte[] {42, 0, 30, 0, 33, 0, 0, 0, 6, 0, 0, 0, 33, 0, 6, 0, 0, 0, -71, -1},
+            new byte[] {42, 0, 30, 0, -53, -109, 21, 3, 6, 0, 0, 0, 33, 0, 6, 0, 0, 0, -71, -1},
             new RowAssembler(schema, 20, 0, 0)
                 .appendShort((short)33)
                 .appendShort((short)-71)
@@ -90,7 +90,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // No value.
         assertRowBytesEquals(
-            new byte[] {42, 0, 31, 0, 33, 0, 0, 0, 6, 0, 0, 0, 33, 0},
+            new byte[] {42, 0, 31, 0, -53, -109, 21, 3, 6, 0, 0, 0, 33, 0},
             new RowAssembler(schema, 14, 0, 0)
                 .appendShort((short)33)
                 .build());
@@ -106,7 +106,7 @@ public class RowAssemblerSimpleSchemaTest {
             new Column[] {new Column("valStrCol", STRING, true)});
 
         assertRowBytesEquals(
-            new byte[] {42, 0, 26, 0, -33, -1, -1, -1, 6, 0, 0, 0, -33, -1, 8, 0, 0, 0, 0, 118, 97, 108},
+            new byte[] {42, 0, 26, 0, -28, -64, 108, 41, 6, 0, 0, 0, -33, -1, 8, 0, 0, 0, 0, 118, 97, 108},
             new RowAssembler(schema, 0, 0, 1)
                 .appendShort((short)-33)
                 .appendString("val")
@@ -114,7 +114,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // Null value.
         assertRowBytesEquals(
-            new byte[] {42, 0, 26, 0, 33, 0, 0, 0, 6, 0, 0, 0, 33, 0, 5, 0, 0, 0, 1},
+            new byte[] {42, 0, 26, 0, -53, -109, 21, 3, 6, 0, 0, 0, 33, 0, 5, 0, 0, 0, 1},
             new RowAssembler(schema, 0, 0, 0)
                 .appendShort((short)33)
                 .appendNull()
@@ -122,7 +122,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // No value.
         assertRowBytesEquals(
-            new byte[] {42, 0, 27, 0, 33, 0, 0, 0, 6, 0, 0, 0, 33, 0},
+            new byte[] {42, 0, 27, 0, -53, -109, 21, 3, 6, 0, 0, 0, 33, 0},
             new RowAssembler(schema, 0, 0, 0)
                 .appendShort((short)33)
                 .build());
@@ -138,7 +138,7 @@ public class RowAssemblerSimpleSchemaTest {
             new Column[] {new Column("valStrCol", STRING, false)});
 
         assertRowBytesEquals(
-            new byte[] {42, 0, 30, 0, -33, -1, -1, -1, 6, 0, 0, 0, -33, -1, 7, 0, 0, 0, 118, 97, 108},
+            new byte[] {42, 0, 30, 0, -28, -64, 108, 41, 6, 0, 0, 0, -33, -1, 7, 0, 0, 0, 118, 97, 108},
             new RowAssembler(schema, 0, 0, 1)
                 .appendShort((short)-33)
                 .appendString("val")
@@ -146,7 +146,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // No value.
         assertRowBytesEquals(
-            new byte[] {42, 0, 31, 0, 33, 0, 0, 0, 6, 0, 0, 0, 33, 0},
+            new byte[] {42, 0, 31, 0, -53, -109, 21, 3, 6, 0, 0, 0, 33, 0},
             new RowAssembler(schema, 0, 0, 0)
                 .appendShort((short)33)
                 .build());
@@ -162,7 +162,7 @@ public class RowAssemblerSimpleSchemaTest {
             new Column[] {new Column("valByteCol", BYTE, false)});
 
         assertRowBytesEquals(
-            new byte[] {42, 0, 28, 0, -33, -1, -1, -1, 7, 0, 0, 0, 0, -33, -1, 5, 0, 0, 0, 71},
+            new byte[] {42, 0, 28, 0, 82, 103, -39, -59, 7, 0, 0, 0, 0, -33, -1, 5, 0, 0, 0, 71},
             new RowAssembler(schema, 0, 0, 0)
                 .appendShort((short)-33)
                 .appendByte((byte)71)
@@ -170,7 +170,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // Null key.
         assertRowBytesEquals(
-            new byte[] {42, 0, 28, 0, 0, 0, 0, 0, 5, 0, 0, 0, 1, 5, 0, 0, 0, -71},
+            new byte[] {42, 0, 28, 0, 6, 0, 115, 96, 5, 0, 0, 0, 1, 5, 0, 0, 0, -71},
             new RowAssembler(schema, 0, 0, 0)
                 .appendNull()
                 .appendByte((byte)-71)
@@ -178,7 +178,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // No value.
         assertRowBytesEquals(
-            new byte[] {42, 0, 29, 0, 33, 0, 0, 0, 7, 0, 0, 0, 0, 33, 0},
+            new byte[] {42, 0, 29, 0, 72, 52, 71, -73, 7, 0, 0, 0, 0, 33, 0},
             new RowAssembler(schema, 0, 0, 0)
                 .appendShort((short)33)
                 .build());
@@ -195,7 +195,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // Null key.
         assertRowBytesEquals(
-            new byte[] {42, 0, 24, 0, 0, 0, 0, 0, 5, 0, 0, 0, 1, 7, 0, 0, 0, 0, 33, 0},
+            new byte[] {42, 0, 24, 0, 6, 0, 115, 96, 5, 0, 0, 0, 1, 7, 0, 0, 0, 0, 33, 0},
             new RowAssembler(schema, 0, 0, 0)
                 .appendNull()
                 .appendShort((short)33)
@@ -203,7 +203,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // Null value.
         assertRowBytesEquals(
-            new byte[] {42, 0, 24, 0, 33, 0, 0, 0, 7, 0, 0, 0, 0, 33, 0, 5, 0, 0, 0, 1},
+            new byte[] {42, 0, 24, 0, 72, 52, 71, -73, 7, 0, 0, 0, 0, 33, 0, 5, 0, 0, 0, 1},
             new RowAssembler(schema, 0, 0, 0)
                 .appendShort((short)33)
                 .appendNull()
@@ -211,7 +211,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // Null both.
         assertRowBytesEquals(
-            new byte[] {42, 0, 24, 0, 0, 0, 0, 0, 5, 0, 0, 0, 1, 5, 0, 0, 0, 1},
+            new byte[] {42, 0, 24, 0, 6, 0, 115, 96, 5, 0, 0, 0, 1, 5, 0, 0, 0, 1},
             new RowAssembler(schema, 0, 0, 0)
                 .appendNull()
                 .appendNull()
@@ -219,7 +219,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // No value.
         assertRowBytesEquals(
-            new byte[] {42, 0, 25, 0, 33, 0, 0, 0, 7, 0, 0, 0, 0, 33, 0},
+            new byte[] {42, 0, 25, 0, 72, 52, 71, -73, 7, 0, 0, 0, 0, 33, 0},
             new RowAssembler(schema, 0, 0, 0)
                 .appendShort((short)33)
                 .build());
@@ -236,7 +236,7 @@ public class RowAssemblerSimpleSchemaTest {
             new Column[] {new Column("valStrCol", STRING, true)});
 
         assertRowBytesEquals(
-            new byte[] {42, 0, 24, 0, 33, 0, 0, 0, 7, 0, 0, 0, 0, 33, 0, 8, 0, 0, 0, 0, 118, 97, 108},
+            new byte[] {42, 0, 24, 0, 72, 52, 71, -73, 7, 0, 0, 0, 0, 33, 0, 8, 0, 0, 0, 0, 118, 97, 108},
             new RowAssembler(schema, 0, 0, 1)
                 .appendShort((short)33)
                 .appendString("val")
@@ -244,7 +244,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // Null key.
         assertRowBytesEquals(
-            new byte[] {42, 0, 24, 0, 0, 0, 0, 0, 5, 0, 0, 0, 1, 8, 0, 0, 0, 0, 118, 97, 108},
+            new byte[] {42, 0, 24, 0, 6, 0, 115, 96, 5, 0, 0, 0, 1, 8, 0, 0, 0, 0, 118, 97, 108},
             new RowAssembler(schema, 0, 0, 1)
                 .appendNull()
                 .appendString("val")
@@ -252,7 +252,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // Null value.
         assertRowBytesEquals(
-            new byte[] {42, 0, 24, 0, 33, 0, 0, 0, 7, 0, 0, 0, 0, 33, 0, 5, 0, 0, 0, 1},
+            new byte[] {42, 0, 24, 0, 72, 52, 71, -73, 7, 0, 0, 0, 0, 33, 0, 5, 0, 0, 0, 1},
             new RowAssembler(schema, 0, 0, 0)
                 .appendShort((short)33)
                 .appendNull()
@@ -260,7 +260,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // Null both.
         assertRowBytesEquals(
-            new byte[] {42, 0, 24, 0, 0, 0, 0, 0, 5, 0, 0, 0, 1, 5, 0, 0, 0, 1},
+            new byte[] {42, 0, 24, 0, 6, 0, 115, 96, 5, 0, 0, 0, 1, 5, 0, 0, 0, 1},
             new RowAssembler(schema, 0, 0, 0)
                 .appendNull()
                 .appendNull()
@@ -268,7 +268,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // No value.
         assertRowBytesEquals(
-            new byte[] {42, 0, 25, 0, 33, 0, 0, 0, 7, 0, 0, 0, 0, 33, 0},
+            new byte[] {42, 0, 25, 0, 72, 52, 71, -73, 7, 0, 0, 0, 0, 33, 0},
             new RowAssembler(schema, 0, 0, 0)
                 .appendShort((short)33)
                 .build());
@@ -284,21 +284,21 @@ public class RowAssemblerSimpleSchemaTest {
             new Column[] {new Column("valStrCol", STRING, false)});
 
         assertRowBytesEquals(
-            new byte[] {42, 0, 28, 0, 33, 0, 0, 0, 6, 0, 0, 0, 0, 33, 7, 0, 0, 0, 118, 97, 108},
+            new byte[] {42, 0, 28, 0, 62, -56, 7, 7, 6, 0, 0, 0, 0, 33, 7, 0, 0, 0, 118, 97, 108},
             new RowAssembler(schema, 0, 0, 1)
                 .appendByte((byte)33)
                 .appendString("val").build());
 
         // Null key.
         assertRowBytesEquals(
-            new byte[] {42, 0, 28, 0, 0, 0, 0, 0, 5, 0, 0, 0, 1, 7, 0, 0, 0, 118, 97, 108},
+            new byte[] {42, 0, 28, 0, 6, 0, 115, 96, 5, 0, 0, 0, 1, 7, 0, 0, 0, 118, 97, 108},
             new RowAssembler(schema, 0, 0, 1)
                 .appendNull()
                 .appendString("val").build());
 
         // No value.
         assertRowBytesEquals(
-            new byte[] {42, 0, 29, 0, 33, 0, 0, 0, 6, 0, 0, 0, 0, 33},
+            new byte[] {42, 0, 29, 0, 62, -56, 7, 7, 6, 0, 0, 0, 0, 33},
             new RowAssembler(schema, 0, 0, 0)
                 .appendByte((byte)33)
                 .build());
@@ -315,7 +315,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         assertRowBytesEquals(
             new byte[] {
-                42, 0, 26, 0, 95, -98, 1, 0, 7, 0, 0, 0, 107, 101, 121,
+                42, 0, 26, 0, -128, 98, 39, -5, 7, 0, 0, 0, 107, 101, 121,
                 21, 0, 0, 0, 0, -117, -61, -31, 85, 61, -32, 57, 68, 111, 67, 56, -3, -99, -37, -58, -73},
             new RowAssembler(schema, 0, 1, 0)
                 .appendString("key")
@@ -324,7 +324,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // Null value.
         assertRowBytesEquals(
-            new byte[] {42, 0, 26, 0, 95, -98, 1, 0, 7, 0, 0, 0,107, 101, 121, 5, 0, 0, 0, 1},
+            new byte[] {42, 0, 26, 0, -128, 98, 39, -5, 7, 0, 0, 0,107, 101, 121, 5, 0, 0, 0, 1},
             new RowAssembler(schema, 0, 1, 0)
 
                 .appendString("key")
@@ -333,7 +333,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // No value.
         assertRowBytesEquals(
-            new byte[] {42, 0, 27, 0, 95, -98, 1, 0, 7, 0, 0, 0, 107, 101, 121},
+            new byte[] {42, 0, 27, 0, -128, 98, 39, -5, 7, 0, 0, 0, 107, 101, 121},
             new RowAssembler(schema, 0, 1, 0)
                 .appendString("key")
                 .build());
@@ -351,7 +351,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         assertRowBytesEquals(
             new byte[] {
-                42, 0, 30, 0, 95, -98, 1, 0, 7, 0, 0, 0, 107, 101, 121,
+                42, 0, 30, 0, -128, 98, 39, -5, 7, 0, 0, 0, 107, 101, 121,
                 20, 0, 0, 0, -117, -61, -31, 85, 61, -32, 57, 68, 111, 67, 56, -3, -99, -37, -58, -73},
             new RowAssembler(schema, 0, 1, 0)
                 .appendString("key")
@@ -360,7 +360,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // No value.
         assertRowBytesEquals(
-            new byte[] {42, 0, 31, 0, 95, -98, 1, 0, 7, 0, 0, 0, 107, 101, 121},
+            new byte[] {42, 0, 31, 0, -128, 98, 39, -5, 7, 0, 0, 0, 107, 101, 121},
             new RowAssembler(schema, 0, 1, 0)
                 .appendString("key")
                 .build());
@@ -377,7 +377,7 @@ public class RowAssemblerSimpleSchemaTest {
             new Column[] {new Column("valBytesCol", BYTES, true)});
 
         assertRowBytesEquals(
-            new byte[] {42, 0, 26, 0, 95, -98, 1, 0, 7, 0, 0, 0, 107, 101, 121, 9, 0, 0, 0, 0, -1, 1, 0, 120},
+            new byte[] {42, 0, 26, 0, -128, 98, 39, -5, 7, 0, 0, 0, 107, 101, 121, 9, 0, 0, 0, 0, -1, 1, 0, 120},
             new RowAssembler(schema, 0, 1, 1)
                 .appendString("key")
                 .appendBytes(new byte[] {-1, 1, 0, 120})
@@ -385,7 +385,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // Null value.
         assertRowBytesEquals(
-            new byte[] {42, 0, 26, 0, 95, -98, 1, 0, 7, 0, 0, 0, 107, 101, 121, 5, 0, 0, 0, 1},
+            new byte[] {42, 0, 26, 0, -128, 98, 39, -5, 7, 0, 0, 0, 107, 101, 121, 5, 0, 0, 0, 1},
             new RowAssembler(schema, 0, 1, 0)
                 .appendString("key")
                 .appendNull()
@@ -393,7 +393,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // No value.
         assertRowBytesEquals(
-            new byte[] {42, 0, 27, 0, 95, -98, 1, 0, 7, 0, 0, 0, 107, 101, 121},
+            new byte[] {42, 0, 27, 0, -128, 98, 39, -5, 7, 0, 0, 0, 107, 101, 121},
             new RowAssembler(schema, 0, 1, 0)
                 .appendString("key")
                 .build());
@@ -410,7 +410,7 @@ public class RowAssemblerSimpleSchemaTest {
             new Column[] {new Column("valBytesCol", BYTES, false)});
 
         assertRowBytesEquals(
-            new byte[] {42, 0, 30, 0, 95, -98, 1, 0, 7, 0, 0, 0, 107, 101, 121, 8, 0, 0, 0, -1, 1, 0, 120},
+            new byte[] {42, 0, 30, 0, -128, 98, 39, -5, 7, 0, 0, 0, 107, 101, 121, 8, 0, 0, 0, -1, 1, 0, 120},
             new RowAssembler(schema, 0, 1, 1)
                 .appendString("key")
                 .appendBytes(new byte[] {-1, 1, 0, 120})
@@ -418,7 +418,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // No value.
         assertRowBytesEquals(
-            new byte[] {42, 0, 31, 0, 95, -98, 1, 0, 7, 0, 0, 0, 107, 101, 121},
+            new byte[] {42, 0, 31, 0, -128, 98, 39, -5, 7, 0, 0, 0, 107, 101, 121},
             new RowAssembler(schema, 0, 1, 0)
                 .appendString("key")
                 .build());
@@ -434,7 +434,7 @@ public class RowAssemblerSimpleSchemaTest {
             new Column[] {new Column("valShortCol", SHORT, true)});
 
         assertRowBytesEquals(
-            new byte[] {42, 0, 24, 0, 95, -98, 1, 0, 8, 0, 0, 0, 0, 107, 101, 121, 7, 0, 0, 0, 0, -71, -1},
+            new byte[] {42, 0, 24, 0, 44, -47, 39, -92, 8, 0, 0, 0, 0, 107, 101, 121, 7, 0, 0, 0, 0, -71, -1},
             new RowAssembler(schema, 0, 1, 0)
                 .appendString("key")
                 .appendShort((short)-71)
@@ -442,7 +442,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // Null key.
         assertRowBytesEquals(
-            new byte[] {42, 0, 24, 0, 0, 0, 0, 0, 5, 0, 0, 0, 1, 7, 0, 0, 0, 0, 71, 0},
+            new byte[] {42, 0, 24, 0, 6, 0, 115, 96, 5, 0, 0, 0, 1, 7, 0, 0, 0, 0, 71, 0},
             new RowAssembler(schema, 0, 0, 0)
                 .appendNull()
                 .appendShort((short)71)
@@ -450,7 +450,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // Null value.
         assertRowBytesEquals(
-            new byte[] {42, 0, 24, 0, 95, -98, 1, 0, 8, 0, 0, 0, 0, 107, 101, 121, 5, 0, 0, 0, 1},
+            new byte[] {42, 0, 24, 0, 44, -47, 39, -92, 8, 0, 0, 0, 0, 107, 101, 121, 5, 0, 0, 0, 1},
             new RowAssembler(schema, 0, 1, 0)
                 .appendString("key")
                 .appendNull()
@@ -458,7 +458,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // Null both.
         assertRowBytesEquals(
-            new byte[] {42, 0, 24, 0, 0, 0, 0, 0, 5, 0, 0, 0, 1, 5, 0, 0, 0, 1},
+            new byte[] {42, 0, 24, 0, 6, 0, 115, 96, 5, 0, 0, 0, 1, 5, 0, 0, 0, 1},
             new RowAssembler(schema, 0, 0, 0)
                 .appendNull()
                 .appendNull()
@@ -466,7 +466,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // No value.
         assertRowBytesEquals(
-            new byte[] {42, 0, 25, 0, 95, -98, 1, 0, 8, 0, 0, 0, 0, 107, 101, 121},
+            new byte[] {42, 0, 25, 0, 44, -47, 39, -92, 8, 0, 0, 0, 0, 107, 101, 121},
             new RowAssembler(schema, 0, 1, 0)
                 .appendString("key")
                 .build());
@@ -483,7 +483,7 @@ public class RowAssemblerSimpleSchemaTest {
             new Column[] {new Column("valShortCol", SHORT, false)});
 
         assertRowBytesEquals(
-            new byte[] {42, 0, 28, 0, 95, -98, 1, 0, 8, 0, 0, 0, 0, 107, 101, 121, 6, 0, 0, 0, -71, -1},
+            new byte[] {42, 0, 28, 0, 44, -47, 39, -92, 8, 0, 0, 0, 0, 107, 101, 121, 6, 0, 0, 0, -71, -1},
             new RowAssembler(schema, 0, 1, 0)
                 .appendString("key")
                 .appendShort((short)-71L)
@@ -491,7 +491,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // Null key.
         assertRowBytesEquals(
-            new byte[] {42, 0, 28, 0, 0, 0, 0, 0, 5, 0, 0, 0, 1, 6, 0, 0, 0, 71, 0},
+            new byte[] {42, 0, 28, 0, 6, 0, 115, 96, 5, 0, 0, 0, 1, 6, 0, 0, 0, 71, 0},
             new RowAssembler(schema, 0, 0, 0)
                 .appendNull()
                 .appendShort((short)71)
@@ -499,7 +499,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // No value.
         assertRowBytesEquals(
-            new byte[] {42, 0, 29, 0, 95, -98, 1, 0, 8, 0, 0, 0, 0, 107, 101, 121},
+            new byte[] {42, 0, 29, 0, 44, -47, 39, -92, 8, 0, 0, 0, 0, 107, 101, 121},
             new RowAssembler(schema, 0, 1, 0)
                 .appendString("key")
                 .build());
@@ -515,7 +515,7 @@ public class RowAssemblerSimpleSchemaTest {
             new Column[] {new Column("valBytesCol", BYTES, true)});
 
         assertRowBytesEquals(
-            new byte[] {42, 0, 24, 0, 95, -98, 1, 0, 8, 0, 0, 0, 0, 107, 101, 121, 9, 0, 0, 0, 0, -1, 1, 0, 120},
+            new byte[] {42, 0, 24, 0, 44, -47, 39, -92, 8, 0, 0, 0, 0, 107, 101, 121, 9, 0, 0, 0, 0, -1, 1, 0, 120},
             new RowAssembler(schema, 0, 1, 1)
                 .appendString("key")
                 .appendBytes(new byte[] {-1, 1, 0, 120})
@@ -523,7 +523,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // Null key.
         assertRowBytesEquals(
-            new byte[] {42, 0, 24, 0, 0, 0, 0, 0, 5, 0, 0, 0, 1, 9, 0, 0, 0, 0, -1, 1, 0, 120},
+            new byte[] {42, 0, 24, 0, 6, 0, 115, 96, 5, 0, 0, 0, 1, 9, 0, 0, 0, 0, -1, 1, 0, 120},
             new RowAssembler(schema, 0, 0, 1)
                 .appendNull()
                 .appendBytes(new byte[] {-1, 1, 0, 120})
@@ -531,7 +531,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // Null value.
         assertRowBytesEquals(
-            new byte[] {42, 0, 24, 0, 95, -98, 1, 0, 8, 0, 0, 0, 0, 107, 101, 121, 5, 0, 0, 0, 1},
+            new byte[] {42, 0, 24, 0, 44, -47, 39, -92, 8, 0, 0, 0, 0, 107, 101, 121, 5, 0, 0, 0, 1},
             new RowAssembler(schema, 0, 1, 0)
                 .appendString("key")
                 .appendNull()
@@ -539,7 +539,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // Null both.
         assertRowBytesEquals(
-            new byte[] {42, 0, 24, 0, 0, 0, 0, 0, 5, 0, 0, 0, 1, 5, 0, 0, 0, 1},
+            new byte[] {42, 0, 24, 0, 6, 0, 115, 96, 5, 0, 0, 0, 1, 5, 0, 0, 0, 1},
             new RowAssembler(schema, 0, 0, 0)
                 .appendNull()
                 .appendNull()
@@ -547,7 +547,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // No value.
         assertRowBytesEquals(
-            new byte[] {42, 0, 25, 0, 95, -98, 1, 0, 8, 0, 0, 0, 0, 107, 101, 121},
+            new byte[] {42, 0, 25, 0, 44, -47, 39, -92, 8, 0, 0, 0, 0, 107, 101, 121},
             new RowAssembler(schema, 0, 1, 0)
                 .appendString("key")
                 .build());
@@ -563,7 +563,7 @@ public class RowAssemblerSimpleSchemaTest {
             new Column[] {new Column("valBytesCol", BYTES, false)});
 
         assertRowBytesEquals(
-            new byte[] {42, 0, 28, 0, 95, -98, 1, 0, 8, 0, 0, 0, 0, 107, 101, 121, 8, 0, 0, 0, -1, 1, 0, 120},
+            new byte[] {42, 0, 28, 0, 44, -47, 39, -92, 8, 0, 0, 0, 0, 107, 101, 121, 8, 0, 0, 0, -1, 1, 0, 120},
             new RowAssembler(schema, 0, 1, 1)
                 .appendString("key")
                 .appendBytes(new byte[] {-1, 1, 0, 120})
@@ -571,7 +571,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // Null key.
         assertRowBytesEquals(
-            new byte[] {42, 0, 28, 0, 0, 0, 0, 0, 5, 0, 0, 0, 1, 8, 0, 0, 0, -1, 1, 0, 120},
+            new byte[] {42, 0, 28, 0, 6, 0, 115, 96, 5, 0, 0, 0, 1, 8, 0, 0, 0, -1, 1, 0, 120},
             new RowAssembler(schema, 0, 0, 1)
                 .appendNull()
                 .appendBytes(new byte[] {-1, 1, 0, 120})
@@ -579,7 +579,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // No value.
         assertRowBytesEquals(
-            new byte[] {42, 0, 29, 0, 95, -98, 1, 0, 8, 0, 0, 0, 0, 107, 101, 121},
+            new byte[] {42, 0, 29, 0, 44, -47, 39, -92, 8, 0, 0, 0, 0, 107, 101, 121},
             new RowAssembler(schema, 0, 1, 0)
                 .appendString("key")
                 .build());
@@ -601,7 +601,7 @@ public class RowAssemblerSimpleSchemaTest {
             });
 
         assertRowBytesEquals(new byte[] {
-                42, 0, 26, 0, -110, -109, 94, -68,
+                42, 0, 26, 0, 53, -41, 7, -13,
                 12, 0, 0, 0, 33, 0, 107, 101, 121, 115, 116, 114,
                 15, 0, 0, 0, 0, 73, 0, 0, 0, 118, 97, 108, 115, 116, 114},
             new RowAssembler(schema, 0, 1, 1)
@@ -613,7 +613,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // Null value.
         assertRowBytesEquals(new byte[] {
-                42, 0, 26, 0, 32, 99, 115, -49,
+                42, 0, 26, 0, 15, -19, 117, 15,
                 13, 0, 0, 0, 33, 0, 107, 101, 121, 115, 116, 114, 50,
                 5, 0, 0, 0, 3},
             new RowAssembler(schema, 0, 1, 0)
@@ -625,7 +625,7 @@ public class RowAssemblerSimpleSchemaTest {
 
         // No value.
         assertRowBytesEquals(new byte[] {
-                42, 0, 27, 0, -110, -109, 94, -68,
+                42, 0, 27, 0, 53, -41, 7, -13,
                 12, 0, 0, 0, 33, 0, 107, 101, 121, 115, 116, 114},
             new RowAssembler(schema, 0, 1, 0)
                 .appendShort((short)33)
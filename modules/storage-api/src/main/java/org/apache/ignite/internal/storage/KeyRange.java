@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.storage;
+
+import java.nio.ByteBuffer;
+import java.util.Comparator;
+import org.apache.ignite.internal.tostring.S;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Range of keys to be scanned by {@link Storage#scan(KeyRange)}. Bounds are compared with the comparator of the
+ * storage. Prefix ranges rely on the comparator being lexicographic, i.e. keys that start with the same prefix are
+ * placed right after the prefix itself and next to each other.
+ */
+public final class KeyRange {
+    /** Range that contains all keys. */
+    private static final KeyRange ALL = new KeyRange(null, false, null, false, null, false);
+
+    /** Lower bound, {@code null} if the range is not bounded from below. */
+    private final byte @Nullable [] lower;
+
+    /** Whether the lower bound is included into the range. */
+    private final boolean lowerInclusive;
+
+    /** Upper bound, {@code null} if the range is not bounded from above. */
+    private final byte @Nullable [] upper;
+
+    /** Whether the upper bound is included into the range. */
+    private final boolean upperInclusive;
+
+    /** Prefix of all keys in the range, {@code null} if keys are not restricted by a prefix. */
+    private final byte @Nullable [] prefix;
+
+    /** Whether keys are returned in descending order. */
+    private final boolean reverse;
+
+    /**
+     * Constructor.
+     *
+     * @param lower Lower bound.
+     * @param lowerInclusive Whether the lower bound is included into the range.
+     * @param upper Upper bound.
+     * @param upperInclusive Whether the upper bound is included into the range.
+     * @param prefix Prefix of all keys in the range.
+     * @param reverse Whether keys are returned in descending order.
+     */
+    private KeyRange(
+        byte @Nullable [] lower,
+        boolean lowerInclusive,
+        byte @Nullable [] upper,
+        boolean upperInclusive,
+        byte @Nullable [] prefix,
+        boolean reverse
+    ) {
+        this.lower = lower;
+        this.lowerInclusive = lowerInclusive;
+        this.upper = upper;
+        this.upperInclusive = upperInclusive;
+        this.prefix = prefix;
+        this.reverse = reverse;
+    }
+
+    /**
+     * @return Range that contains all keys.
+     */
+    public static KeyRange all() {
+        return ALL;
+    }
+
+    /**
+     * Creates a range between two keys.
+     *
+     * @param lower Lower bound, {@code null} if the range is not bounded from below.
+     * @param lowerInclusive Whether the lower bound is included into the range.
+     * @param upper Upper bound, {@code null} if the range is not bounded from above.
+     * @param upperInclusive Whether the upper bound is included into the range.
+     * @return Key range.
+     */
+    public static KeyRange range(
+        @Nullable SearchRow lower,
+        boolean lowerInclusive,
+        @Nullable SearchRow upper,
+        boolean upperInclusive
+    ) {
+        return new KeyRange(
+            lower == null ? null : lower.keyBytes(),
+            lowerInclusive,
+            upper == null ? null : upper.keyBytes(),
+            upperInclusive,
+            null,
+            false
+        );
+    }
+
+    /**
+     * Creates a range of all keys that start with the given prefix.
+     *
+     * @param prefix Key prefix.
+     * @return Key range.
+     */
+    public static KeyRange prefix(SearchRow prefix) {
+        byte[] prefixBytes = prefix.keyBytes();
+
+        assert prefixBytes != null;
+
+        return new KeyRange(prefixBytes, true, null, false, prefixBytes, false);
+    }
+
+    /**
+     * @return Same range that returns keys in the descending order.
+     */
+    public KeyRange reverse() {
+        return new KeyRange(lower, lowerInclusive, upper, upperInclusive, prefix, true);
+    }
+
+    /**
+     * @return Lower bound, {@code null} if the range is not bounded from below.
+     */
+    public byte @Nullable [] lower() {
+        return lower;
+    }
+
+    /**
+     * @return Whether the lower bound is included into the range.
+     */
+    public boolean lowerInclusive() {
+        return lowerInclusive;
+    }
+
+    /**
+     * @return Upper bound, {@code null} if the range is not bounded from above.
+     */
+    public byte @Nullable [] upper() {
+        return upper;
+    }
+
+    /**
+     * @return Whether the upper bound is included into the range.
+     */
+    public boolean upperInclusive() {
+        return upperInclusive;
+    }
+
+    /**
+     * @return Prefix of all keys in the range, {@code null} if keys are not restricted by a prefix.
+     */
+    public byte @Nullable [] prefix() {
+        return prefix;
+    }
+
+    /**
+     * @return Whether keys are returned in descending order.
+     */
+    public boolean isReverse() {
+        return reverse;
+    }
+
+    /**
+     * Checks whether the key is above the lower bound of the range.
+     *
+     * @param key Key buffer, from the position to the limit. Buffer is not modified.
+     * @param cmp Keys comparator.
+     * @return {@code True} if the range is not bounded from below or the key satisfies the lower bound.
+     */
+    public boolean aboveLower(ByteBuffer key, Comparator<ByteBuffer> cmp) {
+        if (lower == null)
+            return true;
+
+        int res = cmp.compare(key, ByteBuffer.wrap(lower));
+
+        return lowerInclusive ? res >= 0 : res > 0;
+    }
+
+    /**
+     * Checks whether the key is below the upper bound of the range.
+     *
+     * @param key Key buffer, from the position to the limit. Buffer is not modified.
+     * @param cmp Keys comparator.
+     * @return {@code True} if the range is not bounded from above or the key satisfies the upper bound.
+     */
+    public boolean belowUpper(ByteBuffer key, Comparator<ByteBuffer> cmp) {
+        if (upper == null)
+            return true;
+
+        int res = cmp.compare(key, ByteBuffer.wrap(upper));
+
+        return upperInclusive ? res <= 0 : res < 0;
+    }
+
+    /**
+     * Checks whether the key starts with the prefix of the range.
+     *
+     * @param key Key buffer, from the position to the limit. Buffer is not modified.
+     * @return {@code True} if keys are not restricted by a prefix or the key starts with it.
+     */
+    public boolean matchesPrefix(ByteBuffer key) {
+        if (prefix == null)
+            return true;
+
+        if (key.remaining() < prefix.length)
+            return false;
+
+        int pos = key.position();
+
+        for (int i = 0; i < prefix.length; i++) {
+            if (key.get(pos + i) != prefix[i])
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks whether the key belongs to the range.
+     *
+     * @param key Key buffer, from the position to the limit. Buffer is not modified.
+     * @param cmp Keys comparator.
+     * @return {@code True} if the key belongs to the range.
+     */
+    public boolean contains(ByteBuffer key, Comparator<ByteBuffer> cmp) {
+        return matchesPrefix(key) && aboveLower(key, cmp) && belowUpper(key, cmp);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(KeyRange.class, this);
+    }
+}
@@ -17,13 +17,18 @@
 
 package org.apache.ignite.internal.storage;
 
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import org.apache.ignite.internal.util.Cursor;
+import org.jetbrains.annotations.NotNull;
 
 /**
  * Interface providing methods to read, remove and update keys in storage.
  */
-public interface Storage {
+public interface Storage extends AutoCloseable {
     /**
      * Reads a DataRow for a given key.
      *
@@ -33,6 +38,27 @@ public interface Storage {
      */
     public DataRow read(SearchRow key) throws StorageException;
 
+    /**
+     * Reads a DataRow for a given key and passes it to the reader. The row is only valid until the reader returns, so
+     * it allows the storage to avoid copying the data into a new row. The reader must not access the storage.
+     *
+     * @param key Search row.
+     * @param reader Function that extracts the result from the row.
+     * @param <T> Type of the result.
+     * @return Result of the reader.
+     * @throws StorageException If failed to read data or storage is already stopped.
+     */
+    public <T> T readView(SearchRow key, Function<? super DataRow, T> reader) throws StorageException;
+
+    /**
+     * Reads DataRows for the given keys.
+     *
+     * @param keys Search rows.
+     * @return Data rows in the same order as the keys. Value of a row is {@code null} if there is no such key.
+     * @throws StorageException If failed to read data or storage is already stopped.
+     */
+    public List<DataRow> readAll(List<? extends SearchRow> keys) throws StorageException;
+
     /**
      * Writes a DataRow to the storage.
      *
@@ -41,6 +67,15 @@ public interface Storage {
      */
     public void write(DataRow row) throws StorageException;
 
+    /**
+     * Writes a batch of DataRows to the storage. Allows an implementation to apply the whole batch at once, e.g. with
+     * a single write to the WAL.
+     *
+     * @param rows Data rows.
+     * @throws StorageException If failed to write data or storage is already stopped.
+     */
+    public void writeAll(List<? extends DataRow> rows) throws StorageException;
+
     /**
      * Removes a DataRow associated with a given Key.
      *
@@ -49,6 +84,15 @@ public interface Storage {
      */
     public void remove(SearchRow key) throws StorageException;
 
+    /**
+     * Removes DataRows associated with the given keys. Allows an implementation to apply the whole batch at once, e.g.
+     * with a single write to the WAL.
+     *
+     * @param keys Search rows.
+     * @throws StorageException If failed to remove data or storage is already stopped.
+     */
+    public void removeAll(List<? extends SearchRow> keys) throws StorageException;
+
     /**
      * Executes an update with custom logic implemented by storage.UpdateClosure interface.
      *
@@ -58,6 +102,17 @@ public interface Storage {
      */
     public void invoke(SearchRow key, InvokeClosure clo) throws StorageException;
 
+    /**
+     * Executes a batch of updates with custom logic. Closure at the {@code i}-th position is called for the key at the
+     * same position. A closure observes the results of the preceding closures of the same batch, so a key may appear
+     * in the batch more than once.
+     *
+     * @param keys Search keys.
+     * @param clos Invoke closures, one per key.
+     * @throws StorageException If failed to read data or storage is already stopped.
+     */
+    public void invokeAll(List<? extends SearchRow> keys, List<? extends InvokeClosure> clos) throws StorageException;
+
     /**
      * Creates cursor over the storage data.
      *
@@ -66,5 +121,44 @@ public interface Storage {
      * @throws StorageException If failed to read data or storage is already stopped.
      */
     public Cursor<DataRow> scan(Predicate<SearchRow> filter) throws StorageException;
+
+    /**
+     * Creates cursor over the storage data within the key range. Unlike {@link #scan(Predicate)}, keys outside of the
+     * range are not visited at all.
+     *
+     * @param range Key range.
+     * @return Cursor with data in the key order, ascending or descending depending on {@link KeyRange#isReverse()}.
+     * @throws StorageException If failed to read data or storage is already stopped.
+     */
+    public Cursor<DataRow> scan(KeyRange range) throws StorageException;
+
+    /**
+     * Same as {@link #scan(KeyRange)}, but the cursor may return the same row instance for all entries, pointing it
+     * to the storage's internal buffers. A row is only valid until the next call to any method of the cursor, so
+     * the data that is needed afterwards must be copied.
+     *
+     * @param range Key range.
+     * @return Cursor with data in the key order, ascending or descending depending on {@link KeyRange#isReverse()}.
+     * @throws StorageException If failed to read data or storage is already stopped.
+     */
+    public Cursor<DataRow> scanView(KeyRange range) throws StorageException;
+
+    /**
+     * Creates a snapshot of the storage's current state in the specified directory.
+     *
+     * @param snapshotPath Directory to store a snapshot. All snapshot files are placed directly into it.
+     * @return Future representing pending completion of the operation. Can not be {@code null}.
+     */
+    @NotNull
+    public CompletableFuture<Void> snapshot(Path snapshotPath);
+
+    /**
+     * Restores a state of the storage which was previously captured with a {@link #snapshot(Path)}.
+     * All data that is currently in the storage is discarded.
+     *
+     * @param snapshotPath Path to the snapshot's directory.
+     * @throws StorageException If failed to restore the snapshot.
+     */
+    public void restoreSnapshot(Path snapshotPath) throws StorageException;
 }
 
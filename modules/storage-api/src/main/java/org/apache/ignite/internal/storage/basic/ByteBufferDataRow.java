@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.storage.basic;
+
+import java.nio.ByteBuffer;
+import org.apache.ignite.internal.storage.DataRow;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Mutable {@link DataRow} that is a view over buffers owned by someone else, e.g. reusable direct buffers of a storage
+ * cursor. The same instance is reset for every row, so it must not be retained: {@link #keyBytes()} and
+ * {@link #valueBytes()} can be used to get a copy of the data. Buffers returned by {@link #key()} and {@link #value()}
+ * span the whole key or value from the position to the limit and must not be modified.
+ */
+public class ByteBufferDataRow implements DataRow {
+    /** Key buffer. */
+    private ByteBuffer key;
+
+    /** Value buffer. */
+    @Nullable
+    private ByteBuffer value;
+
+    /**
+     * Points the row to new data.
+     *
+     * @param key Key buffer.
+     * @param value Value buffer, {@code null} if there is no value.
+     * @return {@code this} for chaining.
+     */
+    public ByteBufferDataRow set(ByteBuffer key, @Nullable ByteBuffer value) {
+        this.key = key;
+        this.value = value;
+
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override public ByteBuffer key() {
+        return key;
+    }
+
+    /** {@inheritDoc} */
+    @Override public byte[] keyBytes() {
+        return toBytes(key);
+    }
+
+    /** {@inheritDoc} */
+    @Nullable
+    @Override public ByteBuffer value() {
+        return value;
+    }
+
+    /** {@inheritDoc} */
+    @Override public byte @Nullable [] valueBytes() {
+        return value == null ? null : toBytes(value);
+    }
+
+    /**
+     * Returns the content of the buffer as an array. Array is only copied if the buffer does not wrap it entirely.
+     *
+     * @param buf Buffer.
+     * @return Buffer content.
+     */
+    private static byte[] toBytes(ByteBuffer buf) {
+        if (buf.hasArray() && buf.arrayOffset() == 0 && buf.position() == 0 && buf.limit() == buf.array().length)
+            return buf.array();
+
+        byte[] bytes = new byte[buf.remaining()];
+
+        buf.duplicate().get(bytes);
+
+        return bytes;
+    }
+}
@@ -17,14 +17,27 @@
 
 package org.apache.ignite.internal.storage.basic;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import org.apache.ignite.internal.storage.DataRow;
 import org.apache.ignite.internal.storage.InvokeClosure;
+import org.apache.ignite.internal.storage.KeyRange;
 import org.apache.ignite.internal.storage.SearchRow;
 import org.apache.ignite.internal.storage.Storage;
 import org.apache.ignite.internal.storage.StorageException;
@@ -36,12 +49,32 @@ import org.jetbrains.annotations.NotNull;
  * Storage implementation based on {@link ConcurrentHashMap}.
  */
 public class ConcurrentHashMapStorage implements Storage {
+    /** Name of the snapshot file. */
+    private static final String SNAPSHOT_FILE = "snapshot_file";
+
     /** Storage content. */
     private final ConcurrentMap<ByteArray, byte[]> map = new ConcurrentHashMap<>();
 
     /** RW lock. */
     private final ReadWriteLock rwLock = new ReentrantReadWriteLock();
 
+    /** Keys comparator, used to order the data in range scans. */
+    private final Comparator<ByteBuffer> comparator;
+
+    /**
+     * Creates a storage that orders keys with {@link ByteBuffer#compareTo(ByteBuffer)} in range scans.
+     */
+    public ConcurrentHashMapStorage() {
+        this(ByteBuffer::compareTo);
+    }
+
+    /**
+     * @param comparator Keys comparator, used to order the data in range scans.
+     */
+    public ConcurrentHashMapStorage(Comparator<ByteBuffer> comparator) {
+        this.comparator = comparator;
+    }
+
     /** {@inheritDoc} */
     @Override public DataRow read(SearchRow key) throws StorageException {
         byte[] keyBytes = key.keyBytes();
@@ -51,6 +84,21 @@ public class ConcurrentHashMapStorage implements Storage {
         return new SimpleDataRow(keyBytes, valueBytes);
     }
 
+    /** {@inheritDoc} */
+    @Override public <T> T readView(SearchRow key, Function<? super DataRow, T> reader) throws StorageException {
+        return reader.apply(read(key));
+    }
+
+    /** {@inheritDoc} */
+    @Override public List<DataRow> readAll(List<? extends SearchRow> keys) throws StorageException {
+        List<DataRow> res = new ArrayList<>(keys.size());
+
+        for (SearchRow key : keys)
+            res.add(read(key));
+
+        return res;
+    }
+
     /** {@inheritDoc} */
     @Override public void write(DataRow row) throws StorageException {
         rwLock.readLock().lock();
@@ -63,6 +111,19 @@ public class ConcurrentHashMapStorage implements Storage {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public void writeAll(List<? extends DataRow> rows) throws StorageException {
+        rwLock.readLock().lock();
+
+        try {
+            for (DataRow row : rows)
+                map.put(new ByteArray(row.keyBytes()), row.valueBytes());
+        }
+        finally {
+            rwLock.readLock().unlock();
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public void remove(SearchRow key) throws StorageException {
         rwLock.readLock().lock();
@@ -75,39 +136,63 @@ public class ConcurrentHashMapStorage implements Storage {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public void removeAll(List<? extends SearchRow> keys) throws StorageException {
+        rwLock.readLock().lock();
+
+        try {
+            for (SearchRow key : keys)
+                map.remove(new ByteArray(key.keyBytes()));
+        }
+        finally {
+            rwLock.readLock().unlock();
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public void invoke(SearchRow key, InvokeClosure clo) throws StorageException {
         byte[] keyBytes = key.keyBytes();
 
         ByteArray mapKey = new ByteArray(keyBytes);
 
-        rwLock.writeLock().lock();
+        rwLock.readLock().lock();
 
         try {
-            byte[] existingDataBytes = map.get(mapKey);
-
-            clo.call(new SimpleDataRow(keyBytes, existingDataBytes));
-
-            switch (clo.operationType()) {
-                case WRITE:
-                    map.put(mapKey, clo.newRow().valueBytes());
+            // Compute is atomic for a single key, so invokes on different keys are not serialized.
+            map.compute(mapKey, (k, existingDataBytes) -> {
+                clo.call(new SimpleDataRow(keyBytes, existingDataBytes));
 
-                    break;
+                switch (clo.operationType()) {
+                    case WRITE:
+                        return clo.newRow().valueBytes();
 
-                case REMOVE:
-                    map.remove(mapKey);
+                    case REMOVE:
+                        return null;
 
-                    break;
+                    case NOOP:
+                        return existingDataBytes;
 
-                case NOOP:
-                    break;
-            }
+                    default:
+                        throw new StorageException("Unknown operation type: " + clo.operationType());
+                }
+            });
         }
         finally {
-            rwLock.writeLock().unlock();
+            rwLock.readLock().unlock();
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public void invokeAll(
+        List<? extends SearchRow> keys,
+        List<? extends InvokeClosure> clos
+    ) throws StorageException {
+        assert keys.size() == clos.size();
+
+        for (int i = 0; i < keys.size(); i++)
+            invoke(keys.get(i), clos.get(i));
+    }
+
     /** {@inheritDoc} */
     @Override public Cursor<DataRow> scan(Predicate<SearchRow> filter) throws StorageException {
         Iterator<SimpleDataRow> iter = map.entrySet().stream()
@@ -115,6 +200,36 @@ public class ConcurrentHashMapStorage implements Storage {
             .filter(filter)
             .iterator();
 
+        return cursor(iter);
+    }
+
+    /** {@inheritDoc} */
+    @Override public Cursor<DataRow> scan(KeyRange range) throws StorageException {
+        Comparator<DataRow> rowComparator = Comparator.comparing(DataRow::key, comparator);
+
+        // Map is not ordered, so the whole content has to be filtered and sorted.
+        Iterator<DataRow> iter = map.entrySet().stream()
+            .filter(e -> range.contains(ByteBuffer.wrap(e.getKey().bytes()), comparator))
+            .<DataRow>map(e -> new SimpleDataRow(e.getKey().bytes(), e.getValue()))
+            .sorted(range.isReverse() ? rowComparator.reversed() : rowComparator)
+            .iterator();
+
+        return cursor(iter);
+    }
+
+    /** {@inheritDoc} */
+    @Override public Cursor<DataRow> scanView(KeyRange range) throws StorageException {
+        // Rows already share the arrays with the map, nothing to reuse.
+        return scan(range);
+    }
+
+    /**
+     * Wraps an iterator into a cursor.
+     *
+     * @param iter Iterator.
+     * @return Cursor.
+     */
+    private static Cursor<DataRow> cursor(Iterator<? extends DataRow> iter) {
         return new Cursor<>() {
             /** {@inheritDoc} */
             @Override public boolean hasNext() {
@@ -137,4 +252,64 @@ public class ConcurrentHashMapStorage implements Storage {
             }
         };
     }
+
+    /** {@inheritDoc} */
+    @Override public @NotNull CompletableFuture<Void> snapshot(Path snapshotPath) {
+        List<byte[]> keys = new ArrayList<>();
+        List<byte[]> values = new ArrayList<>();
+
+        // Write lock guarantees that no updates are applied while the content is being copied.
+        rwLock.writeLock().lock();
+
+        try {
+            for (Map.Entry<ByteArray, byte[]> e : map.entrySet()) {
+                keys.add(e.getKey().bytes());
+                values.add(e.getValue());
+            }
+        }
+        finally {
+            rwLock.writeLock().unlock();
+        }
+
+        return CompletableFuture.runAsync(() -> {
+            try (ObjectOutputStream out = new ObjectOutputStream(
+                Files.newOutputStream(snapshotPath.resolve(SNAPSHOT_FILE)))
+            ) {
+                out.writeObject(keys);
+                out.writeObject(values);
+            }
+            catch (IOException e) {
+                throw new StorageException("Failed to create a snapshot", e);
+            }
+        });
+    }
+
+    /** {@inheritDoc} */
+    @SuppressWarnings("unchecked")
+    @Override public void restoreSnapshot(Path snapshotPath) throws StorageException {
+        rwLock.writeLock().lock();
+
+        try (ObjectInputStream in = new ObjectInputStream(
+            Files.newInputStream(snapshotPath.resolve(SNAPSHOT_FILE)))
+        ) {
+            List<byte[]> keys = (List<byte[]>)in.readObject();
+            List<byte[]> values = (List<byte[]>)in.readObject();
+
+            map.clear();
+
+            for (int i = 0; i < keys.size(); i++)
+                map.put(new ByteArray(keys.get(i)), values.get(i));
+        }
+        catch (IOException | ClassNotFoundException e) {
+            throw new StorageException("Failed to restore a snapshot", e);
+        }
+        finally {
+            rwLock.writeLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        // No-op.
+    }
 }
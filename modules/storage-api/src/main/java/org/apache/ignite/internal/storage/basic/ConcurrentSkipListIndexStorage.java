@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.storage.basic;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import org.apache.ignite.internal.storage.KeyRange;
+import org.apache.ignite.internal.storage.StorageException;
+import org.apache.ignite.internal.storage.index.IndexRow;
+import org.apache.ignite.internal.storage.index.IndexStorage;
+import org.apache.ignite.internal.util.Cursor;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * In-memory index storage based on a {@link ConcurrentSkipListMap} from the index bytes to the sets of primary keys.
+ * Index bytes are compared as unsigned byte sequences, so the values of the indexed columns have to be encoded in an
+ * order-preserving way. Updates of the same index bytes must be serialized by the caller, as it happens when the
+ * updates are applied by the partition listener. Range cursors are lock-free and weakly consistent.
+ */
+public class ConcurrentSkipListIndexStorage implements IndexStorage {
+    /** Index content. */
+    private final ConcurrentSkipListMap<byte[], NavigableSet<byte[]>> map =
+        new ConcurrentSkipListMap<>(Arrays::compareUnsigned);
+
+    /** {@inheritDoc} */
+    @Override public void put(IndexRow row) throws StorageException {
+        map.computeIfAbsent(row.indexBytes(), k -> new ConcurrentSkipListSet<>(Arrays::compareUnsigned))
+            .add(row.primaryKeyBytes());
+    }
+
+    /** {@inheritDoc} */
+    @Override public void remove(IndexRow row) throws StorageException {
+        map.computeIfPresent(row.indexBytes(), (k, keys) -> {
+            keys.remove(row.primaryKeyBytes());
+
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    /** {@inheritDoc} */
+    @Override public Cursor<IndexRow> range(KeyRange range) throws StorageException {
+        Iterator<Map.Entry<byte[], NavigableSet<byte[]>>> iter =
+            ConcurrentSkipListMapStorage.subMap(map, range, true).entrySet().iterator();
+
+        return new RangeCursor(iter, range.isReverse());
+    }
+
+    /** {@inheritDoc} */
+    @Override public void clear() throws StorageException {
+        map.clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        // No-op.
+    }
+
+    /**
+     * Cursor over the index entries that expands the sets of primary keys.
+     */
+    private static class RangeCursor implements Cursor<IndexRow> {
+        /** Iterator over the index bytes. */
+        private final Iterator<Map.Entry<byte[], NavigableSet<byte[]>>> iter;
+
+        /** Whether the primary keys are returned in descending order. */
+        private final boolean reverse;
+
+        /** Index bytes of the current entry. */
+        private byte[] indexBytes;
+
+        /** Iterator over the primary keys of the current entry. */
+        private Iterator<byte[]> keys = Collections.emptyIterator();
+
+        /**
+         * @param iter Iterator over the index bytes.
+         * @param reverse Whether the primary keys are returned in descending order.
+         */
+        RangeCursor(Iterator<Map.Entry<byte[], NavigableSet<byte[]>>> iter, boolean reverse) {
+            this.iter = iter;
+            this.reverse = reverse;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean hasNext() {
+            while (!keys.hasNext() && iter.hasNext()) {
+                Map.Entry<byte[], NavigableSet<byte[]>> e = iter.next();
+
+                indexBytes = e.getKey();
+                keys = reverse ? e.getValue().descendingIterator() : e.getValue().iterator();
+            }
+
+            return keys.hasNext();
+        }
+
+        /** {@inheritDoc} */
+        @Override public IndexRow next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            return new SimpleIndexRow(indexBytes, keys.next());
+        }
+
+        /** {@inheritDoc} */
+        @NotNull @Override public Iterator<IndexRow> iterator() {
+            return this;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void close() {
+            // No-op.
+        }
+    }
+}
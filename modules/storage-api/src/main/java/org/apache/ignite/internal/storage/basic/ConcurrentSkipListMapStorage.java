@@ -0,0 +1,546 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.storage.basic;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.apache.ignite.internal.storage.DataRow;
+import org.apache.ignite.internal.storage.InvokeClosure;
+import org.apache.ignite.internal.storage.KeyRange;
+import org.apache.ignite.internal.storage.SearchRow;
+import org.apache.ignite.internal.storage.Storage;
+import org.apache.ignite.internal.storage.StorageException;
+import org.apache.ignite.internal.util.Cursor;
+import org.apache.ignite.internal.util.IgniteUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * In-memory storage that keeps keys sorted in a {@link ConcurrentSkipListMap}. Unlike {@link ConcurrentHashMapStorage},
+ * range scans visit only the keys of the range and return them in the key order without sorting. Reads and scans are
+ * lock-free, scans are weakly consistent: they observe the updates made concurrently with the iteration or not.
+ */
+public class ConcurrentSkipListMapStorage implements Storage {
+    /** Number of key lock stripes, must be a power of two. */
+    private static final int LOCK_STRIPES = 1 << 6;
+
+    /** Name of the snapshot file. */
+    private static final String SNAPSHOT_FILE = "snapshot_file";
+
+    /** Storage content. */
+    private final ConcurrentSkipListMap<byte[], byte[]> map;
+
+    /** Keys comparator, {@code null} if keys are compared as unsigned byte sequences. */
+    @Nullable
+    private final Comparator<ByteBuffer> comparator;
+
+    /**
+     * RW lock. Read lock is held by all updates, write lock is only acquired to copy or replace the whole content when
+     * a snapshot is created or restored.
+     */
+    private final ReadWriteLock rwLock = new ReentrantReadWriteLock();
+
+    /**
+     * Striped per-key locks. Serialize {@link #invoke} calls with other updates of the same key, while updates of
+     * different keys proceed in parallel.
+     */
+    private final Lock[] keyLocks = new Lock[LOCK_STRIPES];
+
+    /**
+     * Creates a storage that orders keys as unsigned byte sequences, in the same way as the native bytewise comparator
+     * of RocksDB does.
+     */
+    public ConcurrentSkipListMapStorage() {
+        this(null);
+    }
+
+    /**
+     * @param comparator Keys comparator, {@code null} to order keys as unsigned byte sequences.
+     */
+    public ConcurrentSkipListMapStorage(@Nullable Comparator<ByteBuffer> comparator) {
+        this.comparator = comparator;
+
+        map = comparator == null ?
+            new ConcurrentSkipListMap<>(Arrays::compareUnsigned) :
+            new ConcurrentSkipListMap<>((a, b) -> comparator.compare(ByteBuffer.wrap(a), ByteBuffer.wrap(b)));
+
+        for (int i = 0; i < keyLocks.length; i++)
+            keyLocks[i] = new ReentrantLock();
+    }
+
+    /** {@inheritDoc} */
+    @Override public DataRow read(SearchRow key) throws StorageException {
+        byte[] keyBytes = key.keyBytes();
+
+        return new SimpleDataRow(keyBytes, map.get(keyBytes));
+    }
+
+    /** {@inheritDoc} */
+    @Override public <T> T readView(SearchRow key, Function<? super DataRow, T> reader) throws StorageException {
+        // Rows share the arrays with the map, nothing to reuse.
+        return reader.apply(read(key));
+    }
+
+    /** {@inheritDoc} */
+    @Override public List<DataRow> readAll(List<? extends SearchRow> keys) throws StorageException {
+        List<DataRow> res = new ArrayList<>(keys.size());
+
+        for (SearchRow key : keys)
+            res.add(read(key));
+
+        return res;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void write(DataRow row) throws StorageException {
+        rwLock.readLock().lock();
+
+        try {
+            put(row.keyBytes(), row.valueBytes());
+        }
+        finally {
+            rwLock.readLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void writeAll(List<? extends DataRow> rows) throws StorageException {
+        rwLock.readLock().lock();
+
+        try {
+            for (DataRow row : rows)
+                put(row.keyBytes(), row.valueBytes());
+        }
+        finally {
+            rwLock.readLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void remove(SearchRow key) throws StorageException {
+        rwLock.readLock().lock();
+
+        try {
+            put(key.keyBytes(), null);
+        }
+        finally {
+            rwLock.readLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void removeAll(List<? extends SearchRow> keys) throws StorageException {
+        rwLock.readLock().lock();
+
+        try {
+            for (SearchRow key : keys)
+                put(key.keyBytes(), null);
+        }
+        finally {
+            rwLock.readLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void invoke(SearchRow key, InvokeClosure clo) throws StorageException {
+        byte[] keyBytes = key.keyBytes();
+
+        Lock keyLock = keyLock(keyBytes);
+
+        rwLock.readLock().lock();
+        keyLock.lock();
+
+        try {
+            // Compute of the skip list may call the function more than once, so the closure is called under the lock.
+            clo.call(new SimpleDataRow(keyBytes, map.get(keyBytes)));
+
+            switch (clo.operationType()) {
+                case WRITE:
+                    map.put(keyBytes, clo.newRow().valueBytes());
+
+                    break;
+
+                case REMOVE:
+                    map.remove(keyBytes);
+
+                    break;
+
+                case NOOP:
+                    break;
+
+                default:
+                    throw new StorageException("Unknown operation type: " + clo.operationType());
+            }
+        }
+        finally {
+            keyLock.unlock();
+            rwLock.readLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void invokeAll(
+        List<? extends SearchRow> keys,
+        List<? extends InvokeClosure> clos
+    ) throws StorageException {
+        assert keys.size() == clos.size();
+
+        for (int i = 0; i < keys.size(); i++)
+            invoke(keys.get(i), clos.get(i));
+    }
+
+    /** {@inheritDoc} */
+    @Override public Cursor<DataRow> scan(Predicate<SearchRow> filter) throws StorageException {
+        Iterator<DataRow> iter = map.entrySet().stream()
+            .<DataRow>map(e -> new SimpleDataRow(e.getKey(), e.getValue()))
+            .filter(filter)
+            .iterator();
+
+        return cursor(iter);
+    }
+
+    /** {@inheritDoc} */
+    @Override public Cursor<DataRow> scan(KeyRange range) throws StorageException {
+        Iterator<Map.Entry<byte[], byte[]>> iter = subMap(map, range, comparator == null).entrySet().iterator();
+
+        // Sub-map contains exactly the keys that start with the prefix only if keys are ordered as unsigned bytes.
+        return range.prefix() == null || comparator == null ?
+            cursor(new EntryIterator(iter)) :
+            cursor(new PrefixIterator(iter, range));
+    }
+
+    /** {@inheritDoc} */
+    @Override public Cursor<DataRow> scanView(KeyRange range) throws StorageException {
+        // Rows share the arrays with the map, nothing to reuse.
+        return scan(range);
+    }
+
+    /** {@inheritDoc} */
+    @Override public @NotNull CompletableFuture<Void> snapshot(Path snapshotPath) {
+        List<byte[]> keys = new ArrayList<>();
+        List<byte[]> values = new ArrayList<>();
+
+        // Write lock guarantees that no updates are applied while the content is being copied.
+        rwLock.writeLock().lock();
+
+        try {
+            for (Map.Entry<byte[], byte[]> e : map.entrySet()) {
+                keys.add(e.getKey());
+                values.add(e.getValue());
+            }
+        }
+        finally {
+            rwLock.writeLock().unlock();
+        }
+
+        return CompletableFuture.runAsync(() -> {
+            try (DataOutputStream out = new DataOutputStream(
+                Files.newOutputStream(snapshotPath.resolve(SNAPSHOT_FILE)))
+            ) {
+                out.writeInt(keys.size());
+
+                // Entries are written in the key order, so the restored map is built by appending to its end.
+                for (int i = 0; i < keys.size(); i++) {
+                    writeBytes(out, keys.get(i));
+                    writeBytes(out, values.get(i));
+                }
+            }
+            catch (IOException e) {
+                throw new StorageException("Failed to create a snapshot", e);
+            }
+        });
+    }
+
+    /** {@inheritDoc} */
+    @Override public void restoreSnapshot(Path snapshotPath) throws StorageException {
+        rwLock.writeLock().lock();
+
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(snapshotPath.resolve(SNAPSHOT_FILE)))) {
+            map.clear();
+
+            int size = in.readInt();
+
+            for (int i = 0; i < size; i++)
+                map.put(readBytes(in), readBytes(in));
+        }
+        catch (IOException e) {
+            throw new StorageException("Failed to restore a snapshot", e);
+        }
+        finally {
+            rwLock.writeLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        // No-op.
+    }
+
+    /**
+     * Puts a value under the key lock, so the update does not interleave with an {@link #invoke} of the same key.
+     *
+     * @param keyBytes Key bytes.
+     * @param valueBytes Value bytes, {@code null} to remove the key.
+     */
+    private void put(byte[] keyBytes, byte @Nullable [] valueBytes) {
+        Lock keyLock = keyLock(keyBytes);
+
+        keyLock.lock();
+
+        try {
+            if (valueBytes == null)
+                map.remove(keyBytes);
+            else
+                map.put(keyBytes, valueBytes);
+        }
+        finally {
+            keyLock.unlock();
+        }
+    }
+
+    /**
+     * @param keyBytes Key bytes.
+     * @return Lock that guards updates of the key.
+     */
+    private Lock keyLock(byte[] keyBytes) {
+        return keyLocks[IgniteUtils.hash(Arrays.hashCode(keyBytes)) & (LOCK_STRIPES - 1)];
+    }
+
+    /**
+     * Narrows a sorted map down to the keys of the range.
+     *
+     * @param map Map.
+     * @param range Key range.
+     * @param unsignedOrder Whether the map orders keys as unsigned byte sequences. Only then the sub-map is bounded by
+     *      the prefix of the range, otherwise keys that do not start with the prefix have to be filtered out.
+     * @param <V> Type of the values.
+     * @return Sub-map in the order of the range.
+     */
+    static <V> NavigableMap<byte[], V> subMap(NavigableMap<byte[], V> map, KeyRange range, boolean unsignedOrder) {
+        NavigableMap<byte[], V> subMap = map;
+
+        byte[] lower = range.lower();
+        byte[] upper = range.upper();
+
+        if (lower != null)
+            subMap = subMap.tailMap(lower, range.lowerInclusive());
+
+        if (upper != null)
+            subMap = subMap.headMap(upper, range.upperInclusive());
+
+        byte[] prefix = range.prefix();
+
+        // Keys that start with the prefix are placed before the next prefix, so the keys above it are not visited.
+        if (prefix != null && unsignedOrder) {
+            byte[] nextPrefix = nextPrefix(prefix);
+
+            if (nextPrefix != null)
+                subMap = subMap.headMap(nextPrefix, false);
+        }
+
+        return range.isReverse() ? subMap.descendingMap() : subMap;
+    }
+
+    /**
+     * Calculates the smallest key that is greater than all keys that start with the prefix, in the order of unsigned
+     * byte sequences.
+     *
+     * @param prefix Prefix.
+     * @return Next prefix, {@code null} if all bytes of the prefix are {@code 0xFF} and there is no such key.
+     */
+    private static byte @Nullable [] nextPrefix(byte[] prefix) {
+        for (int i = prefix.length - 1; i >= 0; i--) {
+            if (prefix[i] != (byte)0xFF) {
+                byte[] next = Arrays.copyOf(prefix, i + 1);
+
+                next[i]++;
+
+                return next;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @param out Output stream.
+     * @param bytes Byte array.
+     * @throws IOException If failed.
+     */
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * @param in Input stream.
+     * @return Byte array.
+     * @throws IOException If failed.
+     */
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+
+        in.readFully(bytes);
+
+        return bytes;
+    }
+
+    /**
+     * Wraps an iterator into a cursor.
+     *
+     * @param iter Iterator.
+     * @return Cursor.
+     */
+    private static Cursor<DataRow> cursor(Iterator<DataRow> iter) {
+        return new Cursor<>() {
+            /** {@inheritDoc} */
+            @Override public boolean hasNext() {
+                return iter.hasNext();
+            }
+
+            /** {@inheritDoc} */
+            @Override public DataRow next() {
+                return iter.next();
+            }
+
+            /** {@inheritDoc} */
+            @NotNull @Override public Iterator<DataRow> iterator() {
+                return this;
+            }
+
+            /** {@inheritDoc} */
+            @Override public void close() throws Exception {
+                // No-op.
+            }
+        };
+    }
+
+    /**
+     * Iterator over the entries of the map that converts them into data rows.
+     */
+    private static class EntryIterator implements Iterator<DataRow> {
+        /** Entries iterator. */
+        private final Iterator<Map.Entry<byte[], byte[]>> iter;
+
+        /**
+         * @param iter Entries iterator.
+         */
+        EntryIterator(Iterator<Map.Entry<byte[], byte[]>> iter) {
+            this.iter = iter;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean hasNext() {
+            return iter.hasNext();
+        }
+
+        /** {@inheritDoc} */
+        @Override public DataRow next() {
+            Map.Entry<byte[], byte[]> e = iter.next();
+
+            return new SimpleDataRow(e.getKey(), e.getValue());
+        }
+    }
+
+    /**
+     * Iterator over the entries of the map that returns only the keys that start with the prefix of the range. Such
+     * keys are placed next to each other, so the iteration stops at the first mismatching key after the matching ones.
+     */
+    private static class PrefixIterator implements Iterator<DataRow> {
+        /** Entries iterator. */
+        private final Iterator<Map.Entry<byte[], byte[]>> iter;
+
+        /** Key range. */
+        private final KeyRange range;
+
+        /** Next row, {@code null} if it is not found yet. */
+        @Nullable
+        private DataRow next;
+
+        /** Whether a key that starts with the prefix has been found. */
+        private boolean matched;
+
+        /** Whether the iteration is finished. */
+        private boolean finished;
+
+        /**
+         * @param iter Entries iterator.
+         * @param range Key range with a prefix.
+         */
+        PrefixIterator(Iterator<Map.Entry<byte[], byte[]>> iter, KeyRange range) {
+            this.iter = iter;
+            this.range = range;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean hasNext() {
+            if (next != null)
+                return true;
+
+            while (!finished && iter.hasNext()) {
+                Map.Entry<byte[], byte[]> e = iter.next();
+
+                if (range.matchesPrefix(ByteBuffer.wrap(e.getKey()))) {
+                    matched = true;
+
+                    next = new SimpleDataRow(e.getKey(), e.getValue());
+
+                    return true;
+                }
+
+                finished = matched;
+            }
+
+            finished = true;
+
+            return false;
+        }
+
+        /** {@inheritDoc} */
+        @Override public DataRow next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            DataRow row = next;
+
+            next = null;
+
+            return row;
+        }
+    }
+}
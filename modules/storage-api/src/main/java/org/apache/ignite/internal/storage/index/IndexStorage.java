@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.storage.index;
+
+import org.apache.ignite.internal.storage.KeyRange;
+import org.apache.ignite.internal.storage.StorageException;
+import org.apache.ignite.internal.util.Cursor;
+
+/**
+ * Storage of a secondary index of a partition. Maps encoded values of the indexed columns to the keys of the rows in
+ * the partition storage. Several rows may have the same indexed values, so entries are unique by the pair of the
+ * index bytes and the primary key bytes.
+ */
+public interface IndexStorage extends AutoCloseable {
+    /**
+     * Adds an entry to the index. Does nothing if the entry already exists.
+     *
+     * @param row Index row.
+     * @throws StorageException If failed to write data or storage is already stopped.
+     */
+    public void put(IndexRow row) throws StorageException;
+
+    /**
+     * Removes an entry from the index. Does nothing if there is no such entry.
+     *
+     * @param row Index row.
+     * @throws StorageException If failed to remove data or storage is already stopped.
+     */
+    public void remove(IndexRow row) throws StorageException;
+
+    /**
+     * Creates cursor over the entries whose index bytes are within the range. Bounds and the prefix of the range are
+     * compared with the index bytes only, entries with the same index bytes are ordered by the primary key bytes.
+     *
+     * @param range Range of the index bytes.
+     * @return Cursor with entries in the order of the index bytes, ascending or descending depending on
+     *      {@link KeyRange#isReverse()}.
+     * @throws StorageException If failed to read data or storage is already stopped.
+     */
+    public Cursor<IndexRow> range(KeyRange range) throws StorageException;
+
+    /**
+     * Removes all entries from the index.
+     *
+     * @throws StorageException If failed to remove data or storage is already stopped.
+     */
+    public void clear() throws StorageException;
+}
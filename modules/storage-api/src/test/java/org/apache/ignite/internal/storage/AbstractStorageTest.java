@@ -17,9 +17,15 @@
 
 package org.apache.ignite.internal.storage;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.StreamSupport;
 import org.apache.ignite.internal.storage.basic.SimpleDataRow;
 import org.apache.ignite.internal.storage.basic.SimpleReadInvokeClosure;
@@ -27,7 +33,9 @@ import org.apache.ignite.internal.storage.basic.SimpleRemoveInvokeClosure;
 import org.apache.ignite.internal.storage.basic.SimpleWriteInvokeClosure;
 import org.apache.ignite.internal.util.Cursor;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import static java.util.Collections.emptyList;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -124,6 +132,70 @@ public abstract class AbstractStorageTest {
         assertNull(readClosure.row().value());
     }
 
+    /**
+     * Tests that batch operations work consistently with each other.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void batchOperations() throws Exception {
+        List<DataRow> rows = List.of(dataRow("key1", "value1"), dataRow("key2", "value2"));
+        List<SearchRow> keys = List.of(searchRow("key1"), searchRow("key2"), searchRow("key3"));
+
+        storage.writeAll(rows);
+
+        List<DataRow> read = storage.readAll(keys);
+
+        assertThat(read, hasSize(3));
+        assertArrayEquals(rows.get(0).valueBytes(), read.get(0).valueBytes());
+        assertArrayEquals(rows.get(1).valueBytes(), read.get(1).valueBytes());
+        assertNull(read.get(2).valueBytes());
+
+        // The second closure for "key3" must observe the row written by the first one.
+        SimpleReadInvokeClosure readClosure = new SimpleReadInvokeClosure();
+
+        storage.invokeAll(
+            List.of(searchRow("key1"), searchRow("key3"), searchRow("key3")),
+            List.of(new SimpleRemoveInvokeClosure(), new SimpleWriteInvokeClosure(dataRow("key3", "value3")), readClosure)
+        );
+
+        assertArrayEquals(dataRow("key3", "value3").valueBytes(), readClosure.row().valueBytes());
+
+        read = storage.readAll(keys);
+
+        assertNull(read.get(0).valueBytes());
+        assertArrayEquals(rows.get(1).valueBytes(), read.get(1).valueBytes());
+        assertArrayEquals(dataRow("key3", "value3").valueBytes(), read.get(2).valueBytes());
+
+        storage.removeAll(keys);
+
+        assertTrue(toList(storage.scan(key -> true)).isEmpty());
+    }
+
+    /**
+     * Tests that concurrent invokes on the same key are applied atomically.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void invokeConcurrently() throws Exception {
+        int threads = 8;
+        int iterations = 1000;
+
+        SearchRow searchRow = searchRow("counter");
+
+        List<CompletableFuture<Void>> futs = IntStream.range(0, threads)
+            .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                for (int j = 0; j < iterations; j++)
+                    storage.invoke(searchRow, new IncrementInvokeClosure(searchRow.keyBytes()));
+            }))
+            .collect(Collectors.toList());
+
+        CompletableFuture.allOf(futs.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+
+        assertEquals(threads * iterations, ByteBuffer.wrap(storage.read(searchRow).valueBytes()).getInt());
+    }
+
     /**
      * Tests that scan operation works properly without filter.
      *
@@ -188,6 +260,195 @@ public abstract class AbstractStorageTest {
         assertTrue(list.isEmpty());
     }
 
+    /**
+     * Tests that range and prefix scans return exactly the keys within the range in the requested order.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void scanRange() throws Exception {
+        storage.writeAll(List.of(
+            dataRow("a", "value"),
+            dataRow("key1", "value1"),
+            dataRow("key2", "value2"),
+            dataRow("key3", "value3"),
+            dataRow("key4", "value4"),
+            dataRow("z", "value")
+        ));
+
+        assertEquals(
+            List.of("a", "key1", "key2", "key3", "key4", "z"),
+            scanKeys(KeyRange.all())
+        );
+
+        assertEquals(
+            List.of("key1", "key2", "key3"),
+            scanKeys(KeyRange.range(searchRow("key1"), true, searchRow("key3"), true))
+        );
+
+        assertEquals(
+            List.of("key2"),
+            scanKeys(KeyRange.range(searchRow("key1"), false, searchRow("key3"), false))
+        );
+
+        assertEquals(
+            List.of("key3", "key2", "key1"),
+            scanKeys(KeyRange.range(searchRow("key1"), true, searchRow("key3"), true).reverse())
+        );
+
+        assertEquals(
+            List.of("key2"),
+            scanKeys(KeyRange.range(searchRow("key1"), false, searchRow("key3"), false).reverse())
+        );
+
+        assertEquals(
+            List.of("key4", "z"),
+            scanKeys(KeyRange.range(searchRow("key30"), true, null, false))
+        );
+
+        assertEquals(
+            List.of("key1", "a"),
+            scanKeys(KeyRange.range(null, false, searchRow("key2"), false).reverse())
+        );
+
+        assertEquals(
+            List.of("key1", "key2", "key3", "key4"),
+            scanKeys(KeyRange.prefix(searchRow("key")))
+        );
+
+        assertEquals(
+            List.of("key4", "key3", "key2", "key1"),
+            scanKeys(KeyRange.prefix(searchRow("key")).reverse())
+        );
+
+        assertTrue(scanKeys(KeyRange.prefix(searchRow("b"))).isEmpty());
+
+        assertTrue(scanKeys(KeyRange.prefix(searchRow("b")).reverse()).isEmpty());
+    }
+
+    /**
+     * Tests that rows returned by the view methods expose the same data as the copying methods.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void readAndScanViews() throws Exception {
+        // Value is bigger than the initial capacity of reusable buffers of any implementation.
+        String bigValue = "v".repeat(1 << 16);
+
+        storage.writeAll(List.of(
+            dataRow("key1", "value1"),
+            dataRow("key2", bigValue),
+            dataRow("key3", "value3")
+        ));
+
+        assertEquals("value1", storage.readView(searchRow("key1"), row -> toString(row.value())));
+        assertEquals(bigValue, storage.readView(searchRow("key2"), row -> toString(row.value())));
+        assertNull(storage.readView(searchRow("key4"), DataRow::value));
+
+        String nested = storage.readView(searchRow("key1"), row1 ->
+            storage.readView(searchRow("key3"), row2 -> toString(row2.value())) + toString(row1.value())
+        );
+
+        assertEquals("value3value1", nested);
+
+        List<String> scanned = new ArrayList<>();
+
+        try (Cursor<DataRow> cursor = storage.scanView(KeyRange.range(searchRow("key2"), true, null, false))) {
+            for (DataRow row : cursor)
+                scanned.add(toString(row.key()) + '=' + toString(row.value()));
+        }
+
+        assertEquals(List.of("key2=" + bigValue, "key3=value3"), scanned);
+    }
+
+    /**
+     * Reads the buffer content as a string without modifying the buffer.
+     *
+     * @param buf Buffer, from the position to the limit.
+     * @return String.
+     */
+    private static String toString(ByteBuffer buf) {
+        return StandardCharsets.UTF_8.decode(buf.duplicate()).toString();
+    }
+
+    /**
+     * Scans the storage and collects the keys.
+     *
+     * @param range Key range.
+     * @return String keys in the order of the scan.
+     * @throws Exception If failed.
+     */
+    private List<String> scanKeys(KeyRange range) throws Exception {
+        return toList(storage.scan(range)).stream()
+            .map(row -> new String(row.keyBytes(), StandardCharsets.UTF_8))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Tests that the restored snapshot contains exactly the data that was in the storage when the snapshot was taken.
+     *
+     * @param snapshotPath Temporary directory for the snapshot.
+     * @throws Exception If failed.
+     */
+    @Test
+    public void snapshotRestore(@TempDir Path snapshotPath) throws Exception {
+        DataRow dataRow1 = dataRow("key1", "value1");
+        DataRow dataRow2 = dataRow("key2", "value2");
+
+        storage.write(dataRow1);
+
+        storage.snapshot(snapshotPath).get(1, TimeUnit.SECONDS);
+
+        storage.remove(searchRow("key1"));
+        storage.write(dataRow2);
+
+        storage.restoreSnapshot(snapshotPath);
+
+        assertArrayEquals(dataRow1.value().array(), storage.read(searchRow("key1")).value().array());
+
+        assertNull(storage.read(searchRow("key2")).value());
+
+        assertThat(toList(storage.scan(key -> true)), hasSize(1));
+    }
+
+    /**
+     * Invoke closure that increments an integer value stored by the key.
+     */
+    private static class IncrementInvokeClosure implements InvokeClosure {
+        /** Key bytes. */
+        private final byte[] key;
+
+        /** New row. */
+        private DataRow newRow;
+
+        /**
+         * @param key Key bytes.
+         */
+        IncrementInvokeClosure(byte[] key) {
+            this.key = key;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void call(@Nullable DataRow row) {
+            byte[] valueBytes = row == null ? null : row.valueBytes();
+
+            int val = valueBytes == null ? 0 : ByteBuffer.wrap(valueBytes).getInt();
+
+            newRow = new SimpleDataRow(key, ByteBuffer.allocate(Integer.BYTES).putInt(val + 1).array());
+        }
+
+        /** {@inheritDoc} */
+        @Override public DataRow newRow() {
+            return newRow;
+        }
+
+        /** {@inheritDoc} */
+        @Override public OperationType operationType() {
+            return OperationType.WRITE;
+        }
+    }
+
     /**
      * Converts cursor to list.
      *
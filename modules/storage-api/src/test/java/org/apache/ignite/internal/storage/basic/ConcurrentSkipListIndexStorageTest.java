@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.storage.basic;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.ignite.internal.storage.KeyRange;
+import org.apache.ignite.internal.storage.index.IndexRow;
+import org.apache.ignite.internal.storage.index.IndexStorage;
+import org.apache.ignite.internal.util.Cursor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link ConcurrentSkipListIndexStorage}.
+ */
+public class ConcurrentSkipListIndexStorageTest {
+    /** */
+    private IndexStorage idx;
+
+    /** */
+    @BeforeEach
+    public void setUp() {
+        idx = new ConcurrentSkipListIndexStorage();
+    }
+
+    /** */
+    @AfterEach
+    public void tearDown() throws Exception {
+        idx.close();
+    }
+
+    /**
+     * Tests that entries with the same index bytes are kept for every primary key and removed one by one.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void duplicates() throws Exception {
+        idx.put(row("a", "pk2"));
+        idx.put(row("a", "pk1"));
+        idx.put(row("a", "pk1"));
+        idx.put(row("b", "pk3"));
+
+        assertEquals(List.of("a:pk1", "a:pk2", "b:pk3"), rows(KeyRange.all()));
+
+        assertEquals(List.of("a:pk1", "a:pk2"), rows(KeyRange.range(key("a"), true, key("a"), true)));
+
+        idx.remove(row("a", "pk1"));
+        idx.remove(row("a", "unknown"));
+        idx.remove(row("c", "pk1"));
+
+        assertEquals(List.of("a:pk2", "b:pk3"), rows(KeyRange.all()));
+
+        idx.remove(row("a", "pk2"));
+
+        assertTrue(rows(KeyRange.range(key("a"), true, key("a"), true)).isEmpty());
+
+        idx.clear();
+
+        assertTrue(rows(KeyRange.all()).isEmpty());
+    }
+
+    /**
+     * Tests range and prefix scans over the index bytes.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void ranges() throws Exception {
+        idx.put(row("a", "pk1"));
+        idx.put(row("key1", "pk2"));
+        idx.put(row("key1", "pk3"));
+        idx.put(row("key2", "pk4"));
+        idx.put(row("z", "pk5"));
+
+        assertEquals(
+            List.of("key1:pk2", "key1:pk3", "key2:pk4"),
+            rows(KeyRange.prefix(key("key")))
+        );
+
+        assertEquals(
+            List.of("key2:pk4", "key1:pk3", "key1:pk2"),
+            rows(KeyRange.prefix(key("key")).reverse())
+        );
+
+        assertEquals(
+            List.of("key2:pk4", "z:pk5"),
+            rows(KeyRange.range(key("key1"), false, null, false))
+        );
+
+        assertEquals(
+            List.of("key1:pk3", "key1:pk2", "a:pk1"),
+            rows(KeyRange.range(null, false, key("key2"), false).reverse())
+        );
+    }
+
+    /**
+     * @param idxVal Index value.
+     * @param pk Primary key.
+     * @return Index row.
+     */
+    private static IndexRow row(String idxVal, String pk) {
+        return new SimpleIndexRow(bytes(idxVal), bytes(pk));
+    }
+
+    /**
+     * @param idxVal Index value.
+     * @return Search row with the index value as a key.
+     */
+    private static SimpleDataRow key(String idxVal) {
+        return new SimpleDataRow(bytes(idxVal), null);
+    }
+
+    /**
+     * @param str String.
+     * @return UTF-8 bytes.
+     */
+    private static byte[] bytes(String str) {
+        return str.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param range Range.
+     * @return Entries of the range as {@code index:pk} strings.
+     * @throws Exception If failed.
+     */
+    private List<String> rows(KeyRange range) throws Exception {
+        List<String> res = new ArrayList<>();
+
+        try (Cursor<IndexRow> cursor = idx.range(range)) {
+            for (IndexRow row : cursor) {
+                res.add(new String(row.indexBytes(), StandardCharsets.UTF_8) + ':' +
+                    new String(row.primaryKeyBytes(), StandardCharsets.UTF_8));
+            }
+        }
+
+        return res;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.storage.basic;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.ignite.internal.storage.AbstractStorageTest;
+import org.apache.ignite.internal.storage.DataRow;
+import org.apache.ignite.internal.storage.KeyRange;
+import org.apache.ignite.internal.util.Cursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Storage test implementation for {@link ConcurrentSkipListMapStorage}.
+ */
+public class ConcurrentSkipListMapStorageTest extends AbstractStorageTest {
+    @BeforeEach
+    public void setUp() {
+        storage = new ConcurrentSkipListMapStorage();
+    }
+
+    /**
+     * Tests that keys are ordered as unsigned bytes and prefixes that end with {@code 0xFF} are scanned correctly.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void unsignedOrder() throws Exception {
+        storage.writeAll(List.of(
+            row(0x00),
+            row(0x01, 0xFF),
+            row(0x01, 0xFF, 0x00),
+            row(0x01, 0xFF, 0xFF),
+            row(0x02),
+            row(0x7F),
+            row(0x80),
+            row(0xFF),
+            row(0xFF, 0xFF)
+        ));
+
+        assertEquals(
+            List.of(List.of(0x01, 0xFF), List.of(0x01, 0xFF, 0x00), List.of(0x01, 0xFF, 0xFF)),
+            scanKeys(KeyRange.prefix(row(0x01, 0xFF)))
+        );
+
+        assertEquals(
+            List.of(List.of(0x01, 0xFF, 0xFF), List.of(0x01, 0xFF, 0x00), List.of(0x01, 0xFF)),
+            scanKeys(KeyRange.prefix(row(0x01, 0xFF)).reverse())
+        );
+
+        assertEquals(
+            List.of(List.of(0xFF, 0xFF), List.of(0xFF)),
+            scanKeys(KeyRange.prefix(row(0xFF)).reverse())
+        );
+
+        assertEquals(
+            List.of(List.of(0x7F), List.of(0x80), List.of(0xFF)),
+            scanKeys(KeyRange.range(row(0x7F), true, row(0xFF), true))
+        );
+    }
+
+    /**
+     * @param bytes Key bytes.
+     * @return Data row with the key.
+     */
+    private static DataRow row(int... bytes) {
+        byte[] key = new byte[bytes.length];
+
+        for (int i = 0; i < bytes.length; i++)
+            key[i] = (byte)bytes[i];
+
+        return new SimpleDataRow(key, new byte[] {1});
+    }
+
+    /**
+     * @param range Key range.
+     * @return Unsigned key bytes in the scan order.
+     * @throws Exception If failed.
+     */
+    private List<List<Integer>> scanKeys(KeyRange range) throws Exception {
+        List<List<Integer>> keys = new ArrayList<>();
+
+        try (Cursor<DataRow> cursor = storage.scan(range)) {
+            for (DataRow row : cursor) {
+                List<Integer> key = new ArrayList<>();
+
+                for (byte b : row.keyBytes())
+                    key.add(b & 0xFF);
+
+                keys.add(key);
+            }
+        }
+
+        return keys;
+    }
+}
@@ -0,0 +1,1242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.storage.pagememory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.apache.ignite.internal.storage.DataRow;
+import org.apache.ignite.internal.storage.InvokeClosure;
+import org.apache.ignite.internal.storage.KeyRange;
+import org.apache.ignite.internal.storage.SearchRow;
+import org.apache.ignite.internal.storage.Storage;
+import org.apache.ignite.internal.storage.StorageException;
+import org.apache.ignite.internal.storage.basic.ByteBufferDataRow;
+import org.apache.ignite.internal.storage.basic.SimpleDataRow;
+import org.apache.ignite.internal.util.Cursor;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.apache.ignite.internal.util.IgniteUtils;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * In-memory storage that keeps rows in off-heap pages, so that the data does not add to the Java heap and GC pauses.
+ * <p>
+ * Memory is allocated in pages of the same size. Every page is split into slots of one size class, a row is stored in
+ * a slot of the smallest class it fits in. Rows that do not fit into a page get a dedicated page of their own size.
+ * Rows are looked up by an off-heap hash index with chaining through the rows.
+ * <p>
+ * Size of the pages is limited by the maximum size of the storage, the hash index is allocated in addition to it. When
+ * the limit is reached, an update fails with a {@link StorageException} and the storage is left as it was before the
+ * failed row. Rows are never evicted: the storage holds the state of a replicated partition, and dropping acknowledged
+ * rows on some replicas would make them diverge from each other and from the log.
+ * <p>
+ * Reads are executed in parallel, while updates are serialized, which matches the way a partition state machine
+ * applies commands. Scans collect and sort the matching keys once and then copy the rows page by page, holding the
+ * lock only while a page is copied, so cursors do not hold it.
+ * <p>
+ * Views of the rows are direct buffers over the off-heap memory, so the JVM must be started with
+ * {@code --add-opens java.base/java.nio=ALL-UNNAMED}.
+ */
+public class PageMemoryStorage implements Storage {
+    /** Default page size in bytes. */
+    public static final int DFLT_PAGE_SIZE = 16 * 1024;
+
+    /** Name of the snapshot file. */
+    private static final String SNAPSHOT_FILE = "snapshot_file";
+
+    /** Page header: head of the list of free slots. */
+    private static final int PAGE_FREE_SLOT = 0;
+
+    /** Page header: previous page in the list of pages with free slots of the same size class. */
+    private static final int PAGE_PREV = 8;
+
+    /** Page header: next page in the list of pages with free slots of the same size class. */
+    private static final int PAGE_NEXT = 16;
+
+    /** Page header: slot size, or the whole page size for a page of a single large row. */
+    private static final int PAGE_SLOT_SIZE = 24;
+
+    /** Page header: number of used slots. */
+    private static final int PAGE_USED_SLOTS = 28;
+
+    /** Page header: offset of the space that has never been allocated. */
+    private static final int PAGE_FREE_SPACE = 32;
+
+    /** Page header: index of the page in {@link #usedPages}. */
+    private static final int PAGE_IDX = 36;
+
+    /** Page header: size class, {@link #LARGE_CLASS} for a page of a single large row. */
+    private static final int PAGE_SIZE_CLASS = 40;
+
+    /** Size of the page header. */
+    private static final int PAGE_HDR_SIZE = 48;
+
+    /** Size class of a page of a single large row. */
+    private static final int LARGE_CLASS = -1;
+
+    /** Row header: next row in the hash index bucket, or next free slot in the page. */
+    private static final int ROW_NEXT = 0;
+
+    /** Row header: page of the row. */
+    private static final int ROW_PAGE = 8;
+
+    /** Row header: hash code of the key. */
+    private static final int ROW_HASH = 16;
+
+    /** Row header: key length. */
+    private static final int ROW_KEY_LEN = 20;
+
+    /** Row header: value length. */
+    private static final int ROW_VAL_LEN = 24;
+
+    /** Size of the row header, the key goes right after it and the value goes after the key. */
+    private static final int ROW_HDR_SIZE = 28;
+
+    /** Minimal slot size. */
+    private static final int MIN_SLOT_SIZE = 64;
+
+    /** Number of rows that a scan cursor copies under the read lock at once. */
+    private static final int SCAN_PAGE_SIZE = 256;
+
+    /** Initial number of hash index buckets, must be a power of two. */
+    private static final int INITIAL_BUCKETS = 1024;
+
+    /** Maximum size of the pages in bytes. */
+    private final long maxSize;
+
+    /** Page size in bytes. */
+    private final int pageSize;
+
+    /** Slot sizes of the size classes in the ascending order. */
+    private final int[] slotSizes;
+
+    /** Heads of the lists of pages with free slots, by size class. */
+    private final long[] partialPages;
+
+    /** Pages with rows, in any order. */
+    private long[] usedPages = new long[16];
+
+    /** Number of pages with rows. */
+    private int usedPagesCnt;
+
+    /** Empty pages that are kept for reuse. */
+    private long[] freePages = new long[16];
+
+    /** Number of empty pages that are kept for reuse. */
+    private int freePagesCnt;
+
+    /** Size of all the allocated pages in bytes. */
+    private long allocatedSize;
+
+    /** Address of the hash index buckets. */
+    private long buckets;
+
+    /** Number of hash index buckets, a power of two. */
+    private int bucketsCnt;
+
+    /** Number of rows. */
+    private long size;
+
+    /** RW lock. Read lock is held by reads and scans, write lock is held by updates. */
+    private final ReadWriteLock rwLock = new ReentrantReadWriteLock();
+
+    /** Keys comparator, used to order the data in range scans. */
+    private final Comparator<ByteBuffer> comparator;
+
+    /** Whether the memory is released. */
+    private boolean closed;
+
+    /**
+     * Creates a storage with the default page size that orders keys as unsigned byte sequences in range scans.
+     *
+     * @param maxSize Maximum size of the pages in bytes.
+     */
+    public PageMemoryStorage(long maxSize) {
+        this(maxSize, DFLT_PAGE_SIZE, PageMemoryStorage::compareUnsigned);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maxSize Maximum size of the pages in bytes.
+     * @param pageSize Page size in bytes.
+     * @param comparator Keys comparator, used to order the data in range scans.
+     */
+    public PageMemoryStorage(long maxSize, int pageSize, Comparator<ByteBuffer> comparator) {
+        if (pageSize < PAGE_HDR_SIZE + MIN_SLOT_SIZE || pageSize % Long.BYTES != 0)
+            throw new IllegalArgumentException("Invalid page size: " + pageSize);
+
+        if (maxSize < pageSize)
+            throw new IllegalArgumentException("Maximum size is less than the page size: " + maxSize);
+
+        this.maxSize = maxSize;
+        this.pageSize = pageSize;
+        this.comparator = comparator;
+
+        slotSizes = slotSizes(pageSize - PAGE_HDR_SIZE);
+        partialPages = new long[slotSizes.length];
+
+        bucketsCnt = INITIAL_BUCKETS;
+        buckets = allocateBuckets(bucketsCnt);
+    }
+
+    /**
+     * Calculates slot sizes of the size classes. Every next class is about a quarter bigger than the previous one, so
+     * that no more than a fifth of a slot is wasted.
+     *
+     * @param maxSlotSize Maximum slot size.
+     * @return Slot sizes.
+     */
+    private static int[] slotSizes(int maxSlotSize) {
+        List<Integer> sizes = new ArrayList<>();
+
+        for (int size = MIN_SLOT_SIZE; size < maxSlotSize; size = align((size * 5) / 4))
+            sizes.add(size);
+
+        sizes.add(maxSlotSize);
+
+        return sizes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * @param size Size.
+     * @return Size aligned to 8 bytes.
+     */
+    private static int align(int size) {
+        return (size + Long.BYTES - 1) & -Long.BYTES;
+    }
+
+    /** {@inheritDoc} */
+    @Override public DataRow read(SearchRow key) throws StorageException {
+        byte[] keyBytes = key.keyBytes();
+
+        rwLock.readLock().lock();
+
+        try {
+            long row = find(keyBytes, hash(keyBytes));
+
+            return new SimpleDataRow(keyBytes, row == 0 ? null : valueBytes(row));
+        }
+        finally {
+            rwLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The reader is called under the read lock and must not update this storage.
+     */
+    @Override public <T> T readView(SearchRow key, Function<? super DataRow, T> reader) throws StorageException {
+        byte[] keyBytes = key.keyBytes();
+
+        rwLock.readLock().lock();
+
+        try {
+            long row = find(keyBytes, hash(keyBytes));
+
+            if (row == 0)
+                return reader.apply(new SimpleDataRow(keyBytes, null));
+
+            int keyLen = GridUnsafe.getInt(row + ROW_KEY_LEN);
+            int valLen = GridUnsafe.getInt(row + ROW_VAL_LEN);
+
+            ByteBuffer keyBuf = GridUnsafe.wrapPointer(row + ROW_HDR_SIZE, keyLen).order(ByteOrder.BIG_ENDIAN);
+            ByteBuffer valBuf = GridUnsafe.wrapPointer(row + ROW_HDR_SIZE + keyLen, valLen).order(ByteOrder.BIG_ENDIAN);
+
+            return reader.apply(new ByteBufferDataRow().set(keyBuf, valBuf));
+        }
+        finally {
+            rwLock.readLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public List<DataRow> readAll(List<? extends SearchRow> keys) throws StorageException {
+        List<DataRow> res = new ArrayList<>(keys.size());
+
+        rwLock.readLock().lock();
+
+        try {
+            for (SearchRow key : keys) {
+                byte[] keyBytes = key.keyBytes();
+
+                long row = find(keyBytes, hash(keyBytes));
+
+                res.add(new SimpleDataRow(keyBytes, row == 0 ? null : valueBytes(row)));
+            }
+
+            return res;
+        }
+        finally {
+            rwLock.readLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void write(DataRow row) throws StorageException {
+        rwLock.writeLock().lock();
+
+        try {
+            put(row.keyBytes(), row.valueBytes());
+        }
+        finally {
+            rwLock.writeLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void writeAll(List<? extends DataRow> rows) throws StorageException {
+        rwLock.writeLock().lock();
+
+        try {
+            for (DataRow row : rows)
+                put(row.keyBytes(), row.valueBytes());
+        }
+        finally {
+            rwLock.writeLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void remove(SearchRow key) throws StorageException {
+        rwLock.writeLock().lock();
+
+        try {
+            remove(key.keyBytes());
+        }
+        finally {
+            rwLock.writeLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void removeAll(List<? extends SearchRow> keys) throws StorageException {
+        rwLock.writeLock().lock();
+
+        try {
+            for (SearchRow key : keys)
+                remove(key.keyBytes());
+        }
+        finally {
+            rwLock.writeLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void invoke(SearchRow key, InvokeClosure clo) throws StorageException {
+        rwLock.writeLock().lock();
+
+        try {
+            invoke(key.keyBytes(), clo);
+        }
+        finally {
+            rwLock.writeLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void invokeAll(
+        List<? extends SearchRow> keys,
+        List<? extends InvokeClosure> clos
+    ) throws StorageException {
+        assert keys.size() == clos.size();
+
+        rwLock.writeLock().lock();
+
+        try {
+            for (int i = 0; i < keys.size(); i++)
+                invoke(keys.get(i).keyBytes(), clos.get(i));
+        }
+        finally {
+            rwLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Calls the closure and applies its result. Must be called under the write lock.
+     *
+     * @param keyBytes Key.
+     * @param clo Closure.
+     */
+    private void invoke(byte[] keyBytes, InvokeClosure clo) {
+        long row = find(keyBytes, hash(keyBytes));
+
+        clo.call(new SimpleDataRow(keyBytes, row == 0 ? null : valueBytes(row)));
+
+        switch (clo.operationType()) {
+            case WRITE:
+                put(keyBytes, clo.newRow().valueBytes());
+
+                break;
+
+            case REMOVE:
+                remove(keyBytes);
+
+                break;
+
+            case NOOP:
+                break;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public Cursor<DataRow> scan(Predicate<SearchRow> filter) throws StorageException {
+        List<byte[]> keys = new ArrayList<>();
+
+        rwLock.readLock().lock();
+
+        try {
+            checkNotClosed();
+
+            forEachRow(row -> {
+                byte[] keyBytes = keyBytes(row);
+
+                if (filter.test(new SimpleDataRow(keyBytes, null)))
+                    keys.add(keyBytes);
+            });
+        }
+        finally {
+            rwLock.readLock().unlock();
+        }
+
+        // Keys are sorted, so that the order does not depend on the hash index layout.
+        keys.sort(Comparator.comparing(ByteBuffer::wrap, comparator));
+
+        return new ScanCursor(keys);
+    }
+
+    /** {@inheritDoc} */
+    @Override public Cursor<DataRow> scan(KeyRange range) throws StorageException {
+        List<byte[]> keys = new ArrayList<>();
+
+        rwLock.readLock().lock();
+
+        try {
+            checkNotClosed();
+
+            forEachRow(row -> {
+                byte[] keyBytes = keyBytes(row);
+
+                if (range.contains(ByteBuffer.wrap(keyBytes), comparator))
+                    keys.add(keyBytes);
+            });
+        }
+        finally {
+            rwLock.readLock().unlock();
+        }
+
+        Comparator<byte[]> keyComparator = Comparator.comparing(ByteBuffer::wrap, comparator);
+
+        // Hash index is not ordered, so the matching keys have to be sorted.
+        keys.sort(range.isReverse() ? keyComparator.reversed() : keyComparator);
+
+        return new ScanCursor(keys);
+    }
+
+    /** {@inheritDoc} */
+    @Override public Cursor<DataRow> scanView(KeyRange range) throws StorageException {
+        // Rows can be moved or removed as soon as the lock is released, so cursors can only return copies.
+        return scan(range);
+    }
+
+    /** {@inheritDoc} */
+    @Override public @NotNull CompletableFuture<Void> snapshot(Path snapshotPath) {
+        rwLock.readLock().lock();
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+            Files.newOutputStream(snapshotPath.resolve(SNAPSHOT_FILE))))
+        ) {
+            out.writeLong(size);
+
+            forEachRow(row -> {
+                byte[] keyBytes = keyBytes(row);
+                byte[] valueBytes = valueBytes(row);
+
+                out.writeInt(keyBytes.length);
+                out.write(keyBytes);
+                out.writeInt(valueBytes.length);
+                out.write(valueBytes);
+            });
+
+            return CompletableFuture.completedFuture(null);
+        }
+        catch (IOException e) {
+            return CompletableFuture.failedFuture(new StorageException("Failed to create a snapshot", e));
+        }
+        finally {
+            rwLock.readLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void restoreSnapshot(Path snapshotPath) throws StorageException {
+        rwLock.writeLock().lock();
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+            Files.newInputStream(snapshotPath.resolve(SNAPSHOT_FILE))))
+        ) {
+            clear();
+
+            long cnt = in.readLong();
+
+            for (long i = 0; i < cnt; i++) {
+                byte[] keyBytes = new byte[in.readInt()];
+
+                in.readFully(keyBytes);
+
+                byte[] valueBytes = new byte[in.readInt()];
+
+                in.readFully(valueBytes);
+
+                put(keyBytes, valueBytes);
+            }
+        }
+        catch (IOException e) {
+            throw new StorageException("Failed to restore a snapshot", e);
+        }
+        finally {
+            rwLock.writeLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        rwLock.writeLock().lock();
+
+        try {
+            if (closed)
+                return;
+
+            closed = true;
+
+            clear();
+
+            GridUnsafe.freeMemory(buckets);
+        }
+        finally {
+            rwLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return Number of rows.
+     */
+    public long size() {
+        rwLock.readLock().lock();
+
+        try {
+            return size;
+        }
+        finally {
+            rwLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Size of all the allocated pages in bytes.
+     */
+    public long allocatedSize() {
+        rwLock.readLock().lock();
+
+        try {
+            return allocatedSize;
+        }
+        finally {
+            rwLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts or replaces a row. Must be called under the write lock.
+     *
+     * @param keyBytes Key.
+     * @param valueBytes Value.
+     */
+    private void put(byte[] keyBytes, byte[] valueBytes) {
+        checkNotClosed();
+
+        int hash = hash(keyBytes);
+
+        long oldRow = find(keyBytes, hash);
+
+        int rowSize = ROW_HDR_SIZE + keyBytes.length + valueBytes.length;
+
+        if (oldRow != 0) {
+            long page = GridUnsafe.getLong(oldRow + ROW_PAGE);
+
+            // Value is replaced in place if the new row fits into the slot of the old one.
+            if (rowSize <= slotCapacity(page) && sizeClass(rowSize) == GridUnsafe.getInt(page + PAGE_SIZE_CLASS)) {
+                GridUnsafe.putInt(oldRow + ROW_VAL_LEN, valueBytes.length);
+
+                copyToRow(valueBytes, oldRow + ROW_HDR_SIZE + keyBytes.length);
+
+                return;
+            }
+        }
+
+        // Old row is kept until the new one is written, so a failed allocation leaves the storage intact.
+        long row = allocateRow(rowSize);
+
+        GridUnsafe.putInt(row + ROW_HASH, hash);
+        GridUnsafe.putInt(row + ROW_KEY_LEN, keyBytes.length);
+        GridUnsafe.putInt(row + ROW_VAL_LEN, valueBytes.length);
+
+        copyToRow(keyBytes, row + ROW_HDR_SIZE);
+        copyToRow(valueBytes, row + ROW_HDR_SIZE + keyBytes.length);
+
+        if (oldRow != 0)
+            removeRow(oldRow);
+
+        if (size + 1 > (bucketsCnt >>> 2) * 3L)
+            resizeIndex();
+
+        long bucket = bucket(hash);
+
+        GridUnsafe.putLong(row + ROW_NEXT, GridUnsafe.getLong(bucket));
+        GridUnsafe.putLong(bucket, row);
+
+        size++;
+    }
+
+    /**
+     * Removes a row if it exists. Must be called under the write lock.
+     *
+     * @param keyBytes Key.
+     */
+    private void remove(byte[] keyBytes) {
+        checkNotClosed();
+
+        long row = find(keyBytes, hash(keyBytes));
+
+        if (row != 0)
+            removeRow(row);
+    }
+
+    /**
+     * Unlinks a row from the hash index and frees its slot.
+     *
+     * @param row Row address.
+     */
+    private void removeRow(long row) {
+        long prevLink = bucket(GridUnsafe.getInt(row + ROW_HASH));
+
+        for (long cur = GridUnsafe.getLong(prevLink); cur != row; cur = GridUnsafe.getLong(prevLink)) {
+            assert cur != 0;
+
+            prevLink = cur + ROW_NEXT;
+        }
+
+        GridUnsafe.putLong(prevLink, GridUnsafe.getLong(row + ROW_NEXT));
+
+        size--;
+
+        freeRow(row);
+    }
+
+    /**
+     * Finds a row by the key.
+     *
+     * @param keyBytes Key.
+     * @param hash Hash code of the key.
+     * @return Row address, {@code 0} if there is no such row.
+     */
+    private long find(byte[] keyBytes, int hash) {
+        checkNotClosed();
+
+        for (long row = GridUnsafe.getLong(bucket(hash)); row != 0; row = GridUnsafe.getLong(row + ROW_NEXT)) {
+            if (GridUnsafe.getInt(row + ROW_HASH) == hash && keyEquals(row, keyBytes))
+                return row;
+        }
+
+        return 0;
+    }
+
+    /**
+     * @param row Row address.
+     * @param keyBytes Key.
+     * @return {@code True} if the row has the key.
+     */
+    private static boolean keyEquals(long row, byte[] keyBytes) {
+        if (GridUnsafe.getInt(row + ROW_KEY_LEN) != keyBytes.length)
+            return false;
+
+        long addr = row + ROW_HDR_SIZE;
+
+        for (int i = 0; i < keyBytes.length; i++) {
+            if (GridUnsafe.getByte(addr + i) != keyBytes[i])
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Calls the consumer for every row. Must be called under a lock.
+     *
+     * @param consumer Consumer of row addresses.
+     * @param <E> Type of the exception thrown by the consumer.
+     * @throws E If the consumer failed.
+     */
+    private <E extends Exception> void forEachRow(RowConsumer<E> consumer) throws E {
+        checkNotClosed();
+
+        for (int i = 0; i < bucketsCnt; i++) {
+            for (long row = GridUnsafe.getLong(buckets + (long)i * Long.BYTES); row != 0; ) {
+                // Next row is read first, so that the consumer could remove the current one.
+                long next = GridUnsafe.getLong(row + ROW_NEXT);
+
+                consumer.accept(row);
+
+                row = next;
+            }
+        }
+    }
+
+    /**
+     * Doubles the number of hash index buckets.
+     */
+    private void resizeIndex() {
+        int newCnt = bucketsCnt << 1;
+
+        long newBuckets = allocateBuckets(newCnt);
+
+        long oldBuckets = buckets;
+        int oldCnt = bucketsCnt;
+
+        buckets = newBuckets;
+        bucketsCnt = newCnt;
+
+        for (int i = 0; i < oldCnt; i++) {
+            for (long row = GridUnsafe.getLong(oldBuckets + (long)i * Long.BYTES); row != 0; ) {
+                long next = GridUnsafe.getLong(row + ROW_NEXT);
+
+                long bucket = bucket(GridUnsafe.getInt(row + ROW_HASH));
+
+                GridUnsafe.putLong(row + ROW_NEXT, GridUnsafe.getLong(bucket));
+                GridUnsafe.putLong(bucket, row);
+
+                row = next;
+            }
+        }
+
+        GridUnsafe.freeMemory(oldBuckets);
+    }
+
+    /**
+     * @param cnt Number of buckets.
+     * @return Address of zeroed buckets.
+     */
+    private static long allocateBuckets(int cnt) {
+        long addr = GridUnsafe.allocateMemory((long)cnt * Long.BYTES);
+
+        GridUnsafe.setMemory(addr, (long)cnt * Long.BYTES, (byte)0);
+
+        return addr;
+    }
+
+    /**
+     * @param hash Hash code.
+     * @return Address of the bucket.
+     */
+    private long bucket(int hash) {
+        return buckets + (long)(hash & (bucketsCnt - 1)) * Long.BYTES;
+    }
+
+    /**
+     * @param keyBytes Key.
+     * @return Hash code.
+     */
+    private static int hash(byte[] keyBytes) {
+        return IgniteUtils.hash(Arrays.hashCode(keyBytes));
+    }
+
+    /**
+     * @param row Row address.
+     * @return Copy of the key.
+     */
+    private static byte[] keyBytes(long row) {
+        return copyFromRow(row + ROW_HDR_SIZE, GridUnsafe.getInt(row + ROW_KEY_LEN));
+    }
+
+    /**
+     * @param row Row address.
+     * @return Copy of the value.
+     */
+    private static byte[] valueBytes(long row) {
+        int keyLen = GridUnsafe.getInt(row + ROW_KEY_LEN);
+
+        return copyFromRow(row + ROW_HDR_SIZE + keyLen, GridUnsafe.getInt(row + ROW_VAL_LEN));
+    }
+
+    /**
+     * @param addr Address.
+     * @param len Length.
+     * @return Copy of the memory.
+     */
+    private static byte[] copyFromRow(long addr, int len) {
+        byte[] bytes = new byte[len];
+
+        GridUnsafe.copyOffheapHeap(addr, bytes, GridUnsafe.BYTE_ARR_OFF, len);
+
+        return bytes;
+    }
+
+    /**
+     * @param bytes Bytes to copy.
+     * @param addr Destination address.
+     */
+    private static void copyToRow(byte[] bytes, long addr) {
+        GridUnsafe.copyHeapOffheap(bytes, GridUnsafe.BYTE_ARR_OFF, addr, bytes.length);
+    }
+
+    /**
+     * @param rowSize Row size.
+     * @return Size class that fits the row, {@link #LARGE_CLASS} if the row does not fit into any slot.
+     */
+    private int sizeClass(int rowSize) {
+        if (rowSize > slotSizes[slotSizes.length - 1])
+            return LARGE_CLASS;
+
+        int idx = Arrays.binarySearch(slotSizes, rowSize);
+
+        return idx >= 0 ? idx : -idx - 1;
+    }
+
+    /**
+     * @param page Page address.
+     * @return Maximum size of a row in a slot of the page.
+     */
+    private static int slotCapacity(long page) {
+        int slotSize = GridUnsafe.getInt(page + PAGE_SLOT_SIZE);
+
+        return GridUnsafe.getInt(page + PAGE_SIZE_CLASS) == LARGE_CLASS ? slotSize - PAGE_HDR_SIZE : slotSize;
+    }
+
+    /**
+     * Allocates a slot for a row.
+     *
+     * @param rowSize Row size.
+     * @return Row address with the page set.
+     * @throws StorageException If the maximum size of the storage is reached.
+     */
+    private long allocateRow(int rowSize) {
+        int cls = sizeClass(rowSize);
+
+        if (cls == LARGE_CLASS) {
+            long page = allocateLargePage(PAGE_HDR_SIZE + rowSize);
+
+            long row = page + PAGE_HDR_SIZE;
+
+            GridUnsafe.putLong(row + ROW_PAGE, page);
+
+            return row;
+        }
+
+        long page = partialPages[cls];
+
+        if (page == 0) {
+            page = allocatePage();
+
+            initPage(page, slotSizes[cls], cls);
+
+            linkPartial(page);
+        }
+
+        long row = GridUnsafe.getLong(page + PAGE_FREE_SLOT);
+
+        if (row != 0)
+            GridUnsafe.putLong(page + PAGE_FREE_SLOT, GridUnsafe.getLong(row + ROW_NEXT));
+        else {
+            int off = GridUnsafe.getInt(page + PAGE_FREE_SPACE);
+
+            row = page + off;
+
+            GridUnsafe.putInt(page + PAGE_FREE_SPACE, off + slotSizes[cls]);
+        }
+
+        GridUnsafe.putInt(page + PAGE_USED_SLOTS, GridUnsafe.getInt(page + PAGE_USED_SLOTS) + 1);
+
+        if (isFull(page))
+            unlinkPartial(page);
+
+        GridUnsafe.putLong(row + ROW_PAGE, page);
+
+        return row;
+    }
+
+    /**
+     * Frees the slot of a row that is already removed from the hash index.
+     *
+     * @param row Row address.
+     */
+    private void freeRow(long row) {
+        long page = GridUnsafe.getLong(row + ROW_PAGE);
+
+        if (GridUnsafe.getInt(page + PAGE_SIZE_CLASS) == LARGE_CLASS) {
+            removeUsed(page);
+
+            allocatedSize -= GridUnsafe.getInt(page + PAGE_SLOT_SIZE);
+
+            GridUnsafe.freeMemory(page);
+
+            return;
+        }
+
+        boolean wasFull = isFull(page);
+
+        GridUnsafe.putLong(row + ROW_NEXT, GridUnsafe.getLong(page + PAGE_FREE_SLOT));
+        GridUnsafe.putLong(page + PAGE_FREE_SLOT, row);
+
+        int used = GridUnsafe.getInt(page + PAGE_USED_SLOTS) - 1;
+
+        GridUnsafe.putInt(page + PAGE_USED_SLOTS, used);
+
+        if (used == 0) {
+            if (!wasFull)
+                unlinkPartial(page);
+
+            removeUsed(page);
+
+            freePages = push(freePages, freePagesCnt, page);
+
+            freePagesCnt++;
+        }
+        else if (wasFull)
+            linkPartial(page);
+    }
+
+    /**
+     * @param page Page address.
+     * @return {@code True} if the page has no free slots.
+     */
+    private boolean isFull(long page) {
+        return GridUnsafe.getLong(page + PAGE_FREE_SLOT) == 0 &&
+            GridUnsafe.getInt(page + PAGE_FREE_SPACE) + GridUnsafe.getInt(page + PAGE_SLOT_SIZE) > pageSize;
+    }
+
+    /**
+     * Gets an empty page.
+     *
+     * @return Page address.
+     * @throws StorageException If the maximum size of the storage is reached.
+     */
+    private long allocatePage() {
+        if (freePagesCnt > 0)
+            return freePages[--freePagesCnt];
+
+        if (allocatedSize + pageSize > maxSize)
+            throw outOfMemory();
+
+        allocatedSize += pageSize;
+
+        return GridUnsafe.allocateMemory(pageSize);
+    }
+
+    /**
+     * Allocates a page for a single large row, releasing the empty pages kept for reuse if needed.
+     *
+     * @param size Page size.
+     * @return Page address.
+     * @throws StorageException If the maximum size of the storage is reached.
+     */
+    private long allocateLargePage(int size) {
+        if (size > maxSize)
+            throw new StorageException("Row is bigger than the maximum size of the storage: " + size);
+
+        while (allocatedSize + size > maxSize && freePagesCnt > 0) {
+            GridUnsafe.freeMemory(freePages[--freePagesCnt]);
+
+            allocatedSize -= pageSize;
+        }
+
+        if (allocatedSize + size > maxSize)
+            throw outOfMemory();
+
+        long page = GridUnsafe.allocateMemory(size);
+
+        allocatedSize += size;
+
+        initPage(page, size, LARGE_CLASS);
+
+        GridUnsafe.putInt(page + PAGE_USED_SLOTS, 1);
+
+        return page;
+    }
+
+    /**
+     * Initializes the header of a page and registers it as used.
+     *
+     * @param page Page address.
+     * @param slotSize Slot size.
+     * @param cls Size class.
+     */
+    private void initPage(long page, int slotSize, int cls) {
+        GridUnsafe.putLong(page + PAGE_FREE_SLOT, 0);
+        GridUnsafe.putLong(page + PAGE_PREV, 0);
+        GridUnsafe.putLong(page + PAGE_NEXT, 0);
+        GridUnsafe.putInt(page + PAGE_SLOT_SIZE, slotSize);
+        GridUnsafe.putInt(page + PAGE_USED_SLOTS, 0);
+        GridUnsafe.putInt(page + PAGE_FREE_SPACE, PAGE_HDR_SIZE);
+        GridUnsafe.putInt(page + PAGE_SIZE_CLASS, cls);
+
+        GridUnsafe.putInt(page + PAGE_IDX, usedPagesCnt);
+
+        usedPages = push(usedPages, usedPagesCnt, page);
+
+        usedPagesCnt++;
+    }
+
+    /**
+     * @return Exception thrown when the maximum size of the storage is reached.
+     */
+    private StorageException outOfMemory() {
+        return new StorageException("Not enough memory in the storage [maxSize=" + maxSize + ']');
+    }
+
+    /**
+     * Adds a page to the head of the list of pages with free slots of its size class.
+     *
+     * @param page Page address.
+     */
+    private void linkPartial(long page) {
+        int cls = GridUnsafe.getInt(page + PAGE_SIZE_CLASS);
+
+        long head = partialPages[cls];
+
+        GridUnsafe.putLong(page + PAGE_PREV, 0);
+        GridUnsafe.putLong(page + PAGE_NEXT, head);
+
+        if (head != 0)
+            GridUnsafe.putLong(head + PAGE_PREV, page);
+
+        partialPages[cls] = page;
+    }
+
+    /**
+     * Removes a page from the list of pages with free slots of its size class.
+     *
+     * @param page Page address.
+     */
+    private void unlinkPartial(long page) {
+        int cls = GridUnsafe.getInt(page + PAGE_SIZE_CLASS);
+
+        long prev = GridUnsafe.getLong(page + PAGE_PREV);
+        long next = GridUnsafe.getLong(page + PAGE_NEXT);
+
+        if (prev != 0)
+            GridUnsafe.putLong(prev + PAGE_NEXT, next);
+        else
+            partialPages[cls] = next;
+
+        if (next != 0)
+            GridUnsafe.putLong(next + PAGE_PREV, prev);
+    }
+
+    /**
+     * Removes a page from the used pages.
+     *
+     * @param page Page address.
+     */
+    private void removeUsed(long page) {
+        int idx = GridUnsafe.getInt(page + PAGE_IDX);
+
+        long last = usedPages[--usedPagesCnt];
+
+        usedPages[idx] = last;
+
+        GridUnsafe.putInt(last + PAGE_IDX, idx);
+    }
+
+    /**
+     * Frees all pages and empties the hash index.
+     */
+    private void clear() {
+        for (int i = 0; i < usedPagesCnt; i++)
+            GridUnsafe.freeMemory(usedPages[i]);
+
+        for (int i = 0; i < freePagesCnt; i++)
+            GridUnsafe.freeMemory(freePages[i]);
+
+        usedPagesCnt = 0;
+        freePagesCnt = 0;
+        allocatedSize = 0;
+        size = 0;
+
+        Arrays.fill(partialPages, 0);
+
+        GridUnsafe.setMemory(buckets, (long)bucketsCnt * Long.BYTES, (byte)0);
+    }
+
+    /**
+     * @throws StorageException If the storage is closed.
+     */
+    private void checkNotClosed() {
+        if (closed)
+            throw new StorageException("Storage is closed");
+    }
+
+    /**
+     * Appends a value to an array, growing it if needed.
+     *
+     * @param arr Array.
+     * @param cnt Number of values in the array.
+     * @param val Value.
+     * @return Array with the value.
+     */
+    private static long[] push(long[] arr, int cnt, long val) {
+        if (cnt == arr.length)
+            arr = Arrays.copyOf(arr, arr.length * 2);
+
+        arr[cnt] = val;
+
+        return arr;
+    }
+
+    /**
+     * Compares keys as unsigned byte sequences.
+     *
+     * @param a First key, from the position to the limit.
+     * @param b Second key, from the position to the limit.
+     * @return Comparison result.
+     */
+    private static int compareUnsigned(ByteBuffer a, ByteBuffer b) {
+        int i = a.mismatch(b);
+
+        if (i == -1)
+            return 0;
+
+        if (i == a.remaining() || i == b.remaining())
+            return Integer.compare(a.remaining(), b.remaining());
+
+        return Byte.compareUnsigned(a.get(a.position() + i), b.get(b.position() + i));
+    }
+
+    /**
+     * Consumer of row addresses.
+     *
+     * @param <E> Type of the exception thrown by the consumer.
+     */
+    @FunctionalInterface
+    private interface RowConsumer<E extends Exception> {
+        /**
+         * @param row Row address.
+         * @throws E If failed.
+         */
+        void accept(long row) throws E;
+    }
+
+    /**
+     * Cursor over the rows of sorted keys. Keys are collected and sorted once, when the cursor is created, and the
+     * values are copied page by page under the read lock, so that a long scan neither holds the lock nor copies the
+     * whole range at once. Rows removed after the cursor is created are skipped, and the values are the ones at the
+     * time the page is read.
+     */
+    private class ScanCursor implements Cursor<DataRow> {
+        /** Sorted keys of the rows to return. */
+        private final List<byte[]> keys;
+
+        /** Position of the next key to read. */
+        private int keyIdx;
+
+        /** Rows of the current page that have not been returned yet. */
+        private final Queue<DataRow> page = new ArrayDeque<>();
+
+        /**
+         * @param keys Sorted keys of the rows to return.
+         */
+        ScanCursor(List<byte[]> keys) {
+            this.keys = keys;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean hasNext() {
+            while (page.isEmpty() && keyIdx < keys.size())
+                readPage();
+
+            return !page.isEmpty();
+        }
+
+        /** {@inheritDoc} */
+        @Override public DataRow next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            return page.poll();
+        }
+
+        /**
+         * Copies the rows of the next page of keys.
+         */
+        private void readPage() {
+            int end = Math.min(keyIdx + SCAN_PAGE_SIZE, keys.size());
+
+            rwLock.readLock().lock();
+
+            try {
+                checkNotClosed();
+
+                for (; keyIdx < end; keyIdx++) {
+                    byte[] keyBytes = keys.get(keyIdx);
+
+                    // Let the key be collected as soon as it is read.
+                    keys.set(keyIdx, null);
+
+                    long row = find(keyBytes, hash(keyBytes));
+
+                    if (row != 0)
+                        page.add(new SimpleDataRow(keyBytes, valueBytes(row)));
+                }
+            }
+            finally {
+                rwLock.readLock().unlock();
+            }
+        }
+
+        /** {@inheritDoc} */
+        @NotNull @Override public Iterator<DataRow> iterator() {
+            return this;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void close() throws Exception {
+            keyIdx = keys.size();
+
+            page.clear();
+        }
+    }
+}
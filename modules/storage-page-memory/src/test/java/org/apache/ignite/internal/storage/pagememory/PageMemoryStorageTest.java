@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.storage.pagememory;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.ignite.internal.storage.AbstractStorageTest;
+import org.apache.ignite.internal.storage.DataRow;
+import org.apache.ignite.internal.storage.KeyRange;
+import org.apache.ignite.internal.storage.StorageException;
+import org.apache.ignite.internal.storage.basic.SimpleDataRow;
+import org.apache.ignite.internal.util.Cursor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Storage test implementation for {@link PageMemoryStorage}.
+ */
+public class PageMemoryStorageTest extends AbstractStorageTest {
+    /** Maximum size of the storage used by the tests of the size limit. */
+    private static final long SMALL_MAX_SIZE = 16 * PageMemoryStorage.DFLT_PAGE_SIZE;
+
+    @BeforeEach
+    public void setUp() {
+        storage = new PageMemoryStorage(64L * 1024 * 1024);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        storage.close();
+    }
+
+    /**
+     * Tests that updates of rows of different sizes reuse the memory.
+     */
+    @Test
+    public void updatesReuseMemory() {
+        PageMemoryStorage storage = (PageMemoryStorage)this.storage;
+
+        for (int i = 0; i < 1000; i++)
+            storage.write(row(i, 10));
+
+        long allocated = storage.allocatedSize();
+
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 1000; i++)
+                storage.write(row(i, round % 2 == 0 ? 300 : 10));
+
+            for (int i = 0; i < 1000; i++)
+                storage.remove(row(i, 0));
+
+            for (int i = 0; i < 1000; i++)
+                storage.write(row(i, 10));
+        }
+
+        assertEquals(1000, storage.size());
+
+        // Pages of the bigger size class are reused for the smaller one once they are emptied.
+        assertTrue(storage.allocatedSize() <= allocated + 300L * 1000 * 2, "allocated=" + storage.allocatedSize());
+
+        for (int i = 0; i < 1000; i++)
+            assertArrayEquals(row(i, 10).valueBytes(), storage.read(row(i, 0)).valueBytes());
+    }
+
+    /**
+     * Tests that an update fails if the storage is full, and that no rows are dropped to free the memory.
+     */
+    @Test
+    public void maxSizeReached() throws Exception {
+        storage.close();
+
+        PageMemoryStorage storage = new PageMemoryStorage(SMALL_MAX_SIZE);
+
+        this.storage = storage;
+
+        List<Integer> written = new ArrayList<>();
+
+        assertThrows(StorageException.class, () -> {
+            for (int i = 0; ; i++) {
+                storage.write(row(i, 100));
+
+                written.add(i);
+            }
+        });
+
+        assertEquals(written.size(), storage.size());
+
+        for (int i : written)
+            assertArrayEquals(row(i, 100).valueBytes(), storage.read(row(i, 0)).valueBytes());
+
+        assertTrue(storage.allocatedSize() <= SMALL_MAX_SIZE);
+
+        // Update of an existing row that needs a bigger slot fails and keeps the old value.
+        assertThrows(StorageException.class, () -> storage.write(row(1, PageMemoryStorage.DFLT_PAGE_SIZE * 2)));
+
+        assertArrayEquals(row(1, 100).valueBytes(), storage.read(row(1, 0)).valueBytes());
+
+        // Memory is available again after the removal.
+        storage.remove(row(0, 0));
+
+        storage.write(row(-1, 100));
+
+        assertNull(storage.read(row(0, 0)).valueBytes());
+    }
+
+    /**
+     * Tests that a scan cursor reads the rows as they are when it gets to them, so that the rows removed after the
+     * cursor is opened are skipped.
+     */
+    @Test
+    public void scanReadsRowsLazily() throws Exception {
+        for (int i = 0; i < 1000; i++)
+            storage.write(row(i, 10));
+
+        List<Integer> keys = new ArrayList<>();
+
+        try (Cursor<DataRow> cursor = storage.scan(KeyRange.all())) {
+            for (int i = 0; i < 10; i++)
+                keys.add(ByteBuffer.wrap(cursor.next().keyBytes()).getInt());
+
+            for (int i = 500; i < 600; i++)
+                storage.remove(row(i, 0));
+
+            storage.write(row(600, 20));
+
+            while (cursor.hasNext()) {
+                DataRow row = cursor.next();
+
+                int key = ByteBuffer.wrap(row.keyBytes()).getInt();
+
+                assertArrayEquals(row(key, key == 600 ? 20 : 10).valueBytes(), row.valueBytes());
+
+                keys.add(key);
+            }
+        }
+
+        List<Integer> expected = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            if (i < 500 || i >= 600)
+                expected.add(i);
+        }
+
+        assertEquals(expected, keys);
+    }
+
+    /**
+     * @param key Integer key.
+     * @param valueSize Value size.
+     * @return Data row with the value filled with the lowest byte of the key.
+     */
+    private static DataRow row(int key, int valueSize) {
+        byte[] value = new byte[valueSize];
+
+        for (int i = 0; i < valueSize; i++)
+            value[i] = (byte)key;
+
+        return new SimpleDataRow(ByteBuffer.allocate(Integer.BYTES).putInt(key).array(), value);
+    }
+}
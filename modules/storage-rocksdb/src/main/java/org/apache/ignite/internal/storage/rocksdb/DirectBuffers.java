@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.storage.rocksdb;
+
+import java.nio.ByteBuffer;
+import org.apache.ignite.internal.storage.SearchRow;
+import org.apache.ignite.internal.storage.basic.ByteBufferDataRow;
+import org.jetbrains.annotations.Nullable;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+
+/**
+ * Reusable direct buffers that RocksDB copies keys and values into, together with a row that is a view over them.
+ * Buffers grow when the data does not fit. Not thread-safe.
+ */
+class DirectBuffers {
+    /** Initial capacity of a key buffer. */
+    private static final int INITIAL_KEY_CAPACITY = 256;
+
+    /** Initial capacity of a value buffer. */
+    private static final int INITIAL_VALUE_CAPACITY = 1024;
+
+    /** Key buffer. */
+    private ByteBuffer key = ByteBuffer.allocateDirect(INITIAL_KEY_CAPACITY);
+
+    /** Value buffer. */
+    private ByteBuffer value = ByteBuffer.allocateDirect(INITIAL_VALUE_CAPACITY);
+
+    /** Row that is a view over the buffers. */
+    private final ByteBufferDataRow row = new ByteBufferDataRow();
+
+    /**
+     * @return Row that is a view over the buffers.
+     */
+    ByteBufferDataRow row() {
+        return row;
+    }
+
+    /**
+     * Copies a search key into the key buffer.
+     *
+     * @param searchRow Search row.
+     * @return Key buffer that contains the key from the position to the limit.
+     */
+    ByteBuffer copyKey(SearchRow searchRow) {
+        byte[] keyBytes = searchRow.keyBytes();
+
+        if (keyBytes.length > key.capacity())
+            key = ByteBuffer.allocateDirect(grow(key.capacity(), keyBytes.length));
+
+        key.clear();
+        key.put(keyBytes);
+        key.flip();
+
+        return key;
+    }
+
+    /**
+     * Copies the key of the current iterator entry into the key buffer.
+     *
+     * @param iter Valid iterator.
+     * @return Key buffer that contains the key from the position to the limit.
+     */
+    ByteBuffer readKey(RocksIterator iter) {
+        while (true) {
+            key.clear();
+
+            int len = iter.key(key);
+
+            if (len <= key.capacity())
+                return key;
+
+            key = ByteBuffer.allocateDirect(grow(key.capacity(), len));
+        }
+    }
+
+    /**
+     * Copies the value of the current iterator entry into the value buffer.
+     *
+     * @param iter Valid iterator.
+     * @return Value buffer that contains the value from the position to the limit.
+     */
+    ByteBuffer readValue(RocksIterator iter) {
+        while (true) {
+            value.clear();
+
+            int len = iter.value(value);
+
+            if (len <= value.capacity())
+                return value;
+
+            value = ByteBuffer.allocateDirect(grow(value.capacity(), len));
+        }
+    }
+
+    /**
+     * Reads a value by the key into the value buffer.
+     *
+     * @param db RocksDB instance.
+     * @param cf Column family.
+     * @param readOptions Read options.
+     * @param keyBuf Direct buffer with the key from the position to the limit. Its position is restored afterwards.
+     * @return Value buffer that contains the value from the position to the limit or {@code null} if there is no such
+     *      key.
+     * @throws RocksDBException If failed to read the value.
+     */
+    @Nullable ByteBuffer get(
+        RocksDB db,
+        ColumnFamilyHandle cf,
+        ReadOptions readOptions,
+        ByteBuffer keyBuf
+    ) throws RocksDBException {
+        int keyPos = keyBuf.position();
+
+        while (true) {
+            value.clear();
+
+            int len = db.get(cf, readOptions, keyBuf, value);
+
+            // RocksDB moves the position of the key buffer to its limit.
+            keyBuf.position(keyPos);
+
+            if (len == RocksDB.NOT_FOUND)
+                return null;
+
+            if (len <= value.capacity())
+                return value;
+
+            value = ByteBuffer.allocateDirect(grow(value.capacity(), len));
+        }
+    }
+
+    /**
+     * @param capacity Current capacity.
+     * @param required Required capacity.
+     * @return New capacity.
+     */
+    private static int grow(int capacity, int required) {
+        return Math.max(capacity * 2, required);
+    }
+}
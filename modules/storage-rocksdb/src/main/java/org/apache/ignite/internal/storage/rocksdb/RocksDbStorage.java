@@ -17,149 +17,361 @@
 
 package org.apache.ignite.internal.storage.rocksdb;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import org.apache.ignite.internal.storage.DataRow;
 import org.apache.ignite.internal.storage.InvokeClosure;
+import org.apache.ignite.internal.storage.KeyRange;
 import org.apache.ignite.internal.storage.SearchRow;
 import org.apache.ignite.internal.storage.Storage;
 import org.apache.ignite.internal.storage.StorageException;
+import org.apache.ignite.internal.storage.basic.ByteBufferDataRow;
 import org.apache.ignite.internal.storage.basic.SimpleDataRow;
 import org.apache.ignite.internal.util.Cursor;
+import org.apache.ignite.internal.util.IgniteUtils;
 import org.apache.ignite.lang.IgniteInternalException;
 import org.jetbrains.annotations.NotNull;
-import org.rocksdb.AbstractComparator;
-import org.rocksdb.ComparatorOptions;
+import org.jetbrains.annotations.Nullable;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.EnvOptions;
+import org.rocksdb.IngestExternalFileOptions;
 import org.rocksdb.Options;
+import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.Slice;
+import org.rocksdb.Snapshot;
+import org.rocksdb.SstFileWriter;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteBatchWithIndex;
+import org.rocksdb.WriteOptions;
 
 /**
- * Storage implementation based on a single RocksDB instance.
+ * Storage implementation based on a column family of a RocksDB instance. All partitions of a table on the node share
+ * the same instance, see {@link RocksDbTableStorage}.
  */
-public class RocksDbStorage implements Storage, AutoCloseable {
-    static {
-        RocksDB.loadLibrary();
-    }
+public class RocksDbStorage implements Storage {
+    /** Number of key lock stripes, must be a power of two. */
+    private static final int LOCK_STRIPES = 1 << 6;
+
+    /** Name of the file with the data of the partition in a snapshot folder. */
+    private static final String SNAPSHOT_FILE = "partition.sst";
+
+    /**
+     * Per-thread direct buffers for {@link #readView}, shared by all storages. Slot is emptied while the buffers are in
+     * use.
+     */
+    private static final ThreadLocal<DirectBuffers> READ_BUFFERS = ThreadLocal.withInitial(DirectBuffers::new);
 
-    /** RocksDB comparator options. */
-    private final ComparatorOptions comparatorOptions;
+    /** Table storage that the partition belongs to. */
+    private final RocksDbTableStorage tableStorage;
 
-    /** RocksDB comparator. */
-    private final AbstractComparator comparator;
+    /** Partition id. */
+    private final int partId;
 
-    /** RockDB options. */
-    private final Options options;
+    /** Whether the table storage has been created for this storage only and is closed together with it. */
+    private final boolean ownsTableStorage;
 
     /** RocksDb instance. */
     private final RocksDB db;
 
-    /** RW lock. */
+    /** Column family of the partition. Replaced when a snapshot is restored, guarded by {@link #rwLock}. */
+    private volatile ColumnFamilyHandle cf;
+
+    /** Keys comparator. */
+    private final Comparator<ByteBuffer> keyComparator;
+
+    /** Write options. */
+    private final WriteOptions writeOptions = new WriteOptions();
+
+    /** Read options. */
+    private final ReadOptions readOptions = new ReadOptions();
+
+    /**
+     * RW lock. Read lock is held by all data operations and by the open cursors while they touch their iterators,
+     * write lock is only acquired to replace the whole column family {@link #cf} when a snapshot is restored and to
+     * close the storage.
+     */
     private final ReadWriteLock rwLock = new ReentrantReadWriteLock();
 
     /**
+     * Striped per-key locks. Serialize {@link #invoke} calls with other updates of the same key, while updates of
+     * different keys proceed in parallel.
+     */
+    private final Lock[] keyLocks = new Lock[LOCK_STRIPES];
+
+    /** Whether the storage is closed. */
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * Open scan cursors. Their iterators are bound to the column family, so they are invalidated before the column
+     * family is dropped.
+     */
+    private final Set<ScanCursor> cursors = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a standalone storage with its own RocksDB instance that orders keys with the native bytewise comparator
+     * of RocksDB, i.e. as unsigned byte sequences. Keys are compared without calls from RocksDB into Java, so keys
+     * should be encoded in a way that their byte order is the desired one.
+     *
+     * @param dbPath Path to the folder to store data.
+     * @throws StorageException If failed to create RocksDB instance.
+     */
+    public RocksDbStorage(Path dbPath) throws StorageException {
+        this(dbPath, null);
+    }
+
+    /**
+     * Creates a standalone storage with its own RocksDB instance that orders keys with a Java comparator. RocksDB calls
+     * the comparator through JNI on every key comparison in memtable inserts, seeks and compactions, which is
+     * expensive, so {@link #RocksDbStorage(Path)} should be preferred whenever possible.
+     *
      * @param dbPath Path to the folder to store data.
-     * @param comparator Keys comparator.
+     * @param comparator Keys comparator, {@code null} to use the native bytewise comparator.
      * @throws StorageException If failed to create RocksDB instance.
      */
-    public RocksDbStorage(Path dbPath, Comparator<ByteBuffer> comparator) throws StorageException {
+    public RocksDbStorage(Path dbPath, @Nullable Comparator<ByteBuffer> comparator) throws StorageException {
+        this(new RocksDbTableStorage(dbPath, comparator), 0, true);
+    }
+
+    /**
+     * Creates a storage of a partition of the table storage.
+     *
+     * @param tableStorage Table storage.
+     * @param partId Partition id.
+     * @param ownsTableStorage Whether the table storage is closed together with this storage.
+     * @throws StorageException If failed to create the column family of the partition.
+     */
+    RocksDbStorage(RocksDbTableStorage tableStorage, int partId, boolean ownsTableStorage) throws StorageException {
+        this.tableStorage = tableStorage;
+        this.partId = partId;
+        this.ownsTableStorage = ownsTableStorage;
+
+        db = tableStorage.db();
+        keyComparator = tableStorage.keyComparator();
+
+        for (int i = 0; i < keyLocks.length; i++)
+            keyLocks[i] = new ReentrantLock();
+
+        cf = tableStorage.acquireColumnFamily(partId);
+    }
+
+    /** {@inheritDoc} */
+    @Override public DataRow read(SearchRow key) throws StorageException {
+        rwLock.readLock().lock();
+
         try {
-            comparatorOptions = new ComparatorOptions();
+            checkNotClosed();
 
-            this.comparator = new AbstractComparator(comparatorOptions) {
-                /** {@inheritDoc} */
-                @Override public String name() {
-                    return "comparator";
-                }
+            byte[] keyBytes = key.keyBytes();
 
-                /** {@inheritDoc} */
-                @Override public int compare(ByteBuffer a, ByteBuffer b) {
-                    return comparator.compare(a, b);
-                }
-            };
+            return new SimpleDataRow(keyBytes, db.get(cf, keyBytes));
+        }
+        catch (RocksDBException e) {
+            throw new StorageException("Failed to read data from the storage", e);
+        }
+        finally {
+            rwLock.readLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public <T> T readView(SearchRow key, Function<? super DataRow, T> reader) throws StorageException {
+        DirectBuffers bufs = READ_BUFFERS.get();
 
-            options = new Options();
+        // Thread's buffers are still in use if a reader of another storage reads from this one.
+        boolean nested = bufs == null;
+
+        if (nested)
+            bufs = new DirectBuffers();
+        else
+            READ_BUFFERS.set(null);
+
+        rwLock.readLock().lock();
 
-            options.setCreateIfMissing(true);
+        try {
+            checkNotClosed();
 
-            options.setComparator(this.comparator);
+            ByteBuffer keyBuf = bufs.copyKey(key);
 
-            this.db = RocksDB.open(options, dbPath.toAbsolutePath().toString());
+            return reader.apply(bufs.row().set(keyBuf, bufs.get(db, cf, readOptions, keyBuf)));
         }
         catch (RocksDBException e) {
-            close();
+            throw new StorageException("Failed to read data from the storage", e);
+        }
+        finally {
+            rwLock.readLock().unlock();
 
-            throw new StorageException("Failed to start the storage", e);
+            if (!nested)
+                READ_BUFFERS.set(bufs);
         }
     }
 
     /** {@inheritDoc} */
-    @Override public DataRow read(SearchRow key) throws StorageException {
+    @Override public List<DataRow> readAll(List<? extends SearchRow> keys) throws StorageException {
+        List<byte[]> keysBytes = keys.stream().map(SearchRow::keyBytes).collect(Collectors.toList());
+
+        rwLock.readLock().lock();
+
         try {
-            byte[] keyBytes = key.keyBytes();
+            checkNotClosed();
+
+            List<byte[]> values = db.multiGetAsList(Collections.nCopies(keysBytes.size(), cf), keysBytes);
+
+            List<DataRow> res = new ArrayList<>(keys.size());
 
-            return new SimpleDataRow(keyBytes, db.get(keyBytes));
+            for (int i = 0; i < keysBytes.size(); i++)
+                res.add(new SimpleDataRow(keysBytes.get(i), values.get(i)));
+
+            return res;
         }
         catch (RocksDBException e) {
             throw new StorageException("Failed to read data from the storage", e);
         }
+        finally {
+            rwLock.readLock().unlock();
+        }
     }
 
     /** {@inheritDoc} */
     @Override public void write(DataRow row) throws StorageException {
+        byte[] keyBytes = row.keyBytes();
+
+        Lock keyLock = keyLock(keyBytes);
+
         rwLock.readLock().lock();
+        keyLock.lock();
 
         try {
-            db.put(row.keyBytes(), row.valueBytes());
+            checkNotClosed();
+
+            db.put(cf, writeOptions, keyBytes, row.valueBytes());
         }
         catch (RocksDBException e) {
             throw new StorageException("Filed to write data to the storage", e);
         }
         finally {
+            keyLock.unlock();
+            rwLock.readLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void writeAll(List<? extends DataRow> rows) throws StorageException {
+        int[] stripes = keyLockStripes(rows);
+
+        rwLock.readLock().lock();
+        lockStripes(stripes);
+
+        try (WriteBatch batch = new WriteBatch()) {
+            checkNotClosed();
+
+            for (DataRow row : rows)
+                batch.put(cf, row.keyBytes(), row.valueBytes());
+
+            db.write(writeOptions, batch);
+        }
+        catch (RocksDBException e) {
+            throw new StorageException("Filed to write data to the storage", e);
+        }
+        finally {
+            unlockStripes(stripes);
             rwLock.readLock().unlock();
         }
     }
 
     /** {@inheritDoc} */
     @Override public void remove(SearchRow key) throws StorageException {
+        byte[] keyBytes = key.keyBytes();
+
+        Lock keyLock = keyLock(keyBytes);
+
         rwLock.readLock().lock();
+        keyLock.lock();
 
         try {
-            db.delete(key.keyBytes());
+            checkNotClosed();
+
+            db.delete(cf, writeOptions, keyBytes);
         }
         catch (RocksDBException e) {
             throw new StorageException("Failed to remove data from the storage", e);
         }
         finally {
+            keyLock.unlock();
+            rwLock.readLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void removeAll(List<? extends SearchRow> keys) throws StorageException {
+        int[] stripes = keyLockStripes(keys);
+
+        rwLock.readLock().lock();
+        lockStripes(stripes);
+
+        try (WriteBatch batch = new WriteBatch()) {
+            checkNotClosed();
+
+            for (SearchRow key : keys)
+                batch.delete(cf, key.keyBytes());
+
+            db.write(writeOptions, batch);
+        }
+        catch (RocksDBException e) {
+            throw new StorageException("Failed to remove data from the storage", e);
+        }
+        finally {
+            unlockStripes(stripes);
             rwLock.readLock().unlock();
         }
     }
 
     /** {@inheritDoc} */
     @Override public void invoke(SearchRow key, InvokeClosure clo) throws StorageException {
-        rwLock.writeLock().lock();
+        byte[] keyBytes = key.keyBytes();
+
+        Lock keyLock = keyLock(keyBytes);
+
+        rwLock.readLock().lock();
+        keyLock.lock();
 
         try {
-            byte[] keyBytes = key.keyBytes();
-            byte[] existingDataBytes = db.get(keyBytes);
+            checkNotClosed();
+
+            byte[] existingDataBytes = db.get(cf, keyBytes);
 
             clo.call(new SimpleDataRow(keyBytes, existingDataBytes));
 
             switch (clo.operationType()) {
                 case WRITE:
-                    db.put(keyBytes, clo.newRow().valueBytes());
+                    db.put(cf, writeOptions, keyBytes, clo.newRow().valueBytes());
 
                     break;
 
                 case REMOVE:
-                    db.delete(keyBytes);
+                    db.delete(cf, writeOptions, keyBytes);
 
                     break;
 
@@ -171,35 +383,412 @@ public class RocksDbStorage implements Storage, AutoCloseable {
             throw new StorageException("Failed to access data in the storage", e);
         }
         finally {
-            rwLock.writeLock().unlock();
+            keyLock.unlock();
+            rwLock.readLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void invokeAll(
+        List<? extends SearchRow> keys,
+        List<? extends InvokeClosure> clos
+    ) throws StorageException {
+        assert keys.size() == clos.size();
+
+        int[] stripes = keyLockStripes(keys);
+
+        rwLock.readLock().lock();
+        lockStripes(stripes);
+
+        // Indexed batch allows closures to see the updates made by the preceding closures of the same batch.
+        try (WriteBatchWithIndex batch = new WriteBatchWithIndex(true)) {
+            checkNotClosed();
+
+            for (int i = 0; i < keys.size(); i++) {
+                byte[] keyBytes = keys.get(i).keyBytes();
+
+                InvokeClosure clo = clos.get(i);
+
+                clo.call(new SimpleDataRow(keyBytes, batch.getFromBatchAndDB(db, cf, readOptions, keyBytes)));
+
+                switch (clo.operationType()) {
+                    case WRITE:
+                        batch.put(cf, keyBytes, clo.newRow().valueBytes());
+
+                        break;
+
+                    case REMOVE:
+                        batch.delete(cf, keyBytes);
+
+                        break;
+
+                    case NOOP:
+                        break;
+                }
+            }
+
+            db.write(writeOptions, batch);
+        }
+        catch (RocksDBException e) {
+            throw new StorageException("Failed to access data in the storage", e);
+        }
+        finally {
+            unlockStripes(stripes);
+            rwLock.readLock().unlock();
         }
     }
 
     /** {@inheritDoc} */
     @Override public Cursor<DataRow> scan(Predicate<SearchRow> filter) throws StorageException {
-        return new ScanCursor(db.newIterator(), filter);
+        rwLock.readLock().lock();
+
+        try {
+            checkNotClosed();
+
+            return new ScanCursor(KeyRange.all(), filter, false);
+        }
+        finally {
+            rwLock.readLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public Cursor<DataRow> scan(KeyRange range) throws StorageException {
+        rwLock.readLock().lock();
+
+        try {
+            checkNotClosed();
+
+            return new ScanCursor(range, null, false);
+        }
+        finally {
+            rwLock.readLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public Cursor<DataRow> scanView(KeyRange range) throws StorageException {
+        rwLock.readLock().lock();
+
+        try {
+            checkNotClosed();
+
+            return new ScanCursor(range, null, true);
+        }
+        finally {
+            rwLock.readLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public @NotNull CompletableFuture<Void> snapshot(Path snapshotPath) {
+        rwLock.readLock().lock();
+
+        if (closed.get()) {
+            rwLock.readLock().unlock();
+
+            return CompletableFuture.failedFuture(new StorageException("Storage is closed"));
+        }
+
+        // Column family shares the files of the DB with other partitions, so its data is exported into a separate SST
+        // file from a consistent view of the DB.
+        Snapshot dbSnapshot = db.getSnapshot();
+
+        try (
+            ReadOptions snapshotReadOptions = new ReadOptions().setSnapshot(dbSnapshot);
+            RocksIterator iter = db.newIterator(cf, snapshotReadOptions);
+            EnvOptions envOptions = new EnvOptions();
+            Options options = tableStorage.newOptions();
+            SstFileWriter writer = new SstFileWriter(envOptions, options)
+        ) {
+            Files.createDirectories(snapshotPath);
+
+            Path snapshotFile = snapshotPath.resolve(SNAPSHOT_FILE);
+
+            Files.deleteIfExists(snapshotFile);
+
+            iter.seekToFirst();
+
+            // SST file can't be empty, so there is no file in the snapshot of an empty partition.
+            if (iter.isValid()) {
+                writer.open(snapshotFile.toString());
+
+                for (; iter.isValid(); iter.next())
+                    writer.put(iter.key(), iter.value());
+
+                writer.finish();
+            }
+
+            iter.status();
+
+            return CompletableFuture.completedFuture(null);
+        }
+        catch (RocksDBException | IOException e) {
+            return CompletableFuture.failedFuture(new StorageException("Failed to create a snapshot", e));
+        }
+        finally {
+            db.releaseSnapshot(dbSnapshot);
+
+            rwLock.readLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void restoreSnapshot(Path snapshotPath) throws StorageException {
+        rwLock.writeLock().lock();
+
+        try (IngestExternalFileOptions ingestOptions = new IngestExternalFileOptions()) {
+            checkNotClosed();
+
+            invalidateCursors();
+
+            cf = tableStorage.recreateColumnFamily(partId, cf);
+
+            Path snapshotFile = snapshotPath.resolve(SNAPSHOT_FILE);
+
+            if (Files.exists(snapshotFile))
+                db.ingestExternalFile(cf, List.of(snapshotFile.toString()), ingestOptions);
+        }
+        catch (RocksDBException e) {
+            throw new StorageException("Failed to restore a snapshot", e);
+        }
+        finally {
+            rwLock.writeLock().unlock();
+        }
     }
 
     /** {@inheritDoc} */
     @Override public void close() {
-        try (comparatorOptions; comparator; options) {
-            db.close();
+        if (!closed.compareAndSet(false, true))
+            return;
+
+        rwLock.writeLock().lock();
+
+        try (writeOptions; readOptions) {
+            invalidateCursors();
+
+            tableStorage.releaseColumnFamily(partId, cf);
+        }
+        finally {
+            rwLock.writeLock().unlock();
         }
+
+        if (ownsTableStorage)
+            tableStorage.close();
+    }
+
+    /**
+     * Fails if the storage is closed, so that the native handles released by {@link #close()} are never passed to
+     * RocksDB. Must be called under the read or the write lock.
+     *
+     * @throws StorageException If the storage is closed.
+     */
+    private void checkNotClosed() {
+        if (closed.get())
+            throw new StorageException("Storage is closed");
     }
 
-    /** Cusror wrapper over the RocksIterator object with custom filter. */
-    private static class ScanCursor implements Cursor<DataRow> {
+    /**
+     * Releases the native resources of all the open cursors, so that they never touch a dropped column family. Further
+     * use of the cursors fails. Must be called under the write lock.
+     */
+    private void invalidateCursors() {
+        for (ScanCursor cursor : cursors)
+            cursor.invalidate();
+
+        cursors.clear();
+    }
+
+    /**
+     * Returns a lock stripe for the given key.
+     *
+     * @param keyBytes Key bytes.
+     * @return Lock that guards updates of the key.
+     */
+    private Lock keyLock(byte[] keyBytes) {
+        return keyLocks[keyLockStripe(keyBytes)];
+    }
+
+    /**
+     * @param keyBytes Key bytes.
+     * @return Index of the lock stripe for the given key.
+     */
+    private static int keyLockStripe(byte[] keyBytes) {
+        return IgniteUtils.hash(Arrays.hashCode(keyBytes)) & (LOCK_STRIPES - 1);
+    }
+
+    /**
+     * Collects lock stripes for a batch of keys.
+     *
+     * @param keys Keys.
+     * @return Sorted indexes of distinct lock stripes. Locking them in this order prevents deadlocks between batches.
+     */
+    private static int[] keyLockStripes(List<? extends SearchRow> keys) {
+        return keys.stream().mapToInt(key -> keyLockStripe(key.keyBytes())).distinct().sorted().toArray();
+    }
+
+    /**
+     * @param stripes Sorted indexes of lock stripes.
+     */
+    private void lockStripes(int[] stripes) {
+        for (int stripe : stripes)
+            keyLocks[stripe].lock();
+    }
+
+    /**
+     * @param stripes Sorted indexes of lock stripes.
+     */
+    private void unlockStripes(int[] stripes) {
+        for (int i = stripes.length - 1; i >= 0; i--)
+            keyLocks[stripes[i]].unlock();
+    }
+
+    /**
+     * Cursor wrapper over the RocksIterator object with a key range and a custom filter. Bounds that RocksDB supports
+     * natively are pushed down into the {@link ReadOptions} of the iterator, the rest are checked by the cursor itself.
+     * The cursor holds the read lock of the storage while it touches the iterator, and it is invalidated when the
+     * column family is dropped by a snapshot restore or the storage is closed.
+     */
+    private class ScanCursor implements Cursor<DataRow> {
         /** Iterator from RocksDB. */
         private final RocksIterator iter;
 
-        /** Custom filter predicate. */
+        /** Read options of the iterator, owned by the cursor. */
+        private final ReadOptions readOptions;
+
+        /** Native lower bound of the iterator, owned by the cursor. */
+        @Nullable
+        private final Slice lowerSlice;
+
+        /** Native upper bound of the iterator, owned by the cursor. */
+        @Nullable
+        private final Slice upperSlice;
+
+        /** Key range. */
+        private final KeyRange range;
+
+        /** Keys comparator. */
+        private final Comparator<ByteBuffer> comparator;
+
+        /** Custom filter predicate, {@code null} if all keys in the range are accepted. */
+        @Nullable
         private final Predicate<SearchRow> filter;
 
-        private ScanCursor(RocksIterator iter, Predicate<SearchRow> filter) {
-            this.iter = iter;
+        /**
+         * Reusable direct buffers to read the data into, {@code null} if every row gets its own copy of the data.
+         * See {@link Storage#scanView(KeyRange)}.
+         */
+        @Nullable
+        private final DirectBuffers bufs;
+
+        /** Reusable row that is passed to the {@link #filter}, so that rejected keys do not produce garbage rows. */
+        private final ByteBufferDataRow filterRow = new ByteBufferDataRow();
+
+        /** Key of the current iterator position if it has passed all the checks, {@code null} otherwise. */
+        @Nullable
+        private ByteBuffer curKey;
+
+        /** Whether the iterator has gone beyond the range. */
+        private boolean finished;
+
+        /** Whether the native resources are released. Guarded by {@link #rwLock}. */
+        private boolean released;
+
+        /** Whether the cursor has been invalidated by the storage rather than closed by the user. */
+        private boolean invalidated;
+
+        /**
+         * Constructor, must be called under the read lock.
+         *
+         * @param range Key range.
+         * @param filter Custom filter predicate, {@code null} if all keys in the range are accepted.
+         * @param reuseRows Whether the cursor returns the same row instance that is a view over direct buffers.
+         */
+        private ScanCursor(KeyRange range, @Nullable Predicate<SearchRow> filter, boolean reuseRows) {
+            this.range = range;
             this.filter = filter;
 
-            iter.seekToFirst();
+            comparator = keyComparator;
+
+            bufs = reuseRows ? new DirectBuffers() : null;
+
+            readOptions = new ReadOptions();
+
+            byte[] lower = range.lower();
+            byte[] upper = range.upper();
+
+            // Native lower bound is inclusive and native upper bound is exclusive.
+            lowerSlice = lower != null && range.lowerInclusive() ? new Slice(lower) : null;
+            upperSlice = upper != null && !range.upperInclusive() ? new Slice(upper) : null;
+
+            if (lowerSlice != null)
+                readOptions.setIterateLowerBound(lowerSlice);
+
+            if (upperSlice != null)
+                readOptions.setIterateUpperBound(upperSlice);
+
+            iter = db.newIterator(cf, readOptions);
+
+            if (range.isReverse())
+                seekToEnd();
+            else
+                seekToStart();
+
+            cursors.add(this);
+        }
+
+        /**
+         * Positions the iterator at the first key of the range in the ascending order.
+         */
+        private void seekToStart() {
+            byte[] lower = range.lower();
+
+            if (lower == null) {
+                iter.seekToFirst();
+
+                return;
+            }
+
+            iter.seek(lower);
+
+            if (!range.lowerInclusive() && isValid() && compare(currentKey(), lower) == 0)
+                iter.next();
+        }
+
+        /**
+         * Positions the iterator at the last key of the range in the ascending order.
+         */
+        private void seekToEnd() {
+            byte[] prefix = range.prefix();
+
+            if (prefix != null) {
+                // There is no way to build the key that follows all keys with the prefix for an arbitrary comparator,
+                // so the end of the prefix is found by walking through it.
+                iter.seek(prefix);
+
+                while (isValid() && range.matchesPrefix(currentKey()))
+                    iter.next();
+
+                if (isValid())
+                    iter.prev();
+                else
+                    iter.seekToLast();
+
+                return;
+            }
+
+            byte[] upper = range.upper();
+
+            if (upper == null) {
+                iter.seekToLast();
+
+                return;
+            }
+
+            iter.seekForPrev(upper);
+
+            if (!range.upperInclusive() && isValid() && compare(currentKey(), upper) == 0)
+                iter.prev();
         }
 
         /** {@inheritDoc} */
@@ -209,10 +798,96 @@ public class RocksDbStorage implements Storage, AutoCloseable {
 
         /** {@inheritDoc} */
         @Override public boolean hasNext() {
-            while (isValid() && !filter.test(new SimpleDataRow(iter.key(), null)))
+            rwLock.readLock().lock();
+
+            try {
+                checkNotReleased();
+
+                return advance();
+            }
+            finally {
+                rwLock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Moves the iterator to the next key that matches the range and the filter, must be called under the read lock.
+         *
+         * @return {@code True} if there is such key.
+         */
+        private boolean advance() {
+            if (curKey != null)
+                return true;
+
+            if (finished)
+                return false;
+
+            while (isValid()) {
+                ByteBuffer key = currentKey();
+
+                if (!withinRange(key)) {
+                    finished = true;
+
+                    return false;
+                }
+
+                if (filter == null || filter.test(filterRow.set(key, null))) {
+                    curKey = key;
+
+                    return true;
+                }
+
+                step();
+            }
+
+            finished = true;
+
+            return false;
+        }
+
+        /**
+         * @return Key of the current iterator entry, either copied into the direct buffer or wrapping a new array.
+         */
+        private ByteBuffer currentKey() {
+            return bufs == null ? ByteBuffer.wrap(iter.key()) : bufs.readKey(iter);
+        }
+
+        /**
+         * Checks the bounds that are not enforced by RocksDB. Only the far end of the range is checked, since the
+         * iterator starts within the range.
+         *
+         * @param key Key buffer.
+         * @return {@code True} if the key belongs to the range.
+         */
+        private boolean withinRange(ByteBuffer key) {
+            if (!range.matchesPrefix(key))
+                return false;
+
+            if (range.isReverse())
+                return lowerSlice != null || range.aboveLower(key, comparator);
+            else
+                return upperSlice != null || range.belowUpper(key, comparator);
+        }
+
+        /**
+         * Moves the iterator to the next key in the order of the scan.
+         */
+        private void step() {
+            if (range.isReverse())
+                iter.prev();
+            else
                 iter.next();
+        }
 
-            return isValid();
+        /**
+         * Compares a key with a bound.
+         *
+         * @param key Key buffer.
+         * @param bound Bound.
+         * @return Comparison result.
+         */
+        private int compare(ByteBuffer key, byte[] bound) {
+            return comparator.compare(key, ByteBuffer.wrap(bound));
         }
 
         /**
@@ -237,19 +912,80 @@ public class RocksDbStorage implements Storage, AutoCloseable {
 
         /** {@inheritDoc} */
         @Override public DataRow next() {
-            if (!hasNext())
-                throw new NoSuchElementException();
+            rwLock.readLock().lock();
+
+            try {
+                checkNotReleased();
+
+                if (!advance())
+                    throw new NoSuchElementException();
+
+                DataRow row;
+
+                if (bufs == null)
+                    row = new SimpleDataRow(curKey.array(), iter.value());
+                else
+                    row = bufs.row().set(curKey, bufs.readValue(iter));
 
-            var row = new SimpleDataRow(iter.key(), iter.value());
+                curKey = null;
 
-            iter.next();
+                step();
 
-            return row;
+                return row;
+            }
+            finally {
+                rwLock.readLock().unlock();
+            }
+        }
+
+        /**
+         * @throws IgniteInternalException If the native resources of the cursor are released.
+         */
+        private void checkNotReleased() {
+            if (!released)
+                return;
+
+            if (invalidated)
+                throw new IgniteInternalException("Cursor is invalidated by a snapshot restore or the storage close");
+            else
+                throw new IgniteInternalException("Cursor is closed");
+        }
+
+        /**
+         * Releases the native resources of the cursor on behalf of the storage, must be called under the write lock.
+         */
+        private void invalidate() {
+            invalidated = true;
+
+            release();
+        }
+
+        /**
+         * Releases the native resources of the cursor once.
+         */
+        private void release() {
+            if (released)
+                return;
+
+            released = true;
+
+            try (readOptions; lowerSlice; upperSlice) {
+                iter.close();
+            }
         }
 
         /** {@inheritDoc} */
         @Override public void close() throws Exception {
-            iter.close();
+            rwLock.readLock().lock();
+
+            try {
+                cursors.remove(this);
+
+                release();
+            }
+            finally {
+                rwLock.readLock().unlock();
+            }
         }
     }
 }
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.storage.rocksdb;
+
+import java.nio.file.Path;
+import java.util.Locale;
+import org.apache.ignite.internal.storage.StorageException;
+import org.jetbrains.annotations.Nullable;
+import org.rocksdb.Cache;
+import org.rocksdb.ClockCache;
+import org.rocksdb.CompactionStyle;
+import org.rocksdb.LRUCache;
+import org.rocksdb.RateLimiter;
+import org.rocksdb.RocksDB;
+
+/**
+ * Node-wide RocksDB resources shared by the storages of all tables: block cache and rate limiter of flushes and
+ * compactions.
+ */
+public class RocksDbStorageEngine implements AutoCloseable {
+    static {
+        RocksDB.loadLibrary();
+    }
+
+    /** Block cache. */
+    private final Cache blockCache;
+
+    /** Rate limiter, {@code null} if there is no limit. */
+    @Nullable
+    private final RateLimiter rateLimiter;
+
+    /**
+     * Constructor.
+     *
+     * @param blockCacheSize Size of the block cache in bytes.
+     * @param blockCacheType Type of the block cache: {@code lru} or {@code clock}.
+     * @param rateLimitBytesPerSecond Limit of the flushes and compactions write rate, {@code 0} means no limit.
+     * @throws StorageException If the cache type is unknown.
+     */
+    public RocksDbStorageEngine(
+        long blockCacheSize,
+        String blockCacheType,
+        long rateLimitBytesPerSecond
+    ) throws StorageException {
+        switch (blockCacheType.toLowerCase(Locale.ROOT)) {
+            case "lru":
+                blockCache = new LRUCache(blockCacheSize);
+
+                break;
+
+            case "clock":
+                blockCache = new ClockCache(blockCacheSize);
+
+                break;
+
+            default:
+                throw new StorageException("Unknown block cache type: " + blockCacheType);
+        }
+
+        rateLimiter = rateLimitBytesPerSecond > 0 ? new RateLimiter(rateLimitBytesPerSecond) : null;
+    }
+
+    /**
+     * Creates a storage for the partitions of a table.
+     *
+     * @param dbPath Path to the folder to store data.
+     * @param bloomFilterBitsPerKey Number of bloom filter bits per key, {@code 0} disables bloom filters.
+     * @param compactionStyle Compaction style: {@code level}, {@code universal} or {@code fifo}.
+     * @param writeBufferSize Size of a memory table of a partition in bytes.
+     * @return Table storage.
+     * @throws StorageException If failed to create the storage.
+     */
+    public RocksDbTableStorage createTableStorage(
+        Path dbPath,
+        int bloomFilterBitsPerKey,
+        String compactionStyle,
+        long writeBufferSize
+    ) throws StorageException {
+        return new RocksDbTableStorage(
+            dbPath,
+            blockCache,
+            rateLimiter,
+            bloomFilterBitsPerKey,
+            parseCompactionStyle(compactionStyle),
+            writeBufferSize,
+            null
+        );
+    }
+
+    /**
+     * @param compactionStyle Compaction style name.
+     * @return Compaction style.
+     * @throws StorageException If the style is unknown.
+     */
+    private static CompactionStyle parseCompactionStyle(String compactionStyle) throws StorageException {
+        switch (compactionStyle.toLowerCase(Locale.ROOT)) {
+            case "level":
+                return CompactionStyle.LEVEL;
+
+            case "universal":
+                return CompactionStyle.UNIVERSAL;
+
+            case "fifo":
+                return CompactionStyle.FIFO;
+
+            default:
+                throw new StorageException("Unknown compaction style: " + compactionStyle);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        try (blockCache; rateLimiter) {
+            // No-op.
+        }
+    }
+}
@@ -0,0 +1,392 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.storage.rocksdb;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.ignite.internal.storage.StorageException;
+import org.jetbrains.annotations.Nullable;
+import org.rocksdb.AbstractComparator;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompactionStyle;
+import org.rocksdb.ComparatorOptions;
+import org.rocksdb.DBOptions;
+import org.rocksdb.Options;
+import org.rocksdb.RateLimiter;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+
+/**
+ * Storage of all partitions of a table on the node. Partitions are stored in separate column families of a single
+ * RocksDB instance, so that a node hosting many partitions does not need a RocksDB instance with its own files,
+ * memory tables and background work per partition.
+ */
+public class RocksDbTableStorage implements AutoCloseable {
+    static {
+        RocksDB.loadLibrary();
+    }
+
+    /** Default number of bloom filter bits per key. */
+    public static final int DFLT_BLOOM_FILTER_BITS_PER_KEY = 10;
+
+    /** Default size of a memory table of a partition in bytes. */
+    public static final long DFLT_WRITE_BUFFER_SIZE = 16L * 1024 * 1024;
+
+    /** Prefix of the names of partition column families. */
+    private static final String PARTITION_CF_PREFIX = "partition-";
+
+    /** DB options. */
+    private final DBOptions dbOptions;
+
+    /** Options of the partition column families. */
+    private final ColumnFamilyOptions cfOptions;
+
+    /** Bloom filter, {@code null} if disabled. */
+    @Nullable
+    private final BloomFilter bloomFilter;
+
+    /** RocksDB comparator options, {@code null} if the native bytewise comparator is used. */
+    @Nullable
+    private final ComparatorOptions comparatorOptions;
+
+    /** RocksDB comparator, {@code null} if the native bytewise comparator is used. */
+    @Nullable
+    private final AbstractComparator comparator;
+
+    /** Keys comparator. */
+    private final Comparator<ByteBuffer> keyComparator;
+
+    /** RocksDB instance. */
+    private final RocksDB db;
+
+    /** Handle of the default column family, which is not used but has to be open. */
+    private final ColumnFamilyHandle defaultCf;
+
+    /** Handles of the column families of the partitions that are not open at the moment. Guarded by {@code this}. */
+    private final Map<Integer, ColumnFamilyHandle> idleCfs = new HashMap<>();
+
+    /** Open partition storages. Guarded by {@code this}. */
+    private final Map<Integer, RocksDbStorage> partitions = new HashMap<>();
+
+    /** Whether the storage is closed. Guarded by {@code this}. */
+    private boolean closed;
+
+    /**
+     * Creates a storage with the default settings and private block cache.
+     *
+     * @param dbPath Path to the folder to store data.
+     * @param comparator Keys comparator, {@code null} to use the native bytewise comparator.
+     * @throws StorageException If failed to create RocksDB instance.
+     */
+    public RocksDbTableStorage(Path dbPath, @Nullable Comparator<ByteBuffer> comparator) throws StorageException {
+        this(
+            dbPath,
+            null,
+            null,
+            DFLT_BLOOM_FILTER_BITS_PER_KEY,
+            CompactionStyle.LEVEL,
+            DFLT_WRITE_BUFFER_SIZE,
+            comparator
+        );
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param dbPath Path to the folder to store data.
+     * @param blockCache Block cache shared with other storages, {@code null} to use a private default one.
+     * @param rateLimiter Flushes and compactions rate limiter shared with other storages, {@code null} if no limit.
+     * @param bloomFilterBitsPerKey Number of bloom filter bits per key, {@code 0} disables bloom filters.
+     * @param compactionStyle Compaction style.
+     * @param writeBufferSize Size of a memory table of a partition in bytes.
+     * @param comparator Keys comparator, {@code null} to use the native bytewise comparator.
+     * @throws StorageException If failed to create RocksDB instance.
+     */
+    public RocksDbTableStorage(
+        Path dbPath,
+        @Nullable Cache blockCache,
+        @Nullable RateLimiter rateLimiter,
+        int bloomFilterBitsPerKey,
+        CompactionStyle compactionStyle,
+        long writeBufferSize,
+        @Nullable Comparator<ByteBuffer> comparator
+    ) throws StorageException {
+        dbOptions = new DBOptions()
+            .setCreateIfMissing(true)
+            .setCreateMissingColumnFamilies(true);
+
+        if (rateLimiter != null)
+            dbOptions.setRateLimiter(rateLimiter);
+
+        BlockBasedTableConfig tableCfg = new BlockBasedTableConfig();
+
+        if (blockCache != null)
+            tableCfg.setBlockCache(blockCache);
+
+        if (bloomFilterBitsPerKey > 0) {
+            bloomFilter = new BloomFilter(bloomFilterBitsPerKey, false);
+
+            tableCfg.setFilterPolicy(bloomFilter);
+        }
+        else
+            bloomFilter = null;
+
+        cfOptions = new ColumnFamilyOptions()
+            .setTableFormatConfig(tableCfg)
+            .setCompactionStyle(compactionStyle)
+            .setWriteBufferSize(writeBufferSize);
+
+        if (comparator == null) {
+            comparatorOptions = null;
+
+            this.comparator = null;
+
+            keyComparator = RocksDbTableStorage::compareBytewise;
+        }
+        else {
+            comparatorOptions = new ComparatorOptions();
+
+            this.comparator = new AbstractComparator(comparatorOptions) {
+                /** {@inheritDoc} */
+                @Override public String name() {
+                    return "comparator";
+                }
+
+                /** {@inheritDoc} */
+                @Override public int compare(ByteBuffer a, ByteBuffer b) {
+                    return comparator.compare(a, b);
+                }
+            };
+
+            cfOptions.setComparator(this.comparator);
+
+            keyComparator = comparator;
+        }
+
+        List<ColumnFamilyDescriptor> cfDescriptors = new ArrayList<>();
+        List<ColumnFamilyHandle> cfHandles = new ArrayList<>();
+
+        try {
+            for (byte[] cfName : columnFamilies(dbPath))
+                cfDescriptors.add(new ColumnFamilyDescriptor(cfName, cfOptions));
+
+            db = RocksDB.open(dbOptions, dbPath.toAbsolutePath().toString(), cfDescriptors, cfHandles);
+        }
+        catch (RocksDBException e) {
+            try (dbOptions; cfOptions; bloomFilter; comparatorOptions; this.comparator) {
+                throw new StorageException("Failed to start the storage", e);
+            }
+        }
+
+        ColumnFamilyHandle dfltCf = null;
+
+        for (int i = 0; i < cfHandles.size(); i++) {
+            String cfName = new String(cfDescriptors.get(i).getName(), StandardCharsets.UTF_8);
+
+            if (cfName.startsWith(PARTITION_CF_PREFIX))
+                idleCfs.put(Integer.parseInt(cfName.substring(PARTITION_CF_PREFIX.length())), cfHandles.get(i));
+            else
+                dfltCf = cfHandles.get(i);
+        }
+
+        assert dfltCf != null;
+
+        defaultCf = dfltCf;
+    }
+
+    /**
+     * Lists column families of the existing DB.
+     *
+     * @param dbPath Path to the DB.
+     * @return Names of the column families, only the default one if the DB does not exist yet.
+     * @throws RocksDBException If failed to read the list.
+     */
+    private List<byte[]> columnFamilies(Path dbPath) throws RocksDBException {
+        if (!Files.exists(dbPath.resolve("CURRENT")))
+            return List.of(RocksDB.DEFAULT_COLUMN_FAMILY);
+
+        try (Options opts = new Options(dbOptions, cfOptions)) {
+            return RocksDB.listColumnFamilies(opts, dbPath.toAbsolutePath().toString());
+        }
+    }
+
+    /**
+     * Returns the storage of a partition, creating its column family if needed. The storage remains usable until it
+     * is closed, the data is retained in the table storage after that.
+     *
+     * @param partId Partition id.
+     * @return Partition storage.
+     * @throws StorageException If failed to create a column family.
+     */
+    public synchronized RocksDbStorage partitionStorage(int partId) throws StorageException {
+        if (closed)
+            throw new StorageException("Storage is already closed");
+
+        RocksDbStorage storage = partitions.get(partId);
+
+        if (storage == null) {
+            storage = new RocksDbStorage(this, partId, false);
+
+            partitions.put(partId, storage);
+        }
+
+        return storage;
+    }
+
+    /**
+     * Gets the handle of the column family of a partition, creating the column family if needed.
+     *
+     * @param partId Partition id.
+     * @return Column family handle.
+     * @throws StorageException If failed to create a column family.
+     */
+    synchronized ColumnFamilyHandle acquireColumnFamily(int partId) throws StorageException {
+        ColumnFamilyHandle cf = idleCfs.remove(partId);
+
+        if (cf != null)
+            return cf;
+
+        try {
+            return db.createColumnFamily(cfDescriptor(partId));
+        }
+        catch (RocksDBException e) {
+            throw new StorageException("Failed to create a column family for partition " + partId, e);
+        }
+    }
+
+    /**
+     * Returns the column family of a closed partition storage.
+     *
+     * @param partId Partition id.
+     * @param cf Column family handle.
+     */
+    synchronized void releaseColumnFamily(int partId, ColumnFamilyHandle cf) {
+        partitions.remove(partId);
+
+        if (closed)
+            cf.close();
+        else
+            idleCfs.put(partId, cf);
+    }
+
+    /**
+     * Drops all the data of a partition by recreating its column family.
+     *
+     * @param partId Partition id.
+     * @param cf Current column family handle.
+     * @return New column family handle.
+     * @throws RocksDBException If failed to recreate the column family.
+     */
+    synchronized ColumnFamilyHandle recreateColumnFamily(int partId, ColumnFamilyHandle cf) throws RocksDBException {
+        db.dropColumnFamily(cf);
+
+        cf.close();
+
+        return db.createColumnFamily(cfDescriptor(partId));
+    }
+
+    /**
+     * @param partId Partition id.
+     * @return Descriptor of the column family of the partition.
+     */
+    private ColumnFamilyDescriptor cfDescriptor(int partId) {
+        return new ColumnFamilyDescriptor((PARTITION_CF_PREFIX + partId).getBytes(StandardCharsets.UTF_8), cfOptions);
+    }
+
+    /**
+     * @return RocksDB instance.
+     */
+    RocksDB db() {
+        return db;
+    }
+
+    /**
+     * @return Keys comparator.
+     */
+    Comparator<ByteBuffer> keyComparator() {
+        return keyComparator;
+    }
+
+    /**
+     * @return New options that are used by the DB and the partition column families. Must be closed by the caller.
+     */
+    Options newOptions() {
+        return new Options(dbOptions, cfOptions);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        List<RocksDbStorage> openPartitions;
+
+        synchronized (this) {
+            if (closed)
+                return;
+
+            closed = true;
+
+            openPartitions = new ArrayList<>(partitions.values());
+        }
+
+        // Closed partitions close their column family handles.
+        for (RocksDbStorage partition : openPartitions)
+            partition.close();
+
+        synchronized (this) {
+            idleCfs.values().forEach(ColumnFamilyHandle::close);
+
+            idleCfs.clear();
+        }
+
+        try (dbOptions; cfOptions; bloomFilter; comparatorOptions; comparator) {
+            defaultCf.close();
+
+            db.close();
+        }
+    }
+
+    /**
+     * Compares keys in the same way as the native bytewise comparator of RocksDB.
+     *
+     * @param a First key, from the position to the limit.
+     * @param b Second key, from the position to the limit.
+     * @return Comparison result of the keys as unsigned byte sequences.
+     */
+    private static int compareBytewise(ByteBuffer a, ByteBuffer b) {
+        int i = a.mismatch(b);
+
+        if (i == -1)
+            return 0;
+
+        if (i == a.remaining() || i == b.remaining())
+            return Integer.compare(a.remaining(), b.remaining());
+
+        return Byte.compareUnsigned(a.get(a.position() + i), b.get(b.position() + i));
+    }
+}
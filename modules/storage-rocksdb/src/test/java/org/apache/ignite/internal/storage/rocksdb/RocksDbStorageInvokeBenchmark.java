@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.storage.rocksdb;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.internal.storage.DataRow;
+import org.apache.ignite.internal.storage.InvokeClosure;
+import org.apache.ignite.internal.storage.OperationType;
+import org.apache.ignite.internal.storage.basic.SimpleDataRow;
+import org.apache.ignite.internal.util.IgniteUtils;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures {@link RocksDbStorage#invoke} throughput with a different number of concurrent threads.
+ * Invokes on different keys are expected to scale with the number of threads.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 10, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+public class RocksDbStorageInvokeBenchmark {
+    /** Number of distinct keys. */
+    @Param({"1024", "1048576"})
+    public int keys;
+
+    /** Path to the storage. */
+    private Path path;
+
+    /** Storage. */
+    private RocksDbStorage storage;
+
+    /**
+     * Runs the benchmark with 1, 2, 4 and 8 threads.
+     *
+     * @param args Arguments.
+     * @throws RunnerException If failed.
+     */
+    public static void main(String[] args) throws RunnerException {
+        for (int threads = 1; threads <= 8; threads *= 2) {
+            Options opt = new OptionsBuilder()
+                .include(RocksDbStorageInvokeBenchmark.class.getSimpleName())
+                .threads(threads)
+                .build();
+
+            new Runner(opt).run();
+        }
+    }
+
+    /**
+     * Creates the storage.
+     *
+     * @throws Exception If failed.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        path = Files.createTempDirectory("rocksdb_invoke_bench");
+
+        storage = new RocksDbStorage(path);
+    }
+
+    /**
+     * Closes the storage.
+     */
+    @TearDown
+    public void tearDown() {
+        try {
+            storage.close();
+        }
+        finally {
+            IgniteUtils.delete(path);
+        }
+    }
+
+    /**
+     * Read-modify-write of a random key.
+     */
+    @Benchmark
+    public void invoke() {
+        byte[] key = ByteBuffer.allocate(Integer.BYTES).putInt(ThreadLocalRandom.current().nextInt(keys)).array();
+
+        storage.invoke(new SimpleDataRow(key, null), new IncrementInvokeClosure(key));
+    }
+
+    /**
+     * Invoke closure that increments a long value stored by the key.
+     */
+    private static class IncrementInvokeClosure implements InvokeClosure {
+        /** Key bytes. */
+        private final byte[] key;
+
+        /** New row. */
+        private DataRow newRow;
+
+        /**
+         * @param key Key bytes.
+         */
+        IncrementInvokeClosure(byte[] key) {
+            this.key = key;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void call(@Nullable DataRow row) {
+            byte[] valueBytes = row == null ? null : row.valueBytes();
+
+            long val = valueBytes == null ? 0 : ByteBuffer.wrap(valueBytes).getLong();
+
+            newRow = new SimpleDataRow(key, ByteBuffer.allocate(Long.BYTES).putLong(val + 1).array());
+        }
+
+        /** {@inheritDoc} */
+        @Override public DataRow newRow() {
+            return newRow;
+        }
+
+        /** {@inheritDoc} */
+        @Override public OperationType operationType() {
+            return OperationType.WRITE;
+        }
+    }
+}
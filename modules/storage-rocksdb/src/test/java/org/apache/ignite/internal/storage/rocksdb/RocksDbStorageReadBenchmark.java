@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.storage.rocksdb;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.internal.storage.DataRow;
+import org.apache.ignite.internal.storage.KeyRange;
+import org.apache.ignite.internal.storage.SearchRow;
+import org.apache.ignite.internal.storage.basic.SimpleDataRow;
+import org.apache.ignite.internal.util.Cursor;
+import org.apache.ignite.internal.util.IgniteUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares point reads and scans that copy every row into new arrays with the ones that read the data into reusable
+ * direct buffers. Run with the GC profiler to see the allocation rate per operation ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 10, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class RocksDbStorageReadBenchmark {
+    /** Number of rows in the storage. */
+    private static final int ROWS = 10_000;
+
+    /** Size of a value in bytes. */
+    @Param({"64", "1024"})
+    public int valueSize;
+
+    /** Path to the storage. */
+    private Path path;
+
+    /** Storage. */
+    private RocksDbStorage storage;
+
+    /** Search rows for all keys in the storage. */
+    private List<SearchRow> keys;
+
+    /**
+     * Runs the benchmark with the GC profiler.
+     *
+     * @param args Arguments.
+     * @throws RunnerException If failed.
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(RocksDbStorageReadBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    /**
+     * Creates the storage and fills it with data.
+     *
+     * @throws Exception If failed.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        path = Files.createTempDirectory("rocksdb_read_bench");
+
+        storage = new RocksDbStorage(path);
+
+        keys = new ArrayList<>(ROWS);
+
+        List<DataRow> rows = new ArrayList<>(ROWS);
+
+        for (int i = 0; i < ROWS; i++) {
+            byte[] key = ByteBuffer.allocate(Integer.BYTES).putInt(i).array();
+
+            keys.add(new SimpleDataRow(key, null));
+            rows.add(new SimpleDataRow(key, new byte[valueSize]));
+        }
+
+        storage.writeAll(rows);
+    }
+
+    /**
+     * Closes the storage.
+     */
+    @TearDown
+    public void tearDown() {
+        try {
+            storage.close();
+        }
+        finally {
+            IgniteUtils.delete(path);
+        }
+    }
+
+    /**
+     * Point read that copies the row.
+     *
+     * @return Value.
+     */
+    @Benchmark
+    public byte readCopy() {
+        return storage.read(randomKey()).valueBytes()[0];
+    }
+
+    /**
+     * Point read into reusable direct buffers.
+     *
+     * @return Value.
+     */
+    @Benchmark
+    public byte readView() {
+        return storage.readView(randomKey(), row -> row.value().get(0));
+    }
+
+    /**
+     * Full scan that copies every row.
+     *
+     * @param bh Black hole.
+     * @throws Exception If failed.
+     */
+    @Benchmark
+    public void scanCopy(Blackhole bh) throws Exception {
+        try (Cursor<DataRow> cursor = storage.scan(KeyRange.all())) {
+            for (DataRow row : cursor)
+                bh.consume(row.valueBytes()[0]);
+        }
+    }
+
+    /**
+     * Full scan into reusable direct buffers.
+     *
+     * @param bh Black hole.
+     * @throws Exception If failed.
+     */
+    @Benchmark
+    public void scanView(Blackhole bh) throws Exception {
+        try (Cursor<DataRow> cursor = storage.scanView(KeyRange.all())) {
+            for (DataRow row : cursor)
+                bh.consume(row.value().get(0));
+        }
+    }
+
+    /**
+     * @return Random existing key.
+     */
+    private SearchRow randomKey() {
+        return keys.get(ThreadLocalRandom.current().nextInt(ROWS));
+    }
+}
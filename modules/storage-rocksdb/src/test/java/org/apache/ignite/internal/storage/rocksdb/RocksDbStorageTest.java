@@ -17,13 +17,19 @@
 
 package org.apache.ignite.internal.storage.rocksdb;
 
-import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 import org.apache.ignite.internal.storage.AbstractStorageTest;
+import org.apache.ignite.internal.storage.KeyRange;
+import org.apache.ignite.internal.storage.StorageException;
+import org.apache.ignite.internal.storage.basic.SimpleDataRow;
 import org.apache.ignite.internal.util.IgniteUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * Storage test implementation for {@link RocksDbStorage}.
@@ -37,17 +43,36 @@ public class RocksDbStorageTest extends AbstractStorageTest {
 
         IgniteUtils.delete(path);
 
-        storage = new RocksDbStorage(path, ByteBuffer::compareTo);
+        storage = new RocksDbStorage(path);
     }
 
     @AfterEach
     public void tearDown() throws Exception {
         try {
             if (storage != null)
-                ((AutoCloseable)storage).close();
+                storage.close();
         }
         finally {
             IgniteUtils.delete(path);
         }
     }
+
+    /**
+     * Tests that the data methods of a closed storage fail instead of using the released native handles.
+     */
+    @Test
+    public void closedStorage() throws Exception {
+        SimpleDataRow row = new SimpleDataRow(new byte[] {1}, new byte[] {2});
+
+        storage.write(row);
+
+        storage.close();
+
+        assertThrows(StorageException.class, () -> storage.read(row));
+        assertThrows(StorageException.class, () -> storage.readAll(List.of(row)));
+        assertThrows(StorageException.class, () -> storage.write(row));
+        assertThrows(StorageException.class, () -> storage.remove(row));
+        assertThrows(StorageException.class, () -> storage.scan(KeyRange.all()));
+        assertThrows(StorageException.class, () -> storage.scan(r -> true));
+    }
 }
@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.storage.rocksdb;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.apache.ignite.internal.storage.DataRow;
+import org.apache.ignite.internal.storage.KeyRange;
+import org.apache.ignite.internal.storage.Storage;
+import org.apache.ignite.internal.storage.StorageException;
+import org.apache.ignite.internal.storage.basic.SimpleDataRow;
+import org.apache.ignite.internal.util.Cursor;
+import org.apache.ignite.internal.util.IgniteUtils;
+import org.apache.ignite.lang.IgniteInternalException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link RocksDbTableStorage}.
+ */
+public class RocksDbTableStorageTest {
+    /** */
+    private Path path;
+
+    /** */
+    private RocksDbStorageEngine engine;
+
+    /** */
+    private RocksDbTableStorage tableStorage;
+
+    /** */
+    @BeforeEach
+    public void setUp() throws Exception {
+        path = Paths.get("rocksdb_table_test");
+
+        IgniteUtils.delete(path);
+
+        engine = new RocksDbStorageEngine(16 * 1024 * 1024, "lru", 0);
+
+        tableStorage = createTableStorage();
+    }
+
+    /** */
+    @AfterEach
+    public void tearDown() throws Exception {
+        try {
+            if (tableStorage != null)
+                tableStorage.close();
+
+            if (engine != null)
+                engine.close();
+        }
+        finally {
+            IgniteUtils.delete(path);
+        }
+    }
+
+    /**
+     * Tests that partitions sharing the same RocksDB instance do not see each other's data.
+     */
+    @Test
+    public void partitionsAreIsolated() throws Exception {
+        Storage part0 = tableStorage.partitionStorage(0);
+        Storage part1 = tableStorage.partitionStorage(1);
+
+        assertSame(part0, tableStorage.partitionStorage(0));
+
+        part0.write(row("key", "value0"));
+        part1.write(row("key", "value1"));
+        part1.write(row("key1", "value1"));
+
+        assertEquals("value0", value(part0.read(row("key", null))));
+        assertEquals("value1", value(part1.read(row("key", null))));
+        assertNull(part0.read(row("key1", null)).valueBytes());
+
+        assertEquals(1, count(part0));
+        assertEquals(2, count(part1));
+    }
+
+    /**
+     * Tests that the data of all partitions survives reopening of the table storage.
+     */
+    @Test
+    public void reopen() throws Exception {
+        tableStorage.partitionStorage(0).write(row("key", "value0"));
+        tableStorage.partitionStorage(3).write(row("key", "value3"));
+
+        // Closed partition storage keeps its data in the table storage.
+        tableStorage.partitionStorage(3).close();
+
+        assertEquals("value3", value(tableStorage.partitionStorage(3).read(row("key", null))));
+
+        tableStorage.close();
+
+        tableStorage = createTableStorage();
+
+        assertEquals("value0", value(tableStorage.partitionStorage(0).read(row("key", null))));
+        assertEquals("value3", value(tableStorage.partitionStorage(3).read(row("key", null))));
+    }
+
+    /**
+     * Tests that restoring a snapshot of a partition does not affect other partitions.
+     */
+    @Test
+    public void snapshotRestoreOfPartition() throws Exception {
+        Storage part0 = tableStorage.partitionStorage(0);
+        Storage part1 = tableStorage.partitionStorage(1);
+
+        part0.write(row("key", "value0"));
+        part1.write(row("key", "value1"));
+
+        Path snapshotPath = path.resolve("snapshot");
+
+        part0.snapshot(snapshotPath).get();
+
+        part0.write(row("key", "updated"));
+        part0.write(row("key1", "value"));
+        part1.write(row("key", "updated"));
+
+        part0.restoreSnapshot(snapshotPath);
+
+        assertEquals("value0", value(part0.read(row("key", null))));
+        assertEquals(1, count(part0));
+
+        assertEquals("updated", value(part1.read(row("key", null))));
+    }
+
+    /**
+     * Tests that the cursors opened before a snapshot restore are invalidated instead of touching the dropped column
+     * family.
+     */
+    @Test
+    public void snapshotRestoreInvalidatesCursors() throws Exception {
+        Storage part = tableStorage.partitionStorage(0);
+
+        part.write(row("key0", "value"));
+        part.write(row("key1", "value"));
+
+        Path snapshotPath = path.resolve("snapshot");
+
+        part.snapshot(snapshotPath).get();
+
+        Cursor<DataRow> cursor = part.scan(KeyRange.all());
+
+        assertTrue(cursor.hasNext());
+
+        cursor.next();
+
+        part.restoreSnapshot(snapshotPath);
+
+        assertThrows(IgniteInternalException.class, cursor::hasNext);
+        assertThrows(IgniteInternalException.class, cursor::next);
+
+        cursor.close();
+
+        assertEquals(2, count(part));
+    }
+
+    /**
+     * Tests that an empty partition can be restored from its snapshot.
+     */
+    @Test
+    public void snapshotRestoreOfEmptyPartition() throws Exception {
+        Storage part = tableStorage.partitionStorage(0);
+
+        Path snapshotPath = path.resolve("snapshot");
+
+        part.snapshot(snapshotPath).get();
+
+        part.write(row("key", "value"));
+
+        part.restoreSnapshot(snapshotPath);
+
+        assertEquals(0, count(part));
+    }
+
+    /**
+     * Tests that unknown settings are rejected.
+     */
+    @Test
+    public void unknownSettings() {
+        assertThrows(StorageException.class, () -> new RocksDbStorageEngine(1024, "unknown", 0));
+
+        assertThrows(StorageException.class, () -> engine.createTableStorage(path.resolve("other"), 10, "unknown", 1024));
+    }
+
+    /**
+     * @return Table storage.
+     * @throws StorageException If failed.
+     */
+    private RocksDbTableStorage createTableStorage() throws StorageException {
+        return engine.createTableStorage(path, 10, "level", 4 * 1024 * 1024);
+    }
+
+    /**
+     * @param key Key.
+     * @param value Value.
+     * @return Data row.
+     */
+    private static DataRow row(String key, String value) {
+        return new SimpleDataRow(
+            key.getBytes(StandardCharsets.UTF_8),
+            value == null ? null : value.getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    /**
+     * @param row Data row.
+     * @return Value as a string.
+     */
+    private static String value(DataRow row) {
+        byte[] bytes = row.valueBytes();
+
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param storage Storage.
+     * @return Number of rows in the storage.
+     * @throws Exception If failed.
+     */
+    private static int count(Storage storage) throws Exception {
+        int cnt = 0;
+
+        try (Cursor<DataRow> cursor = storage.scan(KeyRange.all())) {
+            for (DataRow ignored : cursor)
+                cnt++;
+        }
+
+        return cnt;
+    }
+}
@@ -36,6 +36,7 @@ import org.apache.ignite.internal.schema.Row;
 import org.apache.ignite.internal.schema.RowAssembler;
 import org.apache.ignite.internal.schema.SchemaDescriptor;
 import org.apache.ignite.internal.schema.SchemaRegistry;
+import org.apache.ignite.internal.storage.basic.ConcurrentHashMapStorage;
 import org.apache.ignite.internal.table.TableImpl;
 import org.apache.ignite.internal.table.distributed.command.GetCommand;
 import org.apache.ignite.internal.table.distributed.command.InsertCommand;
@@ -159,7 +160,7 @@ public class ITDistributedTableTest {
 
         List<Peer> conf = List.of(new Peer(cluster.get(0).topologyService().localMember().address()));
 
-        partSrv.startRaftGroup(grpId, new PartitionListener(), conf);
+        partSrv.startRaftGroup(grpId, new PartitionListener(new ConcurrentHashMapStorage(), schemaRegistry()), conf);
 
         RaftGroupService partRaftGrp = new RaftGroupServiceImpl(grpId, client, FACTORY, 10_000, conf, true, 200);
 
@@ -237,7 +238,7 @@ public class ITDistributedTableTest {
 
             List<Peer> conf = List.of(new Peer(partNodes.get(0).address()));
 
-            rs.startRaftGroup(grpId, new PartitionListener(), conf);
+            rs.startRaftGroup(grpId, new PartitionListener(new ConcurrentHashMapStorage(), schemaRegistry()), conf);
 
             partMap.put(p, new RaftGroupServiceImpl(grpId, client, FACTORY, 10_000, conf, true, 200));
 
@@ -249,7 +250,18 @@ public class ITDistributedTableTest {
             UUID.randomUUID(),
             partMap,
             PARTS
-        ), new SchemaRegistry() {
+        ), schemaRegistry());
+
+        partitionedTableView(tbl, PARTS * 10);
+
+        partitionedTableKVBinaryView(tbl.kvView(), PARTS * 10);
+    }
+
+    /**
+     * @return Schema registry with the only {@link #SCHEMA}.
+     */
+    private static SchemaRegistry schemaRegistry() {
+        return new SchemaRegistry() {
             @Override public SchemaDescriptor schema() {
                 return SCHEMA;
             }
@@ -265,11 +277,7 @@ public class ITDistributedTableTest {
             @Override public Row resolve(BinaryRow row) {
                 return new Row(SCHEMA, row);
             }
-        });
-
-        partitionedTableView(tbl, PARTS * 10);
-
-        partitionedTableKVBinaryView(tbl.kvView(), PARTS * 10);
+        };
     }
 
     /**
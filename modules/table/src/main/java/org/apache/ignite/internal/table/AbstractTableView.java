@@ -21,6 +21,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import org.apache.ignite.internal.schema.SchemaRegistry;
 import org.apache.ignite.lang.IgniteInternalException;
+import org.apache.ignite.table.ReadConsistency;
 
 /**
  * Base class for Table views.
@@ -32,14 +33,19 @@ abstract class AbstractTableView {
     /** Schema registry. */
     protected final SchemaRegistry schemaReg;
 
+    /** Consistency of the reads. */
+    protected final ReadConsistency readConsistency;
+
     /**
      * Constructor
      * @param tbl Internal table.
      * @param schemaReg Schema registry.
+     * @param readConsistency Consistency of the reads.
      */
-    protected AbstractTableView(InternalTable tbl, SchemaRegistry schemaReg) {
+    protected AbstractTableView(InternalTable tbl, SchemaRegistry schemaReg, ReadConsistency readConsistency) {
         this.tbl = tbl;
         this.schemaReg = schemaReg;
+        this.readConsistency = readConsistency;
     }
 
     /**
@@ -0,0 +1,548 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.table;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.schema.marshaller.TupleMarshaller;
+import org.apache.ignite.lang.IgniteException;
+import org.apache.ignite.lang.IgniteInternalException;
+import org.apache.ignite.table.DataStreamer;
+import org.apache.ignite.table.Tuple;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Data streamer of tuples. Rows are buffered per partition and every full buffer is sent to the partition as a
+ * single {@code UpsertAllCommand} or {@code InsertAllCommand}, depending on whether overwriting is allowed. The
+ * number of batches in flight per partition is limited by a semaphore, so the threads adding rows are blocked when
+ * the partition can't keep up. A batch that contains a key of a batch still in flight is held back until that batch
+ * completes, so the batches of a key are applied in the order they were taken from the buffer.
+ */
+public class DataStreamerImpl implements DataStreamer<Tuple> {
+    /** Internal table. */
+    private final InternalTable tbl;
+
+    /** Marshaller. */
+    private final TupleMarshaller marsh;
+
+    /** Whether existing rows are overwritten. */
+    private volatile boolean allowOverwrite;
+
+    /** Per partition buffer size. */
+    private volatile int bufSize = DFLT_PER_PARTITION_BUFFER_SIZE;
+
+    /** Maximum number of batches in flight per partition. */
+    private volatile int parallelOps = DFLT_PER_PARTITION_PARALLEL_OPS;
+
+    /** Flush frequency in milliseconds. */
+    private volatile long flushFreq;
+
+    /** Whether a record has been added, after which the settings can't be changed. */
+    private volatile boolean started;
+
+    /** Whether the streamer is closed. Set under the write lock of {@link #closeLock}. */
+    private volatile boolean closed;
+
+    /** Lock held for read by the threads adding records and for write when the streamer is closed. */
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+
+    /** Buffers by the partition number. */
+    private final Map<Integer, PartitionBuffer> bufs = new ConcurrentHashMap<>();
+
+    /** Futures of the batches taken from the buffers and not completed yet. */
+    private final Set<CompletableFuture<Void>> inFlight = ConcurrentHashMap.newKeySet();
+
+    /** First failure of a batch or of an automatic flush since the previous flush. */
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    /** Executor of the automatic flushes, {@code null} if they are disabled. */
+    private ScheduledExecutorService flusher;
+
+    /**
+     * Constructor.
+     *
+     * @param tbl Internal table.
+     * @param marsh Marshaller.
+     */
+    public DataStreamerImpl(InternalTable tbl, TupleMarshaller marsh) {
+        this.tbl = tbl;
+        this.marsh = marsh;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean allowOverwrite() {
+        return allowOverwrite;
+    }
+
+    /** {@inheritDoc} */
+    @Override public DataStreamer<Tuple> allowOverwrite(boolean allowOverwrite) {
+        ensureNotStarted();
+
+        this.allowOverwrite = allowOverwrite;
+
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int perPartitionBufferSize() {
+        return bufSize;
+    }
+
+    /** {@inheritDoc} */
+    @Override public DataStreamer<Tuple> perPartitionBufferSize(int bufSize) {
+        if (bufSize <= 0)
+            throw new IllegalArgumentException("Buffer size must be positive: " + bufSize);
+
+        ensureNotStarted();
+
+        this.bufSize = bufSize;
+
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int perPartitionParallelOperations() {
+        return parallelOps;
+    }
+
+    /** {@inheritDoc} */
+    @Override public DataStreamer<Tuple> perPartitionParallelOperations(int parallelOps) {
+        if (parallelOps <= 0)
+            throw new IllegalArgumentException("Number of parallel operations must be positive: " + parallelOps);
+
+        ensureNotStarted();
+
+        this.parallelOps = parallelOps;
+
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long autoFlushFrequency() {
+        return flushFreq;
+    }
+
+    /** {@inheritDoc} */
+    @Override public DataStreamer<Tuple> autoFlushFrequency(long freq) {
+        if (freq < 0)
+            throw new IllegalArgumentException("Flush frequency must not be negative: " + freq);
+
+        ensureNotStarted();
+
+        flushFreq = freq;
+
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override public @NotNull CompletableFuture<Void> addData(@NotNull Tuple rec) {
+        Objects.requireNonNull(rec);
+
+        PartitionBuffer buf;
+        CompletableFuture<Void> fut;
+        boolean full;
+
+        closeLock.readLock().lock();
+
+        try {
+            ensureNotClosed();
+
+            if (!started)
+                start();
+
+            BinaryRow row = marsh.marshal(rec);
+
+            buf = bufs.computeIfAbsent(tbl.partition(row), PartitionBuffer::new);
+
+            synchronized (buf) {
+                // The last record of a key wins when the rows overwrite, and the first one does when they are inserted.
+                if (allowOverwrite)
+                    buf.rows.put(row.keySlice(), row);
+                else
+                    buf.rows.putIfAbsent(row.keySlice(), row);
+
+                fut = buf.fut;
+
+                full = buf.rows.size() >= bufSize;
+            }
+        }
+        finally {
+            closeLock.readLock().unlock();
+        }
+
+        // The buffer is sent without the close lock, so that closing isn't blocked behind a producer waiting for a
+        // permit. The rows are already buffered, so they are sent by the close if it takes the buffer first.
+        if (full)
+            sendBuffer(buf, bufSize);
+
+        return fut;
+    }
+
+    /** {@inheritDoc} */
+    @Override public @NotNull CompletableFuture<Void> addData(@NotNull Collection<Tuple> recs) {
+        Objects.requireNonNull(recs);
+
+        Set<CompletableFuture<Void>> futs = new HashSet<>();
+
+        for (Tuple rec : recs)
+            futs.add(addData(rec));
+
+        return CompletableFuture.allOf(futs.toArray(CompletableFuture[]::new));
+    }
+
+    /** {@inheritDoc} */
+    @Override public void flush() {
+        sendBuffers();
+
+        awaitBatches();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        close(false);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close(boolean cancel) {
+        closeLock.writeLock().lock();
+
+        try {
+            if (closed)
+                return;
+
+            closed = true;
+
+            synchronized (this) {
+                if (flusher != null)
+                    flusher.shutdown();
+            }
+
+            if (cancel) {
+                for (PartitionBuffer buf : bufs.values()) {
+                    CompletableFuture<Void> fut;
+
+                    synchronized (buf) {
+                        fut = buf.discard();
+                    }
+
+                    if (fut != null)
+                        fut.cancel(false);
+                }
+            }
+            else
+                sendBuffers();
+
+            awaitBatches();
+        }
+        finally {
+            closeLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Freezes the settings and starts the automatic flushes if they are enabled.
+     */
+    private synchronized void start() {
+        if (started)
+            return;
+
+        if (flushFreq > 0) {
+            flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "data-streamer-flusher-" + tbl.tableName());
+
+                t.setDaemon(true);
+
+                return t;
+            });
+
+            flusher.scheduleWithFixedDelay(this::autoFlush, flushFreq, flushFreq, TimeUnit.MILLISECONDS);
+        }
+
+        started = true;
+    }
+
+    /**
+     * Sends the rows buffered for every partition on the automatic flush. A failure is reported by the next flush
+     * instead of being thrown, since it would cancel the later automatic flushes.
+     */
+    private void autoFlush() {
+        try {
+            sendBuffers();
+        }
+        catch (Throwable e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    /**
+     * Sends the rows buffered for every partition.
+     */
+    private void sendBuffers() {
+        for (PartitionBuffer buf : bufs.values())
+            sendBuffer(buf, 1);
+    }
+
+    /**
+     * Sends the rows buffered for the partition if there are at least the given number of them, waiting for a permit
+     * of the partition if the maximum number of batches are in flight. The permit is acquired before the rows are
+     * taken, so every batch taken from the buffer holds a permit and the batches held back by a key can't starve the
+     * earlier batches they wait for.
+     *
+     * @param buf Partition buffer.
+     * @param minSize Minimum number of rows to send.
+     */
+    private void sendBuffer(PartitionBuffer buf, int minSize) {
+        synchronized (buf) {
+            if (buf.rows.size() < minSize)
+                return;
+        }
+
+        try {
+            buf.permits.acquire();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Restore interrupt flag.
+
+            throw new IgniteInternalException(e);
+        }
+
+        Batch batch;
+
+        synchronized (buf) {
+            batch = buf.rows.size() >= minSize ? buf.take() : null;
+        }
+
+        if (batch == null) {
+            buf.permits.release();
+
+            return;
+        }
+
+        CompletableFuture<?> fut = batch.prev == null ?
+            write(buf, batch) :
+            batch.prev.handle((res, e) -> null).thenCompose(ignored -> write(buf, batch));
+
+        fut.whenComplete((res, e) -> {
+            buf.permits.release();
+
+            synchronized (buf) {
+                buf.complete(batch);
+            }
+
+            inFlight.remove(batch.fut);
+
+            if (e != null) {
+                failure.compareAndSet(null, e);
+
+                batch.fut.completeExceptionally(e);
+            }
+            else
+                batch.fut.complete(null);
+        });
+    }
+
+    /**
+     * Writes the rows of a batch to the partition.
+     *
+     * @param buf Partition buffer.
+     * @param batch Batch taken from the buffer.
+     * @return Future completed when the rows are written.
+     */
+    private CompletableFuture<?> write(PartitionBuffer buf, Batch batch) {
+        try {
+            return allowOverwrite ? tbl.upsertAll(buf.part, batch.rows) : tbl.insertAll(buf.part, batch.rows);
+        }
+        catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Waits for the batches in flight and throws the first failure of a batch since the previous call.
+     */
+    private void awaitBatches() {
+        try {
+            CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).handle((res, e) -> null).get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Restore interrupt flag.
+
+            throw new IgniteInternalException(e);
+        }
+        catch (Exception e) {
+            throw new IgniteInternalException(e);
+        }
+
+        Throwable err = failure.getAndSet(null);
+
+        if (err != null)
+            throw new IgniteException("Failed to stream data to table: " + tbl.tableName(), err);
+    }
+
+    /**
+     * @throws IllegalStateException If a record has been added.
+     */
+    private void ensureNotStarted() {
+        if (started)
+            throw new IllegalStateException("Data streamer settings can't be changed after the first record is added.");
+    }
+
+    /**
+     * @throws IllegalStateException If the streamer is closed.
+     */
+    private void ensureNotClosed() {
+        if (closed)
+            throw new IllegalStateException("Data streamer is closed.");
+    }
+
+    /**
+     * Rows buffered for a partition.
+     */
+    private class PartitionBuffer {
+        /** Partition number. */
+        private final int part;
+
+        /** Permits for the batches in flight. */
+        private final Semaphore permits = new Semaphore(parallelOps);
+
+        /** Buffered rows by their keys, in the order of the keys being added. */
+        private Map<ByteBuffer, BinaryRow> rows = new LinkedHashMap<>();
+
+        /** Future of the batch the buffered rows will be sent with. */
+        private CompletableFuture<Void> fut = new CompletableFuture<>();
+
+        /** Futures of the last batches in flight by the keys of their rows. */
+        private final Map<ByteBuffer, CompletableFuture<Void>> keysInFlight = new HashMap<>();
+
+        /**
+         * @param part Partition number.
+         */
+        PartitionBuffer(int part) {
+            this.part = part;
+        }
+
+        /**
+         * Takes the buffered rows as a batch and registers it as in flight. Must be called under the buffer monitor.
+         *
+         * @return Batch or {@code null} if no rows are buffered.
+         */
+        Batch take() {
+            if (rows.isEmpty())
+                return null;
+
+            Set<CompletableFuture<Void>> prev = new HashSet<>();
+
+            for (ByteBuffer key : rows.keySet()) {
+                CompletableFuture<Void> keyFut = keysInFlight.put(key, fut);
+
+                if (keyFut != null)
+                    prev.add(keyFut);
+            }
+
+            Batch batch = new Batch(
+                rows.keySet(),
+                new LinkedHashSet<>(rows.values()),
+                fut,
+                prev.isEmpty() ? null : CompletableFuture.allOf(prev.toArray(CompletableFuture[]::new))
+            );
+
+            inFlight.add(fut);
+
+            rows = new LinkedHashMap<>();
+            fut = new CompletableFuture<>();
+
+            return batch;
+        }
+
+        /**
+         * Releases the keys of a completed batch, unless they are taken by a later batch. Must be called under the
+         * buffer monitor.
+         *
+         * @param batch Batch.
+         */
+        void complete(Batch batch) {
+            for (ByteBuffer key : batch.keys)
+                keysInFlight.remove(key, batch.fut);
+        }
+
+        /**
+         * Discards the buffered rows. Must be called under the buffer monitor.
+         *
+         * @return Future of the discarded rows or {@code null} if no rows are buffered.
+         */
+        CompletableFuture<Void> discard() {
+            if (rows.isEmpty())
+                return null;
+
+            CompletableFuture<Void> discarded = fut;
+
+            rows = new LinkedHashMap<>();
+            fut = new CompletableFuture<>();
+
+            return discarded;
+        }
+    }
+
+    /**
+     * Rows sent to a partition together.
+     */
+    private static class Batch {
+        /** Keys of the rows. */
+        private final Collection<ByteBuffer> keys;
+
+        /** Rows. */
+        private final Set<BinaryRow> rows;
+
+        /** Future completed when the rows are written. */
+        private final CompletableFuture<Void> fut;
+
+        /** Future of the earlier batches in flight with the same keys, {@code null} if there are none. */
+        private final CompletableFuture<Void> prev;
+
+        /**
+         * @param keys Keys of the rows.
+         * @param rows Rows.
+         * @param fut Future completed when the rows are written.
+         * @param prev Future of the earlier batches in flight with the same keys, {@code null} if there are none.
+         */
+        Batch(Collection<ByteBuffer> keys, Set<BinaryRow> rows, CompletableFuture<Void> fut,
+            CompletableFuture<Void> prev) {
+            this.keys = keys;
+            this.rows = rows;
+            this.fut = fut;
+            this.prev = prev;
+        }
+    }
+}
@@ -18,9 +18,15 @@
 package org.apache.ignite.internal.table;
 
 import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.storage.KeyRange;
+import org.apache.ignite.raft.client.Peer;
+import org.apache.ignite.table.ReadConsistency;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -42,6 +48,29 @@ public interface InternalTable {
      */
     @NotNull String tableName();
 
+    /**
+     * Gets the number of partitions of the table.
+     *
+     * @return Number of partitions.
+     */
+    int partitions();
+
+    /**
+     * Gets the partition of a row.
+     *
+     * @param keyRow Row with key columns set.
+     * @return Partition number.
+     */
+    int partition(BinaryRow keyRow);
+
+    /**
+     * Gets the known leaders of the table partitions, so that a computation can be co-located with the leader of the
+     * partition it works with. The leaders are the ones last observed by the partition clients of this node.
+     *
+     * @return Leaders by the partition number, the partitions with no known leader are absent.
+     */
+    @NotNull Map<Integer, Peer> partitionLeaders();
+
     /**
      * Asynchronously gets a row with same key columns values as given one from the table.
      *
@@ -50,6 +79,16 @@ public interface InternalTable {
      */
     @NotNull CompletableFuture<BinaryRow> get(BinaryRow keyRow);
 
+    /**
+     * Asynchronously gets a row with same key columns values as given one from the table with the given read
+     * consistency.
+     *
+     * @param keyRow Row with key columns set.
+     * @param consistency Read consistency.
+     * @return Future representing pending completion of the operation.
+     */
+    @NotNull CompletableFuture<BinaryRow> get(BinaryRow keyRow, ReadConsistency consistency);
+
     /**
      * Asynchronously get rows from the table.
      *
@@ -58,6 +97,15 @@ public interface InternalTable {
      */
     @NotNull CompletableFuture<Collection<BinaryRow>> getAll(Collection<BinaryRow> keyRows);
 
+    /**
+     * Asynchronously get rows from the table with the given read consistency.
+     *
+     * @param keyRows Rows with key columns set.
+     * @param consistency Read consistency.
+     * @return Future representing pending completion of the operation.
+     */
+    @NotNull CompletableFuture<Collection<BinaryRow>> getAll(Collection<BinaryRow> keyRows, ReadConsistency consistency);
+
     /**
      * Asynchronously inserts a row into the table if does not exist or replaces the existed one.
      *
@@ -74,6 +122,15 @@ public interface InternalTable {
      */
     @NotNull CompletableFuture<Void> upsertAll(Collection<BinaryRow> rows);
 
+    /**
+     * Asynchronously inserts rows of a partition into the table if do not exist or replaces the existed ones.
+     *
+     * @param part Partition number the rows belong to.
+     * @param rows Rows to insert into the table.
+     * @return Future representing pending completion of the operation.
+     */
+    @NotNull CompletableFuture<Void> upsertAll(int part, Set<BinaryRow> rows);
+
     /**
      * Asynchronously inserts a row into the table or replaces if exists and return replaced previous row.
      *
@@ -98,6 +155,15 @@ public interface InternalTable {
      */
     @NotNull CompletableFuture<Collection<BinaryRow>> insertAll(Collection<BinaryRow> rows);
 
+    /**
+     * Asynchronously insert rows of a partition into the table which do not exist, skipping existed ones.
+     *
+     * @param part Partition number the rows belong to.
+     * @param rows Rows to insert into the table.
+     * @return Future representing pending completion of the operation.
+     */
+    @NotNull CompletableFuture<Collection<BinaryRow>> insertAll(int part, Set<BinaryRow> rows);
+
     /**
      * Asynchronously replaces an existed row associated with the same key columns values as the given one has.
      *
@@ -164,5 +230,26 @@ public interface InternalTable {
      */
     @NotNull CompletableFuture<Collection<BinaryRow>> deleteAllExact(Collection<BinaryRow> rows);
 
+    /**
+     * Asynchronously gets the rows whose indexed columns are within the range of a secondary index. Every partition
+     * looks the rows up in its own part of the index.
+     *
+     * @param idxName Index name.
+     * @param range Range of the indexed columns encoded in the same way as the index encodes them. Must not be
+     *      reversed, since rows of different partitions are not ordered with respect to each other.
+     * @return Future representing pending completion of the operation.
+     */
+    @NotNull CompletableFuture<Collection<BinaryRow>> indexScan(String idxName, KeyRange range);
+
+    /**
+     * Scans the rows of a partition. Rows are fetched from the partition in batches sized by the demand of the
+     * subscriber. The scan is weakly consistent: rows changed while the partition is being scanned may or may not be
+     * observed.
+     *
+     * @param part Partition number.
+     * @return Publisher of the rows of the partition.
+     */
+    @NotNull Flow.Publisher<BinaryRow> scan(int part);
+
     //TODO: IGNTIE-14488. Add invoke() methods.
 }
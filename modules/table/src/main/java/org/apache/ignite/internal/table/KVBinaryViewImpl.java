@@ -29,6 +29,7 @@ import org.apache.ignite.internal.schema.marshaller.TupleMarshaller;
 import org.apache.ignite.internal.schema.SchemaRegistry;
 import org.apache.ignite.table.InvokeProcessor;
 import org.apache.ignite.table.KeyValueBinaryView;
+import org.apache.ignite.table.ReadConsistency;
 import org.apache.ignite.table.Tuple;
 import org.apache.ignite.table.TupleBuilder;
 import org.jetbrains.annotations.NotNull;
@@ -47,7 +48,18 @@ public class KVBinaryViewImpl extends AbstractTableView implements KeyValueBinar
      * @param schemaReg Schema registry.
      */
     public KVBinaryViewImpl(InternalTable tbl, SchemaRegistry schemaReg) {
-        super(tbl, schemaReg);
+        this(tbl, schemaReg, ReadConsistency.LINEARIZABLE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param tbl Table storage.
+     * @param schemaReg Schema registry.
+     * @param readConsistency Consistency of the reads.
+     */
+    public KVBinaryViewImpl(InternalTable tbl, SchemaRegistry schemaReg, ReadConsistency readConsistency) {
+        super(tbl, schemaReg, readConsistency);
 
         marsh = new TupleMarshallerImpl(schemaReg);
     }
@@ -63,7 +75,7 @@ public class KVBinaryViewImpl extends AbstractTableView implements KeyValueBinar
 
         Row kRow = marshaller().marshal(key, null); // Convert to portable format to pass TX/storage layer.
 
-        return tbl.get(kRow)  // Load async.
+        return tbl.get(kRow, readConsistency)  // Load async.
             .thenApply(this::wrap) // Binary -> schema-aware row
             .thenApply(t -> t == null ? null : t.valueChunk()); // Narrow to value.
     }
@@ -77,7 +89,7 @@ public class KVBinaryViewImpl extends AbstractTableView implements KeyValueBinar
     @Override public @NotNull CompletableFuture<Map<Tuple, Tuple>> getAllAsync(@NotNull Collection<Tuple> keys) {
         Objects.requireNonNull(keys);
 
-        return tbl.getAll(keys.stream().map(k -> marsh.marshal(k, null)).collect(Collectors.toList()))
+        return tbl.getAll(keys.stream().map(k -> marsh.marshal(k, null)).collect(Collectors.toList()), readConsistency)
             .thenApply(this::wrap)
             .thenApply(ts -> ts.stream().filter(Objects::nonNull).collect(Collectors.toMap(TableRow::keyChunk, TableRow::valueChunk)));
     }
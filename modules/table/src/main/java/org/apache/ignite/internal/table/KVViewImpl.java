@@ -29,6 +29,7 @@ import org.apache.ignite.internal.schema.marshaller.KVSerializer;
 import org.apache.ignite.internal.schema.SchemaRegistry;
 import org.apache.ignite.table.InvokeProcessor;
 import org.apache.ignite.table.KeyValueView;
+import org.apache.ignite.table.ReadConsistency;
 import org.apache.ignite.table.mapper.KeyMapper;
 import org.apache.ignite.table.mapper.ValueMapper;
 import org.jetbrains.annotations.NotNull;
@@ -47,7 +48,21 @@ public class KVViewImpl<K, V> extends AbstractTableView implements KeyValueView<
      */
     public KVViewImpl(InternalTable tbl, SchemaRegistry schemaReg, KeyMapper<K> keyMapper,
         ValueMapper<V> valueMapper) {
-        super(tbl, schemaReg);
+        this(tbl, schemaReg, keyMapper, valueMapper, ReadConsistency.LINEARIZABLE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param tbl Table storage.
+     * @param schemaReg Schema registry.
+     * @param keyMapper Key class mapper.
+     * @param valueMapper Value class mapper.
+     * @param readConsistency Consistency of the reads.
+     */
+    public KVViewImpl(InternalTable tbl, SchemaRegistry schemaReg, KeyMapper<K> keyMapper,
+        ValueMapper<V> valueMapper, ReadConsistency readConsistency) {
+        super(tbl, schemaReg, readConsistency);
     }
 
     /** {@inheritDoc} */
@@ -63,7 +78,7 @@ public class KVViewImpl<K, V> extends AbstractTableView implements KeyValueView<
 
         Row kRow = marsh.serialize(key, null); // Convert to portable format to pass TX/storage layer.
 
-        return tbl.get(kRow)
+        return tbl.get(kRow, readConsistency)
             .thenApply(this::wrap) // Binary -> schema-aware row
             .thenApply(marsh::deserializeValue); // row -> deserialized obj.
     }
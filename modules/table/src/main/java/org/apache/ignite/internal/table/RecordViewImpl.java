@@ -28,6 +28,7 @@ import org.apache.ignite.internal.schema.SchemaDescriptor;
 import org.apache.ignite.internal.schema.marshaller.RecordSerializer;
 import org.apache.ignite.internal.schema.SchemaRegistry;
 import org.apache.ignite.table.InvokeProcessor;
+import org.apache.ignite.table.ReadConsistency;
 import org.apache.ignite.table.RecordView;
 import org.apache.ignite.table.mapper.RecordMapper;
 import org.jetbrains.annotations.NotNull;
@@ -44,7 +45,24 @@ public class RecordViewImpl<R> extends AbstractTableView implements RecordView<R
      * @param mapper Record class mapper.
      */
     public RecordViewImpl(InternalTable tbl, SchemaRegistry schemaReg, RecordMapper<R> mapper) {
-        super(tbl, schemaReg);
+        this(tbl, schemaReg, mapper, ReadConsistency.LINEARIZABLE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param tbl Table.
+     * @param schemaReg Schema registry.
+     * @param mapper Record class mapper.
+     * @param readConsistency Consistency of the reads.
+     */
+    public RecordViewImpl(
+        InternalTable tbl,
+        SchemaRegistry schemaReg,
+        RecordMapper<R> mapper,
+        ReadConsistency readConsistency
+    ) {
+        super(tbl, schemaReg, readConsistency);
     }
 
     /** {@inheritDoc} */
@@ -60,7 +78,7 @@ public class RecordViewImpl<R> extends AbstractTableView implements RecordView<R
 
         Row kRow = marsh.serialize(recObjToFill);  // Convert to portable format to pass TX/storage layer.
 
-        return tbl.get(kRow)  // Load async.
+        return tbl.get(kRow, readConsistency)  // Load async.
             .thenApply(this::wrap) // Binary -> schema-aware row
             .thenApply(r -> marsh.deserialize(r, recObjToFill)); // Deserialize and fill record.
     }
@@ -78,7 +96,7 @@ public class RecordViewImpl<R> extends AbstractTableView implements RecordView<R
 
         Row kRow = marsh.serialize(keyRec);  // Convert to portable format to pass TX/storage layer.
 
-        return tbl.get(kRow)  // Load async.
+        return tbl.get(kRow, readConsistency)  // Load async.
             .thenApply(this::wrap) // Binary -> schema-aware row
             .thenApply(marsh::deserialize); // Deserialize.
     }
@@ -24,14 +24,17 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 import java.util.stream.Collectors;
 import org.apache.ignite.internal.schema.BinaryRow;
 import org.apache.ignite.internal.schema.Row;
 import org.apache.ignite.internal.schema.SchemaRegistry;
 import org.apache.ignite.internal.schema.marshaller.TupleMarshaller;
+import org.apache.ignite.table.DataStreamer;
 import org.apache.ignite.table.InvokeProcessor;
 import org.apache.ignite.table.KeyValueBinaryView;
 import org.apache.ignite.table.KeyValueView;
+import org.apache.ignite.table.ReadConsistency;
 import org.apache.ignite.table.RecordView;
 import org.apache.ignite.table.Table;
 import org.apache.ignite.table.Tuple;
@@ -55,7 +58,18 @@ public class TableImpl extends AbstractTableView implements Table {
      * @param schemaReg Table schema registry.
      */
     public TableImpl(InternalTable tbl, SchemaRegistry schemaReg) {
-        super(tbl, schemaReg);
+        this(tbl, schemaReg, ReadConsistency.LINEARIZABLE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param tbl Table.
+     * @param schemaReg Table schema registry.
+     * @param readConsistency Consistency of the reads.
+     */
+    private TableImpl(InternalTable tbl, SchemaRegistry schemaReg, ReadConsistency readConsistency) {
+        super(tbl, schemaReg, readConsistency);
 
         marsh = new TupleMarshallerImpl(schemaReg);
     }
@@ -85,17 +99,24 @@ public class TableImpl extends AbstractTableView implements Table {
 
     /** {@inheritDoc} */
     @Override public <R> RecordView<R> recordView(RecordMapper<R> recMapper) {
-        return new RecordViewImpl<>(tbl, schemaReg, recMapper);
+        return new RecordViewImpl<>(tbl, schemaReg, recMapper, readConsistency);
     }
 
     /** {@inheritDoc} */
     @Override public <K, V> KeyValueView<K, V> kvView(KeyMapper<K> keyMapper, ValueMapper<V> valMapper) {
-        return new KVViewImpl<>(tbl, schemaReg, keyMapper, valMapper);
+        return new KVViewImpl<>(tbl, schemaReg, keyMapper, valMapper, readConsistency);
     }
 
     /** {@inheritDoc} */
     @Override public KeyValueBinaryView kvView() {
-        return new KVBinaryViewImpl(tbl, schemaReg);
+        return new KVBinaryViewImpl(tbl, schemaReg, readConsistency);
+    }
+
+    /** {@inheritDoc} */
+    @Override public Table withReadConsistency(ReadConsistency consistency) {
+        Objects.requireNonNull(consistency);
+
+        return consistency == readConsistency ? this : new TableImpl(tbl, schemaReg, consistency);
     }
 
     /** {@inheritDoc} */
@@ -109,7 +130,7 @@ public class TableImpl extends AbstractTableView implements Table {
 
         final Row keyRow = marshaller().marshal(keyRec, null); // Convert to portable format to pass TX/storage layer.
 
-        return tbl.get(keyRow).thenApply(this::wrap);
+        return tbl.get(keyRow, readConsistency).thenApply(this::wrap);
     }
 
     /** {@inheritDoc} */
@@ -129,7 +150,7 @@ public class TableImpl extends AbstractTableView implements Table {
             keys.add(keyRow);
         }
 
-        return tbl.getAll(keys).thenApply(this::wrap);
+        return tbl.getAll(keys, readConsistency).thenApply(this::wrap);
     }
 
     /** {@inheritDoc} */
@@ -374,6 +395,16 @@ public class TableImpl extends AbstractTableView implements Table {
         throw new UnsupportedOperationException("Not implemented yet.");
     }
 
+    /** {@inheritDoc} */
+    @Override public Flow.Publisher<Tuple> scan() {
+        return new TableScanPublisher<>(tbl, this::wrap);
+    }
+
+    /** {@inheritDoc} */
+    @Override public DataStreamer<Tuple> dataStreamer() {
+        return new DataStreamerImpl(tbl, marsh);
+    }
+
     /** {@inheritDoc} */
     @Override public TupleBuilder tupleBuilder() {
         return new TupleBuilderImpl(schemaReg.schema());
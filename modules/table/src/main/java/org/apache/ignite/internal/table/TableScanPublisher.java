@@ -0,0 +1,303 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.table;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.apache.ignite.internal.schema.BinaryRow;
+
+/**
+ * Publisher of the rows of all the partitions of a table. Partitions are scanned in parallel: once the subscriber
+ * requests rows, every partition is subscribed to with a prefetch of {@link #PREFETCH} rows, which is replenished as
+ * the rows of the partition are delivered. Rows of different partitions are interleaved in no particular order.
+ *
+ * @param <T> Type of the published rows.
+ */
+class TableScanPublisher<T> implements Flow.Publisher<T> {
+    /** Number of rows requested from a partition in advance. */
+    static final int PREFETCH = 256;
+
+    /** Number of delivered rows of a partition after which they are requested again. */
+    private static final int REPLENISH_THRESHOLD = PREFETCH / 2;
+
+    /** Internal table. */
+    private final InternalTable tbl;
+
+    /** Converts a binary row to a published one. */
+    private final Function<BinaryRow, T> mapper;
+
+    /**
+     * @param tbl Internal table.
+     * @param mapper Converts a binary row to a published one.
+     */
+    TableScanPublisher(InternalTable tbl, Function<BinaryRow, T> mapper) {
+        this.tbl = tbl;
+        this.mapper = mapper;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+
+        subscriber.onSubscribe(new MergeSubscription(subscriber));
+    }
+
+    /**
+     * Subscription that merges the rows of the partitions and serializes all the signals to the subscriber in a drain
+     * loop.
+     */
+    private class MergeSubscription implements Flow.Subscription {
+        /** Subscriber. */
+        private final Flow.Subscriber<? super T> subscriber;
+
+        /** Subscribers of the partitions. */
+        private final List<PartitionSubscriber> parts;
+
+        /** Rows received from the partitions and not delivered yet. */
+        private final Queue<ReceivedRow> rows = new ConcurrentLinkedQueue<>();
+
+        /** Outstanding demand. */
+        private final AtomicLong requested = new AtomicLong();
+
+        /** Number of the drain requests, the drain loop is run by the thread that has changed it from zero. */
+        private final AtomicInteger wip = new AtomicInteger();
+
+        /** Number of the partitions whose scan hasn't completed yet. */
+        private final AtomicInteger remaining;
+
+        /** Whether the partitions have been subscribed to. Accessed in the drain loop only. */
+        private boolean started;
+
+        /** Failure of the scan. */
+        private volatile Throwable error;
+
+        /** Whether the subscription is cancelled or terminated. */
+        private volatile boolean cancelled;
+
+        /**
+         * @param subscriber Subscriber.
+         */
+        MergeSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+
+            parts = new ArrayList<>(tbl.partitions());
+
+            for (int i = 0; i < tbl.partitions(); i++)
+                parts.add(new PartitionSubscriber(this));
+
+            remaining = new AtomicInteger(parts.size());
+        }
+
+        /** {@inheritDoc} */
+        @Override public void request(long n) {
+            if (n <= 0)
+                onError(new IllegalArgumentException("Requested number of rows must be positive: " + n));
+            else {
+                requested.getAndUpdate(r -> r + n < 0 ? Long.MAX_VALUE : r + n);
+
+                drain();
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override public void cancel() {
+            cancelled = true;
+
+            cancelPartitions();
+        }
+
+        /**
+         * @param e Failure of a partition scan.
+         */
+        void onError(Throwable e) {
+            if (error == null)
+                error = e;
+
+            drain();
+        }
+
+        /**
+         * Cancels the scans of the partitions.
+         */
+        private void cancelPartitions() {
+            for (PartitionSubscriber part : parts) {
+                Flow.Subscription sub = part.subscription;
+
+                if (sub != null)
+                    sub.cancel();
+            }
+        }
+
+        /**
+         * Delivers the received rows within the outstanding demand and terminates the subscriber when all the
+         * partitions have been scanned or one of the scans has failed.
+         */
+        private void drain() {
+            if (wip.getAndIncrement() != 0)
+                return;
+
+            int missed = 1;
+
+            do {
+                if (cancelled) {
+                    rows.clear();
+
+                    return;
+                }
+
+                if (!started && requested.get() > 0) {
+                    started = true;
+
+                    for (int i = 0; i < parts.size(); i++)
+                        tbl.scan(i).subscribe(parts.get(i));
+                }
+
+                long delivered = 0;
+
+                while (delivered < requested.get() && error == null) {
+                    ReceivedRow row = rows.poll();
+
+                    if (row == null)
+                        break;
+
+                    subscriber.onNext(mapper.apply(row.row));
+
+                    delivered++;
+
+                    if (cancelled)
+                        return;
+
+                    row.part.onDelivered();
+                }
+
+                if (delivered > 0)
+                    requested.addAndGet(-delivered);
+
+                Throwable err = error;
+
+                if (err != null) {
+                    cancel();
+
+                    subscriber.onError(err);
+
+                    return;
+                }
+
+                // Completion is checked before the queue, so that the rows received before it are not missed.
+                if (remaining.get() == 0 && rows.isEmpty()) {
+                    cancelled = true;
+
+                    subscriber.onComplete();
+
+                    return;
+                }
+
+                missed = wip.addAndGet(-missed);
+            }
+            while (missed != 0);
+        }
+    }
+
+    /**
+     * Subscriber of a partition.
+     */
+    private class PartitionSubscriber implements Flow.Subscriber<BinaryRow> {
+        /** Merging subscription. */
+        private final MergeSubscription parent;
+
+        /** Subscription to the partition. */
+        private volatile Flow.Subscription subscription;
+
+        /** Number of the delivered rows that haven't been requested again. Accessed in the drain loop only. */
+        private int delivered;
+
+        /**
+         * @param parent Merging subscription.
+         */
+        PartitionSubscriber(MergeSubscription parent) {
+            this.parent = parent;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+
+            if (parent.cancelled)
+                subscription.cancel();
+            else
+                subscription.request(PREFETCH);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void onNext(BinaryRow row) {
+            parent.rows.add(new ReceivedRow(this, row));
+
+            parent.drain();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void onError(Throwable e) {
+            parent.onError(e);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void onComplete() {
+            parent.remaining.decrementAndGet();
+
+            parent.drain();
+        }
+
+        /**
+         * Requests more rows from the partition once enough of its rows have been delivered.
+         */
+        void onDelivered() {
+            if (++delivered == REPLENISH_THRESHOLD) {
+                delivered = 0;
+
+                subscription.request(REPLENISH_THRESHOLD);
+            }
+        }
+    }
+
+    /**
+     * Row received from a partition.
+     */
+    private class ReceivedRow {
+        /** Partition subscriber. */
+        private final PartitionSubscriber part;
+
+        /** Row. */
+        private final BinaryRow row;
+
+        /**
+         * @param part Partition subscriber.
+         * @param row Row.
+         */
+        ReceivedRow(PartitionSubscriber part, BinaryRow row) {
+            this.part = part;
+            this.row = row;
+        }
+    }
+}
@@ -17,7 +17,10 @@
 
 package org.apache.ignite.internal.table.distributed;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -32,7 +35,11 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import org.apache.ignite.configuration.schemas.store.DataStorageConfiguration;
+import org.apache.ignite.configuration.schemas.store.DataStorageView;
 import org.apache.ignite.configuration.schemas.table.TableChange;
+import org.apache.ignite.configuration.schemas.table.TableIndexView;
+import org.apache.ignite.configuration.schemas.table.TableStorageView;
 import org.apache.ignite.configuration.schemas.table.TableView;
 import org.apache.ignite.configuration.schemas.table.TablesConfiguration;
 import org.apache.ignite.configuration.NamedListView;
@@ -49,11 +56,20 @@ import org.apache.ignite.internal.metastorage.client.Conditions;
 import org.apache.ignite.internal.metastorage.client.Entry;
 import org.apache.ignite.internal.metastorage.client.Operations;
 import org.apache.ignite.internal.raft.Loza;
+import org.apache.ignite.internal.schema.SchemaDescriptor;
 import org.apache.ignite.internal.schema.SchemaManager;
 import org.apache.ignite.internal.schema.SchemaRegistry;
 import org.apache.ignite.internal.schema.event.SchemaEvent;
+import org.apache.ignite.internal.schema.configuration.SchemaConfigurationConverter;
 import org.apache.ignite.internal.schema.event.SchemaEventParameters;
+import org.apache.ignite.internal.storage.Storage;
+import org.apache.ignite.internal.storage.basic.ConcurrentSkipListIndexStorage;
+import org.apache.ignite.internal.storage.basic.ConcurrentSkipListMapStorage;
+import org.apache.ignite.internal.storage.pagememory.PageMemoryStorage;
+import org.apache.ignite.internal.storage.rocksdb.RocksDbStorageEngine;
+import org.apache.ignite.internal.storage.rocksdb.RocksDbTableStorage;
 import org.apache.ignite.internal.table.TableImpl;
+import org.apache.ignite.internal.table.distributed.index.SecondaryIndex;
 import org.apache.ignite.internal.table.distributed.raft.PartitionListener;
 import org.apache.ignite.internal.table.distributed.storage.InternalTableImpl;
 import org.apache.ignite.internal.table.event.TableEvent;
@@ -62,9 +78,12 @@ import org.apache.ignite.internal.util.Cursor;
 import org.apache.ignite.internal.vault.VaultManager;
 import org.apache.ignite.lang.ByteArray;
 import org.apache.ignite.lang.IgniteBiTuple;
+import org.apache.ignite.lang.IgniteInternalException;
 import org.apache.ignite.lang.IgniteLogger;
 import org.apache.ignite.network.ClusterNode;
 import org.apache.ignite.raft.client.service.RaftGroupService;
+import org.apache.ignite.schema.PrimaryIndex;
+import org.apache.ignite.schema.TableIndex;
 import org.apache.ignite.table.Table;
 import org.apache.ignite.table.manager.IgniteTables;
 import org.jetbrains.annotations.NotNull;
@@ -83,6 +102,15 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
     /** Public prefix for metastorage. */
     private static final String PUBLIC_PREFIX = "dst-cfg.table.tables.";
 
+    /** Name of the persistent storage engine. */
+    private static final String ROCKSDB_ENGINE = "rocksdb";
+
+    /** Name of the off-heap in-memory storage engine. */
+    private static final String PAGE_MEMORY_ENGINE = "pagememory";
+
+    /** Name of the on-heap in-memory storage engine with sorted keys. */
+    private static final String MEMORY_ENGINE = "memory";
+
     /** Meta storage service. */
     private final MetaStorageManager metaStorageMgr;
 
@@ -98,6 +126,15 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
     /** Affinity manager. */
     private final AffinityManager affMgr;
 
+    /** Partitions store directory. */
+    private final Path partitionsStoreDir;
+
+    /** Storage engine, shared by all tables of the node. */
+    private final RocksDbStorageEngine storageEngine;
+
+    /** Storages of the tables that have partitions on this node. */
+    private final Map<UUID, RocksDbTableStorage> tableStorages = new ConcurrentHashMap<>();
+
     /** Tables. */
     private final Map<String, TableImpl> tables = new ConcurrentHashMap<>();
 
@@ -110,6 +147,7 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
      * @param affMgr Affinity manager.
      * @param raftMgr Raft manager.
      * @param vaultManager Vault manager.
+     * @param partitionsStoreDir Partitions store directory.
      */
     public TableManager(
         ConfigurationManager configurationMgr,
@@ -117,17 +155,47 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
         SchemaManager schemaMgr,
         AffinityManager affMgr,
         Loza raftMgr,
-        VaultManager vaultManager
+        VaultManager vaultManager,
+        Path partitionsStoreDir
     ) {
         this.configurationMgr = configurationMgr;
         this.metaStorageMgr = metaStorageMgr;
         this.affMgr = affMgr;
         this.raftMgr = raftMgr;
         this.schemaMgr = schemaMgr;
+        this.partitionsStoreDir = partitionsStoreDir;
+
+        DataStorageView storageView =
+            configurationMgr.configurationRegistry().getConfiguration(DataStorageConfiguration.KEY).value();
+
+        storageEngine = new RocksDbStorageEngine(
+            storageView.blockCacheSize(),
+            storageView.blockCacheType(),
+            storageView.rateLimitBytesPerSecond()
+        );
 
         listenForTableChange();
     }
 
+    /**
+     * Closes the persistent storages of the tables and the storage engine. Must be called after the RAFT groups of the
+     * partitions are stopped, since they close the partition storages.
+     */
+    public void stop() {
+        for (RocksDbTableStorage tableStorage : tableStorages.values()) {
+            try {
+                tableStorage.close();
+            }
+            catch (Exception e) {
+                LOG.error("Failed to close a table storage", e);
+            }
+        }
+
+        tableStorages.clear();
+
+        storageEngine.close();
+    }
+
     /**
      * Creates local structures for a table.
      *
@@ -135,25 +203,58 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
      * @param tblId Table id.
      * @param assignment Affinity assignment.
      * @param schemaReg Schema registry for the table.
+     * @param tableView Table configuration.
      */
     private void createTableLocally(
         String name,
         UUID tblId,
         List<List<ClusterNode>> assignment,
-        SchemaRegistry schemaReg
+        SchemaRegistry schemaReg,
+        TableView tableView
     ) {
         int partitions = assignment.size();
 
+        TableStorageView storageView = tableView.storage();
+
+        NamedListView<? extends TableIndexView> indicesView = tableView.indices();
+
+        List<TableIndex> indexes = supportedIndexes(name, indicesView, schemaReg.schema());
+
         HashMap<Integer, RaftGroupService> partitionMap = new HashMap<>(partitions);
 
         for (int p = 0; p < partitions; p++) {
+            int partId = p;
+
+            // Storage is opened only on the nodes which actually host the partition.
             partitionMap.put(p, raftMgr.startRaftGroup(
                 raftGroupName(tblId, p),
                 assignment.get(p),
-                new PartitionListener()
+                () -> new PartitionListener(
+                    createPartitionStorage(name, tblId, partId, storageView),
+                    createPartitionIndexes(indexes),
+                    schemaReg
+                )
             ));
         }
 
+        if (tableView.writeBatchSize() > 0)
+            raftMgr.enableBatching(partitionMap.values(), tableView.writeBatchSize(), tableView.writeBatchDelay());
+
+        // Learns the leaders of all partitions with one request per node rather than one request per partition, once
+        // the leaders are elected.
+        raftMgr.refreshLeaders(partitionMap.values()).whenComplete((res, e) -> {
+            if (e != null)
+                LOG.warn("Failed to refresh the partition leaders [table=" + name + ']', e);
+            else {
+                long unknown = partitionMap.values().stream().filter(svc -> svc.leader() == null).count();
+
+                if (unknown > 0) {
+                    LOG.info("Partition leaders are not known yet and will be refreshed on the first operation " +
+                        "[table=" + name + ", partitions=" + unknown + ']');
+                }
+            }
+        });
+
         InternalTableImpl internalTable = new InternalTableImpl(name, tblId, partitionMap, partitions);
 
         var table = new TableImpl(internalTable, schemaReg);
@@ -163,6 +264,110 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
         onEvent(TableEvent.CREATE, new TableEventParameters(table), null);
     }
 
+    /**
+     * Gets the indexes of a table that can be maintained by the partition storages.
+     *
+     * @param name Table name.
+     * @param indicesView Index configurations of the table.
+     * @param schema Table schema.
+     * @return Index definitions.
+     */
+    private static List<TableIndex> supportedIndexes(
+        String name,
+        NamedListView<? extends TableIndexView> indicesView,
+        SchemaDescriptor schema
+    ) {
+        List<TableIndex> res = new ArrayList<>();
+
+        for (String idxName : indicesView.namedListKeys()) {
+            TableIndex idx = SchemaConfigurationConverter.convert(indicesView.get(idxName));
+
+            // Primary index is the partition storage itself.
+            if (idx instanceof PrimaryIndex)
+                continue;
+
+            if (SecondaryIndex.supports(idx, schema))
+                res.add(idx);
+            else
+                LOG.warn("Index is not supported by the storage and is not maintained [table=" + name +
+                    ", index=" + idx.name() + ", type=" + idx.type() + ']');
+        }
+
+        return res;
+    }
+
+    /**
+     * Creates the secondary indexes of a table partition.
+     *
+     * @param indexes Index definitions.
+     * @return Secondary indexes.
+     */
+    private static List<SecondaryIndex> createPartitionIndexes(List<TableIndex> indexes) {
+        return indexes.stream()
+            .map(idx -> SecondaryIndex.create(idx, new ConcurrentSkipListIndexStorage()))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Creates a storage for a table partition with the engine chosen in the table configuration.
+     *
+     * @param name Table name.
+     * @param tblId Table id.
+     * @param partId Partition id.
+     * @param storageView Storage configuration of the table.
+     * @return Partition storage.
+     */
+    private Storage createPartitionStorage(String name, UUID tblId, int partId, TableStorageView storageView) {
+        switch (storageView.engine()) {
+            case ROCKSDB_ENGINE:
+                return tableStorage(name, tblId, storageView).partitionStorage(partId);
+
+            case PAGE_MEMORY_ENGINE:
+                // Keys are encoded by the partition listener to be ordered bytewise, as the storage orders them.
+                return new PageMemoryStorage(storageView.maxSize());
+
+            case MEMORY_ENGINE:
+                return new ConcurrentSkipListMapStorage();
+
+            default:
+                throw new IgniteInternalException("Unknown storage engine of table " + name + ": " +
+                    storageView.engine());
+        }
+    }
+
+    /**
+     * Gets a persistent storage for the partitions of a table, creating it on the first call. All partitions of the
+     * table hosted by this node share the storage.
+     *
+     * @param name Table name.
+     * @param tblId Table id.
+     * @param storageView Storage configuration of the table.
+     * @return Table storage.
+     */
+    private RocksDbTableStorage tableStorage(String name, UUID tblId, TableStorageView storageView) {
+        return tableStorages.computeIfAbsent(tblId, id -> {
+            Path storageDir = partitionsStoreDir.resolve(id.toString());
+
+            try {
+                Files.createDirectories(storageDir);
+            }
+            catch (IOException e) {
+                throw new IgniteInternalException(
+                    "Failed to create partitions store directory for " + name + ": " + e.getMessage(),
+                    e
+                );
+            }
+
+            // Keys are encoded by the partition listener to be ordered bytewise, so no Java comparator is needed.
+            return storageEngine.createTableStorage(
+                storageDir,
+                storageView.bloomFilterBitsPerKey(),
+                storageView.compactionStyle(),
+                storageView.writeBufferSize()
+            );
+        });
+    }
+
     /**
      * Drops local structures for a table.
      *
@@ -176,6 +381,11 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
         for (int p = 0; p < partitions; p++)
             raftMgr.stopRaftGroup(raftGroupName(tblId, p), assignment.get(p));
 
+        RocksDbTableStorage tableStorage = tableStorages.remove(tblId);
+
+        if (tableStorage != null)
+            tableStorage.close();
+
         TableImpl table = tables.get(name);
 
         assert table != null : "There is no table with the name specified [name=" + name + ']';
@@ -281,7 +491,8 @@ public class TableManager extends Producer<TableEvent, TableEventParameters> imp
                     tblName,
                     tblId,
                     affinityReadyFut.join().assignment(),
-                    schemaReadyFut.join().schemaRegistry()
+                    schemaReadyFut.join().schemaRegistry(),
+                    tableView
                 ));
 
             affMgr.listen(AffinityEvent.CALCULATED, new EventListener<>() {
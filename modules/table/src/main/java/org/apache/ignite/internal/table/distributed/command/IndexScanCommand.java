@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.table.distributed.command;
+
+import org.apache.ignite.internal.storage.KeyRange;
+import org.apache.ignite.internal.storage.basic.SimpleDataRow;
+import org.apache.ignite.raft.client.ReadCommand;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This is a command to get the rows of a partition by a range of a secondary index.
+ */
+public class IndexScanCommand implements ReadCommand {
+    /** Index name. */
+    private final String indexName;
+
+    /** Lower bound of the encoded index columns. */
+    private final byte @Nullable [] lower;
+
+    /** Whether the lower bound is included into the range. */
+    private final boolean lowerInclusive;
+
+    /** Upper bound of the encoded index columns. */
+    private final byte @Nullable [] upper;
+
+    /** Whether the upper bound is included into the range. */
+    private final boolean upperInclusive;
+
+    /** Prefix of the encoded index columns. */
+    private final byte @Nullable [] prefix;
+
+    /**
+     * Creates a new instance of IndexScanCommand with the given range. Key range is not serializable, so its bounds
+     * are sent instead.
+     *
+     * @param indexName Index name.
+     * @param range Range of the index columns encoded in the same way as the index encodes them.
+     */
+    public IndexScanCommand(@NotNull String indexName, @NotNull KeyRange range) {
+        assert !range.isReverse() : "Rows of different partitions are not ordered";
+
+        this.indexName = indexName;
+
+        lower = range.lower();
+        lowerInclusive = range.lowerInclusive();
+        upper = range.upper();
+        upperInclusive = range.upperInclusive();
+        prefix = range.prefix();
+    }
+
+    /**
+     * @return Index name.
+     */
+    public String indexName() {
+        return indexName;
+    }
+
+    /**
+     * @return Range of the encoded index columns.
+     */
+    public KeyRange range() {
+        if (prefix != null)
+            return KeyRange.prefix(new SimpleDataRow(prefix, null));
+
+        return KeyRange.range(
+            lower == null ? null : new SimpleDataRow(lower, null),
+            lowerInclusive,
+            upper == null ? null : new SimpleDataRow(upper, null),
+            upperInclusive
+        );
+    }
+}
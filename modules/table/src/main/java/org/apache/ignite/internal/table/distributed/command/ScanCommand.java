@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.table.distributed.command;
+
+import java.util.UUID;
+import org.apache.ignite.raft.client.ReadCommand;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This is a command to get the next batch of the rows of a partition in the order of the partition storage. Every
+ * batch starts right after the last key of the previous one. The node keeps the storage cursor of the scan between
+ * the batches, so it does not have to search for the last key again, but a scan is resumed from the last key on a node
+ * that has no cursor for it, e.g. after a leader change. A command with the batch size of zero closes the cursor of the
+ * scan, if any, when the scan is abandoned before the last batch.
+ *
+ * @see org.apache.ignite.internal.table.distributed.command.response.ScanResponse
+ */
+public class ScanCommand implements ReadCommand {
+    /** Identifier of the scan, the same for all the batches of the scan. */
+    private final UUID scanId;
+
+    /** Storage key of the last row of the previous batch, {@code null} for the first batch. */
+    private final byte @Nullable [] lastKey;
+
+    /** Maximum number of rows in the batch, {@code 0} to close the scan. */
+    private final int batchSize;
+
+    /**
+     * Creates a new instance of ScanCommand.
+     *
+     * @param scanId Identifier of the scan, the same for all the batches of the scan.
+     * @param lastKey Storage key of the last row of the previous batch, {@code null} for the first batch.
+     * @param batchSize Maximum number of rows in the batch, {@code 0} to close the scan.
+     */
+    public ScanCommand(UUID scanId, byte @Nullable [] lastKey, int batchSize) {
+        assert batchSize >= 0 : batchSize;
+
+        this.scanId = scanId;
+        this.lastKey = lastKey;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @return Identifier of the scan, the same for all the batches of the scan.
+     */
+    public UUID scanId() {
+        return scanId;
+    }
+
+    /**
+     * @return Storage key of the last row of the previous batch, {@code null} for the first batch.
+     */
+    public byte @Nullable [] lastKey() {
+        return lastKey;
+    }
+
+    /**
+     * @return Maximum number of rows in the batch, {@code 0} to close the scan.
+     */
+    public int batchSize() {
+        return batchSize;
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.table.distributed.command;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.schema.ByteBufferRow;
+import org.apache.ignite.raft.client.WriteCommand;
+import org.apache.ignite.raft.client.codec.CommandSerializer;
+import org.apache.ignite.raft.client.codec.CommandSerializerProvider;
+
+/**
+ * Serializers of the table write commands, which write the commands to the RAFT log as a type id followed by the raw
+ * bytes of their rows. The type ids are stored in the log, so they must never change.
+ */
+public class TableCommandSerializers implements CommandSerializerProvider {
+    /** {@inheritDoc} */
+    @Override public Collection<CommandSerializer<?>> serializers() {
+        return List.of(
+            new RowCommandSerializer<>(1, UpsertCommand.class, UpsertCommand::getRow, UpsertCommand::new),
+            new RowCommandSerializer<>(2, InsertCommand.class, InsertCommand::getRow, InsertCommand::new),
+            new RowCommandSerializer<>(3, DeleteCommand.class, DeleteCommand::getKeyRow, DeleteCommand::new),
+            new RowCommandSerializer<>(4, DeleteExactCommand.class, DeleteExactCommand::getRow,
+                DeleteExactCommand::new),
+            new RowCommandSerializer<>(5, ReplaceIfExistCommand.class, ReplaceIfExistCommand::getRow,
+                ReplaceIfExistCommand::new),
+            new RowCommandSerializer<>(6, GetAndDeleteCommand.class, GetAndDeleteCommand::getKeyRow,
+                GetAndDeleteCommand::new),
+            new RowCommandSerializer<>(7, GetAndReplaceCommand.class, GetAndReplaceCommand::getRow,
+                GetAndReplaceCommand::new),
+            new RowCommandSerializer<>(8, GetAndUpsertCommand.class, GetAndUpsertCommand::getKeyRow,
+                GetAndUpsertCommand::new),
+            new ReplaceCommandSerializer(),
+            new RowsCommandSerializer<>(10, UpsertAllCommand.class, UpsertAllCommand::getRows, UpsertAllCommand::new),
+            new RowsCommandSerializer<>(11, InsertAllCommand.class, InsertAllCommand::getRows, InsertAllCommand::new),
+            new RowsCommandSerializer<>(12, DeleteAllCommand.class, DeleteAllCommand::getRows, DeleteAllCommand::new),
+            new RowsCommandSerializer<>(13, DeleteExactAllCommand.class, DeleteExactAllCommand::getRows,
+                DeleteExactAllCommand::new)
+        );
+    }
+
+    /**
+     * @param row Row.
+     * @param out Output.
+     * @throws IOException If failed.
+     */
+    private static void writeRow(BinaryRow row, DataOutput out) throws IOException {
+        byte[] bytes = row.bytes();
+
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * @param in Input.
+     * @return Row.
+     * @throws IOException If failed.
+     */
+    private static BinaryRow readRow(DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+
+        in.readFully(bytes);
+
+        return new ByteBufferRow(bytes);
+    }
+
+    /**
+     * Base class of the serializers.
+     */
+    private abstract static class AbstractSerializer<T extends WriteCommand> implements CommandSerializer<T> {
+        /** Type id. */
+        private final short typeId;
+
+        /** Command class. */
+        private final Class<T> cls;
+
+        /**
+         * @param typeId Type id.
+         * @param cls Command class.
+         */
+        AbstractSerializer(int typeId, Class<T> cls) {
+            this.typeId = (short)typeId;
+            this.cls = cls;
+        }
+
+        /** {@inheritDoc} */
+        @Override public short typeId() {
+            return typeId;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Class<T> commandClass() {
+            return cls;
+        }
+    }
+
+    /**
+     * Serializer of a command with one row.
+     */
+    private static class RowCommandSerializer<T extends WriteCommand> extends AbstractSerializer<T> {
+        /** Gets the row of a command. */
+        private final Function<T, BinaryRow> row;
+
+        /** Creates a command from the row. */
+        private final Function<BinaryRow, T> factory;
+
+        /**
+         * @param typeId Type id.
+         * @param cls Command class.
+         * @param row Gets the row of a command.
+         * @param factory Creates a command from the row.
+         */
+        RowCommandSerializer(int typeId, Class<T> cls, Function<T, BinaryRow> row, Function<BinaryRow, T> factory) {
+            super(typeId, cls);
+
+            this.row = row;
+            this.factory = factory;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void write(T cmd, DataOutput out) throws IOException {
+            writeRow(row.apply(cmd), out);
+        }
+
+        /** {@inheritDoc} */
+        @Override public T read(DataInput in) throws IOException {
+            return factory.apply(readRow(in));
+        }
+    }
+
+    /**
+     * Serializer of a command with a set of rows.
+     */
+    private static class RowsCommandSerializer<T extends WriteCommand> extends AbstractSerializer<T> {
+        /** Gets the rows of a command. */
+        private final Function<T, Set<BinaryRow>> rows;
+
+        /** Creates a command from the rows. */
+        private final Function<Set<BinaryRow>, T> factory;
+
+        /**
+         * @param typeId Type id.
+         * @param cls Command class.
+         * @param rows Gets the rows of a command.
+         * @param factory Creates a command from the rows.
+         */
+        RowsCommandSerializer(
+            int typeId,
+            Class<T> cls,
+            Function<T, Set<BinaryRow>> rows,
+            Function<Set<BinaryRow>, T> factory
+        ) {
+            super(typeId, cls);
+
+            this.rows = rows;
+            this.factory = factory;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void write(T cmd, DataOutput out) throws IOException {
+            Set<BinaryRow> rows0 = rows.apply(cmd);
+
+            out.writeInt(rows0.size());
+
+            for (BinaryRow row : rows0)
+                writeRow(row, out);
+        }
+
+        /** {@inheritDoc} */
+        @Override public T read(DataInput in) throws IOException {
+            int cnt = in.readInt();
+
+            Set<BinaryRow> rows0 = new HashSet<>(cnt * 4 / 3 + 1);
+
+            for (int i = 0; i < cnt; i++)
+                rows0.add(readRow(in));
+
+            return factory.apply(rows0);
+        }
+    }
+
+    /**
+     * Serializer of {@link ReplaceCommand}.
+     */
+    private static class ReplaceCommandSerializer extends AbstractSerializer<ReplaceCommand> {
+        /** */
+        ReplaceCommandSerializer() {
+            super(9, ReplaceCommand.class);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void write(ReplaceCommand cmd, DataOutput out) throws IOException {
+            writeRow(cmd.getOldRow(), out);
+            writeRow(cmd.getRow(), out);
+        }
+
+        /** {@inheritDoc} */
+        @Override public ReplaceCommand read(DataInput in) throws IOException {
+            BinaryRow oldRow = readRow(in);
+
+            return new ReplaceCommand(oldRow, readRow(in));
+        }
+    }
+}
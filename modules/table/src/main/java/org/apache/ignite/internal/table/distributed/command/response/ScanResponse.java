@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.table.distributed.command.response;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.table.distributed.command.CommandUtils;
+import org.apache.ignite.internal.table.distributed.command.ScanCommand;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class represents a response object that contains a batch of the rows of a partition.
+ *
+ * @see ScanCommand
+ */
+public class ScanResponse implements Serializable {
+    /** Binary rows. */
+    private transient List<BinaryRow> rows;
+
+    /*
+     * Row bytes.
+     * It is a temporary solution, before network have not implement correct serialization BinaryRow.
+     * TODO: Remove the field after (IGNITE-14793).
+     */
+    private byte[] rowsBytes;
+
+    /** Storage key of the last row of the batch, {@code null} if there are no more rows. */
+    private final byte @Nullable [] lastKey;
+
+    /**
+     * Creates a new instance of ScanResponse.
+     *
+     * @param rows Rows in the order of the partition storage.
+     * @param lastKey Storage key of the last row of the batch, {@code null} if there are no more rows.
+     */
+    public ScanResponse(List<BinaryRow> rows, byte @Nullable [] lastKey) {
+        this.rows = rows;
+        this.lastKey = lastKey;
+
+        CommandUtils.rowsToBytes(rows, bytes -> rowsBytes = bytes);
+    }
+
+    /**
+     * @return Rows in the order of the partition storage.
+     */
+    public List<BinaryRow> rows() {
+        if (rows == null) {
+            rows = new ArrayList<>();
+
+            // Bytes are not written for an empty batch.
+            if (rowsBytes != null)
+                CommandUtils.readRows(rowsBytes, rows::add);
+        }
+
+        return rows;
+    }
+
+    /**
+     * @return Storage key of the last row of the batch to continue the scan from, {@code null} if there are no more
+     *      rows.
+     */
+    public byte @Nullable [] lastKey() {
+        return lastKey;
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.table.distributed.index;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.ignite.internal.schema.Column;
+import org.apache.ignite.internal.schema.OrderPreservingKeyEncoder;
+import org.apache.ignite.internal.schema.Row;
+import org.apache.ignite.internal.schema.SchemaDescriptor;
+import org.apache.ignite.internal.storage.basic.SimpleIndexRow;
+import org.apache.ignite.internal.storage.index.IndexStorage;
+import org.apache.ignite.schema.ColumnarIndex;
+import org.apache.ignite.schema.HashIndex;
+import org.apache.ignite.schema.IndexColumn;
+import org.apache.ignite.schema.PartialIndex;
+import org.apache.ignite.schema.SortOrder;
+import org.apache.ignite.schema.SortedIndex;
+import org.apache.ignite.schema.SortedIndexColumn;
+import org.apache.ignite.schema.TableIndex;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Secondary index of a table partition. Encodes the indexed columns of the rows with
+ * {@link OrderPreservingKeyEncoder} and keeps them in an {@link IndexStorage}. Hash indexes are kept in the same
+ * sorted storage, where an equality lookup is a range with equal bounds.
+ */
+public class SecondaryIndex implements AutoCloseable {
+    /** Index name. */
+    private final String name;
+
+    /** Names of the indexed columns. */
+    private final String[] columns;
+
+    /** Whether the column at the same position is ordered descending. */
+    private final boolean[] descending;
+
+    /** Index storage. */
+    private final IndexStorage storage;
+
+    /** Indexes of the indexed columns in the schema of a version, resolved on the first use of the version. */
+    private final Map<Integer, int[]> columnIndexes = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param name Index name.
+     * @param columns Names of the indexed columns.
+     * @param descending Whether the column at the same position is ordered descending.
+     * @param storage Index storage.
+     */
+    public SecondaryIndex(String name, String[] columns, boolean[] descending, IndexStorage storage) {
+        assert columns.length == descending.length;
+
+        this.name = name;
+        this.columns = columns;
+        this.descending = descending;
+        this.storage = storage;
+    }
+
+    /**
+     * Checks whether the index can be maintained by the storage: only sorted (but not partial) and hash indexes over
+     * the columns supported by {@link OrderPreservingKeyEncoder} are.
+     *
+     * @param idx Index definition.
+     * @param schema Table schema.
+     * @return {@code True} if the index is supported.
+     */
+    public static boolean supports(TableIndex idx, SchemaDescriptor schema) {
+        if (!(idx instanceof HashIndex || idx instanceof SortedIndex) || idx instanceof PartialIndex)
+            return false;
+
+        for (IndexColumn idxCol : ((ColumnarIndex)idx).columns()) {
+            Column col = schema.column(idxCol.name());
+
+            if (col == null || !OrderPreservingKeyEncoder.supports(col))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Creates an index of a partition from the index definition.
+     *
+     * @param idx Index definition, must be {@link #supports supported}.
+     * @param storage Index storage.
+     * @return Secondary index.
+     */
+    public static SecondaryIndex create(TableIndex idx, IndexStorage storage) {
+        List<? extends IndexColumn> idxCols = ((ColumnarIndex)idx).columns();
+
+        String[] columns = new String[idxCols.size()];
+        boolean[] descending = new boolean[idxCols.size()];
+
+        for (int i = 0; i < idxCols.size(); i++) {
+            IndexColumn idxCol = idxCols.get(i);
+
+            columns[i] = idxCol.name();
+            descending[i] = idxCol instanceof SortedIndexColumn &&
+                ((SortedIndexColumn)idxCol).sortOrder() == SortOrder.DESC;
+        }
+
+        return new SecondaryIndex(idx.name(), columns, descending, storage);
+    }
+
+    /**
+     * @return Index name.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return Index storage.
+     */
+    public IndexStorage storage() {
+        return storage;
+    }
+
+    /**
+     * Encodes the indexed columns of a row.
+     *
+     * @param row Row.
+     * @return Index bytes.
+     */
+    public byte[] indexBytes(Row row) {
+        SchemaDescriptor schema = row.rowSchema();
+
+        int[] cols = columnIndexes.computeIfAbsent(schema.version(), ver -> {
+            int[] res = new int[columns.length];
+
+            for (int i = 0; i < columns.length; i++) {
+                Column col = schema.column(columns[i]);
+
+                res[i] = col == null ? -1 : col.schemaIndex();
+            }
+
+            return res;
+        });
+
+        return OrderPreservingKeyEncoder.encodeColumns(row, cols, descending);
+    }
+
+    /**
+     * Updates the index after a row has been changed in the partition storage.
+     *
+     * @param pk Key of the row in the partition storage.
+     * @param oldRow Previous row, {@code null} if the row has been inserted.
+     * @param newRow New row, {@code null} if the row has been removed.
+     */
+    public void update(byte[] pk, @Nullable Row oldRow, @Nullable Row newRow) {
+        byte[] oldBytes = oldRow == null ? null : indexBytes(oldRow);
+        byte[] newBytes = newRow == null ? null : indexBytes(newRow);
+
+        if (oldBytes != null && newBytes != null && Arrays.equals(oldBytes, newBytes))
+            return;
+
+        if (oldBytes != null)
+            storage.remove(new SimpleIndexRow(oldBytes, pk));
+
+        if (newBytes != null)
+            storage.put(new SimpleIndexRow(newBytes, pk));
+    }
+
+    /**
+     * Adds a row that is already in the partition storage, when the index is rebuilt.
+     *
+     * @param pk Key of the row in the partition storage.
+     * @param row Row.
+     */
+    public void add(byte[] pk, Row row) {
+        storage.put(new SimpleIndexRow(indexBytes(row), pk));
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() throws Exception {
+        storage.close();
+    }
+}
@@ -17,14 +17,36 @@
 
 package org.apache.ignite.internal.table.distributed.raft;
 
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.UUID;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.schema.ByteBufferRow;
+import org.apache.ignite.internal.schema.OrderPreservingKeyEncoder;
+import org.apache.ignite.internal.schema.Row;
+import org.apache.ignite.internal.schema.SchemaDescriptor;
+import org.apache.ignite.internal.schema.SchemaRegistry;
+import org.apache.ignite.internal.storage.DataRow;
+import org.apache.ignite.internal.storage.InvokeClosure;
+import org.apache.ignite.internal.storage.KeyRange;
+import org.apache.ignite.internal.storage.OperationType;
+import org.apache.ignite.internal.storage.SearchRow;
+import org.apache.ignite.internal.storage.Storage;
+import org.apache.ignite.internal.storage.StorageException;
+import org.apache.ignite.internal.storage.basic.SimpleDataRow;
+import org.apache.ignite.internal.storage.index.IndexRow;
 import org.apache.ignite.internal.table.distributed.command.DeleteAllCommand;
 import org.apache.ignite.internal.table.distributed.command.DeleteCommand;
 import org.apache.ignite.internal.table.distributed.command.DeleteExactAllCommand;
@@ -34,30 +56,95 @@ import org.apache.ignite.internal.table.distributed.command.GetAndDeleteCommand;
 import org.apache.ignite.internal.table.distributed.command.GetAndReplaceCommand;
 import org.apache.ignite.internal.table.distributed.command.GetAndUpsertCommand;
 import org.apache.ignite.internal.table.distributed.command.GetCommand;
+import org.apache.ignite.internal.table.distributed.command.IndexScanCommand;
 import org.apache.ignite.internal.table.distributed.command.InsertAllCommand;
 import org.apache.ignite.internal.table.distributed.command.InsertCommand;
 import org.apache.ignite.internal.table.distributed.command.ReplaceCommand;
 import org.apache.ignite.internal.table.distributed.command.ReplaceIfExistCommand;
+import org.apache.ignite.internal.table.distributed.command.ScanCommand;
 import org.apache.ignite.internal.table.distributed.command.UpsertAllCommand;
 import org.apache.ignite.internal.table.distributed.command.UpsertCommand;
 import org.apache.ignite.internal.table.distributed.command.response.MultiRowsResponse;
+import org.apache.ignite.internal.table.distributed.command.response.ScanResponse;
 import org.apache.ignite.internal.table.distributed.command.response.SingleRowResponse;
+import org.apache.ignite.internal.table.distributed.index.SecondaryIndex;
+import org.apache.ignite.internal.util.Cursor;
+import org.apache.ignite.lang.IgniteLogger;
 import org.apache.ignite.raft.client.ReadCommand;
 import org.apache.ignite.raft.client.WriteCommand;
 import org.apache.ignite.raft.client.service.CommandClosure;
 import org.apache.ignite.raft.client.service.RaftGroupListener;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Partition command handler.
  */
 public class PartitionListener implements RaftGroupListener {
+    /** The logger. */
+    private static final IgniteLogger LOG = IgniteLogger.forClass(PartitionListener.class);
+
+    /** Maximum number of scans whose cursors are kept between the batches. */
+    private static final int MAX_OPEN_SCANS = 64;
+
+    /**
+     * Partition storage. Rows are stored as full row bytes by the key columns encoded with
+     * {@link OrderPreservingKeyEncoder}, so the storage can compare keys as plain bytes.
+     */
+    private final Storage storage;
+
+    /**
+     * Secondary indexes of the partition by name. Indexes are updated right after the partition storage while the
+     * same command is applied, and are rebuilt from the partition storage when the listener is created or a snapshot
+     * is restored, so they do not need to be persisted.
+     */
+    private final Map<String, SecondaryIndex> indexes = new LinkedHashMap<>();
+
+    /** Schema registry of the table. */
+    private final SchemaRegistry schemaReg;
+
+    /**
+     * Cursors of the scans between the batches by scan id, in the order of access. A scan that is abandoned by the
+     * client is closed when the number of the scans exceeds {@link #MAX_OPEN_SCANS}.
+     */
+    private final Map<UUID, OpenScan> scans = new LinkedHashMap<>(16, 0.75f, true) {
+        /** {@inheritDoc} */
+        @Override protected boolean removeEldestEntry(Map.Entry<UUID, OpenScan> eldest) {
+            if (size() <= MAX_OPEN_SCANS)
+                return false;
+
+            eldest.getValue().close();
+
+            return true;
+        }
+    };
+
+    /**
+     * Constructor.
+     *
+     * @param storage Partition storage.
+     * @param schemaReg Schema registry of the table.
+     */
+    public PartitionListener(Storage storage, SchemaRegistry schemaReg) {
+        this(storage, List.of(), schemaReg);
+    }
+
     /**
-     * Storage.
-     * This is a temporary solution, it will apply until persistence layer would not be implemented.
-     * TODO: IGNITE-14790.
+     * Constructor.
+     *
+     * @param storage Partition storage.
+     * @param indexes Secondary indexes of the partition.
+     * @param schemaReg Schema registry of the table.
      */
-    private ConcurrentHashMap<KeyWrapper, BinaryRow> storage = new ConcurrentHashMap<>();
+    public PartitionListener(Storage storage, List<SecondaryIndex> indexes, SchemaRegistry schemaReg) {
+        this.storage = storage;
+        this.schemaReg = schemaReg;
+
+        for (SecondaryIndex idx : indexes)
+            this.indexes.put(idx.name(), idx);
+
+        rebuildIndexes();
+    }
 
     /** {@inheritDoc} */
     @Override public void onRead(Iterator<CommandClosure<ReadCommand>> iterator) {
@@ -65,24 +152,29 @@ public class PartitionListener implements RaftGroupListener {
             CommandClosure<ReadCommand> clo = iterator.next();
 
             if (clo.command() instanceof GetCommand) {
-                clo.result(new SingleRowResponse(storage.get(
-                    extractAndWrapKey(((GetCommand)clo.command()).getKeyRow())
-                )));
+                clo.result(new SingleRowResponse(read(((GetCommand)clo.command()).getKeyRow())));
             }
             else if (clo.command() instanceof GetAllCommand) {
                 Set<BinaryRow> keyRows = ((GetAllCommand)clo.command()).getKeyRows();
 
                 assert keyRows != null && !keyRows.isEmpty();
 
-                final Set<BinaryRow> res = keyRows.stream()
+                List<SearchRow> keys = keyRows.stream()
                     .map(this::extractAndWrapKey)
-                    .map(storage::get)
+                    .collect(Collectors.toList());
+
+                final Set<BinaryRow> res = storage.readAll(keys).stream()
+                    .map(PartitionListener::toBinaryRow)
                     .filter(Objects::nonNull)
                     .filter(BinaryRow::hasValue)
                     .collect(Collectors.toSet());
 
                 clo.result(new MultiRowsResponse(res));
             }
+            else if (clo.command() instanceof IndexScanCommand)
+                clo.result(new MultiRowsResponse(indexScan((IndexScanCommand)clo.command())));
+            else if (clo.command() instanceof ScanCommand)
+                clo.result(scan((ScanCommand)clo.command()));
             else
                 assert false : "Command was not found [cmd=" + clo.command() + ']';
         }
@@ -98,14 +190,10 @@ public class PartitionListener implements RaftGroupListener {
 
                 assert row.hasValue() : "Insert command should have a value.";
 
-                BinaryRow previous = storage.putIfAbsent(extractAndWrapKey(row), row);
-
-                clo.result(previous == null);
+                clo.result(putIfAbsent(row) == null);
             }
             else if (clo.command() instanceof DeleteCommand) {
-                BinaryRow deleted = storage.remove(
-                    extractAndWrapKey(((DeleteCommand)clo.command()).getKeyRow())
-                );
+                BinaryRow deleted = getAndRemove(((DeleteCommand)clo.command()).getKeyRow());
 
                 clo.result(deleted != null);
             }
@@ -114,13 +202,11 @@ public class PartitionListener implements RaftGroupListener {
 
                 BinaryRow expected = cmd.getOldRow();
 
-                KeyWrapper key = extractAndWrapKey(expected);
-
-                BinaryRow current = storage.get(key);
+                BinaryRow current = read(expected);
 
                 if ((current == null && !expected.hasValue()) ||
                     equalValues(current, expected)) {
-                    storage.put(key, cmd.getRow());
+                    write(cmd.getRow(), current);
 
                     clo.result(true);
                 }
@@ -132,7 +218,8 @@ public class PartitionListener implements RaftGroupListener {
 
                 assert row.hasValue() : "Upsert command should have a value.";
 
-                storage.put(extractAndWrapKey(row), row);
+                // Previous row is only needed to remove its index entries.
+                write(row, indexes.isEmpty() ? null : read(row));
 
                 clo.result(null);
             }
@@ -141,9 +228,26 @@ public class PartitionListener implements RaftGroupListener {
 
                 assert rows != null && !rows.isEmpty();
 
-                final Set<BinaryRow> res = rows.stream()
-                    .map(k -> storage.putIfAbsent(extractAndWrapKey(k), k) == null ? null : k)
-                    .filter(Objects::nonNull)
+                List<BinaryRow> rowList = new ArrayList<>(rows);
+
+                List<DataRow> dataRows = rowList.stream()
+                    .map(this::extractAndWrapKeyValue)
+                    .collect(Collectors.toList());
+
+                List<ConditionalInvokeClosure> clos = dataRows.stream()
+                    .map(dataRow -> new ConditionalInvokeClosure(Objects::isNull, dataRow))
+                    .collect(Collectors.toList());
+
+                storage.invokeAll(dataRows, clos);
+
+                for (int i = 0; i < clos.size(); i++) {
+                    if (clos.get(i).applied())
+                        updateIndexes(dataRows.get(i).keyBytes(), clos.get(i).oldRow(), rowList.get(i));
+                }
+
+                final Set<BinaryRow> res = IntStream.range(0, rowList.size())
+                    .filter(i -> !clos.get(i).applied())
+                    .mapToObj(rowList::get)
                     .filter(BinaryRow::hasValue)
                     .collect(Collectors.toSet());
 
@@ -154,7 +258,21 @@ public class PartitionListener implements RaftGroupListener {
 
                 assert rows != null && !rows.isEmpty();
 
-                rows.forEach(k -> storage.put(extractAndWrapKey(k), k));
+                List<BinaryRow> rowList = new ArrayList<>(rows);
+
+                List<DataRow> dataRows = rowList.stream()
+                    .map(this::extractAndWrapKeyValue)
+                    .collect(Collectors.toList());
+
+                // Previous rows are only needed to remove their index entries.
+                List<DataRow> oldRows = indexes.isEmpty() ? null : storage.readAll(dataRows);
+
+                storage.writeAll(dataRows);
+
+                if (oldRows != null) {
+                    for (int i = 0; i < dataRows.size(); i++)
+                        updateIndexes(dataRows.get(i).keyBytes(), toBinaryRow(oldRows.get(i)), rowList.get(i));
+                }
 
                 clo.result(null);
             }
@@ -163,14 +281,22 @@ public class PartitionListener implements RaftGroupListener {
 
                 assert rows != null && !rows.isEmpty();
 
-                final Set<BinaryRow> res = rows.stream()
-                    .map(k -> {
-                        if (k.hasValue())
-                            return null;
-                        else
-                            return storage.remove(extractAndWrapKey(k));
-                    })
-                    .filter(Objects::nonNull)
+                List<SearchRow> keys = rows.stream()
+                    .filter(k -> !k.hasValue())
+                    .map(this::extractAndWrapKey)
+                    .collect(Collectors.toList());
+
+                List<ConditionalInvokeClosure> clos = keys.stream()
+                    .map(k -> new ConditionalInvokeClosure(Objects::nonNull, null))
+                    .collect(Collectors.toList());
+
+                storage.invokeAll(keys, clos);
+
+                removeFromIndexes(keys, clos);
+
+                final Set<BinaryRow> res = clos.stream()
+                    .filter(ConditionalInvokeClosure::applied)
+                    .map(ConditionalInvokeClosure::oldRow)
                     .filter(BinaryRow::hasValue)
                     .collect(Collectors.toSet());
 
@@ -182,31 +308,41 @@ public class PartitionListener implements RaftGroupListener {
                 assert row != null;
                 assert row.hasValue();
 
-                final KeyWrapper key = extractAndWrapKey(row);
-                final BinaryRow old = storage.get(key);
+                final BinaryRow old = read(row);
 
-                if (old == null || !old.hasValue())
+                if (old == null || !old.hasValue() || !equalValues(row, old))
                     clo.result(false);
-                else
-                    clo.result(equalValues(row, old) && storage.remove(key) != null);
+                else {
+                    remove(row, old);
+
+                    clo.result(true);
+                }
             }
             else if (clo.command() instanceof DeleteExactAllCommand) {
                 Set<BinaryRow> rows = ((DeleteExactAllCommand)clo.command()).getRows();
 
                 assert rows != null && !rows.isEmpty();
 
-                final Set<BinaryRow> res = rows.stream()
-                    .map(k -> {
-                        final KeyWrapper key = extractAndWrapKey(k);
-                        final BinaryRow old = storage.get(key);
+                List<BinaryRow> rowList = new ArrayList<>(rows);
 
-                        if (old == null || !old.hasValue() || !equalValues(k, old))
-                            return null;
+                List<SearchRow> keys = rowList.stream()
+                    .map(this::extractAndWrapKey)
+                    .collect(Collectors.toList());
 
-                        return storage.remove(key);
-                    })
-                    .filter(Objects::nonNull)
-                    .filter(BinaryRow::hasValue)
+                List<ConditionalInvokeClosure> clos = rowList.stream()
+                    .map(k -> new ConditionalInvokeClosure(
+                        old -> old != null && old.hasValue() && equalValues(k, old),
+                        null
+                    ))
+                    .collect(Collectors.toList());
+
+                storage.invokeAll(keys, clos);
+
+                removeFromIndexes(keys, clos);
+
+                final Set<BinaryRow> res = clos.stream()
+                    .filter(ConditionalInvokeClosure::applied)
+                    .map(ConditionalInvokeClosure::oldRow)
                     .collect(Collectors.toSet());
 
                 clo.result(new MultiRowsResponse(res));
@@ -216,20 +352,22 @@ public class PartitionListener implements RaftGroupListener {
 
                 assert row != null;
 
-                final KeyWrapper key = extractAndWrapKey(row);
-                final BinaryRow oldRow = storage.get(key);
+                final BinaryRow oldRow = read(row);
 
                 if (oldRow == null || !oldRow.hasValue())
                     clo.result(false);
-                else
-                    clo.result(storage.put(key, row) == oldRow);
+                else {
+                    write(row, oldRow);
+
+                    clo.result(true);
+                }
             }
             else if (clo.command() instanceof GetAndDeleteCommand) {
                 BinaryRow row = ((GetAndDeleteCommand)clo.command()).getKeyRow();
 
                 assert row != null;
 
-                BinaryRow oldRow = storage.remove(extractAndWrapKey(row));
+                BinaryRow oldRow = getAndRemove(row);
 
                 if (oldRow == null || !oldRow.hasValue())
                     clo.result(new SingleRowResponse(null));
@@ -241,9 +379,10 @@ public class PartitionListener implements RaftGroupListener {
 
                 assert row != null && row.hasValue();
 
-                BinaryRow oldRow = storage.get(extractAndWrapKey(row));
+                BinaryRow oldRow = read(row);
 
-                storage.computeIfPresent(extractAndWrapKey(row), (key, val) -> row);
+                if (oldRow != null)
+                    write(row, oldRow);
 
                 if (oldRow == null || !oldRow.hasValue())
                     clo.result(new SingleRowResponse(null));
@@ -255,7 +394,9 @@ public class PartitionListener implements RaftGroupListener {
 
                 assert row != null && row.hasValue();
 
-                BinaryRow oldRow = storage.put(extractAndWrapKey(row), row);
+                BinaryRow oldRow = read(row);
+
+                write(row, oldRow);
 
                 if (oldRow == null || !oldRow.hasValue())
                     clo.result(new SingleRowResponse(null));
@@ -269,52 +410,409 @@ public class PartitionListener implements RaftGroupListener {
 
     /** {@inheritDoc} */
     @Override public void onSnapshotSave(String path, Consumer<Throwable> doneClo) {
-        // Not implemented yet.
+        storage.snapshot(Path.of(path)).whenComplete((unused, e) -> doneClo.accept(e));
     }
 
     /** {@inheritDoc} */
     @Override public boolean onSnapshotLoad(String path) {
-        // Not implemented yet.
-        return false;
+        closeScans();
+
+        try {
+            storage.restoreSnapshot(Path.of(path));
+
+            rebuildIndexes();
+
+            return true;
+        }
+        catch (StorageException e) {
+            LOG.error("Failed to restore a partition snapshot [path=" + path + ']', e);
+
+            return false;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onShutdown() {
+        closeScans();
+
+        try {
+            storage.close();
+        }
+        catch (Exception e) {
+            LOG.error("Failed to close the partition storage", e);
+        }
+
+        for (SecondaryIndex idx : indexes.values()) {
+            try {
+                idx.close();
+            }
+            catch (Exception e) {
+                LOG.error("Failed to close the index storage [name=" + idx.name() + ']', e);
+            }
+        }
+    }
+
+    /**
+     * Reads a row with the same key as the given one.
+     *
+     * @param keyRow Row with the key to search for.
+     * @return Stored row or {@code null} if there is no row with the given key.
+     */
+    @Nullable private BinaryRow read(@NotNull BinaryRow keyRow) {
+        return toBinaryRow(storage.read(extractAndWrapKey(keyRow)));
+    }
+
+    /**
+     * Writes a row if there is no row with the same key yet.
+     *
+     * @param row Row to insert.
+     * @return Row that is already stored by the same key or {@code null} if the given row has been written.
+     */
+    @Nullable private BinaryRow putIfAbsent(@NotNull BinaryRow row) {
+        BinaryRow old = read(row);
+
+        if (old == null)
+            write(row, null);
+
+        return old;
+    }
+
+    /**
+     * Removes a row by the key.
+     *
+     * @param keyRow Row with the key to remove.
+     * @return Removed row or {@code null} if there was no row with the given key.
+     */
+    @Nullable private BinaryRow getAndRemove(@NotNull BinaryRow keyRow) {
+        SearchRow key = extractAndWrapKey(keyRow);
+
+        BinaryRow old = toBinaryRow(storage.read(key));
+
+        if (old != null) {
+            storage.remove(key);
+
+            updateIndexes(key.keyBytes(), old, null);
+        }
+
+        return old;
+    }
+
+    /**
+     * Writes a row and updates the indexes.
+     *
+     * @param row Row to write.
+     * @param oldRow Row that is currently stored by the same key, {@code null} if there is no such row.
+     */
+    private void write(@NotNull BinaryRow row, @Nullable BinaryRow oldRow) {
+        DataRow dataRow = extractAndWrapKeyValue(row);
+
+        storage.write(dataRow);
+
+        updateIndexes(dataRow.keyBytes(), oldRow, row);
+    }
+
+    /**
+     * Removes a row and its index entries.
+     *
+     * @param keyRow Row with the key to remove.
+     * @param oldRow Row that is currently stored by the key.
+     */
+    private void remove(@NotNull BinaryRow keyRow, @NotNull BinaryRow oldRow) {
+        SearchRow key = extractAndWrapKey(keyRow);
+
+        storage.remove(key);
+
+        updateIndexes(key.keyBytes(), oldRow, null);
+    }
+
+    /**
+     * Removes the index entries of the rows that have been removed by the conditional closures.
+     *
+     * @param keys Keys.
+     * @param clos Closures at the same positions as the keys.
+     */
+    private void removeFromIndexes(List<SearchRow> keys, List<ConditionalInvokeClosure> clos) {
+        for (int i = 0; i < keys.size(); i++) {
+            if (clos.get(i).applied())
+                updateIndexes(keys.get(i).keyBytes(), clos.get(i).oldRow(), null);
+        }
+    }
+
+    /**
+     * Updates the indexes after a row has been changed in the partition storage.
+     *
+     * @param keyBytes Key of the row in the partition storage.
+     * @param oldRow Previous row, {@code null} if the row has been inserted.
+     * @param newRow New row, {@code null} if the row has been removed.
+     */
+    private void updateIndexes(byte[] keyBytes, @Nullable BinaryRow oldRow, @Nullable BinaryRow newRow) {
+        if (indexes.isEmpty())
+            return;
+
+        Row oldSchemaRow = oldRow == null ? null : schemaRow(oldRow);
+        Row newSchemaRow = newRow == null ? null : schemaRow(newRow);
+
+        for (SecondaryIndex idx : indexes.values())
+            idx.update(keyBytes, oldSchemaRow, newSchemaRow);
+    }
+
+    /**
+     * Fills the indexes with the rows of the partition storage.
+     *
+     * @throws StorageException If failed.
+     */
+    private void rebuildIndexes() throws StorageException {
+        if (indexes.isEmpty())
+            return;
+
+        for (SecondaryIndex idx : indexes.values())
+            idx.storage().clear();
+
+        try (Cursor<DataRow> cursor = storage.scan(KeyRange.all())) {
+            for (DataRow dataRow : cursor) {
+                BinaryRow row = toBinaryRow(dataRow);
+
+                if (row == null)
+                    continue;
+
+                Row schemaRow = schemaRow(row);
+
+                for (SecondaryIndex idx : indexes.values())
+                    idx.add(dataRow.keyBytes(), schemaRow);
+            }
+        }
+        catch (Exception e) {
+            throw new StorageException("Failed to rebuild the indexes", e);
+        }
+    }
+
+    /**
+     * Reads the rows by a range of an index.
+     *
+     * @param cmd Index scan command.
+     * @return Rows in the order of the index.
+     */
+    private List<BinaryRow> indexScan(IndexScanCommand cmd) {
+        SecondaryIndex idx = indexes.get(cmd.indexName());
+
+        if (idx == null) {
+            LOG.warn("Index is not maintained by the partition storage [name=" + cmd.indexName() + ']');
+
+            return List.of();
+        }
+
+        List<IndexRow> idxRows = new ArrayList<>();
+
+        try (Cursor<IndexRow> cursor = idx.storage().range(cmd.range())) {
+            for (IndexRow idxRow : cursor)
+                idxRows.add(idxRow);
+        }
+        catch (Exception e) {
+            throw new StorageException("Failed to scan the index [name=" + cmd.indexName() + ']', e);
+        }
+
+        List<DataRow> dataRows = storage.readAll(idxRows.stream()
+            .map(idxRow -> new SimpleDataRow(idxRow.primaryKeyBytes(), null))
+            .collect(Collectors.toList()));
+
+        List<BinaryRow> res = new ArrayList<>(dataRows.size());
+
+        for (int i = 0; i < dataRows.size(); i++) {
+            BinaryRow row = toBinaryRow(dataRows.get(i));
+
+            // Index is updated after the partition storage, so a concurrent read may find an entry of a changed row.
+            if (row != null && Arrays.equals(idx.indexBytes(schemaRow(row)), idxRows.get(i).indexBytes()))
+                res.add(row);
+        }
+
+        return res;
+    }
+
+    /**
+     * Reads the next batch of the rows of the partition. The cursor of the scan is kept until the next batch, unless
+     * the scan is over, and a new cursor is opened after the last key if the scan has no cursor or its cursor has
+     * stopped at another key. A command with the batch size of zero closes the cursor of the scan.
+     *
+     * @param cmd Scan command.
+     * @return Rows in the order of the partition storage.
+     */
+    private ScanResponse scan(ScanCommand cmd) {
+        OpenScan scan;
+
+        synchronized (scans) {
+            scan = scans.remove(cmd.scanId());
+        }
+
+        if (cmd.batchSize() == 0) {
+            if (scan != null)
+                scan.close();
+
+            return new ScanResponse(new ArrayList<>(), null);
+        }
+
+        if (scan != null && !Arrays.equals(scan.lastKey, cmd.lastKey())) {
+            scan.close();
+
+            scan = null;
+        }
+
+        if (scan == null) {
+            KeyRange range = cmd.lastKey() == null ? KeyRange.all() :
+                KeyRange.range(new SimpleDataRow(cmd.lastKey(), null), false, null, false);
+
+            scan = new OpenScan(storage.scan(range));
+        }
+
+        List<BinaryRow> rows = new ArrayList<>();
+
+        try {
+            while (rows.size() < cmd.batchSize() && scan.cursor.hasNext()) {
+                DataRow dataRow = scan.cursor.next();
+
+                BinaryRow row = toBinaryRow(dataRow);
+
+                if (row != null)
+                    rows.add(row);
+
+                scan.lastKey = dataRow.keyBytes();
+            }
+
+            if (!scan.cursor.hasNext()) {
+                scan.close();
+
+                return new ScanResponse(rows, null);
+            }
+        }
+        catch (Exception e) {
+            scan.close();
+
+            throw new StorageException("Failed to scan the partition", e);
+        }
+
+        synchronized (scans) {
+            OpenScan prev = scans.put(cmd.scanId(), scan);
+
+            if (prev != null)
+                prev.close();
+        }
+
+        return new ScanResponse(rows, scan.lastKey);
+    }
+
+    /**
+     * Closes the cursors of all the scans, e.g. when the storage is replaced or closed. The scans are resumed from
+     * their last keys by the next batches.
+     */
+    private void closeScans() {
+        synchronized (scans) {
+            for (OpenScan scan : scans.values())
+                scan.close();
+
+            scans.clear();
+        }
+    }
+
+    /**
+     * @param row Table row.
+     * @return Row with the schema of its version.
+     */
+    private Row schemaRow(@NotNull BinaryRow row) {
+        return new Row(schemaReg.schema(row.schemaVersion()), row);
+    }
+
+    /**
+     * Storage cursor of a scan between the batches.
+     */
+    private static class OpenScan {
+        /** Storage cursor. */
+        private final Cursor<DataRow> cursor;
+
+        /** Storage key of the last row returned by the cursor, {@code null} if no row has been returned yet. */
+        private byte[] lastKey;
+
+        /**
+         * @param cursor Storage cursor.
+         */
+        OpenScan(Cursor<DataRow> cursor) {
+            this.cursor = cursor;
+        }
+
+        /**
+         * Closes the cursor.
+         */
+        void close() {
+            try {
+                cursor.close();
+            }
+            catch (Exception e) {
+                LOG.error("Failed to close a scan cursor", e);
+            }
+        }
     }
 
     /**
-     * Wrapper provides correct byte[] comparison.
+     * Closure that writes or removes a row if the current row with the same key satisfies a condition.
      */
-    private static class KeyWrapper {
-        /** Data. */
-        private final byte[] data;
+    private static class ConditionalInvokeClosure implements InvokeClosure {
+        /** Condition on the current row, which is {@code null} if there is no row with the key. */
+        private final Predicate<BinaryRow> condition;
+
+        /** Row to write or {@code null} if the current row should be removed. */
+        @Nullable
+        private final DataRow newRow;
+
+        /** Current row. */
+        @Nullable
+        private BinaryRow oldRow;
 
-        /** Hash. */
-        private final int hash;
+        /** Whether the condition is satisfied. */
+        private boolean applied;
 
         /**
          * Constructor.
          *
-         * @param data Wrapped data.
+         * @param condition Condition on the current row.
+         * @param newRow Row to write or {@code null} if the current row should be removed.
          */
-        KeyWrapper(byte[] data, int hash) {
-            assert data != null;
-
-            this.data = data;
-            this.hash = hash;
+        ConditionalInvokeClosure(Predicate<BinaryRow> condition, @Nullable DataRow newRow) {
+            this.condition = condition;
+            this.newRow = newRow;
         }
 
         /** {@inheritDoc} */
-        @Override public boolean equals(Object o) {
-            if (this == o)
-                return true;
+        @Override public void call(@Nullable DataRow row) {
+            oldRow = toBinaryRow(row);
 
-            if (o == null || getClass() != o.getClass())
-                return false;
+            applied = condition.test(oldRow);
+        }
 
-            KeyWrapper wrapper = (KeyWrapper)o;
-            return Arrays.equals(data, wrapper.data);
+        /** {@inheritDoc} */
+        @Nullable
+        @Override public DataRow newRow() {
+            return newRow;
         }
 
         /** {@inheritDoc} */
-        @Override public int hashCode() {
-            return hash;
+        @Override public OperationType operationType() {
+            if (!applied)
+                return OperationType.NOOP;
+
+            return newRow == null ? OperationType.REMOVE : OperationType.WRITE;
+        }
+
+        /**
+         * @return Row that was stored by the key before the update or {@code null} if there was no such row.
+         */
+        @Nullable
+        public BinaryRow oldRow() {
+            return oldRow;
+        }
+
+        /**
+         * @return {@code True} if the condition was satisfied and the update has been applied.
+         */
+        public boolean applied() {
+            return applied;
         }
     }
 
@@ -339,15 +837,60 @@ public class PartitionListener implements RaftGroupListener {
     }
 
     /**
-     * Makes a wrapped key from a table row.
+     * Makes a search row from a table row.
+     *
+     * @param row Row.
+     * @return Search row with the encoded key.
+     */
+    @NotNull private SearchRow extractAndWrapKey(@NotNull BinaryRow row) {
+        return new SimpleDataRow(keyBytes(row), null);
+    }
+
+    /**
+     * Makes a data row from a table row.
+     *
+     * @param row Row.
+     * @return Data row with the encoded key as a key and the whole row bytes as a value.
+     */
+    @NotNull private DataRow extractAndWrapKeyValue(@NotNull BinaryRow row) {
+        return new SimpleDataRow(keyBytes(row), row.bytes());
+    }
+
+    /**
+     * Encodes the key of a row. Key columns can not be changed, so the key is encoded in the same way regardless of
+     * the schema version of the row.
      *
      * @param row Row.
-     * @return Extracted key.
+     * @return Key bytes.
+     */
+    private byte[] keyBytes(@NotNull BinaryRow row) {
+        SchemaDescriptor schema = schemaReg.schema(row.schemaVersion());
+
+        if (OrderPreservingKeyEncoder.supports(schema.keyColumns()))
+            return OrderPreservingKeyEncoder.encodeKey(new Row(schema, row));
+
+        // Fall back to the bytes of the key chunk, which are unique but not ordered.
+        ByteBuffer keySlice = row.keySlice();
+
+        final byte[] bytes = new byte[keySlice.capacity()];
+
+        keySlice.get(bytes);
+
+        return bytes;
+    }
+
+    /**
+     * Converts a data row from the storage to a table row.
+     *
+     * @param dataRow Data row.
+     * @return Table row or {@code null} if the data row has no value.
      */
-    @NotNull private KeyWrapper extractAndWrapKey(@NotNull BinaryRow row) {
-        final byte[] bytes = new byte[row.keySlice().capacity()];
-        row.keySlice().get(bytes);
+    @Nullable private static BinaryRow toBinaryRow(@Nullable DataRow dataRow) {
+        if (dataRow == null)
+            return null;
+
+        byte[] valueBytes = dataRow.valueBytes();
 
-        return new KeyWrapper(bytes, row.hash());
+        return valueBytes == null ? null : new ByteBufferRow(valueBytes);
     }
 }
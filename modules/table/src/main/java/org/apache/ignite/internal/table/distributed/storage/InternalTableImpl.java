@@ -22,10 +22,14 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 import java.util.stream.Collectors;
+import org.apache.ignite.internal.affinity.RendezvousAffinityFunction;
 import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.storage.KeyRange;
 import org.apache.ignite.internal.table.InternalTable;
 import org.apache.ignite.internal.table.distributed.command.DeleteAllCommand;
 import org.apache.ignite.internal.table.distributed.command.DeleteCommand;
@@ -35,6 +39,7 @@ import org.apache.ignite.internal.table.distributed.command.GetAllCommand;
 import org.apache.ignite.internal.table.distributed.command.GetAndDeleteCommand;
 import org.apache.ignite.internal.table.distributed.command.GetAndUpsertCommand;
 import org.apache.ignite.internal.table.distributed.command.GetCommand;
+import org.apache.ignite.internal.table.distributed.command.IndexScanCommand;
 import org.apache.ignite.internal.table.distributed.command.InsertAllCommand;
 import org.apache.ignite.internal.table.distributed.command.InsertCommand;
 import org.apache.ignite.internal.table.distributed.command.ReplaceCommand;
@@ -43,13 +48,18 @@ import org.apache.ignite.internal.table.distributed.command.UpsertAllCommand;
 import org.apache.ignite.internal.table.distributed.command.UpsertCommand;
 import org.apache.ignite.internal.table.distributed.command.response.MultiRowsResponse;
 import org.apache.ignite.internal.table.distributed.command.response.SingleRowResponse;
+import org.apache.ignite.raft.client.Peer;
 import org.apache.ignite.raft.client.service.RaftGroupService;
+import org.apache.ignite.table.ReadConsistency;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * Storage of table rows.
  */
 public class InternalTableImpl implements InternalTable {
+    /** Maximum number of rows fetched from a partition at once by a scan. */
+    private static final int SCAN_BATCH_SIZE = 1024;
+
     /** Partition map. */
     private Map<Integer, RaftGroupService> partitionMap;
 
@@ -90,14 +100,51 @@ public class InternalTableImpl implements InternalTable {
         return tableName;
     }
 
+    /** {@inheritDoc} */
+    @Override public int partitions() {
+        return partitions;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int partition(BinaryRow keyRow) {
+        return partId(keyRow);
+    }
+
+    /** {@inheritDoc} */
+    @Override public @NotNull Map<Integer, Peer> partitionLeaders() {
+        Map<Integer, Peer> leaders = new HashMap<>(partitions);
+
+        for (Map.Entry<Integer, RaftGroupService> e : partitionMap.entrySet()) {
+            Peer leader = e.getValue().leader();
+
+            if (leader != null)
+                leaders.put(e.getKey(), leader);
+        }
+
+        return leaders;
+    }
+
     /** {@inheritDoc} */
     @Override public @NotNull CompletableFuture<BinaryRow> get(BinaryRow keyRow) {
-        return partitionMap.get(partId(keyRow)).<SingleRowResponse>run(new GetCommand(keyRow))
+        return get(keyRow, ReadConsistency.LINEARIZABLE);
+    }
+
+    /** {@inheritDoc} */
+    @Override public @NotNull CompletableFuture<BinaryRow> get(BinaryRow keyRow, ReadConsistency consistency) {
+        return partitionMap.get(partId(keyRow)).<SingleRowResponse>run(new GetCommand(keyRow), raftConsistency(consistency))
             .thenApply(SingleRowResponse::getValue);
     }
 
     /** {@inheritDoc} */
     @Override public @NotNull CompletableFuture<Collection<BinaryRow>> getAll(Collection<BinaryRow> keyRows) {
+        return getAll(keyRows, ReadConsistency.LINEARIZABLE);
+    }
+
+    /** {@inheritDoc} */
+    @Override public @NotNull CompletableFuture<Collection<BinaryRow>> getAll(
+        Collection<BinaryRow> keyRows,
+        ReadConsistency consistency
+    ) {
         HashMap<Integer, HashSet<BinaryRow>> keyRowsByPartition = new HashMap<>();
 
         for (BinaryRow keyRow : keyRows) {
@@ -110,7 +157,8 @@ public class InternalTableImpl implements InternalTable {
         int batchNum = 0;
 
         for (Map.Entry<Integer, HashSet<BinaryRow>> partToRows : keyRowsByPartition.entrySet()) {
-            futures[batchNum] = partitionMap.get(partToRows.getKey()).run(new GetAllCommand(partToRows.getValue()));
+            futures[batchNum] = partitionMap.get(partToRows.getKey())
+                .run(new GetAllCommand(partToRows.getValue()), raftConsistency(consistency));
 
             batchNum++;
         }
@@ -142,7 +190,7 @@ public class InternalTableImpl implements InternalTable {
         int batchNum = 0;
 
         for (Map.Entry<Integer, HashSet<BinaryRow>> partToRows : keyRowsByPartition.entrySet()) {
-            futures[batchNum] = partitionMap.get(partToRows.getKey()).run(new UpsertAllCommand(partToRows.getValue()));
+            futures[batchNum] = upsertAll(partToRows.getKey(), partToRows.getValue());
 
             batchNum++;
         }
@@ -150,6 +198,11 @@ public class InternalTableImpl implements InternalTable {
         return CompletableFuture.allOf(futures);
     }
 
+    /** {@inheritDoc} */
+    @Override public @NotNull CompletableFuture<Void> upsertAll(int part, Set<BinaryRow> rows) {
+        return partitionMap.get(part).run(new UpsertAllCommand(rows));
+    }
+
     /** {@inheritDoc} */
     @Override public @NotNull CompletableFuture<BinaryRow> getAndUpsert(BinaryRow row) {
         return partitionMap.get(partId(row)).<SingleRowResponse>run(new GetAndUpsertCommand(row))
@@ -188,6 +241,12 @@ public class InternalTableImpl implements InternalTable {
                 .collect(Collectors.toList()));
     }
 
+    /** {@inheritDoc} */
+    @Override public @NotNull CompletableFuture<Collection<BinaryRow>> insertAll(int part, Set<BinaryRow> rows) {
+        return partitionMap.get(part).<MultiRowsResponse>run(new InsertAllCommand(rows))
+            .thenApply(MultiRowsResponse::getValues);
+    }
+
     /** {@inheritDoc} */
     @Override public @NotNull CompletableFuture<Boolean> replace(BinaryRow row) {
         return partitionMap.get(partId(row)).<Boolean>run(new ReplaceIfExistCommand(row));
@@ -274,6 +333,31 @@ public class InternalTableImpl implements InternalTable {
                 .collect(Collectors.toList()));
     }
 
+    /** {@inheritDoc} */
+    @Override public @NotNull CompletableFuture<Collection<BinaryRow>> indexScan(String idxName, KeyRange range) {
+        CompletableFuture<MultiRowsResponse>[] futures = new CompletableFuture[partitions];
+
+        for (int p = 0; p < partitions; p++)
+            futures[p] = partitionMap.get(p).run(new IndexScanCommand(idxName, range));
+
+        return CompletableFuture.allOf(futures)
+            .thenApply(response -> Arrays.stream(futures)
+                .map(CompletableFuture::join)
+                .map(MultiRowsResponse::getValues)
+                .flatMap(Collection::stream)
+                .collect(Collectors.toList()));
+    }
+
+    /** {@inheritDoc} */
+    @Override public @NotNull Flow.Publisher<BinaryRow> scan(int part) {
+        RaftGroupService raftGrp = partitionMap.get(part);
+
+        if (raftGrp == null)
+            throw new IllegalArgumentException("Invalid partition [partition=" + part + ", partitions=" + partitions + ']');
+
+        return new PartitionScanPublisher(raftGrp::run, SCAN_BATCH_SIZE);
+    }
+
     /**
      * Get partition id by key row.
      *
@@ -281,8 +365,28 @@ public class InternalTableImpl implements InternalTable {
      * @return partition id.
      */
     private int partId(BinaryRow row) {
-        int partId = row.hash() % partitions;
+        return RendezvousAffinityFunction.partition(row.hash(), partitions);
+    }
+
+    /**
+     * Maps the read consistency of a table view to the consistency of a RAFT read command.
+     *
+     * @param consistency Read consistency of a table view.
+     * @return Read consistency of a RAFT read command.
+     */
+    private static org.apache.ignite.raft.client.ReadConsistency raftConsistency(ReadConsistency consistency) {
+        switch (consistency) {
+            case LINEARIZABLE:
+                return org.apache.ignite.raft.client.ReadConsistency.LINEARIZABLE;
 
-        return (partId < 0) ? -partId : partId;
+            case LEASE_READ:
+                return org.apache.ignite.raft.client.ReadConsistency.LEASE_READ;
+
+            case FOLLOWER_READ:
+                return org.apache.ignite.raft.client.ReadConsistency.FOLLOWER_READ;
+
+            default:
+                throw new IllegalArgumentException("Unknown read consistency: " + consistency);
+        }
     }
 }
@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.table.distributed.storage;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.table.distributed.command.ScanCommand;
+import org.apache.ignite.internal.table.distributed.command.response.ScanResponse;
+
+/**
+ * Publisher of the rows of a partition. Every subscription reads the partition from the start with a sequence of
+ * {@link ScanCommand}s. The next batch is requested only when the rows of the previous one have been delivered and
+ * the subscriber has outstanding demand, and its size is the outstanding demand capped by the maximum batch size. The
+ * scan is weakly consistent: rows changed while the partition is being scanned may or may not be observed. A scan that
+ * is cancelled or failed before the last batch is closed with a {@link ScanCommand} of no rows, so that the partition
+ * releases its cursor.
+ */
+public class PartitionScanPublisher implements Flow.Publisher<BinaryRow> {
+    /** Sends a scan command to the partition. */
+    private final Function<ScanCommand, CompletableFuture<ScanResponse>> fetcher;
+
+    /** Maximum number of rows in a batch. */
+    private final int maxBatchSize;
+
+    /**
+     * Constructor.
+     *
+     * @param fetcher Sends a scan command to the partition.
+     * @param maxBatchSize Maximum number of rows in a batch.
+     */
+    public PartitionScanPublisher(Function<ScanCommand, CompletableFuture<ScanResponse>> fetcher, int maxBatchSize) {
+        assert maxBatchSize > 0 : maxBatchSize;
+
+        this.fetcher = fetcher;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void subscribe(Flow.Subscriber<? super BinaryRow> subscriber) {
+        Objects.requireNonNull(subscriber);
+
+        ScanSubscription subscription = new ScanSubscription(subscriber);
+
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * Subscription that serializes all the signals to the subscriber in a drain loop.
+     */
+    private class ScanSubscription implements Flow.Subscription {
+        /** Subscriber. */
+        private final Flow.Subscriber<? super BinaryRow> subscriber;
+
+        /** Identifier of the scan, so that the partition can keep its cursor between the batches. */
+        private final UUID scanId = UUID.randomUUID();
+
+        /** Outstanding demand. */
+        private final AtomicLong requested = new AtomicLong();
+
+        /** Number of the drain requests, the drain loop is run by the thread that has changed it from zero. */
+        private final AtomicInteger wip = new AtomicInteger();
+
+        /** Rows of the current batch that have not been delivered yet. Accessed in the drain loop only. */
+        private final Queue<BinaryRow> rows = new ArrayDeque<>();
+
+        /** Storage key of the last fetched row. Accessed in the drain loop only. */
+        private byte[] lastKey;
+
+        /** Whether a batch is being fetched. Accessed in the drain loop only. */
+        private boolean fetching;
+
+        /** Whether the last batch has been fetched. Accessed in the drain loop only. */
+        private boolean exhausted;
+
+        /** Fetched batch to be taken by the drain loop. */
+        private volatile ScanResponse fetched;
+
+        /** Failure of the scan. */
+        private volatile Throwable error;
+
+        /** Whether the subscription is cancelled or terminated. */
+        private volatile boolean cancelled;
+
+        /** Whether a batch is being fetched. Guarded by the subscription monitor. */
+        private boolean fetchPending;
+
+        /** Whether the partition may keep a cursor of the scan. Guarded by the subscription monitor. */
+        private boolean cursorOpen;
+
+        /**
+         * @param subscriber Subscriber.
+         */
+        ScanSubscription(Flow.Subscriber<? super BinaryRow> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void request(long n) {
+            if (n <= 0)
+                error = new IllegalArgumentException("Requested number of rows must be positive: " + n);
+            else
+                requested.getAndUpdate(r -> r + n < 0 ? Long.MAX_VALUE : r + n);
+
+            drain();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void cancel() {
+            cancelled = true;
+
+            closeCursor();
+        }
+
+        /**
+         * Delivers the fetched rows within the outstanding demand and fetches the next batch if needed.
+         */
+        private void drain() {
+            if (wip.getAndIncrement() != 0)
+                return;
+
+            int missed = 1;
+
+            do {
+                if (cancelled)
+                    return;
+
+                ScanResponse res = fetched;
+
+                if (res != null) {
+                    fetched = null;
+                    fetching = false;
+
+                    rows.addAll(res.rows());
+
+                    lastKey = res.lastKey();
+                    exhausted = lastKey == null;
+                }
+
+                long delivered = 0;
+
+                while (delivered < requested.get() && !rows.isEmpty()) {
+                    subscriber.onNext(rows.poll());
+
+                    delivered++;
+
+                    if (cancelled)
+                        return;
+                }
+
+                long demand = delivered == 0 ? requested.get() : requested.addAndGet(-delivered);
+
+                Throwable err = error;
+
+                if (err != null) {
+                    cancelled = true;
+
+                    closeCursor();
+
+                    subscriber.onError(err);
+
+                    return;
+                }
+
+                if (rows.isEmpty() && !fetching) {
+                    if (exhausted) {
+                        cancelled = true;
+
+                        subscriber.onComplete();
+
+                        return;
+                    }
+
+                    if (demand > 0) {
+                        fetching = true;
+
+                        fetch((int)Math.min(demand, maxBatchSize));
+                    }
+                }
+
+                missed = wip.addAndGet(-missed);
+            }
+            while (missed != 0);
+        }
+
+        /**
+         * Fetches the next batch of rows.
+         *
+         * @param batchSize Maximum number of rows in the batch.
+         */
+        private void fetch(int batchSize) {
+            synchronized (this) {
+                fetchPending = true;
+            }
+
+            CompletableFuture<ScanResponse> fut;
+
+            try {
+                fut = fetcher.apply(new ScanCommand(scanId, lastKey, batchSize));
+            }
+            catch (Throwable e) {
+                fut = CompletableFuture.failedFuture(e);
+            }
+
+            fut.whenComplete((res, e) -> {
+                synchronized (this) {
+                    fetchPending = false;
+
+                    // The partition may have opened the cursor even if the response is lost.
+                    cursorOpen = e != null || res.lastKey() != null;
+                }
+
+                if (e != null)
+                    error = e;
+                else
+                    fetched = res;
+
+                // The cursor of a scan cancelled during the fetch is closed once the fetch is over, otherwise the
+                // fetch could reopen it after the close.
+                if (cancelled)
+                    closeCursor();
+
+                drain();
+            });
+        }
+
+        /**
+         * Closes the cursor of the scan in the partition, unless it has been closed or a batch is being fetched.
+         */
+        private void closeCursor() {
+            synchronized (this) {
+                if (!cursorOpen || fetchPending)
+                    return;
+
+                cursorOpen = false;
+            }
+
+            try {
+                fetcher.apply(new ScanCommand(scanId, null, 0));
+            }
+            catch (Throwable ignored) {
+                // The cursor is closed by the partition when the number of scans exceeds the limit.
+            }
+        }
+    }
+}
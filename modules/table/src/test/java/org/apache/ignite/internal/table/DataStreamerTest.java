@@ -0,0 +1,302 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.table;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.schema.Column;
+import org.apache.ignite.internal.schema.NativeTypes;
+import org.apache.ignite.internal.schema.Row;
+import org.apache.ignite.internal.schema.SchemaDescriptor;
+import org.apache.ignite.internal.table.impl.DummyInternalTableImpl;
+import org.apache.ignite.internal.table.impl.DummySchemaManagerImpl;
+import org.apache.ignite.lang.IgniteException;
+import org.apache.ignite.table.DataStreamer;
+import org.apache.ignite.table.Table;
+import org.apache.ignite.table.Tuple;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link DataStreamerImpl}.
+ */
+public class DataStreamerTest {
+    /** */
+    private final SchemaDescriptor schema = new SchemaDescriptor(
+        UUID.randomUUID(),
+        1,
+        new Column[]{new Column("id", NativeTypes.LONG, false)},
+        new Column[]{new Column("val", NativeTypes.LONG, false)}
+    );
+
+    /**
+     * Tests that streamed rows are written and existing rows are kept unless overwriting is allowed.
+     */
+    @Test
+    public void streamRows() {
+        Table tbl = new TableImpl(new DummyInternalTableImpl(), new DummySchemaManagerImpl(schema));
+
+        tbl.upsert(tuple(tbl, 1, -1));
+
+        try (DataStreamer<Tuple> streamer = tbl.dataStreamer().perPartitionBufferSize(100)) {
+            for (long i = 0; i < 1000; i++)
+                streamer.addData(tuple(tbl, i, i * 10));
+        }
+
+        assertEquals(-1L, (Long)tbl.get(key(tbl, 1)).value("val"));
+
+        for (long i = 2; i < 1000; i++)
+            assertEquals(i * 10, (Long)tbl.get(key(tbl, i)).value("val"));
+
+        try (DataStreamer<Tuple> streamer = tbl.dataStreamer().allowOverwrite(true)) {
+            streamer.addData(List.of(tuple(tbl, 1, 10), tuple(tbl, 2000, 20000)));
+        }
+
+        assertEquals(10L, (Long)tbl.get(key(tbl, 1)).value("val"));
+        assertEquals(20000L, (Long)tbl.get(key(tbl, 2000)).value("val"));
+    }
+
+    /**
+     * Tests that the last record of a key buffered with overwriting allowed wins, and the first one wins otherwise.
+     */
+    @Test
+    public void sameKeyInBuffer() {
+        Table tbl = new TableImpl(new DummyInternalTableImpl(), new DummySchemaManagerImpl(schema));
+
+        try (DataStreamer<Tuple> streamer = tbl.dataStreamer().allowOverwrite(true)) {
+            for (long i = 0; i < 10; i++)
+                streamer.addData(tuple(tbl, 1, i));
+        }
+
+        assertEquals(9L, (Long)tbl.get(key(tbl, 1)).value("val"));
+
+        try (DataStreamer<Tuple> streamer = tbl.dataStreamer()) {
+            for (long i = 0; i < 10; i++)
+                streamer.addData(tuple(tbl, 2, i));
+        }
+
+        assertEquals(0L, (Long)tbl.get(key(tbl, 2)).value("val"));
+    }
+
+    /**
+     * Tests that a thread adding rows is blocked when the maximum number of batches of the partition is in flight.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void backpressure() throws Exception {
+        List<CompletableFuture<Void>> batches = new CopyOnWriteArrayList<>();
+
+        InternalTable internalTbl = mock(InternalTable.class);
+
+        when(internalTbl.upsertAll(anyInt(), any())).thenAnswer(invocation -> {
+            CompletableFuture<Void> fut = new CompletableFuture<>();
+
+            batches.add(fut);
+
+            return fut;
+        });
+
+        Table tbl = new TableImpl(internalTbl, new DummySchemaManagerImpl(schema));
+
+        DataStreamer<Tuple> streamer = tbl.dataStreamer()
+            .allowOverwrite(true)
+            .perPartitionBufferSize(1)
+            .perPartitionParallelOperations(2);
+
+        CompletableFuture<Void> fut1 = streamer.addData(tuple(tbl, 1, 1));
+        CompletableFuture<Void> fut2 = streamer.addData(tuple(tbl, 2, 2));
+
+        CompletableFuture<CompletableFuture<Void>> blocked =
+            CompletableFuture.supplyAsync(() -> streamer.addData(tuple(tbl, 3, 3)));
+
+        assertThrows(TimeoutException.class, () -> blocked.get(200, TimeUnit.MILLISECONDS));
+
+        assertEquals(2, batches.size());
+
+        batches.get(0).complete(null);
+
+        assertTrue(fut1.isDone());
+        assertFalse(fut2.isDone());
+
+        CompletableFuture<Void> fut3 = blocked.get(10, TimeUnit.SECONDS);
+
+        batches.get(1).complete(null);
+        batches.get(2).complete(null);
+
+        streamer.close();
+
+        assertTrue(fut2.isDone());
+        assertTrue(fut3.isDone());
+
+        verify(internalTbl, times(3)).upsertAll(anyInt(), any());
+    }
+
+    /**
+     * Tests that a batch with a key of a batch in flight is held back until that batch completes, while the batches
+     * of other keys are sent concurrently.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void sameKeyInConcurrentBatches() throws Exception {
+        List<CompletableFuture<Void>> batches = new CopyOnWriteArrayList<>();
+
+        InternalTable internalTbl = mock(InternalTable.class);
+
+        when(internalTbl.upsertAll(anyInt(), any())).thenAnswer(invocation -> {
+            CompletableFuture<Void> fut = new CompletableFuture<>();
+
+            batches.add(fut);
+
+            return fut;
+        });
+
+        Table tbl = new TableImpl(internalTbl, new DummySchemaManagerImpl(schema));
+
+        DataStreamer<Tuple> streamer = tbl.dataStreamer()
+            .allowOverwrite(true)
+            .perPartitionBufferSize(1)
+            .perPartitionParallelOperations(4);
+
+        List<CompletableFuture<Void>> futs = new ArrayList<>();
+
+        for (long i = 0; i < 3; i++)
+            futs.add(streamer.addData(tuple(tbl, 1, i)));
+
+        CompletableFuture<Void> otherFut = streamer.addData(tuple(tbl, 2, 2));
+
+        assertEquals(2, batches.size());
+
+        batches.get(1).complete(null);
+
+        assertTrue(otherFut.isDone());
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i + 2, batches.size());
+            assertFalse(futs.get(i).isDone());
+
+            // A failed batch doesn't hold back the later batches of its keys.
+            if (i == 0)
+                batches.get(0).completeExceptionally(new IllegalStateException("Test"));
+            else
+                batches.get(i + 1).complete(null);
+
+            assertTrue(futs.get(i).isDone());
+        }
+
+        assertThrows(IgniteException.class, streamer::close);
+
+        ArgumentCaptor<Set<BinaryRow>> rows = ArgumentCaptor.forClass(Set.class);
+
+        verify(internalTbl, times(4)).upsertAll(anyInt(), rows.capture());
+
+        List<Long> vals = new ArrayList<>();
+
+        for (Set<BinaryRow> batch : rows.getAllValues()) {
+            Row row = new Row(schema, batch.iterator().next());
+
+            if (row.longValue(0) == 1)
+                vals.add(row.longValue(1));
+        }
+
+        assertEquals(List.of(0L, 1L, 2L), vals);
+    }
+
+    /**
+     * Tests that partially filled buffers are sent by the automatic flush.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void autoFlush() throws Exception {
+        Table tbl = new TableImpl(new DummyInternalTableImpl(), new DummySchemaManagerImpl(schema));
+
+        try (DataStreamer<Tuple> streamer = tbl.dataStreamer().autoFlushFrequency(50)) {
+            streamer.addData(tuple(tbl, 1, 10)).get(10, TimeUnit.SECONDS);
+
+            assertEquals(10L, (Long)tbl.get(key(tbl, 1)).value("val"));
+
+            assertThrows(IllegalStateException.class, () -> streamer.perPartitionBufferSize(1));
+        }
+    }
+
+    /**
+     * Tests that a failed batch fails its records and the flush, and that a closed streamer doesn't accept records.
+     */
+    @Test
+    public void failure() {
+        InternalTable internalTbl = mock(InternalTable.class);
+
+        when(internalTbl.insertAll(anyInt(), any()))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Test")));
+
+        Table tbl = new TableImpl(internalTbl, new DummySchemaManagerImpl(schema));
+
+        DataStreamer<Tuple> streamer = tbl.dataStreamer();
+
+        CompletableFuture<Void> fut = streamer.addData(tuple(tbl, 1, 1));
+
+        assertThrows(IgniteException.class, streamer::flush);
+
+        assertTrue(fut.isCompletedExceptionally());
+
+        streamer.flush();
+
+        streamer.close();
+
+        assertThrows(IllegalStateException.class, () -> streamer.addData(tuple(tbl, 2, 2)));
+    }
+
+    /**
+     * @param tbl Table.
+     * @param id Key.
+     * @param val Value.
+     * @return Tuple.
+     */
+    private static Tuple tuple(Table tbl, long id, long val) {
+        return tbl.tupleBuilder().set("id", id).set("val", val).build();
+    }
+
+    /**
+     * @param tbl Table.
+     * @param id Key.
+     * @return Key tuple.
+     */
+    private static Tuple key(Table tbl, long id) {
+        return tbl.tupleBuilder().set("id", id).build();
+    }
+}
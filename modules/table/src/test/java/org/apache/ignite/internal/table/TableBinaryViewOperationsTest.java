@@ -24,11 +24,14 @@ import org.apache.ignite.internal.schema.SchemaDescriptor;
 import org.apache.ignite.internal.table.impl.DummyInternalTableImpl;
 import org.apache.ignite.internal.table.impl.DummySchemaManagerImpl;
 import org.apache.ignite.internal.table.impl.TestTupleBuilder;
+import org.apache.ignite.table.KeyValueBinaryView;
+import org.apache.ignite.table.ReadConsistency;
 import org.apache.ignite.table.Table;
 import org.apache.ignite.table.Tuple;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -80,6 +83,44 @@ public class TableBinaryViewOperationsTest {
         assertNull(tbl.get(nonExistedTuple));
     }
 
+    /**
+     * Checks that a table view created with a read consistency passes it to the reads of the view and of the views
+     * created from it.
+     */
+    @Test
+    public void readConsistency() {
+        SchemaDescriptor schema = new SchemaDescriptor(
+            tableId,
+            1,
+            new Column[]{new Column("id", NativeTypes.LONG, false)},
+            new Column[]{new Column("val", NativeTypes.LONG, false)}
+        );
+
+        DummyInternalTableImpl internalTbl = new DummyInternalTableImpl();
+
+        Table tbl = new TableImpl(internalTbl, new DummySchemaManagerImpl(schema));
+
+        final Tuple tuple = tbl.tupleBuilder().set("id", 1L).set("val", 11L).build();
+
+        tbl.upsert(tuple);
+
+        assertEqualsRows(schema, tuple, tbl.get(tuple));
+        assertEquals(ReadConsistency.LINEARIZABLE, internalTbl.lastReadConsistency());
+
+        Table followerTbl = tbl.withReadConsistency(ReadConsistency.FOLLOWER_READ);
+
+        assertEqualsRows(schema, tuple, followerTbl.get(tuple));
+        assertEquals(ReadConsistency.FOLLOWER_READ, internalTbl.lastReadConsistency());
+
+        KeyValueBinaryView kvView = tbl.withReadConsistency(ReadConsistency.LEASE_READ).kvView();
+
+        assertEquals(11L, (Long)kvView.get(tbl.tupleBuilder().set("id", 1L).build()).value("val"));
+        assertEquals(ReadConsistency.LEASE_READ, internalTbl.lastReadConsistency());
+
+        assertEqualsRows(schema, tuple, tbl.get(tuple));
+        assertEquals(ReadConsistency.LINEARIZABLE, internalTbl.lastReadConsistency());
+    }
+
     /**
      *
      */
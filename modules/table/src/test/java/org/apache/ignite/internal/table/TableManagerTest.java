@@ -19,6 +19,7 @@ package org.apache.ignite.internal.table;
 
 import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -28,10 +29,12 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Phaser;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import org.apache.ignite.configuration.RootKey;
 import org.apache.ignite.configuration.annotation.ConfigurationType;
 import org.apache.ignite.configuration.schemas.runner.ClusterConfiguration;
 import org.apache.ignite.configuration.schemas.runner.NodeConfiguration;
+import org.apache.ignite.configuration.schemas.store.DataStorageConfiguration;
 import org.apache.ignite.configuration.schemas.table.TablesConfiguration;
 import org.apache.ignite.internal.affinity.AffinityManager;
 import org.apache.ignite.internal.affinity.event.AffinityEvent;
@@ -56,14 +59,17 @@ import org.apache.ignite.lang.ByteArray;
 import org.apache.ignite.lang.IgniteLogger;
 import org.apache.ignite.network.ClusterNode;
 import org.apache.ignite.network.NetworkAddress;
+import org.apache.ignite.raft.client.service.RaftGroupService;
 import org.apache.ignite.schema.ColumnType;
 import org.apache.ignite.schema.SchemaBuilders;
 import org.apache.ignite.schema.SchemaTable;
 import org.apache.ignite.table.Table;
 import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.platform.commons.util.ReflectionUtils;
 import org.mockito.Mock;
@@ -135,6 +141,10 @@ public class TableManagerTest {
     @Mock(lenient = true)
     private VaultManager vm;
 
+    /** Partitions store directory. */
+    @TempDir
+    Path workDir;
+
     /** Test node. */
     private final ClusterNode node = new ClusterNode(
         UUID.randomUUID().toString(),
@@ -142,6 +152,9 @@ public class TableManagerTest {
         new NetworkAddress("127.0.0.1", 2245)
     );
 
+    /** Table manager, stopped after the test. */
+    private TableManager tblManager;
+
     /** Before all test scenarios. */
     @BeforeEach
     private void before() {
@@ -204,13 +217,29 @@ public class TableManagerTest {
         }
     }
 
+    /** After each test scenario. */
+    @AfterEach
+    private void after() {
+        if (tblManager != null)
+            tblManager.stop();
+    }
+
+    /**
+     * @return New table manager that is stopped after the test.
+     */
+    private TableManager createTableManager() {
+        tblManager = new TableManager(cfrMgr, mm, sm, am, rm, vm, workDir);
+
+        return tblManager;
+    }
+
     /**
      * Tests a table which was defined before start through bootstrap configuration.
      */
     @Disabled("https://issues.apache.org/jira/browse/IGNITE-14578")
     @Test
     public void testStaticTableConfigured() {
-        TableManager tableManager = new TableManager(cfrMgr, mm, sm, am, rm, vm);
+        TableManager tableManager = createTableManager();
 
         assertEquals(1, tableManager.tables().size());
 
@@ -358,6 +387,10 @@ public class TableManagerTest {
     ) {
         when(mm.hasMetastorageLocally(any())).thenReturn(true);
 
+        when(rm.startRaftGroup(any(), any(), any(Supplier.class))).thenAnswer(invocation -> mock(RaftGroupService.class));
+
+        when(rm.refreshLeaders(any())).thenReturn(CompletableFuture.completedFuture(null));
+
         CompletableFuture<UUID> tblIdFut = new CompletableFuture<>();
 
         when(mm.invoke(any(Condition.class), any(Operation.class), any(Operation.class))).thenAnswer(invocation -> {
@@ -410,7 +443,7 @@ public class TableManagerTest {
             return null;
         }).when(am).listen(same(AffinityEvent.CALCULATED), any());
 
-        TableManager tableManager = new TableManager(cfrMgr, mm, sm, am, rm, vm);
+        TableManager tableManager = createTableManager();
 
         tblManagerFut.complete(tableManager);
 
@@ -485,7 +518,8 @@ public class TableManagerTest {
         return Arrays.asList(
             NodeConfiguration.KEY,
             ClusterConfiguration.KEY,
-            TablesConfiguration.KEY
+            TablesConfiguration.KEY,
+            DataStorageConfiguration.KEY
         );
     }
 }
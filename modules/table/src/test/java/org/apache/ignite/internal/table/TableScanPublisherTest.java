@@ -0,0 +1,317 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.table;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.schema.ByteBufferRow;
+import org.apache.ignite.internal.schema.Column;
+import org.apache.ignite.internal.schema.NativeTypes;
+import org.apache.ignite.internal.schema.RowAssembler;
+import org.apache.ignite.internal.schema.SchemaDescriptor;
+import org.apache.ignite.internal.table.distributed.command.ScanCommand;
+import org.apache.ignite.internal.table.distributed.command.response.ScanResponse;
+import org.apache.ignite.internal.table.distributed.storage.PartitionScanPublisher;
+import org.apache.ignite.internal.table.impl.DummyInternalTableImpl;
+import org.apache.ignite.internal.table.impl.DummySchemaManagerImpl;
+import org.apache.ignite.table.Table;
+import org.apache.ignite.table.Tuple;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link PartitionScanPublisher} and {@link TableScanPublisher}.
+ */
+public class TableScanPublisherTest {
+    /** Schema. */
+    private static final SchemaDescriptor SCHEMA = new SchemaDescriptor(
+        UUID.randomUUID(),
+        1,
+        new Column[]{new Column("id", NativeTypes.LONG, false)},
+        new Column[]{new Column("val", NativeTypes.LONG, false)}
+    );
+
+    /**
+     * Tests that a partition is fetched in batches sized by the outstanding demand.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void partitionBatchesFollowDemand() throws Exception {
+        List<BinaryRow> rows = rows(10);
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+        PartitionScanPublisher publisher = new PartitionScanPublisher(cmd -> {
+            batchSizes.add(cmd.batchSize());
+
+            return fetch(rows, cmd);
+        }, 5);
+
+        TestSubscriber<BinaryRow> subscriber = new TestSubscriber<>();
+
+        publisher.subscribe(subscriber);
+
+        assertTrue(batchSizes.isEmpty());
+
+        subscriber.subscription.request(3);
+
+        assertEquals(rows.subList(0, 3), subscriber.items);
+
+        subscriber.subscription.request(4);
+
+        assertEquals(rows.subList(0, 7), subscriber.items);
+        assertFalse(subscriber.done.isDone());
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        subscriber.done.get(10, TimeUnit.SECONDS);
+
+        assertEquals(rows, subscriber.items);
+        assertEquals(List.of(3, 4, 5), batchSizes);
+    }
+
+    /**
+     * Tests that a scan cancelled before the last batch closes its cursor in the partition, after the batch being
+     * fetched if any, and that a scan read to the end doesn't.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void cancelClosesCursor() throws Exception {
+        List<BinaryRow> rows = rows(10);
+        List<ScanCommand> cmds = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> fetchGate = new CompletableFuture<>();
+
+        PartitionScanPublisher publisher = new PartitionScanPublisher(cmd -> {
+            cmds.add(cmd);
+
+            return cmds.size() == 2 ? fetchGate.thenCompose(v -> fetch(rows, cmd)) : fetch(rows, cmd);
+        }, 3);
+
+        TestSubscriber<BinaryRow> subscriber = new TestSubscriber<>();
+
+        publisher.subscribe(subscriber);
+
+        subscriber.subscription.request(3);
+        subscriber.subscription.request(3);
+
+        assertEquals(2, cmds.size());
+
+        subscriber.subscription.cancel();
+
+        assertEquals(2, cmds.size());
+
+        fetchGate.complete(null);
+
+        assertEquals(3, cmds.size());
+        assertEquals(0, cmds.get(2).batchSize());
+        assertEquals(cmds.get(0).scanId(), cmds.get(2).scanId());
+
+        cmds.clear();
+
+        subscriber = new TestSubscriber<>();
+
+        publisher.subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        subscriber.done.get(10, TimeUnit.SECONDS);
+
+        subscriber.subscription.cancel();
+
+        assertEquals(List.of(3, 3, 3, 3), cmds.stream().map(ScanCommand::batchSize).collect(Collectors.toList()));
+    }
+
+    /**
+     * Tests that all the partitions are scanned and their rows are merged.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void tableScanMergesPartitions() throws Exception {
+        List<List<BinaryRow>> parts = List.of(rows(1000), rows(0), rows(TableScanPublisher.PREFETCH + 1));
+
+        InternalTable tbl = mock(InternalTable.class);
+
+        when(tbl.partitions()).thenReturn(parts.size());
+
+        for (int i = 0; i < parts.size(); i++) {
+            List<BinaryRow> partRows = parts.get(i);
+
+            // Batches are completed asynchronously, so that the partitions are delivered concurrently.
+            when(tbl.scan(i)).thenAnswer(invocation -> new PartitionScanPublisher(
+                cmd -> fetch(partRows, cmd).thenApplyAsync(Function.identity()),
+                100
+            ));
+        }
+
+        TestSubscriber<BinaryRow> subscriber = new TestSubscriber<>();
+
+        new TableScanPublisher<>(tbl, Function.identity()).subscribe(subscriber);
+
+        subscriber.subscription.request(10);
+
+        assertEquals(10, subscriber.items.size());
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        subscriber.done.get(10, TimeUnit.SECONDS);
+
+        Set<BinaryRow> expected = parts.stream().flatMap(List::stream).collect(Collectors.toSet());
+
+        assertEquals(expected.size(), subscriber.items.size());
+        assertEquals(expected, new HashSet<>(subscriber.items));
+    }
+
+    /**
+     * Tests that a failure of a partition scan fails the table scan.
+     */
+    @Test
+    public void tableScanFailure() {
+        InternalTable tbl = mock(InternalTable.class);
+
+        IllegalStateException err = new IllegalStateException("Test");
+
+        when(tbl.partitions()).thenReturn(2);
+        when(tbl.scan(0)).thenReturn(new PartitionScanPublisher(cmd -> fetch(rows(10), cmd), 100));
+        when(tbl.scan(1)).thenReturn(new PartitionScanPublisher(cmd -> CompletableFuture.failedFuture(err), 100));
+
+        TestSubscriber<BinaryRow> subscriber = new TestSubscriber<>();
+
+        new TableScanPublisher<>(tbl, Function.identity()).subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        Exception e = assertThrows(Exception.class, () -> subscriber.done.get(10, TimeUnit.SECONDS));
+
+        assertSame(err, e.getCause());
+    }
+
+    /**
+     * Tests the scan of a table.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void scanTable() throws Exception {
+        Table tbl = new TableImpl(new DummyInternalTableImpl(), new DummySchemaManagerImpl(SCHEMA));
+
+        for (long i = 0; i < 10; i++)
+            tbl.upsert(tbl.tupleBuilder().set("id", i).set("val", i * 10).build());
+
+        TestSubscriber<Tuple> subscriber = new TestSubscriber<>();
+
+        tbl.scan().subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        subscriber.done.get(10, TimeUnit.SECONDS);
+
+        assertEquals(
+            LongStream.range(0, 10).boxed().collect(Collectors.toSet()),
+            subscriber.items.stream().map(t -> (Long)t.value("id")).collect(Collectors.toSet())
+        );
+    }
+
+    /**
+     * @param cnt Number of rows.
+     * @return Distinct rows.
+     */
+    private static List<BinaryRow> rows(int cnt) {
+        List<BinaryRow> rows = new ArrayList<>(cnt);
+
+        for (int i = 0; i < cnt; i++) {
+            RowAssembler asm = new RowAssembler(SCHEMA, 64, 0, 0);
+
+            asm.appendLong(i);
+            asm.appendLong(i);
+
+            rows.add(new ByteBufferRow(asm.build()));
+        }
+
+        return rows;
+    }
+
+    /**
+     * Emulates a partition that pages through the rows, using the position of a row as its storage key.
+     *
+     * @param rows Rows of the partition.
+     * @param cmd Scan command.
+     * @return Future of the batch.
+     */
+    private static CompletableFuture<ScanResponse> fetch(List<BinaryRow> rows, ScanCommand cmd) {
+        int from = cmd.lastKey() == null ? 0 : cmd.lastKey()[0] * 256 + (cmd.lastKey()[1] & 0xFF) + 1;
+        int to = Math.min(rows.size(), from + cmd.batchSize());
+
+        byte[] lastKey = to == rows.size() ? null : new byte[] {(byte)((to - 1) / 256), (byte)(to - 1)};
+
+        return CompletableFuture.completedFuture(new ScanResponse(new ArrayList<>(rows.subList(from, to)), lastKey));
+    }
+
+    /**
+     * Subscriber that collects the items.
+     */
+    private static class TestSubscriber<T> implements Flow.Subscriber<T> {
+        /** */
+        private final List<T> items = new CopyOnWriteArrayList<>();
+
+        /** Completed when the subscriber is terminated. */
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        /** */
+        private volatile Flow.Subscription subscription;
+
+        /** {@inheritDoc} */
+        @Override public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void onNext(T item) {
+            items.add(item);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void onError(Throwable e) {
+            done.completeExceptionally(e);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void onComplete() {
+            done.complete(null);
+        }
+    }
+}
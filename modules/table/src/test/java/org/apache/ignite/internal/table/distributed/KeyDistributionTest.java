@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.table.distributed;
+
+import java.util.UUID;
+import org.apache.ignite.internal.affinity.RendezvousAffinityFunction;
+import org.apache.ignite.internal.schema.ByteBufferRow;
+import org.apache.ignite.internal.schema.Column;
+import org.apache.ignite.internal.schema.NativeTypes;
+import org.apache.ignite.internal.schema.RowAssembler;
+import org.apache.ignite.internal.schema.SchemaDescriptor;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.apache.ignite.internal.schema.NativeTypes.INTEGER;
+import static org.apache.ignite.internal.schema.NativeTypes.LONG;
+import static org.apache.ignite.internal.schema.NativeTypes.STRING;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that sequential keys of the common key shapes are spread evenly over the partitions by the key hash and
+ * {@link RendezvousAffinityFunction#partition(int, int)}, the same way the table maps its rows to the partitions.
+ */
+public class KeyDistributionTest {
+    /** Number of partitions. */
+    private static final int PARTITIONS = 1024;
+
+    /** Number of keys. */
+    private static final int KEYS = 256 * PARTITIONS;
+
+    /**
+     * @param shape Key shape.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"INT", "LONG", "STRING", "INT_LONG", "UUID"})
+    public void testSkew(String shape) {
+        SchemaDescriptor schema = schema(shape);
+
+        int[] loads = new int[PARTITIONS];
+
+        for (long k = 0; k < KEYS; k++) {
+            int hash = new ByteBufferRow(keyRow(schema, shape, k)).hash();
+
+            loads[RendezvousAffinityFunction.partition(hash, PARTITIONS)]++;
+        }
+
+        double avg = (double)KEYS / PARTITIONS;
+
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        double var = 0;
+
+        for (int load : loads) {
+            min = Math.min(min, load);
+            max = Math.max(max, load);
+            var += (load - avg) * (load - avg);
+        }
+
+        double stddev = Math.sqrt(var / PARTITIONS);
+
+        String stats = shape + " [min=" + min + ", max=" + max + ", avg=" + avg + ", stddev=" + stddev + ']';
+
+        // A uniform hash gives a standard deviation of about sqrt(avg) = 16, the bounds leave a wide margin.
+        assertTrue(stddev < 1.5 * Math.sqrt(avg), stats);
+        assertTrue(max < 1.5 * avg, stats);
+        assertTrue(min > 0.5 * avg, stats);
+    }
+
+    /**
+     * @param shape Key shape.
+     * @return Schema with the key columns of the shape.
+     */
+    private static SchemaDescriptor schema(String shape) {
+        Column[] keyCols;
+
+        switch (shape) {
+            case "INT":
+                keyCols = new Column[] {new Column("key", INTEGER, false)};
+
+                break;
+
+            case "LONG":
+                keyCols = new Column[] {new Column("key", LONG, false)};
+
+                break;
+
+            case "STRING":
+                keyCols = new Column[] {new Column("key", STRING, false)};
+
+                break;
+
+            case "INT_LONG":
+                keyCols = new Column[] {new Column("key0", INTEGER, false), new Column("key1", LONG, false)};
+
+                break;
+
+            case "UUID":
+                keyCols = new Column[] {new Column("key", NativeTypes.UUID, false)};
+
+                break;
+
+            default:
+                throw new IllegalArgumentException(shape);
+        }
+
+        return new SchemaDescriptor(UUID.randomUUID(), 1, keyCols, new Column[] {new Column("val", LONG, true)});
+    }
+
+    /**
+     * @param schema Schema.
+     * @param shape Key shape.
+     * @param k Sequence number of the key.
+     * @return Key row bytes.
+     */
+    private static byte[] keyRow(SchemaDescriptor schema, String shape, long k) {
+        switch (shape) {
+            case "INT":
+                return new RowAssembler(schema, 32, 0, 0).appendInt((int)k).build();
+
+            case "LONG":
+                return new RowAssembler(schema, 32, 0, 0).appendLong(k).build();
+
+            case "STRING":
+                return new RowAssembler(schema, 64, 1, 0).appendString("key" + k).build();
+
+            case "INT_LONG":
+                return new RowAssembler(schema, 32, 0, 0).appendInt((int)(k % 16)).appendLong(k / 16).build();
+
+            case "UUID":
+                return new RowAssembler(schema, 32, 0, 0).appendUuid(new UUID(0, k)).build();
+
+            default:
+                throw new IllegalArgumentException(shape);
+        }
+    }
+}
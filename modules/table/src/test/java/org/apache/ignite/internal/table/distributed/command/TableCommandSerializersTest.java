@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.table.distributed.command;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.schema.ByteBufferRow;
+import org.apache.ignite.internal.schema.Column;
+import org.apache.ignite.internal.schema.NativeTypes;
+import org.apache.ignite.internal.schema.RowAssembler;
+import org.apache.ignite.internal.schema.SchemaDescriptor;
+import org.apache.ignite.raft.client.Command;
+import org.apache.ignite.raft.client.codec.CompactCommandCodec;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link TableCommandSerializers} registered in {@link CompactCommandCodec}.
+ */
+public class TableCommandSerializersTest {
+    /** Schema. */
+    private static final SchemaDescriptor SCHEMA = new SchemaDescriptor(UUID.randomUUID(),
+        1,
+        new Column[] {new Column("key", NativeTypes.INTEGER, false)},
+        new Column[] {new Column("value", NativeTypes.INTEGER, false)}
+    );
+
+    /** Codec with the serializers found by the service loader. */
+    private final CompactCommandCodec codec = new CompactCommandCodec();
+
+    /**
+     * Checks that the write commands are written in the compact form and restored with the same rows.
+     */
+    @Test
+    public void testWriteCommandsRoundtrip() {
+        BinaryRow key = key(1);
+        BinaryRow row = row(1, 10);
+
+        checkRow(new UpsertCommand(row), row, UpsertCommand::getRow);
+        checkRow(new InsertCommand(row), row, InsertCommand::getRow);
+        checkRow(new DeleteCommand(key), key, DeleteCommand::getKeyRow);
+        checkRow(new DeleteExactCommand(row), row, DeleteExactCommand::getRow);
+        checkRow(new ReplaceIfExistCommand(row), row, ReplaceIfExistCommand::getRow);
+        checkRow(new GetAndDeleteCommand(key), key, GetAndDeleteCommand::getKeyRow);
+        checkRow(new GetAndReplaceCommand(row), row, GetAndReplaceCommand::getRow);
+        checkRow(new GetAndUpsertCommand(row), row, GetAndUpsertCommand::getKeyRow);
+
+        ReplaceCommand replace = roundtrip(new ReplaceCommand(row(1, 10), row(1, 11)));
+
+        assertArrayEquals(row(1, 10).bytes(), replace.getOldRow().bytes());
+        assertArrayEquals(row(1, 11).bytes(), replace.getRow().bytes());
+
+        Set<BinaryRow> rows = Set.of(row(1, 10), row(2, 20), row(3, 30));
+
+        checkRows(new UpsertAllCommand(rows), rows, UpsertAllCommand::getRows);
+        checkRows(new InsertAllCommand(rows), rows, InsertAllCommand::getRows);
+        checkRows(new DeleteAllCommand(rows), rows, DeleteAllCommand::getRows);
+        checkRows(new DeleteExactAllCommand(rows), rows, DeleteExactAllCommand::getRows);
+    }
+
+    /**
+     * Checks that the commands without a serializer and the entries written with Java serialization are still read.
+     */
+    @Test
+    public void testJavaSerializationFallback() {
+        GetCommand get = roundtrip(new GetCommand(key(5)));
+
+        assertArrayEquals(key(5).bytes(), get.getKeyRow().bytes());
+
+        CompactCommandCodec jdkCodec = new CompactCommandCodec(false);
+
+        byte[] legacy = jdkCodec.encode(new UpsertCommand(row(7, 70)));
+        byte[] compact = codec.encode(new UpsertCommand(row(7, 70)));
+
+        assertTrue(compact.length < legacy.length);
+
+        UpsertCommand upsert = codec.decode(legacy);
+
+        assertArrayEquals(row(7, 70).bytes(), upsert.getRow().bytes());
+    }
+
+    /**
+     * Checks that a type id cannot be registered twice.
+     */
+    @Test
+    public void testDuplicateTypeId() {
+        CompactCommandCodec codec0 = new CompactCommandCodec(false);
+
+        new TableCommandSerializers().serializers().forEach(codec0::register);
+
+        assertThrows(IllegalStateException.class,
+            () -> codec0.register(new TableCommandSerializers().serializers().iterator().next()));
+    }
+
+    /**
+     * @param cmd Command.
+     * @param expRow Expected row.
+     * @param getter Row getter.
+     */
+    private <T extends Command> void checkRow(T cmd, BinaryRow expRow, Function<T, BinaryRow> getter) {
+        T res = roundtrip(cmd);
+
+        assertArrayEquals(expRow.bytes(), getter.apply(res).bytes());
+    }
+
+    /**
+     * @param cmd Command.
+     * @param expRows Expected rows.
+     * @param getter Rows getter.
+     */
+    private <T extends Command> void checkRows(
+        T cmd,
+        Set<BinaryRow> expRows,
+        Function<T, Set<BinaryRow>> getter
+    ) {
+        T res = roundtrip(cmd);
+
+        assertEquals(bytes(expRows), bytes(getter.apply(res)));
+    }
+
+    /**
+     * Encodes and decodes a command.
+     *
+     * @param cmd Command.
+     * @return Decoded command.
+     */
+    private <T extends Command> T roundtrip(T cmd) {
+        byte[] bytes = codec.encode(cmd);
+
+        T res = codec.decode(bytes);
+
+        assertEquals(cmd.getClass(), res.getClass());
+
+        return res;
+    }
+
+    /**
+     * @param rows Rows.
+     * @return Row bytes as lists, to be compared regardless of the order.
+     */
+    private static Set<List<Byte>> bytes(Set<BinaryRow> rows) {
+        return rows.stream()
+            .map(r -> {
+                byte[] b = r.bytes();
+
+                return IntStream.range(0, b.length).mapToObj(i -> b[i]).collect(Collectors.toList());
+            })
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * @param key Key.
+     * @return Key row.
+     */
+    private static BinaryRow key(int key) {
+        RowAssembler rowBuilder = new RowAssembler(SCHEMA, 4096, 0, 0);
+
+        rowBuilder.appendInt(key);
+
+        return new ByteBufferRow(rowBuilder.build());
+    }
+
+    /**
+     * @param key Key.
+     * @param val Value.
+     * @return Row.
+     */
+    private static BinaryRow row(int key, int val) {
+        RowAssembler rowBuilder = new RowAssembler(SCHEMA, 4096, 0, 0);
+
+        rowBuilder.appendInt(key);
+        rowBuilder.appendInt(val);
+
+        return new ByteBufferRow(rowBuilder.build());
+    }
+}
@@ -17,20 +17,30 @@
 
 package org.apache.ignite.internal.table.distributed.raft;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.apache.ignite.internal.schema.BinaryRow;
 import org.apache.ignite.internal.schema.ByteBufferRow;
 import org.apache.ignite.internal.schema.Column;
 import org.apache.ignite.internal.schema.NativeTypes;
+import org.apache.ignite.internal.schema.OrderPreservingKeyEncoder;
 import org.apache.ignite.internal.schema.Row;
 import org.apache.ignite.internal.schema.RowAssembler;
 import org.apache.ignite.internal.schema.SchemaDescriptor;
+import org.apache.ignite.internal.storage.KeyRange;
+import org.apache.ignite.internal.storage.SearchRow;
+import org.apache.ignite.internal.storage.basic.ConcurrentHashMapStorage;
+import org.apache.ignite.internal.storage.basic.ConcurrentSkipListIndexStorage;
+import org.apache.ignite.internal.storage.basic.SimpleDataRow;
 import org.apache.ignite.internal.table.distributed.command.DeleteAllCommand;
 import org.apache.ignite.internal.table.distributed.command.DeleteCommand;
 import org.apache.ignite.internal.table.distributed.command.DeleteExactAllCommand;
@@ -40,14 +50,19 @@ import org.apache.ignite.internal.table.distributed.command.GetAndDeleteCommand;
 import org.apache.ignite.internal.table.distributed.command.GetAndReplaceCommand;
 import org.apache.ignite.internal.table.distributed.command.GetAndUpsertCommand;
 import org.apache.ignite.internal.table.distributed.command.GetCommand;
+import org.apache.ignite.internal.table.distributed.command.IndexScanCommand;
 import org.apache.ignite.internal.table.distributed.command.InsertAllCommand;
 import org.apache.ignite.internal.table.distributed.command.InsertCommand;
 import org.apache.ignite.internal.table.distributed.command.ReplaceCommand;
 import org.apache.ignite.internal.table.distributed.command.ReplaceIfExistCommand;
+import org.apache.ignite.internal.table.distributed.command.ScanCommand;
 import org.apache.ignite.internal.table.distributed.command.UpsertAllCommand;
 import org.apache.ignite.internal.table.distributed.command.UpsertCommand;
 import org.apache.ignite.internal.table.distributed.command.response.MultiRowsResponse;
+import org.apache.ignite.internal.table.distributed.command.response.ScanResponse;
 import org.apache.ignite.internal.table.distributed.command.response.SingleRowResponse;
+import org.apache.ignite.internal.table.distributed.index.SecondaryIndex;
+import org.apache.ignite.internal.table.impl.DummySchemaManagerImpl;
 import org.apache.ignite.raft.client.Command;
 import org.apache.ignite.raft.client.service.CommandClosure;
 import org.jetbrains.annotations.NotNull;
@@ -78,6 +93,9 @@ public class PartitionCommandListenerTest {
         new Column[] {new Column("value", NativeTypes.INTEGER, false)}
     );
 
+    /** Name of the index on the value column. */
+    private static final String VALUE_IDX = "valueIdx";
+
     /** Table command listener. */
     private static PartitionListener commandListener;
 
@@ -86,7 +104,18 @@ public class PartitionCommandListenerTest {
      */
     @BeforeAll
     public static void before() {
-        commandListener = new PartitionListener();
+        SecondaryIndex valueIdx = new SecondaryIndex(
+            VALUE_IDX,
+            new String[] {"value"},
+            new boolean[] {false},
+            new ConcurrentSkipListIndexStorage()
+        );
+
+        commandListener = new PartitionListener(
+            new ConcurrentHashMapStorage(),
+            List.of(valueIdx),
+            new DummySchemaManagerImpl(SCHEMA)
+        );
     }
 
     /**
@@ -240,6 +269,146 @@ public class PartitionCommandListenerTest {
         readAll(false);
     }
 
+    /**
+     * The test checks that the secondary index follows the updates and removals of rows.
+     * All rows are removed before returning.
+     */
+    @Test
+    public void testIndexScan() {
+        assertTrue(indexScan(KeyRange.all()).isEmpty());
+
+        upsert();
+
+        assertEquals(
+            IntStream.range(10, 20).boxed().collect(Collectors.toList()),
+            indexScan(KeyRange.range(valueBound(10), true, valueBound(20), false))
+        );
+
+        // Every row gets the value of the row with the previous key, so the index holds two entries for the value 0.
+        commandListener.onWrite(batchIterator(clo -> {
+            Set<BinaryRow> rows = new HashSet<>(KEY_COUNT);
+
+            for (int i = 1; i < KEY_COUNT; i++)
+                rows.add(getTestRow(i, i - 1));
+
+            when(clo.command()).thenReturn(new UpsertAllCommand(rows));
+        }));
+
+        assertEquals(List.of(0, 0), indexScan(KeyRange.range(valueBound(0), true, valueBound(0), true)));
+
+        assertTrue(indexScan(KeyRange.range(valueBound(KEY_COUNT - 1), true, null, false)).isEmpty());
+
+        delete(true);
+
+        assertTrue(indexScan(KeyRange.all()).isEmpty());
+    }
+
+    /**
+     * The test checks that a partition is scanned in batches, each one starting after the last key of the previous,
+     * that a scan is resumed from the last key by a batch of an unknown scan, and that a scan is closed by a batch of
+     * no rows. All rows are removed before returning.
+     */
+    @Test
+    public void testScan() {
+        ScanResponse first = scan(UUID.randomUUID(), null, 10);
+
+        assertTrue(first.rows().isEmpty());
+        assertNull(first.lastKey());
+
+        upsertAll();
+
+        List<Integer> keys = new ArrayList<>();
+
+        UUID scanId = UUID.randomUUID();
+
+        byte[] lastKey = null;
+        int batches = 0;
+
+        do {
+            // The third batch is read by another scan, as if the scan moved to another node and back.
+            ScanResponse res = scan(batches == 2 ? UUID.randomUUID() : scanId, lastKey, 30);
+
+            for (BinaryRow row : res.rows())
+                keys.add(new Row(SCHEMA, row).intValue(0));
+
+            lastKey = res.lastKey();
+
+            batches++;
+        }
+        while (lastKey != null);
+
+        assertEquals(4, batches);
+        assertEquals(IntStream.range(0, KEY_COUNT).boxed().collect(Collectors.toList()), keys);
+
+        ScanResponse partial = scan(scanId, null, 10);
+
+        assertNotNull(partial.lastKey());
+
+        ScanResponse closed = scan(scanId, null, 0);
+
+        assertTrue(closed.rows().isEmpty());
+        assertNull(closed.lastKey());
+
+        delete(true);
+    }
+
+    /**
+     * Reads a batch of rows of the partition.
+     *
+     * @param scanId Scan id.
+     * @param lastKey Storage key of the last row of the previous batch.
+     * @param batchSize Batch size.
+     * @return Scan response.
+     */
+    private ScanResponse scan(UUID scanId, byte[] lastKey, int batchSize) {
+        ScanResponse[] res = new ScanResponse[1];
+
+        commandListener.onRead(batchIterator(clo -> {
+            when(clo.command()).thenReturn(new ScanCommand(scanId, lastKey, batchSize));
+
+            doAnswer(invocation -> {
+                res[0] = invocation.getArgument(0);
+
+                return null;
+            }).when(clo).result(any());
+        }));
+
+        return res[0];
+    }
+
+    /**
+     * Scans the index on the value column.
+     *
+     * @param range Range of the encoded values.
+     * @return Values of the found rows.
+     */
+    private List<Integer> indexScan(KeyRange range) {
+        List<Integer> res = new ArrayList<>();
+
+        commandListener.onRead(batchIterator(clo -> {
+            when(clo.command()).thenReturn(new IndexScanCommand(VALUE_IDX, range));
+
+            doAnswer(invocation -> {
+                for (BinaryRow row : ((MultiRowsResponse)invocation.getArgument(0)).getValues())
+                    res.add(new Row(SCHEMA, row).intValue(1));
+
+                return null;
+            }).when(clo).result(any());
+        }));
+
+        return res;
+    }
+
+    /**
+     * @param val Value.
+     * @return Search row with the value encoded as the index encodes it.
+     */
+    private SearchRow valueBound(int val) {
+        int[] cols = {SCHEMA.column("value").schemaIndex()};
+
+        return new SimpleDataRow(OrderPreservingKeyEncoder.encodeColumns(getTestRow(0, val), cols, null), null);
+    }
+
     /**
      * Prepares a closure iterator for a specific batch operation.
      *
@@ -17,17 +17,25 @@
 
 package org.apache.ignite.internal.table.impl;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
 import java.util.stream.Collectors;
 import org.apache.ignite.internal.schema.BinaryRow;
+import org.apache.ignite.internal.storage.KeyRange;
 import org.apache.ignite.internal.table.InternalTable;
+import org.apache.ignite.internal.table.distributed.command.response.ScanResponse;
+import org.apache.ignite.internal.table.distributed.storage.PartitionScanPublisher;
+import org.apache.ignite.raft.client.Peer;
+import org.apache.ignite.table.ReadConsistency;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -37,6 +45,9 @@ public class DummyInternalTableImpl implements InternalTable {
     /** In-memory dummy store. */
     private final Map<KeyWrapper, BinaryRow> store = new ConcurrentHashMap<>();
 
+    /** Consistency of the last read. */
+    private volatile ReadConsistency lastReadConsistency;
+
     /**
      * Wrapper provides correct byte[] comparison.
      */
@@ -77,6 +88,13 @@ public class DummyInternalTableImpl implements InternalTable {
         }
     }
 
+    /**
+     * @return Consistency of the last read.
+     */
+    public ReadConsistency lastReadConsistency() {
+        return lastReadConsistency;
+    }
+
     /** {@inheritDoc} */
     @Override public @NotNull UUID tableId() {
         return UUID.randomUUID();
@@ -87,6 +105,21 @@ public class DummyInternalTableImpl implements InternalTable {
         return null;
     }
 
+    /** {@inheritDoc} */
+    @Override public int partitions() {
+        return 1;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int partition(BinaryRow keyRow) {
+        return 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override public @NotNull Map<Integer, Peer> partitionLeaders() {
+        return Map.of();
+    }
+
     /** {@inheritDoc} */
     @Override public CompletableFuture<BinaryRow> get(@NotNull BinaryRow row) {
         assert row != null;
@@ -94,6 +127,13 @@ public class DummyInternalTableImpl implements InternalTable {
         return CompletableFuture.completedFuture(store.get(extractAndWrapKey(row)));
     }
 
+    /** {@inheritDoc} */
+    @Override public @NotNull CompletableFuture<BinaryRow> get(BinaryRow keyRow, ReadConsistency consistency) {
+        lastReadConsistency = consistency;
+
+        return get(keyRow);
+    }
+
     /** {@inheritDoc} */
     @Override public CompletableFuture<Void> upsert(@NotNull BinaryRow row) {
         assert row != null;
@@ -134,16 +174,30 @@ public class DummyInternalTableImpl implements InternalTable {
         return CompletableFuture.completedFuture(res);
     }
 
+    /** {@inheritDoc} */
+    @Override public @NotNull CompletableFuture<Collection<BinaryRow>> getAll(
+        Collection<BinaryRow> keyRows,
+        ReadConsistency consistency
+    ) {
+        lastReadConsistency = consistency;
+
+        return getAll(keyRows);
+    }
+
     /** {@inheritDoc} */
     @Override public @NotNull CompletableFuture<Void> upsertAll(Collection<BinaryRow> rows) {
         assert rows != null && !rows.isEmpty();
 
-        rows.stream()
-            .map(k -> store.put(extractAndWrapKey(k), k));
+        rows.forEach(k -> store.put(extractAndWrapKey(k), k));
 
         return CompletableFuture.completedFuture(null);
     }
 
+    /** {@inheritDoc} */
+    @Override public @NotNull CompletableFuture<Void> upsertAll(int part, Set<BinaryRow> rows) {
+        return upsertAll(rows);
+    }
+
     /** {@inheritDoc} */
     @Override public @NotNull CompletableFuture<Boolean> insert(BinaryRow row) {
         assert row != null;
@@ -163,6 +217,11 @@ public class DummyInternalTableImpl implements InternalTable {
         return CompletableFuture.completedFuture(res);
     }
 
+    /** {@inheritDoc} */
+    @Override public @NotNull CompletableFuture<Collection<BinaryRow>> insertAll(int part, Set<BinaryRow> rows) {
+        return insertAll(rows);
+    }
+
     /** {@inheritDoc} */
     @Override public @NotNull CompletableFuture<Boolean> replace(BinaryRow row) {
         assert row != null;
@@ -220,6 +279,22 @@ public class DummyInternalTableImpl implements InternalTable {
         return null;
     }
 
+    /** {@inheritDoc} */
+    @Override public @NotNull CompletableFuture<Collection<BinaryRow>> indexScan(String idxName, KeyRange range) {
+        throw new UnsupportedOperationException("Secondary indexes are not supported by the dummy table.");
+    }
+
+    /** {@inheritDoc} */
+    @Override public @NotNull Flow.Publisher<BinaryRow> scan(int part) {
+        assert part == 0 : part;
+
+        // All the rows are returned with the first batch.
+        return new PartitionScanPublisher(
+            cmd -> CompletableFuture.completedFuture(new ScanResponse(new ArrayList<>(store.values()), null)),
+            Integer.MAX_VALUE
+        );
+    }
+
     /**
      * @param row Row.
      * @return Extracted key.